@@ -21,6 +21,20 @@ import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 
 /**
  * Hashed wheel timer {@link Schedule}.
+ *
+ * <p>A clock with a {@code wheelCount} greater than one is a hierarchical
+ * timer wheel. Each successive wheel has the same {@code tickCount} slots as
+ * the clock dial, but each slot of wheel {@code n} spans {@code tickCount^n}
+ * ticks. Timers are inserted into the highest wheel whose slot width doesn't
+ * exceed their delay, and cascade down to lower wheels as the clock reaches
+ * the start of their slot, so long-delay timers are touched once per wheel,
+ * rather than once per revolution of the dial. Cancelled timers are removed
+ * lazily, when their slot next gets processed, or when cancellations come to
+ * dominate a wheel slot.</p>
+ *
+ * <p>A clock with a {@code batchSize} greater than one hands off timers that
+ * expire during the same tick in batches of up to {@code batchSize} timers,
+ * via {@link #runTimerBatch(Runnable)}, rather than one at a time.</p>
  */
 public class Clock implements Schedule {
 
@@ -30,6 +44,12 @@ public class Clock implements Schedule {
    * clock ticks.
    */
   final ClockQueue[] dial;
+  /**
+   * Immutable array of {@code wheelCount} timer wheels, each with {@link
+   * #tickCount} buckets of timer events. The buckets of wheel {@code n} span
+   * {@code tickCount^n} clock ticks; wheel zero is the clock {@link #dial}.
+   */
+  final ClockQueue[][] wheels;
   /**
    * Barrier used to sequence clock startup.
    */
@@ -50,6 +70,16 @@ public class Clock implements Schedule {
    * Number of ticks per clock revolution.
    */
   final int tickCount;
+  /**
+   * Base 2 logarithm of {@link #tickCount}; the number of bits of a tick
+   * sequence number consumed by each timer wheel.
+   */
+  final int tickShift;
+  /**
+   * Maximum number of expired timers to hand off per batch; timers are
+   * handed off individually when {@code batchSize} is one.
+   */
+  final int batchSize;
   /**
    * Time at which the clock started, in nanoseconds, with arbitrary origin.
    * Set exactly once when the clock thread starts.
@@ -62,10 +92,11 @@ public class Clock implements Schedule {
 
   /**
    * Constructs a new {@code Clock} with a timer resolution of {@code
-   * tickMillis} milliseconds, and a clock period of {@code tickCount} ticks
-   * per revolution.
+   * tickMillis} milliseconds, a clock period of {@code tickCount} ticks per
+   * revolution, {@code wheelCount} hierarchical timer wheels, and an expired
+   * timer hand-off batch size of {@code batchSize}.
    */
-  public Clock(int tickMillis, int tickCount) {
+  public Clock(int tickMillis, int tickCount, int wheelCount, int batchSize) {
     // Initialize the number of nanoseconds between clock ticks.
     if (tickMillis <= 0) {
       throw new IllegalArgumentException(Long.toString(tickMillis));
@@ -85,12 +116,28 @@ public class Clock implements Schedule {
     tickCount |= tickCount >> 16;
     tickCount = tickCount + 1;
     this.tickCount = tickCount;
+    this.tickShift = Integer.numberOfTrailingZeros(tickCount);
+
+    // Initialize the timer wheels, the lowest of which is the clock dial.
+    if (wheelCount <= 0 || (long) this.tickShift * (long) (wheelCount - 1) > 62L) {
+      throw new IllegalArgumentException(Integer.toString(wheelCount));
+    }
+    this.wheels = new ClockQueue[wheelCount][];
+    for (int level = 0; level < wheelCount; level += 1) {
+      // Initialize the wheel with one revolution worth of wheel slots.
+      final ClockQueue[] wheel = new ClockQueue[tickCount];
+      for (int i = 0; i < tickCount; i += 1) {
+        wheel[i] = new ClockQueue((long) i);
+      }
+      this.wheels[level] = wheel;
+    }
+    this.dial = this.wheels[0];
 
-    // Initialize the clock dial with one revolution worth of clock ticks.
-    this.dial = new ClockQueue[tickCount];
-    for (int i = 0; i < tickCount; i += 1) {
-      this.dial[i] = new ClockQueue((long) i);
+    // Initialize the expired timer hand-off batch size.
+    if (batchSize <= 0) {
+      throw new IllegalArgumentException(Integer.toString(batchSize));
     }
+    this.batchSize = batchSize;
 
     // Initialize the barrier used to sequence clock startup.
     this.startLatch = new CountDownLatch(1);
@@ -107,11 +154,21 @@ public class Clock implements Schedule {
   }
 
   /**
-   * Constructs a new {@code Clock} with the timer resolution and clock period
-   * specified by the given {@code clockDef}.
+   * Constructs a new {@code Clock} with a timer resolution of {@code
+   * tickMillis} milliseconds, and a clock period of {@code tickCount} ticks
+   * per revolution, with the default {@link #WHEEL_COUNT} and {@link
+   * #BATCH_SIZE}.
+   */
+  public Clock(int tickMillis, int tickCount) {
+    this(tickMillis, tickCount, Clock.WHEEL_COUNT, Clock.BATCH_SIZE);
+  }
+
+  /**
+   * Constructs a new {@code Clock} with the timer resolution, clock period,
+   * wheel count, and batch size specified by the given {@code clockDef}.
    */
   public Clock(ClockDef clockDef) {
-    this(clockDef.tickMillis, clockDef.tickCount);
+    this(clockDef.tickMillis, clockDef.tickCount, clockDef.wheelCount, clockDef.batchSize);
   }
 
   /**
@@ -280,11 +337,7 @@ public class Clock implements Schedule {
     final long deadline = Math.max(0L, this.nanoTime() + nanos - this.startTime);
     // Divide the deadline by the tick interval to get the tick sequence number
     // at which to fire the timer, rounding up to the next tick.
-    long targetTick = (deadline + (this.tickNanos - 1L)) / this.tickNanos;
-    // Take the modulus of the target tick with respect to to the number of
-    // ticks per clock revolution, yielding the index in the dial at which to
-    // insert the event.
-    int targetHand = (int) (targetTick % (long) this.tickCount);
+    final long targetTick = (deadline + (this.tickNanos - 1L)) / this.tickNanos;
 
     // Create a timer event to insert into the clock.
     final ClockEvent newEvent = new ClockEvent(0L, targetTick, context, context.timer);
@@ -295,27 +348,80 @@ public class Clock implements Schedule {
     if (oldEvent != null) {
       // Remove the timer from the previously scheduled event;
       // linearization point for timer cancellation.
-      oldEvent.cancel();
+      oldEvent.revoke();
     }
 
-    // Get the event queue for the target hand of the clock.
-    ClockQueue queue = this.dial[targetHand];
+    // Insert the event into the appropriate timer wheel.
+    this.insert(newEvent, targetTick);
+  }
+
+  /**
+   * Inserts a timer {@code newEvent} that will fire at the {@code targetTick}
+   * sequence number into the highest timer wheel whose slots span no more
+   * than the remaining number of ticks until the {@code targetTick}.
+   */
+  final void insert(ClockEvent newEvent, long targetTick) {
+    // Get the lower bound of the next tick that the clock thread will execute.
+    final long tick = this.thread.tick;
+    // Find the highest timer wheel with slots no wider than the timer delay.
+    int level = this.wheels.length - 1;
+    while (level > 0 && targetTick - tick < 1L << (this.tickShift * level)) {
+      level -= 1;
+    }
+    // Loop until the event is inserted into a wheel slot that has yet to be
+    // processed by the clock thread, descending to lower wheels if the clock
+    // thread has already started processing the target slot.
+    while (level > 0) {
+      // Compute the sequence number of the wheel slot spanning the target tick.
+      final long targetSlot = targetTick >> (this.tickShift * level);
+      // Get the event queue for the target slot of the wheel.
+      final ClockQueue queue = this.wheels[level][(int) (targetSlot & (long) (this.tickCount - 1))];
+      if (Clock.append(queue, newEvent, targetSlot)) {
+        // Record the event's wheel slot, so that cancellations can be tallied.
+        newEvent.queue = queue;
+        ClockQueue.EVENT_COUNT.incrementAndGet(queue);
+        return;
+      }
+      // The clock thread has already cascaded the target slot of this wheel;
+      // try the next lower wheel.
+      level -= 1;
+    }
+
+    // Take the modulus of the target tick with respect to to the number of
+    // ticks per clock revolution, yielding the index in the dial at which to
+    // insert the event.
+    int targetHand = (int) (targetTick % (long) this.tickCount);
+    // Loop until the event is inserted into the first queue that will execute
+    // after the timer deadline.
+    while (!Clock.append(this.dial[targetHand], newEvent, targetTick)) {
+      // The clock thread is currently executing, or has already executed,
+      // the target tick; try the next hand of the clock.
+      targetTick += 1L;
+      targetHand = (int) (targetTick % (long) this.tickCount);
+    }
+  }
+
+  /**
+   * Appends a {@code newEvent} to the end of the given {@code queue}, if the
+   * clock thread has yet to finish processing the queue for the {@code
+   * targetSlot} sequence number. Returns {@code false} if the clock thread
+   * is currently processing, or has already processed, the target slot.
+   */
+  static boolean append(ClockQueue queue, ClockEvent newEvent, long targetSlot) {
     // Capture the current foot of the queue.
     ClockEvent foot = queue.foot;
     // Search for the last event of in the queue, starting with foot.
     ClockEvent prev = foot;
-    // Loop until the event is inserted into the first queue that will execute
-    // after the timer deadline.
     do {
       // Load the next event after the currently referenced last event.
       final ClockEvent next = prev.next;
       if (next == null) {
         // prev is the last event in the queue.
-        if (targetTick >= prev.insertTick) {
-          // prev was inserted before the target tick, indicating that the
-          // timer thread hasn't finished executing the target tick yet.
-          // prev.insertTick is the next tick sequence number that the clock
-          // thread will execute for the queue; set event.insertTick to match.
+        if (targetSlot >= prev.insertTick) {
+          // prev was inserted before the target slot, indicating that the
+          // timer thread hasn't finished processing the target slot yet.
+          // prev.insertTick is the next slot sequence number that the clock
+          // thread will process for the queue; set event.insertTick to match.
           newEvent.insertTick = prev.insertTick;
           // Try to insert the new event to the end of the queue;
           // linearization point for timer scheduling.
@@ -326,17 +432,13 @@ public class Clock implements Schedule {
               // Try to update the foot reference; ok if this fails.
               ClockQueue.FOOT.compareAndSet(queue, foot, newEvent);
             }
-            break;
+            return true;
           }
           // Lost insertion race to another thread; try again.
         } else {
-          // The clock thread is currently executing, or has already executed,
-          // the target tick; try the next hand of the clock.
-          targetTick += 1L;
-          targetHand = (int) (targetTick % (long) this.tickCount);
-          queue = this.dial[targetHand];
-          foot = queue.foot;
-          prev = foot;
+          // The clock thread is currently processing, or has already
+          // processed, the target slot.
+          return false;
         }
       } else {
         // Jump to the new foot, if the previously loaded foot lags at least two
@@ -433,6 +535,16 @@ public class Clock implements Schedule {
     timer.runTimer();
   }
 
+  /**
+   * Invokes {@code batch.run()}, or arranges for its asynchronous execution.
+   * Running the {@code batch} invokes the {@code runTimer()} method of each
+   * timer in a batch of timers that expired during the same clock tick.
+   * Only invoked when the clock's {@code batchSize} is greater than one.
+   */
+  protected void runTimerBatch(Runnable batch) {
+    batch.run();
+  }
+
   /**
    * Introspection callback invoked after a {@code timer} executes nominally.
    */
@@ -482,6 +594,25 @@ public class Clock implements Schedule {
    * {@code 512} clock ticks per revolution.
    */
   public static final int TICK_COUNT;
+  /**
+   * Default number of hierarchical timer wheels, used by the {@link
+   * #Clock(int, int)} constructor. Defaults to the value of the {@code
+   * swim.clock.wheel.count} system property, if defined; otherwise defaults
+   * to a single timer wheel.
+   */
+  public static final int WHEEL_COUNT;
+  /**
+   * Default maximum number of expired timers to hand off per batch, used by
+   * the {@link #Clock(int, int)} constructor. Defaults to the value of the
+   * {@code swim.clock.batch.size} system property, if defined; otherwise
+   * defaults to handing off timers individually.
+   */
+  public static final int BATCH_SIZE;
+  /**
+   * Minimum number of cancelled timers that must accumulate in a wheel slot
+   * before the clock thread sweeps the slot ahead of schedule.
+   */
+  static final int SWEEP_THRESHOLD = 64;
   /**
    * Atomic {@link #status} bit flag indicating that the clock has started, and
    * is currently running.
@@ -518,6 +649,24 @@ public class Clock implements Schedule {
       tickCount = 512;
     }
     TICK_COUNT = tickCount;
+
+    // Initialize the default number of hierarchical timer wheels.
+    int wheelCount;
+    try {
+      wheelCount = Integer.parseInt(System.getProperty("swim.clock.wheel.count"));
+    } catch (NumberFormatException e) {
+      wheelCount = 1;
+    }
+    WHEEL_COUNT = wheelCount;
+
+    // Initialize the default expired timer hand-off batch size.
+    int batchSize;
+    try {
+      batchSize = Integer.parseInt(System.getProperty("swim.clock.batch.size"));
+    } catch (NumberFormatException e) {
+      batchSize = 1;
+    }
+    BATCH_SIZE = batchSize;
   }
 
 }
@@ -580,7 +729,7 @@ final class ClockTimer implements TimerContext {
     if (event != null) {
       // Remove the timer from the previously scheduled timer event;
       // linearization point for timer cancellation.
-      final TimerFunction timer = event.cancel();
+      final TimerFunction timer = event.revoke();
       // Check if the timer event hadn't yet been fired or cancelled.
       if (timer != null) {
         // Invoke timer cancellation introspection callbacks.
@@ -620,6 +769,17 @@ final class ClockQueue {
    * be reached in constant time; always non-{@code null}.
    */
   volatile ClockEvent foot;
+  /**
+   * Number of events inserted into the queue that have yet to be removed by
+   * the clock thread; only maintained for the queues of upper timer wheels.
+   */
+  volatile int eventCount;
+  /**
+   * Approximate number of events in the queue that have been cancelled, but
+   * have yet to be removed by the clock thread; only maintained for the
+   * queues of upper timer wheels.
+   */
+  volatile int cancelCount;
 
   /**
    * Constructs a new {@code ClockQueue} that will next execute the {@code
@@ -628,6 +788,18 @@ final class ClockQueue {
   ClockQueue(long insertTick) {
     this.head = new ClockEvent(insertTick, insertTick, null, null);
     this.foot = this.head;
+    this.eventCount = 0;
+    this.cancelCount = 0;
+  }
+
+  /**
+   * Returns {@code true} if cancelled events make up at least half of the
+   * events in the queue, and are numerous enough to warrant sweeping the
+   * queue before its slot comes due.
+   */
+  boolean needsSweep() {
+    final int cancelCount = this.cancelCount;
+    return cancelCount >= Clock.SWEEP_THRESHOLD && cancelCount >= this.eventCount - cancelCount;
   }
 
   /**
@@ -635,6 +807,16 @@ final class ClockQueue {
    */
   static final AtomicReferenceFieldUpdater<ClockQueue, ClockEvent> FOOT =
       AtomicReferenceFieldUpdater.newUpdater(ClockQueue.class, ClockEvent.class, "foot");
+  /**
+   * Atomic {@link #eventCount} field updater, used to track queue occupancy.
+   */
+  static final AtomicIntegerFieldUpdater<ClockQueue> EVENT_COUNT =
+      AtomicIntegerFieldUpdater.newUpdater(ClockQueue.class, "eventCount");
+  /**
+   * Atomic {@link #cancelCount} field updater, used to track cancellations.
+   */
+  static final AtomicIntegerFieldUpdater<ClockQueue> CANCEL_COUNT =
+      AtomicIntegerFieldUpdater.newUpdater(ClockQueue.class, "cancelCount");
 
 }
 
@@ -670,6 +852,11 @@ final class ClockEvent implements Runnable {
    * last event in the queue.
    */
   volatile ClockEvent next;
+  /**
+   * Upper timer wheel queue into which this event was inserted, against which
+   * to tally cancellation of the event; {@code null} for events in the dial.
+   */
+  ClockQueue queue;
 
   /**
    * Constructs a new {@code ClockEvent} that will fire the {@code timer}
@@ -682,6 +869,7 @@ final class ClockEvent implements Runnable {
     this.context = context;
     this.timer = timer;
     this.next = null;
+    this.queue = null;
   }
 
   /**
@@ -702,6 +890,20 @@ final class ClockEvent implements Runnable {
     return ClockEvent.TIMER.getAndSet(this, null);
   }
 
+  /**
+   * Cancels this event on behalf of its timer context, tallying the
+   * cancellation against the timer wheel queue that holds the event,
+   * so that the clock thread knows when to sweep the queue.
+   */
+  TimerFunction revoke() {
+    final TimerFunction timer = this.cancel();
+    final ClockQueue queue = this.queue;
+    if (timer != null && queue != null) {
+      ClockQueue.CANCEL_COUNT.incrementAndGet(queue);
+    }
+    return timer;
+  }
+
   /**
    * Invokes the timer function of the associated timer context.
    */
@@ -735,7 +937,7 @@ final class ClockThread extends Thread {
   /**
    * Next tick sequence number that this {@code ClockThread} will execute.
    */
-  long tick;
+  volatile long tick;
 
   /**
    * Constructs a new {@code ClockThread} that fires events for {@code clock}.
@@ -798,16 +1000,65 @@ final class ClockThread extends Thread {
   }
 
   /**
-   * Executes all {@code clock} timers set to fire at the target {@code tick}.
+   * Executes all {@code clock} timers set to fire at the target {@code tick},
+   * after cascading down the timers of any upper wheel slots that start at
+   * the target {@code tick}.
    */
   static void executeTick(final Clock clock, final long tick) {
-    // Compute the tick sequence number for the next revolution of the clock.
-    final long nextTick = tick + (long) clock.tickCount;
+    final ClockQueue[][] wheels = clock.wheels;
+    final long slotMask = (long) (clock.tickCount - 1);
+    // Cascade upper wheels from the top down, so that timers descend through
+    // every wheel whose slot boundary coincides with the target tick.
+    for (int level = wheels.length - 1; level > 0; level -= 1) {
+      final int shift = clock.tickShift * level;
+      // Compute the sequence number of the wheel slot spanning the target tick.
+      final long slot = tick >> shift;
+      if ((tick & ((1L << shift) - 1L)) == 0L) {
+        // The target tick starts a new slot; cascade the slot's timers.
+        final ClockQueue queue = wheels[level][(int) (slot & slotMask)];
+        ClockThread.executeQueue(clock, queue, level, slot, slot + (long) clock.tickCount, null);
+      } else {
+        // Check one slot per tick for an excess of cancelled timers.
+        final int hand = (int) (tick & slotMask);
+        final ClockQueue queue = wheels[level][hand];
+        if (queue.needsSweep()) {
+          // Compute the next slot sequence number that the clock thread
+          // will cascade for the swept queue.
+          long nextSlot = slot - (slot & slotMask) + (long) hand;
+          if (nextSlot <= slot) {
+            nextSlot += (long) clock.tickCount;
+          }
+          ClockThread.executeQueue(clock, queue, level, slot, nextSlot, null);
+        }
+      }
+    }
+
     // Compute the index in the clock dial of the target clock tick.
     final int hand = (int) (tick % (long) clock.tickCount);
-
     // Get the event queue for the target hand of the clock dial.
     final ClockQueue queue = clock.dial[hand];
+    // Execute the queue, handing off expired timers in batches, if enabled.
+    final ClockBatch batch = clock.batchSize > 1 ? new ClockBatch(clock) : null;
+    ClockThread.executeQueue(clock, queue, 0, tick, tick + (long) clock.tickCount, batch);
+  }
+
+  /**
+   * Processes all events in the {@code queue} of timer wheel {@code level}:
+   * events whose slot is at or before the target {@code slot} get fired, if
+   * the queue belongs to the clock dial, or cascaded down to lower wheels;
+   * cancelled events get removed; and events for future revolutions of the
+   * wheel are kept in the queue. Completes by appending a sentinel event to
+   * the queue, whose {@code insertTick} is the {@code nextSlot} sequence
+   * number that the clock thread will process for the queue.
+   */
+  static void executeQueue(final Clock clock, final ClockQueue queue, final int level,
+                           final long slot, final long nextSlot, ClockBatch batch) {
+    // The number of bits of the target tick that are covered by each slot.
+    final int shift = clock.tickShift * level;
+    // The number of cancellations tallied against the queue before processing.
+    final int cancelCount = queue.cancelCount;
+    // The number of events removed from the queue.
+    int removeCount = 0;
     // The first known still scheduled event to keep in the queue.
     ClockEvent head = null;
     // The last known still scheduled event to keep in the queue.
@@ -815,35 +1066,53 @@ final class ClockThread extends Thread {
     // The next queued event to process.
     ClockEvent next = queue.head;
     // The sentinel event that will be inserted at the end of the queue to
-    // complete the execution of this tick.
-    final ClockEvent nextFoot = new ClockEvent(nextTick, nextTick, null, null);
-    // Loop until no events scheduled for this tick remain in the queue.
+    // complete the processing of this slot.
+    final ClockEvent nextFoot = new ClockEvent(nextSlot, nextSlot, null, null);
+    // Loop until no events scheduled for this slot remain in the queue.
     do {
-      if (next.targetTick <= tick) {
-        // The next event is scheduled for this tick; remove its timer.
-        final TimerFunction timer = next.cancel();
-        // Clear the event from the associated timer context.
+      if (next.targetTick >> shift <= slot) {
         if (next.context != null) {
-          ClockTimer.EVENT.compareAndSet(next.context, next, null);
+          removeCount += 1;
         }
-        if (timer != null) {
-          // The timer wasn't cancelled; fire the event.
-          try {
-            clock.timerWillRun(timer);
-            clock.runTimer(timer, next);
-            clock.timerDidRun(timer);
-          } catch (Throwable error) {
-            if (Cont.isNonFatal(error)) {
-              // The timer failed with a non-fatal error.
-              clock.timerDidFail(timer, error);
+        if (level == 0) {
+          // The next event is scheduled for this tick; remove its timer.
+          final TimerFunction timer = next.cancel();
+          // Clear the event from the associated timer context.
+          if (next.context != null) {
+            ClockTimer.EVENT.compareAndSet(next.context, next, null);
+          }
+          if (timer != null) {
+            // The timer wasn't cancelled; fire the event.
+            if (batch != null) {
+              // Add the timer to the current batch.
+              batch.add(timer);
+              if (batch.isFull()) {
+                // Hand off the full batch, and start a new one.
+                clock.runTimerBatch(batch);
+                batch = new ClockBatch(clock);
+              }
             } else {
-              // The timer failed with a fatal error.
-              throw error;
+              try {
+                clock.timerWillRun(timer);
+                clock.runTimer(timer, next);
+                clock.timerDidRun(timer);
+              } catch (Throwable error) {
+                if (Cont.isNonFatal(error)) {
+                  // The timer failed with a non-fatal error.
+                  clock.timerDidFail(timer, error);
+                } else {
+                  // The timer failed with a fatal error.
+                  throw error;
+                }
+              }
             }
           }
+        } else if (next.isScheduled()) {
+          // The next event is due to descend to a lower wheel.
+          ClockThread.cascadeEvent(clock, next);
         }
       } else if (next.isScheduled()) {
-        // The next event is scheduled for a future revolution of the clock.
+        // The next event is scheduled for a future revolution of the wheel.
         if (prev != null) {
           // Insert the next event after the last kept event in the queue,
           // bypassing any fired or cancelled events.
@@ -854,22 +1123,28 @@ final class ClockThread extends Thread {
         }
         // The next event is now the last known event to keep in the queue.
         prev = next;
+      } else if (next.context != null) {
+        // The next event was cancelled; drop it from the queue.
+        removeCount += 1;
       }
       // Check if the next event is the last in the queue.
       if (next.next == null) {
-        // Try to finish tick execution by appending a cancelled event to the
-        // end of the queue, whose insertTick is the next tick sequence number
-        // that the clock thread will execute for this queue, preventing
-        // further scheduling of events for the current tick.
+        // Try to finish slot processing by appending a cancelled event to the
+        // end of the queue, whose insertTick is the next slot sequence number
+        // that the clock thread will process for this queue, preventing
+        // further scheduling of events for the current slot.
         if (ClockEvent.NEXT.compareAndSet(next, null, nextFoot)) {
-          // All events that will ever be scheduled for this tick have now been
-          // cancelled or fired; update the foot of the queue to reference the
-          // new foot event.
+          // All events that will ever be scheduled for this slot have now been
+          // cancelled, fired, or cascaded; update the foot of the queue to
+          // reference the new foot event.
           ClockQueue.FOOT.set(queue, nextFoot);
           // Check if no events were kept in the queue.
           if (head == null) {
             // In which case the new foot is also the new head.
             head = nextFoot;
+          } else if (prev != next) {
+            // Bypass any fired or cancelled events after the last kept event.
+            prev.next = nextFoot;
           }
           // Update the head of the queue.
           queue.head = head;
@@ -879,6 +1154,34 @@ final class ClockThread extends Thread {
       // Advance to the next event in the queue.
       next = next.next;
     } while (true);
+
+    if (level > 0) {
+      // Update the occupancy and cancellation tallies of the upper wheel queue.
+      ClockQueue.EVENT_COUNT.addAndGet(queue, -removeCount);
+      ClockQueue.CANCEL_COUNT.addAndGet(queue, -cancelCount);
+    } else if (batch != null && !batch.isEmpty()) {
+      // Hand off the final partial batch.
+      clock.runTimerBatch(batch);
+    }
+  }
+
+  /**
+   * Moves a still scheduled {@code event} from an upper wheel slot that has
+   * come due into the appropriate lower wheel.
+   */
+  static void cascadeEvent(final Clock clock, final ClockEvent event) {
+    final ClockTimer context = event.context;
+    final TimerFunction timer = event.timer;
+    if (timer != null) {
+      final ClockEvent newEvent = new ClockEvent(0L, event.targetTick, context, timer);
+      // Try to transfer the timer context to the new event; fails if the
+      // timer was concurrently cancelled or rescheduled.
+      if (ClockTimer.EVENT.compareAndSet(context, event, newEvent)) {
+        // Retire the old event, now that it's no longer reachable from its context.
+        event.cancel();
+        clock.insert(newEvent, newEvent.targetTick);
+      }
+    }
   }
 
   @Override
@@ -940,3 +1243,68 @@ final class ClockThread extends Thread {
   static final AtomicInteger THREAD_COUNT = new AtomicInteger(0);
 
 }
+
+/**
+ * Batch of timers that expired during the same clock tick, handed off for
+ * execution together to amortize the cost of dispatching each timer.
+ */
+final class ClockBatch implements Runnable {
+
+  /**
+   * {@code Clock} whose expired timers this {@code ClockBatch} executes.
+   */
+  final Clock clock;
+  /**
+   * Expired timers to execute, in order of expiration.
+   */
+  final TimerFunction[] timers;
+  /**
+   * Number of timers in the batch.
+   */
+  int size;
+
+  ClockBatch(Clock clock) {
+    this.clock = clock;
+    this.timers = new TimerFunction[clock.batchSize];
+    this.size = 0;
+  }
+
+  boolean isEmpty() {
+    return this.size == 0;
+  }
+
+  boolean isFull() {
+    return this.size == this.timers.length;
+  }
+
+  void add(TimerFunction timer) {
+    this.timers[this.size] = timer;
+    this.size += 1;
+  }
+
+  /**
+   * Invokes each timer in the batch, isolating the remaining timers from
+   * non-fatal errors thrown by any one timer.
+   */
+  @Override
+  public void run() {
+    final Clock clock = this.clock;
+    final TimerFunction[] timers = this.timers;
+    for (int i = 0, n = this.size; i < n; i += 1) {
+      final TimerFunction timer = timers[i];
+      timers[i] = null;
+      try {
+        clock.timerWillRun(timer);
+        timer.runTimer();
+        clock.timerDidRun(timer);
+      } catch (Throwable error) {
+        if (Cont.isNonFatal(error)) {
+          clock.timerDidFail(timer, error);
+        } else {
+          throw error;
+        }
+      }
+    }
+  }
+
+}
@@ -28,10 +28,18 @@ public class ClockDef implements ScheduleDef, Debug {
 
   final int tickMillis;
   final int tickCount;
+  final int wheelCount;
+  final int batchSize;
 
-  public ClockDef(int tickMillis, int tickCount) {
+  public ClockDef(int tickMillis, int tickCount, int wheelCount, int batchSize) {
     this.tickMillis = tickMillis;
     this.tickCount = tickCount;
+    this.wheelCount = wheelCount;
+    this.batchSize = batchSize;
+  }
+
+  public ClockDef(int tickMillis, int tickCount) {
+    this(tickMillis, tickCount, Clock.WHEEL_COUNT, Clock.BATCH_SIZE);
   }
 
   public final int tickMillis() {
@@ -39,7 +47,7 @@ public class ClockDef implements ScheduleDef, Debug {
   }
 
   public ClockDef tickMillis(int tickMillis) {
-    return this.copy(tickMillis, this.tickCount);
+    return this.copy(tickMillis, this.tickCount, this.wheelCount, this.batchSize);
   }
 
   public final int tickCount() {
@@ -47,11 +55,27 @@ public class ClockDef implements ScheduleDef, Debug {
   }
 
   public ClockDef tickCount(int tickCount) {
-    return this.copy(this.tickMillis, tickCount);
+    return this.copy(this.tickMillis, tickCount, this.wheelCount, this.batchSize);
+  }
+
+  public final int wheelCount() {
+    return this.wheelCount;
+  }
+
+  public ClockDef wheelCount(int wheelCount) {
+    return this.copy(this.tickMillis, this.tickCount, wheelCount, this.batchSize);
+  }
+
+  public final int batchSize() {
+    return this.batchSize;
   }
 
-  protected ClockDef copy(int tickMillis, int tickCount) {
-    return new ClockDef(tickMillis, tickCount);
+  public ClockDef batchSize(int batchSize) {
+    return this.copy(this.tickMillis, this.tickCount, this.wheelCount, batchSize);
+  }
+
+  protected ClockDef copy(int tickMillis, int tickCount, int wheelCount, int batchSize) {
+    return new ClockDef(tickMillis, tickCount, wheelCount, batchSize);
   }
 
   @Override
@@ -61,7 +85,9 @@ public class ClockDef implements ScheduleDef, Debug {
     } else if (other instanceof ClockDef) {
       final ClockDef that = (ClockDef) other;
       return this.tickMillis == that.tickMillis
-          && this.tickCount == that.tickCount;
+          && this.tickCount == that.tickCount
+          && this.wheelCount == that.wheelCount
+          && this.batchSize == that.batchSize;
     }
     return false;
   }
@@ -73,8 +99,8 @@ public class ClockDef implements ScheduleDef, Debug {
     if (ClockDef.hashSeed == 0) {
       ClockDef.hashSeed = Murmur3.seed(ClockDef.class);
     }
-    return Murmur3.mash(Murmur3.mix(Murmur3.mix(ClockDef.hashSeed,
-        this.tickMillis), this.tickCount));
+    return Murmur3.mash(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(ClockDef.hashSeed,
+        this.tickMillis), this.tickCount), this.wheelCount), this.batchSize));
   }
 
   @Override
@@ -86,6 +112,12 @@ public class ClockDef implements ScheduleDef, Debug {
     if (this.tickCount != Clock.TICK_COUNT) {
       output = output.write('.').write("tickCount").write('(').debug(this.tickCount).write(')');
     }
+    if (this.wheelCount != Clock.WHEEL_COUNT) {
+      output = output.write('.').write("wheelCount").write('(').debug(this.wheelCount).write(')');
+    }
+    if (this.batchSize != Clock.BATCH_SIZE) {
+      output = output.write('.').write("batchSize").write('(').debug(this.batchSize).write(')');
+    }
     return output;
   }
 
@@ -98,7 +130,7 @@ public class ClockDef implements ScheduleDef, Debug {
 
   public static ClockDef standard() {
     if (ClockDef.standard == null) {
-      ClockDef.standard = new ClockDef(Clock.TICK_MILLIS, Clock.TICK_COUNT);
+      ClockDef.standard = new ClockDef(Clock.TICK_MILLIS, Clock.TICK_COUNT, Clock.WHEEL_COUNT, Clock.BATCH_SIZE);
     }
     return ClockDef.standard;
   }
@@ -146,9 +178,15 @@ final class ClockForm extends Form<ClockDef> {
   @Override
   public Item mold(ClockDef clockDef) {
     if (clockDef != null) {
-      final Record record = Record.create(3).attr(this.tag());
+      final Record record = Record.create(5).attr(this.tag());
       record.slot("tickMillis", clockDef.tickMillis);
       record.slot("tickCount", clockDef.tickCount);
+      if (clockDef.wheelCount != Clock.WHEEL_COUNT) {
+        record.slot("wheelCount", clockDef.wheelCount);
+      }
+      if (clockDef.batchSize != Clock.BATCH_SIZE) {
+        record.slot("batchSize", clockDef.batchSize);
+      }
       return record;
     } else {
       return Item.extant();
@@ -162,7 +200,9 @@ final class ClockForm extends Form<ClockDef> {
     if (header.isDefined()) {
       final int tickMillis = value.get("tickMillis").intValue(Clock.TICK_MILLIS);
       final int tickCount = value.get("tickCount").intValue(Clock.TICK_COUNT);
-      return new ClockDef(tickMillis, tickCount);
+      final int wheelCount = value.get("wheelCount").intValue(Clock.WHEEL_COUNT);
+      final int batchSize = value.get("batchSize").intValue(Clock.BATCH_SIZE);
+      return new ClockDef(tickMillis, tickCount, wheelCount, batchSize);
     }
     return null;
   }
@@ -0,0 +1,189 @@
+// Copyright 2015-2023 Swim.inc
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.concurrent;
+
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+/**
+ * Unbounded multi-producer, single-consumer queue backed by a linked list of
+ * fixed-size array chunks. Producers claim slots by atomically incrementing
+ * the index of the tail chunk, and only allocate when a chunk fills up, so
+ * a queue allocates one chunk per {@link #chunkSize()} elements, rather than
+ * one node per element. Any thread may {@link #add(Object) add} elements,
+ * but only one thread at a time may {@link #poll() poll} or {@link #peek()
+ * peek} elements; {@link #isEmpty()} and {@link #size()} may be called from
+ * any thread.
+ */
+public class ConcurrentMpscQueue<T> {
+
+  final int chunkSize;
+  volatile ConcurrentMpscQueueChunk<T> head;
+  volatile int headIndex;
+  volatile ConcurrentMpscQueueChunk<T> tail;
+
+  public ConcurrentMpscQueue(int chunkSize) {
+    if (chunkSize <= 0) {
+      throw new IllegalArgumentException("chunkSize: " + chunkSize);
+    }
+    final ConcurrentMpscQueueChunk<T> chunk = new ConcurrentMpscQueueChunk<T>(chunkSize);
+    this.chunkSize = chunkSize;
+    this.head = chunk;
+    this.headIndex = 0;
+    this.tail = chunk;
+  }
+
+  public ConcurrentMpscQueue() {
+    this(ConcurrentMpscQueue.CHUNK_SIZE);
+  }
+
+  public final int chunkSize() {
+    return this.chunkSize;
+  }
+
+  public boolean isEmpty() {
+    // Read head before headIndex; the consumer updates them in reverse order.
+    final ConcurrentMpscQueueChunk<T> chunk = this.head;
+    final int index = this.headIndex;
+    if (index < this.chunkSize) {
+      return index >= chunk.index;
+    } else {
+      return chunk.next == null;
+    }
+  }
+
+  public int size() {
+    ConcurrentMpscQueueChunk<T> chunk = this.head;
+    int size = -this.headIndex;
+    do {
+      size += Math.min(chunk.index, this.chunkSize);
+      chunk = chunk.next;
+    } while (chunk != null);
+    return Math.max(0, size);
+  }
+
+  public void add(T value) {
+    if (value == null) {
+      throw new NullPointerException();
+    }
+    final int chunkSize = this.chunkSize;
+    ConcurrentMpscQueueChunk<T> chunk = this.tail;
+    do {
+      if (chunk.index < chunkSize) {
+        final int index = ConcurrentMpscQueueChunk.INDEX.getAndIncrement(chunk);
+        if (index < chunkSize) {
+          chunk.slots.lazySet(index, value);
+          return;
+        }
+      }
+      ConcurrentMpscQueueChunk<T> next = chunk.next;
+      if (next == null) {
+        // Chunk is full; append a new chunk with value in its first slot.
+        final ConcurrentMpscQueueChunk<T> newChunk = new ConcurrentMpscQueueChunk<T>(chunkSize);
+        newChunk.slots.lazySet(0, value);
+        newChunk.index = 1;
+        if (ConcurrentMpscQueueChunk.NEXT.compareAndSet(chunk, null, newChunk)) {
+          ConcurrentMpscQueue.TAIL.compareAndSet(this, chunk, newChunk);
+          return;
+        }
+        next = chunk.next;
+      }
+      ConcurrentMpscQueue.TAIL.compareAndSet(this, chunk, next);
+      chunk = next;
+    } while (true);
+  }
+
+  public T peek() {
+    ConcurrentMpscQueueChunk<T> chunk = this.head;
+    int index = this.headIndex;
+    if (index == this.chunkSize) {
+      chunk = chunk.next;
+      if (chunk == null) {
+        return null;
+      }
+      index = 0;
+    }
+    return this.await(chunk, index);
+  }
+
+  public T poll() {
+    ConcurrentMpscQueueChunk<T> chunk = this.head;
+    int index = this.headIndex;
+    if (index == this.chunkSize) {
+      final ConcurrentMpscQueueChunk<T> next = chunk.next;
+      if (next == null) {
+        return null;
+      }
+      chunk = next;
+      index = 0;
+      this.headIndex = 0;
+      this.head = chunk;
+    }
+    final T value = this.await(chunk, index);
+    if (value != null) {
+      chunk.slots.lazySet(index, null);
+      ConcurrentMpscQueue.HEAD_INDEX.lazySet(this, index + 1);
+    }
+    return value;
+  }
+
+  /**
+   * Returns the element in the given {@code index} of {@code chunk}, waiting
+   * for the producer that claimed the slot to store its element, if the slot
+   * has been claimed; otherwise returns {@code null}.
+   */
+  T await(ConcurrentMpscQueueChunk<T> chunk, int index) {
+    T value = chunk.slots.get(index);
+    if (value == null && index < chunk.index) {
+      do {
+        Thread.onSpinWait();
+        value = chunk.slots.get(index);
+      } while (value == null);
+    }
+    return value;
+  }
+
+  static final int CHUNK_SIZE = 32;
+
+  @SuppressWarnings("unchecked")
+  static final AtomicIntegerFieldUpdater<ConcurrentMpscQueue<?>> HEAD_INDEX =
+      AtomicIntegerFieldUpdater.newUpdater((Class<ConcurrentMpscQueue<?>>) (Class<?>) ConcurrentMpscQueue.class, "headIndex");
+  @SuppressWarnings("unchecked")
+  static final AtomicReferenceFieldUpdater<ConcurrentMpscQueue<?>, ConcurrentMpscQueueChunk<?>> TAIL =
+      AtomicReferenceFieldUpdater.newUpdater((Class<ConcurrentMpscQueue<?>>) (Class<?>) ConcurrentMpscQueue.class, (Class<ConcurrentMpscQueueChunk<?>>) (Class<?>) ConcurrentMpscQueueChunk.class, "tail");
+
+}
+
+final class ConcurrentMpscQueueChunk<T> {
+
+  final AtomicReferenceArray<T> slots;
+  volatile int index;
+  volatile ConcurrentMpscQueueChunk<T> next;
+
+  ConcurrentMpscQueueChunk(int chunkSize) {
+    this.slots = new AtomicReferenceArray<T>(chunkSize);
+    this.index = 0;
+    this.next = null;
+  }
+
+  @SuppressWarnings("unchecked")
+  static final AtomicIntegerFieldUpdater<ConcurrentMpscQueueChunk<?>> INDEX =
+      AtomicIntegerFieldUpdater.newUpdater((Class<ConcurrentMpscQueueChunk<?>>) (Class<?>) ConcurrentMpscQueueChunk.class, "index");
+  @SuppressWarnings("unchecked")
+  static final AtomicReferenceFieldUpdater<ConcurrentMpscQueueChunk<?>, ConcurrentMpscQueueChunk<?>> NEXT =
+      AtomicReferenceFieldUpdater.newUpdater((Class<ConcurrentMpscQueueChunk<?>>) (Class<?>) ConcurrentMpscQueueChunk.class, (Class<ConcurrentMpscQueueChunk<?>>) (Class<?>) ConcurrentMpscQueueChunk.class, "next");
+
+}
@@ -31,4 +31,12 @@ public interface MainStage extends Stage {
    */
   void stop();
 
+  /**
+   * Returns a snapshot of this {@code Stage}'s scheduling statistics, or
+   * {@code null} if this {@code Stage} isn't instrumented.
+   */
+  default StageStats stageStats() {
+    return null;
+  }
+
 }
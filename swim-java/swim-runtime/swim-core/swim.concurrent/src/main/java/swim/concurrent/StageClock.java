@@ -36,12 +36,23 @@ public class StageClock extends Clock {
   }
 
   /**
-   * Constructs a new {@code StageClock}, with the timer resolution and clock
-   * period specified by the given {@code clockDef}, that executes timer
-   * functions on the given {@code stage}.
+   * Constructs a new {@code StageClock} with a timer resolution of {@code
+   * tickMillis} milliseconds, {@code wheelCount} hierarchical timer wheels
+   * of {@code tickCount} slots each, and a timer batch size of {@code
+   * batchSize}, that executes timer functions on the given {@code stage}.
+   */
+  public StageClock(Stage stage, int tickMillis, int tickCount, int wheelCount, int batchSize) {
+    super(tickMillis, tickCount, wheelCount, batchSize);
+    this.stage = stage;
+  }
+
+  /**
+   * Constructs a new {@code StageClock}, with the timer resolution, clock
+   * period, wheel count, and batch size specified by the given {@code
+   * clockDef}, that executes timer functions on the given {@code stage}.
    */
   public StageClock(Stage stage, ClockDef clockDef) {
-    this(stage, clockDef.tickMillis, clockDef.tickCount);
+    this(stage, clockDef.tickMillis, clockDef.tickCount, clockDef.wheelCount, clockDef.batchSize);
   }
 
   /**
@@ -70,4 +81,13 @@ public class StageClock extends Clock {
     this.stage.execute(runnable);
   }
 
+  /**
+   * Schedules the {@code batch} of expired timers to run on the execution
+   * {@link #stage} as a single task.
+   */
+  @Override
+  protected void runTimerBatch(Runnable batch) {
+    this.stage.execute(batch);
+  }
+
 }
@@ -0,0 +1,196 @@
+// Copyright 2015-2023 Swim.inc
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.concurrent;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+
+/**
+ * Thread-safe histogram of durations, measured in nanoseconds. Durations are
+ * counted in log-linear buckets: each power of two range of durations is
+ * split into four equal width buckets, bounding the relative error of
+ * reported quantiles to 25%, while keeping recording to a few atomic
+ * increments.
+ */
+public class StageHistogram {
+
+  /**
+   * Number of durations counted in each bucket.
+   */
+  final AtomicLongArray buckets;
+  /**
+   * Sum of all recorded durations, in nanoseconds.
+   */
+  volatile long totalNanos;
+  /**
+   * Longest recorded duration, in nanoseconds.
+   */
+  volatile long maxNanos;
+
+  public StageHistogram() {
+    this.buckets = new AtomicLongArray(StageHistogram.BUCKET_COUNT);
+    this.totalNanos = 0L;
+    this.maxNanos = 0L;
+  }
+
+  /**
+   * Constructs a histogram with the given bucket {@code counts}, such as one
+   * previously returned by {@link #bucketCounts()}.
+   */
+  public StageHistogram(long[] counts, long totalNanos, long maxNanos) {
+    final int n = Math.min(counts.length, StageHistogram.BUCKET_COUNT);
+    this.buckets = new AtomicLongArray(StageHistogram.BUCKET_COUNT);
+    for (int i = 0; i < n; i += 1) {
+      this.buckets.set(i, counts[i]);
+    }
+    this.totalNanos = totalNanos;
+    this.maxNanos = maxNanos;
+  }
+
+  /**
+   * Records a single duration of {@code nanos} nanoseconds; negative
+   * durations are recorded as zero.
+   */
+  public void record(long nanos) {
+    if (nanos < 0L) {
+      nanos = 0L;
+    }
+    this.buckets.incrementAndGet(StageHistogram.bucketIndex(nanos));
+    StageHistogram.TOTAL_NANOS.addAndGet(this, nanos);
+    do {
+      final long maxNanos = this.maxNanos;
+      if (nanos <= maxNanos || StageHistogram.MAX_NANOS.compareAndSet(this, maxNanos, nanos)) {
+        break;
+      }
+    } while (true);
+  }
+
+  /**
+   * Returns the number of recorded durations.
+   */
+  public long count() {
+    long count = 0L;
+    for (int i = 0; i < StageHistogram.BUCKET_COUNT; i += 1) {
+      count += this.buckets.get(i);
+    }
+    return count;
+  }
+
+  /**
+   * Returns the sum of all recorded durations, in nanoseconds.
+   */
+  public long totalNanos() {
+    return this.totalNanos;
+  }
+
+  /**
+   * Returns the longest recorded duration, in nanoseconds.
+   */
+  public long maxNanos() {
+    return this.maxNanos;
+  }
+
+  /**
+   * Returns the mean recorded duration, in nanoseconds.
+   */
+  public long meanNanos() {
+    final long count = this.count();
+    return count != 0L ? this.totalNanos / count : 0L;
+  }
+
+  /**
+   * Returns an upper bound on the {@code quantile} of recorded durations,
+   * in nanoseconds, where {@code quantile} is between {@code 0.0} and
+   * {@code 1.0}.
+   */
+  public long quantileNanos(double quantile) {
+    final long[] counts = this.bucketCounts();
+    long count = 0L;
+    for (int i = 0; i < counts.length; i += 1) {
+      count += counts[i];
+    }
+    if (count == 0L) {
+      return 0L;
+    }
+    final long rank = Math.max(1L, (long) Math.ceil(quantile * (double) count));
+    long seen = 0L;
+    for (int i = 0; i < counts.length; i += 1) {
+      seen += counts[i];
+      if (seen >= rank) {
+        return Math.min(StageHistogram.bucketLimit(i), this.maxNanos);
+      }
+    }
+    return this.maxNanos;
+  }
+
+  /**
+   * Returns the number of durations counted in each bucket, omitting trailing
+   * empty buckets.
+   */
+  public long[] bucketCounts() {
+    int n = StageHistogram.BUCKET_COUNT;
+    while (n > 0 && this.buckets.get(n - 1) == 0L) {
+      n -= 1;
+    }
+    final long[] counts = new long[n];
+    for (int i = 0; i < n; i += 1) {
+      counts[i] = this.buckets.get(i);
+    }
+    return counts;
+  }
+
+  /**
+   * Returns a copy of this histogram, unaffected by subsequent recordings.
+   */
+  public StageHistogram snapshot() {
+    return new StageHistogram(this.bucketCounts(), this.totalNanos, this.maxNanos);
+  }
+
+  /**
+   * Number of buckets needed to count all non-negative {@code long} durations.
+   */
+  static final int BUCKET_COUNT = 248;
+
+  /**
+   * Returns the index of the bucket that counts durations of {@code nanos}.
+   */
+  static int bucketIndex(long nanos) {
+    if (nanos < 4L) {
+      return (int) nanos;
+    }
+    final int exponent = 63 - Long.numberOfLeadingZeros(nanos);
+    final int subBucket = (int) (nanos >>> (exponent - 2)) & 3;
+    return ((exponent - 1) << 2) + subBucket;
+  }
+
+  /**
+   * Returns the longest duration counted by the bucket at {@code index}.
+   */
+  static long bucketLimit(int index) {
+    if (index < 4) {
+      return (long) index;
+    }
+    final int exponent = (index >>> 2) + 1;
+    final long lower = (long) (4 + (index & 3)) << (exponent - 2);
+    return lower + ((1L << (exponent - 2)) - 1L);
+  }
+
+  static final AtomicLongFieldUpdater<StageHistogram> TOTAL_NANOS =
+      AtomicLongFieldUpdater.newUpdater(StageHistogram.class, "totalNanos");
+
+  static final AtomicLongFieldUpdater<StageHistogram> MAX_NANOS =
+      AtomicLongFieldUpdater.newUpdater(StageHistogram.class, "maxNanos");
+
+}
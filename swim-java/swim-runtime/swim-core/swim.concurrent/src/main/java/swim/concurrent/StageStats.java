@@ -0,0 +1,120 @@
+// Copyright 2015-2023 Swim.inc
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.concurrent;
+
+/**
+ * Snapshot of the scheduling behavior of an instrumented {@link MainStage}.
+ */
+public class StageStats {
+
+  protected final int parallelism;
+  protected final int poolSize;
+  protected final int activeCount;
+  protected final int blockedCount;
+  protected final long spawnCount;
+  protected final long stealCount;
+  protected final long queueSize;
+  protected final StageHistogram waitTimes;
+  protected final StageHistogram runTimes;
+
+  public StageStats(int parallelism, int poolSize, int activeCount, int blockedCount,
+                    long spawnCount, long stealCount, long queueSize,
+                    StageHistogram waitTimes, StageHistogram runTimes) {
+    this.parallelism = parallelism;
+    this.poolSize = poolSize;
+    this.activeCount = activeCount;
+    this.blockedCount = blockedCount;
+    this.spawnCount = spawnCount;
+    this.stealCount = stealCount;
+    this.queueSize = queueSize;
+    this.waitTimes = waitTimes;
+    this.runTimes = runTimes;
+  }
+
+  /**
+   * Returns the target number of concurrently running worker threads.
+   */
+  public final int parallelism() {
+    return this.parallelism;
+  }
+
+  /**
+   * Returns the number of live worker threads, including compensating
+   * threads started to stand in for blocked workers.
+   */
+  public final int poolSize() {
+    return this.poolSize;
+  }
+
+  /**
+   * Returns the number of worker threads that are running tasks, excluding
+   * workers blocked in a managed block.
+   */
+  public final int activeCount() {
+    return this.activeCount;
+  }
+
+  /**
+   * Returns the number of tasks currently blocked in a managed block.
+   */
+  public final int blockedCount() {
+    return this.blockedCount;
+  }
+
+  /**
+   * Returns the number of live worker threads in excess of the target
+   * parallelism, started to compensate for blocked workers.
+   */
+  public final int compensationCount() {
+    return Math.max(0, this.poolSize - this.parallelism);
+  }
+
+  /**
+   * Returns the total number of worker threads ever started.
+   */
+  public final long spawnCount() {
+    return this.spawnCount;
+  }
+
+  /**
+   * Returns the total number of tasks stolen from one worker's queue by
+   * another worker.
+   */
+  public final long stealCount() {
+    return this.stealCount;
+  }
+
+  /**
+   * Returns the approximate number of tasks waiting to run.
+   */
+  public final long queueSize() {
+    return this.queueSize;
+  }
+
+  /**
+   * Returns the distribution of delays between cueing tasks and running them.
+   */
+  public final StageHistogram waitTimes() {
+    return this.waitTimes;
+  }
+
+  /**
+   * Returns the distribution of task execution times.
+   */
+  public final StageHistogram runTimes() {
+    return this.runTimes;
+  }
+
+}
@@ -59,6 +59,17 @@ public interface Task extends TaskFunction {
    */
   boolean taskWillBlock();
 
+  /**
+   * Returns a hash code that identifies the data on which this {@code Task}
+   * operates, such as the URI of an agent. Stages that support worker
+   * affinity prefer to run tasks with equal affinity on the same thread,
+   * to improve cache locality. Returns {@code 0} if this {@code Task}
+   * has no affinity.
+   */
+  default int taskAffinity() {
+    return 0;
+  }
+
   /**
    * Lifecycle callback invoked before this {@code Task} is scheduled for
    * execution.
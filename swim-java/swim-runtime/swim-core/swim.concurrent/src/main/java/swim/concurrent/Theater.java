@@ -19,10 +19,23 @@ import java.util.concurrent.ForkJoinWorkerThread;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import swim.util.Murmur3;
 
 /**
  * {@link Stage} that executes timers, tasks, and continuations on a {@code
  * ForkJoinPool}.
+ *
+ * <h2>Worker affinity</h2>
+ * A {@code Theater} with worker affinity enabled queues each task that
+ * reports a non-zero {@link Task#taskAffinity() affinity} on one of
+ * {@link #parallelism()} affinity queues, selected by the task's affinity
+ * hash. Pool workers drain each affinity queue one task at a time, forking
+ * each next drain run onto their own local queue, so that consecutive runs
+ * of tasks with the same affinity tend to reuse the caches of the same core,
+ * while idle workers can still steal tasks queued behind a long running
+ * task. When a task's affinity queue holds more than {@link #AFFINITY_LIMIT}
+ * tasks, the task instead gets submitted directly to the pool, as do
+ * blocking tasks, and tasks without affinity.
  */
 public class Theater implements MainStage, Thread.UncaughtExceptionHandler {
 
@@ -31,13 +44,24 @@ public class Theater implements MainStage, Thread.UncaughtExceptionHandler {
    */
   final String name;
   /**
-   * Thread pool on which to execute timers, tasks, and continuations.
+   * Thread pool on which to execute timers, tasks, and continuations;
+   * {@code null} if a subclass provides its own executor.
    */
   final ForkJoinPool pool;
+  /**
+   * Queues on which tasks with affinity wait to run; {@code null} if
+   * worker affinity is disabled.
+   */
+  final TheaterAffinityQueue[] affinityQueues;
   /**
    * Schedule used to set timers.
    */
   Schedule schedule;
+  /**
+   * Scheduling statistics recorder; {@code null} if the theater isn't
+   * instrumented.
+   */
+  volatile TheaterMonitor monitor;
   /**
    * Atomic bit field with {@link #STARTED} and {@link #STOPPED} flags.
    */
@@ -50,17 +74,37 @@ public class Theater implements MainStage, Thread.UncaughtExceptionHandler {
       parallelism = 2 * Runtime.getRuntime().availableProcessors();
     }
     this.pool = new ForkJoinPool(parallelism, new TheaterWorkerFactory(this), this, true);
+    this.affinityQueues = theaterDef.affinity || Theater.AFFINITY ? this.createAffinityQueues(parallelism) : null;
     if (theaterDef.scheduleDef instanceof ClockDef) {
       this.schedule = new StageClock(this, (ClockDef) theaterDef.scheduleDef);
     } else {
       this.schedule = new StageClock(this);
     }
+    this.monitor = theaterDef.instrumented || Theater.INSTRUMENTED ? new TheaterMonitor() : null;
   }
 
   public Theater(String name, int parallelism, Schedule schedule) {
     this.name = name != null ? name : "SwimStage" + Theater.THEATER_COUNT.getAndIncrement() + ".";
     this.pool = new ForkJoinPool(parallelism, new TheaterWorkerFactory(this), this, true);
+    this.affinityQueues = Theater.AFFINITY ? this.createAffinityQueues(parallelism) : null;
     this.schedule = schedule != null ? schedule : new StageClock(this);
+    this.monitor = Theater.INSTRUMENTED ? new TheaterMonitor() : null;
+  }
+
+  /**
+   * Constructs a {@code Theater} without a thread pool, for subclasses that
+   * override {@link #execute(Runnable)} to run work on some other executor.
+   */
+  Theater(String name, ScheduleDef scheduleDef) {
+    this.name = name != null ? name : "SwimStage" + Theater.THEATER_COUNT.getAndIncrement() + ".";
+    this.pool = null;
+    this.affinityQueues = null;
+    if (scheduleDef instanceof ClockDef) {
+      this.schedule = new StageClock(this, (ClockDef) scheduleDef);
+    } else {
+      this.schedule = new StageClock(this);
+    }
+    this.monitor = Theater.INSTRUMENTED ? new TheaterMonitor() : null;
   }
 
   public Theater(String name, int parallelism) {
@@ -96,7 +140,16 @@ public class Theater implements MainStage, Thread.UncaughtExceptionHandler {
   }
 
   public final int parallelism() {
-    return this.pool.getParallelism();
+    final ForkJoinPool pool = this.pool;
+    return pool != null ? pool.getParallelism() : 0;
+  }
+
+  /**
+   * Returns {@code true} if this {@code Theater} queues tasks with affinity
+   * by affinity hash.
+   */
+  public final boolean hasAffinity() {
+    return this.affinityQueues != null;
   }
 
   public final Schedule schedule() {
@@ -107,6 +160,72 @@ public class Theater implements MainStage, Thread.UncaughtExceptionHandler {
     this.schedule = schedule;
   }
 
+  /**
+   * Returns {@code true} if this {@code Theater} records task wait and run
+   * times, and the number of blocked tasks.
+   */
+  public final boolean isInstrumented() {
+    return this.monitor != null;
+  }
+
+  /**
+   * Enables or disables recording of scheduling statistics. Enabling
+   * instrumentation on an already instrumented {@code Theater} retains
+   * previously recorded statistics.
+   */
+  public void setInstrumented(boolean instrumented) {
+    if (!instrumented) {
+      this.monitor = null;
+    } else if (this.monitor == null) {
+      this.monitor = new TheaterMonitor();
+    }
+  }
+
+  /**
+   * Returns a snapshot of this {@code Theater}'s scheduling statistics, or
+   * {@code null} if this {@code Theater} isn't instrumented.
+   */
+  @Override
+  public StageStats stageStats() {
+    final TheaterMonitor monitor = this.monitor;
+    if (monitor == null) {
+      return null;
+    }
+    final ForkJoinPool pool = this.pool;
+    final int parallelism;
+    final int poolSize;
+    final int activeCount;
+    final long spawnCount;
+    final long stealCount;
+    final long queueSize;
+    if (pool != null) {
+      parallelism = pool.getParallelism();
+      poolSize = pool.getPoolSize();
+      activeCount = pool.getActiveThreadCount();
+      final ForkJoinPool.ForkJoinWorkerThreadFactory factory = pool.getFactory();
+      spawnCount = factory instanceof TheaterWorkerFactory ? (long) ((TheaterWorkerFactory) factory).workerCount : 0L;
+      stealCount = pool.getStealCount();
+      long affinityQueueSize = 0L;
+      final TheaterAffinityQueue[] affinityQueues = this.affinityQueues;
+      if (affinityQueues != null) {
+        for (int i = 0; i < affinityQueues.length; i += 1) {
+          affinityQueueSize += (long) affinityQueues[i].queueSize;
+        }
+      }
+      queueSize = pool.getQueuedTaskCount() + (long) pool.getQueuedSubmissionCount() + affinityQueueSize;
+    } else {
+      parallelism = 0;
+      poolSize = 0;
+      activeCount = monitor.runningCount;
+      spawnCount = 0L;
+      stealCount = 0L;
+      queueSize = 0L;
+    }
+    return new StageStats(parallelism, poolSize, activeCount, monitor.blockedCount,
+                          spawnCount, stealCount, queueSize,
+                          monitor.waitTimes.snapshot(), monitor.runTimes.snapshot());
+  }
+
   /**
    * Ensures that this {@code Theater} is up and running.
    *
@@ -149,12 +268,12 @@ public class Theater implements MainStage, Thread.UncaughtExceptionHandler {
             }
           } finally {
             // Shut down the thread pool.
-            this.pool.shutdown();
+            this.shutdownWorkers();
           }
           boolean interrupted = false;
-          while (!this.pool.isTerminated()) {
+          while (!this.workersTerminated()) {
             try {
-              this.pool.awaitTermination(100, TimeUnit.MILLISECONDS);
+              this.awaitWorkers(100, TimeUnit.MILLISECONDS);
             } catch (InterruptedException e) {
               interrupted = true;
             }
@@ -178,6 +297,60 @@ public class Theater implements MainStage, Thread.UncaughtExceptionHandler {
     this.pool.execute(runnable);
   }
 
+  /**
+   * Submits a cued {@code task} for execution. If worker affinity is enabled,
+   * and the task has affinity and won't block, the task gets queued on its
+   * affinity queue, unless that queue is full, in which case the task gets
+   * submitted directly to the work-stealing pool.
+   */
+  void executeTask(TheaterTask task) {
+    final TheaterAffinityQueue[] affinityQueues = this.affinityQueues;
+    final int affinity = task.affinity;
+    if (affinityQueues != null && affinity != 0
+        && !(task.task instanceof Task && ((Task) task.task).taskWillBlock())) {
+      this.start();
+      final int queueIndex = (Murmur3.mash(affinity) & 0x7fffffff) % affinityQueues.length;
+      if (affinityQueues[queueIndex].offer(task)) {
+        return;
+      }
+    }
+    this.execute(task);
+  }
+
+  /**
+   * Instantiates {@code queueCount} affinity queues drained by the pool.
+   */
+  TheaterAffinityQueue[] createAffinityQueues(int queueCount) {
+    final TheaterAffinityQueue[] affinityQueues = new TheaterAffinityQueue[queueCount];
+    for (int i = 0; i < queueCount; i += 1) {
+      affinityQueues[i] = new TheaterAffinityQueue(this.pool);
+    }
+    return affinityQueues;
+  }
+
+  /**
+   * Initiates an orderly shutdown of the threads that execute this {@code
+   * Theater}'s timers, tasks, and continuations.
+   */
+  void shutdownWorkers() {
+    this.pool.shutdown();
+  }
+
+  /**
+   * Returns {@code true} if all worker threads have terminated after shutdown.
+   */
+  boolean workersTerminated() {
+    return this.pool.isTerminated();
+  }
+
+  /**
+   * Waits up to {@code timeout} for all worker threads to terminate after
+   * shutdown.
+   */
+  void awaitWorkers(long timeout, TimeUnit unit) throws InterruptedException {
+    this.pool.awaitTermination(timeout, unit);
+  }
+
   @Override
   public TaskRef task(TaskFunction task) {
     this.start();
@@ -343,154 +516,36 @@ public class Theater implements MainStage, Thread.UncaughtExceptionHandler {
    */
   static final AtomicInteger THEATER_COUNT = new AtomicInteger(0);
 
-}
-
-/**
- * {@code TaskContext} that executes its sequential process on a {@code
- * Theater} stage.
- */
-class TheaterTask implements TaskContext, Runnable, ForkJoinPool.ManagedBlocker {
-
   /**
-   * {@code Theater} to which the {@code task} is bound.
+   * Whether or not theaters record scheduling statistics by default. Defaults
+   * to the value of the {@code swim.theater.instrumented} system property.
    */
-  final Theater theater;
-  /**
-   * {@code TaskFunction} to invoke when the cued task executes.
-   */
-  final TaskFunction task;
-  /**
-   * Atomic bit field with {@link #CUED} and {@link #RUNNING} flags.
-   */
-  volatile int status;
-
-  TheaterTask(Theater theater, TaskFunction task) {
-    this.theater = theater;
-    this.task = task;
-    this.status = 0;
-  }
-
-  @Override
-  public Stage stage() {
-    return this.theater;
-  }
-
-  @Override
-  public boolean isCued() {
-    return (TheaterTask.STATUS.get(this) & TheaterTask.CUED) != 0;
-  }
-
-  @Override
-  public boolean isReleasable() {
-    return (TheaterTask.STATUS.get(this) & TheaterTask.RUNNING) == 0;
-  }
-
-  @Override
-  public boolean cue() {
-    do {
-      final int oldStatus = TheaterTask.STATUS.get(this);
-      final int newStatus = oldStatus | TheaterTask.CUED;
-      if (TheaterTask.STATUS.compareAndSet(this, oldStatus, newStatus)) {
-        if (oldStatus != newStatus && (newStatus & TheaterTask.RUNNING) == 0) {
-          this.theater.taskWillCue(this.task);
-          if (this.task instanceof Task) {
-            ((Task) this.task).taskWillCue();
-          }
-          this.theater.execute(this);
-          return true;
-        } else {
-          return false;
-        }
-      }
-    } while (true);
-  }
-
-  @Override
-  public boolean cancel() {
-    do {
-      final int oldStatus = TheaterTask.STATUS.get(this);
-      final int newStatus = oldStatus & ~TheaterTask.CUED;
-      if (TheaterTask.STATUS.compareAndSet(this, oldStatus, newStatus)) {
-        if (oldStatus != newStatus && (newStatus & TheaterTask.RUNNING) == 0) {
-          if (this.task instanceof Task) {
-            ((Task) this.task).taskDidCancel();
-          }
-          this.theater.taskDidCancel(this.task);
-          return true;
-        } else {
-          return false;
-        }
-      }
-    } while (true);
-  }
+  static final boolean INSTRUMENTED = Boolean.parseBoolean(System.getProperty("swim.theater.instrumented"));
 
-  @Override
-  public void run() {
-    do {
-      final int oldStatus = TheaterTask.STATUS.get(this);
-      final int newStatus = (oldStatus | TheaterTask.RUNNING) & ~TheaterTask.CUED;
-      if (TheaterTask.STATUS.compareAndSet(this, oldStatus, newStatus)) {
-        if ((oldStatus & TheaterTask.CUED) != 0) {
-          this.theater.taskWillRun(this.task);
-          try {
-            if (this.task instanceof Task && ((Task) this.task).taskWillBlock()) {
-              ForkJoinPool.managedBlock(this);
-            } else {
-              this.task.runTask();
-            }
-            this.theater.taskDidRun(this.task);
-          } catch (InterruptedException error) {
-            this.theater.taskDidFail(this.task, error);
-          } catch (Throwable error) {
-            if (Cont.isNonFatal(error)) {
-              this.theater.taskDidFail(this.task, error);
-            } else {
-              throw error;
-            }
-          }
-        }
-        break;
-      }
-    } while (true);
-
-    do {
-      final int oldStatus = TheaterTask.STATUS.get(this);
-      final int newStatus = oldStatus & ~TheaterTask.RUNNING;
-      if (TheaterTask.STATUS.compareAndSet(this, oldStatus, newStatus)) {
-        if ((newStatus & TheaterTask.CUED) != 0) {
-          this.theater.taskWillCue(this.task);
-          if (this.task instanceof Task) {
-            ((Task) this.task).taskWillCue();
-          }
-          this.theater.execute(this);
-        }
-        break;
-      }
-    } while (true);
-  }
-
-  @Override
-  public boolean block() {
-    this.task.runTask();
-    return true;
-  }
-
-  /**
-   * Atomic {@link #status} bit flag indicating that the task is currently
-   * cued for execution.
-   */
-  static final int CUED = 1 << 0;
   /**
-   * Atomic {@link #status} bit flag indicating that the task is currently
-   * executing.
+   * Whether or not theaters queue tasks with affinity by affinity hash
+   * by default. Defaults to the value of the {@code
+   * swim.theater.affinity} system property.
    */
-  static final int RUNNING = 1 << 1;
+  static final boolean AFFINITY = Boolean.parseBoolean(System.getProperty("swim.theater.affinity"));
 
   /**
-   * Atomic {@link #status} field updater, used to linearize task cueing.
+   * Maximum number of tasks that may be queued on an affinity queue before
+   * additional tasks overflow directly to the work-stealing pool. Defaults to the
+   * value of the {@code swim.theater.affinity.limit} system property, if
+   * defined; otherwise defaults to {@code 64}.
    */
-  static final AtomicIntegerFieldUpdater<TheaterTask> STATUS =
-      AtomicIntegerFieldUpdater.newUpdater(TheaterTask.class, "status");
+  public static final int AFFINITY_LIMIT;
+
+  static {
+    int affinityLimit;
+    try {
+      affinityLimit = Integer.parseInt(System.getProperty("swim.theater.affinity.limit"));
+    } catch (NumberFormatException e) {
+      affinityLimit = 64;
+    }
+    AFFINITY_LIMIT = affinityLimit;
+  }
 
 }
 
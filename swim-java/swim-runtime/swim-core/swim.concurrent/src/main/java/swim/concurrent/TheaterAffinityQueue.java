@@ -0,0 +1,100 @@
+// Copyright 2015-2023 Swim.inc
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.concurrent;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+
+/**
+ * Queue of cued tasks that share an affinity slot of a {@code Theater},
+ * drained by the theater's own pool workers one task at a time. Each drain
+ * run forks the next drain run before running its task. A drain run forked
+ * by a pool worker lands on that worker's local queue, so that tasks with
+ * the same affinity tend to keep running on the same worker, while idle
+ * workers remain free to steal tasks queued behind a long running task.
+ */
+final class TheaterAffinityQueue implements Runnable {
+
+  /**
+   * Thread pool that drains this queue.
+   */
+  final ForkJoinPool pool;
+  /**
+   * Cued tasks waiting to run.
+   */
+  final ConcurrentLinkedQueue<TheaterTask> queue;
+  /**
+   * Number of tasks reserved or queued in this queue; bounded by {@link
+   * Theater#AFFINITY_LIMIT} to shed load directly to the pool.
+   */
+  volatile int queueSize;
+  /**
+   * {@code 1} while a drain run is submitted to the pool, but hasn't yet
+   * started; otherwise {@code 0}.
+   */
+  volatile int scheduled;
+
+  TheaterAffinityQueue(ForkJoinPool pool) {
+    this.pool = pool;
+    this.queue = new ConcurrentLinkedQueue<TheaterTask>();
+    this.queueSize = 0;
+    this.scheduled = 0;
+  }
+
+  /**
+   * Queues a cued {@code task} to run on the pool; returns {@code false}
+   * if this queue is full.
+   */
+  boolean offer(TheaterTask task) {
+    if (TheaterAffinityQueue.QUEUE_SIZE.incrementAndGet(this) > Theater.AFFINITY_LIMIT) {
+      TheaterAffinityQueue.QUEUE_SIZE.decrementAndGet(this);
+      return false;
+    }
+    this.queue.add(task);
+    this.schedule();
+    return true;
+  }
+
+  /**
+   * Ensures that a drain run is pending in the pool.
+   */
+  void schedule() {
+    if (TheaterAffinityQueue.SCHEDULED.compareAndSet(this, 0, 1)) {
+      this.pool.execute(this);
+    }
+  }
+
+  @Override
+  public void run() {
+    TheaterAffinityQueue.SCHEDULED.set(this, 0);
+    final TheaterTask task = this.queue.poll();
+    if (task != null) {
+      TheaterAffinityQueue.QUEUE_SIZE.decrementAndGet(this);
+      if (!this.queue.isEmpty()) {
+        // Fork the next drain run before running the task, so that an idle
+        // worker can steal the remaining tasks while this one runs.
+        this.schedule();
+      }
+      task.run();
+    }
+  }
+
+  static final AtomicIntegerFieldUpdater<TheaterAffinityQueue> QUEUE_SIZE =
+      AtomicIntegerFieldUpdater.newUpdater(TheaterAffinityQueue.class, "queueSize");
+  static final AtomicIntegerFieldUpdater<TheaterAffinityQueue> SCHEDULED =
+      AtomicIntegerFieldUpdater.newUpdater(TheaterAffinityQueue.class, "scheduled");
+
+}
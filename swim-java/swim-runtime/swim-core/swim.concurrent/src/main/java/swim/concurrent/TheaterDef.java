@@ -30,11 +30,31 @@ public class TheaterDef implements StageDef, Debug {
   final String name;
   final int parallelism;
   final ScheduleDef scheduleDef;
+  final boolean virtual;
+  final boolean instrumented;
+  final boolean affinity;
 
-  public TheaterDef(String name, int parallelism, ScheduleDef scheduleDef) {
+  public TheaterDef(String name, int parallelism, ScheduleDef scheduleDef,
+                    boolean virtual, boolean instrumented, boolean affinity) {
     this.name = name;
     this.parallelism = parallelism;
     this.scheduleDef = scheduleDef;
+    this.virtual = virtual;
+    this.instrumented = instrumented;
+    this.affinity = affinity;
+  }
+
+  public TheaterDef(String name, int parallelism, ScheduleDef scheduleDef,
+                    boolean virtual, boolean instrumented) {
+    this(name, parallelism, scheduleDef, virtual, instrumented, false);
+  }
+
+  public TheaterDef(String name, int parallelism, ScheduleDef scheduleDef, boolean virtual) {
+    this(name, parallelism, scheduleDef, virtual, false, false);
+  }
+
+  public TheaterDef(String name, int parallelism, ScheduleDef scheduleDef) {
+    this(name, parallelism, scheduleDef, false, false, false);
   }
 
   public final String name() {
@@ -42,7 +62,7 @@ public class TheaterDef implements StageDef, Debug {
   }
 
   public TheaterDef name(String name) {
-    return this.copy(name, this.parallelism, this.scheduleDef);
+    return this.copy(name, this.parallelism, this.scheduleDef, this.virtual, this.instrumented, this.affinity);
   }
 
   public final int parallelism() {
@@ -50,7 +70,7 @@ public class TheaterDef implements StageDef, Debug {
   }
 
   public TheaterDef parallelism(int parallelism) {
-    return this.copy(this.name, parallelism, this.scheduleDef);
+    return this.copy(this.name, parallelism, this.scheduleDef, this.virtual, this.instrumented, this.affinity);
   }
 
   public final ScheduleDef scheduleDef() {
@@ -58,11 +78,52 @@ public class TheaterDef implements StageDef, Debug {
   }
 
   public TheaterDef scheduleDef(ScheduleDef scheduleDef) {
-    return this.copy(this.name, this.parallelism, scheduleDef);
+    return this.copy(this.name, this.parallelism, scheduleDef, this.virtual, this.instrumented, this.affinity);
+  }
+
+  /**
+   * Returns {@code true} if the defined stage should execute its tasks on
+   * virtual threads, when supported by the JVM.
+   *
+   * @see VirtualTheater
+   */
+  public final boolean virtual() {
+    return this.virtual;
+  }
+
+  public TheaterDef virtual(boolean virtual) {
+    return this.copy(this.name, this.parallelism, this.scheduleDef, virtual, this.instrumented, this.affinity);
+  }
+
+  /**
+   * Returns {@code true} if the defined stage should record scheduling
+   * statistics, exposed by {@link MainStage#stageStats()}.
+   */
+  public final boolean instrumented() {
+    return this.instrumented;
+  }
+
+  public TheaterDef instrumented(boolean instrumented) {
+    return this.copy(this.name, this.parallelism, this.scheduleDef, this.virtual, instrumented, this.affinity);
   }
 
-  protected TheaterDef copy(String name, int parallelism, ScheduleDef scheduleDef) {
-    return new TheaterDef(name, parallelism, scheduleDef);
+  /**
+   * Returns {@code true} if the defined stage should queue tasks with
+   * affinity, such as agents, by affinity hash, to improve cache locality.
+   *
+   * @see Task#taskAffinity()
+   */
+  public final boolean affinity() {
+    return this.affinity;
+  }
+
+  public TheaterDef affinity(boolean affinity) {
+    return this.copy(this.name, this.parallelism, this.scheduleDef, this.virtual, this.instrumented, affinity);
+  }
+
+  protected TheaterDef copy(String name, int parallelism, ScheduleDef scheduleDef,
+                            boolean virtual, boolean instrumented, boolean affinity) {
+    return new TheaterDef(name, parallelism, scheduleDef, virtual, instrumented, affinity);
   }
 
   @Override
@@ -73,7 +134,10 @@ public class TheaterDef implements StageDef, Debug {
       final TheaterDef that = (TheaterDef) other;
       return (this.name == null ? that.name == null : this.name.equals(that.name))
           && this.parallelism == that.parallelism
-          && (this.scheduleDef == null ? that.scheduleDef == null : this.scheduleDef.equals(that.scheduleDef));
+          && (this.scheduleDef == null ? that.scheduleDef == null : this.scheduleDef.equals(that.scheduleDef))
+          && this.virtual == that.virtual
+          && this.instrumented == that.instrumented
+          && this.affinity == that.affinity;
     }
     return false;
   }
@@ -85,8 +149,9 @@ public class TheaterDef implements StageDef, Debug {
     if (TheaterDef.hashSeed == 0) {
       TheaterDef.hashSeed = Murmur3.seed(TheaterDef.class);
     }
-    return Murmur3.mash(Murmur3.mix(Murmur3.mix(Murmur3.mix(TheaterDef.hashSeed,
-        Murmur3.hash(this.name)), this.parallelism), Murmur3.hash(this.scheduleDef)));
+    return Murmur3.mash(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(TheaterDef.hashSeed,
+        Murmur3.hash(this.name)), this.parallelism), Murmur3.hash(this.scheduleDef)),
+        Murmur3.hash(this.virtual)), Murmur3.hash(this.instrumented)), Murmur3.hash(this.affinity)));
   }
 
   @Override
@@ -99,6 +164,15 @@ public class TheaterDef implements StageDef, Debug {
     if (this.scheduleDef != null) {
       output = output.write('.').write("scheduleDef").write('(').debug(this.scheduleDef).write(')');
     }
+    if (this.virtual) {
+      output = output.write('.').write("virtual").write('(').write("true").write(')');
+    }
+    if (this.instrumented) {
+      output = output.write('.').write("instrumented").write('(').write("true").write(')');
+    }
+    if (this.affinity) {
+      output = output.write('.').write("affinity").write('(').write("true").write(')');
+    }
     return output;
   }
 
@@ -165,8 +239,17 @@ final class TheaterForm extends Form<TheaterDef> {
   @Override
   public Item mold(TheaterDef theaterDef) {
     if (theaterDef != null) {
-      final Record record = Record.create(3).attr(this.tag());
+      final Record record = Record.create(6).attr(this.tag());
       record.slot("parallelism", theaterDef.parallelism);
+      if (theaterDef.virtual) {
+        record.slot("virtual", true);
+      }
+      if (theaterDef.instrumented) {
+        record.slot("instrumented", true);
+      }
+      if (theaterDef.affinity) {
+        record.slot("affinity", true);
+      }
       if (theaterDef.scheduleDef != null) {
         record.add(this.scheduleForm.mold(theaterDef.scheduleDef));
       }
@@ -184,19 +267,34 @@ final class TheaterForm extends Form<TheaterDef> {
       final String name = item.key().stringValue(null);
       int parallelism = 2 * Runtime.getRuntime().availableProcessors();
       ScheduleDef scheduleDef = null;
+      boolean virtual = false;
+      boolean instrumented = false;
+      boolean affinity = false;
       for (int i = 0, n = value.length(); i < n; i += 1) {
         final Item member = value.getItem(i);
         if (member.keyEquals("parallelism")) {
           parallelism = member.toValue().intValue(parallelism);
           continue;
         }
+        if (member.keyEquals("virtual")) {
+          virtual = member.toValue().booleanValue(virtual);
+          continue;
+        }
+        if (member.keyEquals("instrumented")) {
+          instrumented = member.toValue().booleanValue(instrumented);
+          continue;
+        }
+        if (member.keyEquals("affinity")) {
+          affinity = member.toValue().booleanValue(affinity);
+          continue;
+        }
         final ScheduleDef newScheduleDef = this.scheduleForm.cast(member);
         if (newScheduleDef != null) {
           scheduleDef = newScheduleDef;
           continue;
         }
       }
-      return new TheaterDef(name, parallelism, scheduleDef);
+      return new TheaterDef(name, parallelism, scheduleDef, virtual, instrumented, affinity);
     }
     return null;
   }
@@ -0,0 +1,54 @@
+// Copyright 2015-2023 Swim.inc
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.concurrent;
+
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+
+/**
+ * Recorder of the scheduling statistics of an instrumented {@code Theater}.
+ */
+final class TheaterMonitor {
+
+  /**
+   * Delays between cueing tasks and starting to run them.
+   */
+  final StageHistogram waitTimes;
+  /**
+   * Task execution times, including time spent blocked.
+   */
+  final StageHistogram runTimes;
+  /**
+   * Number of tasks currently running.
+   */
+  volatile int runningCount;
+  /**
+   * Number of tasks currently running in a managed block.
+   */
+  volatile int blockedCount;
+
+  TheaterMonitor() {
+    this.waitTimes = new StageHistogram();
+    this.runTimes = new StageHistogram();
+    this.runningCount = 0;
+    this.blockedCount = 0;
+  }
+
+  static final AtomicIntegerFieldUpdater<TheaterMonitor> RUNNING_COUNT =
+      AtomicIntegerFieldUpdater.newUpdater(TheaterMonitor.class, "runningCount");
+
+  static final AtomicIntegerFieldUpdater<TheaterMonitor> BLOCKED_COUNT =
+      AtomicIntegerFieldUpdater.newUpdater(TheaterMonitor.class, "blockedCount");
+
+}
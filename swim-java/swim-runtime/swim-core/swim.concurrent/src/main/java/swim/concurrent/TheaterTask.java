@@ -0,0 +1,207 @@
+// Copyright 2015-2023 Swim.inc
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.concurrent;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+
+/**
+ * {@code TaskContext} that executes its sequential process on a {@code
+ * Theater} stage.
+ */
+class TheaterTask implements TaskContext, Runnable, ForkJoinPool.ManagedBlocker {
+
+  /**
+   * {@code Theater} to which the {@code task} is bound.
+   */
+  final Theater theater;
+  /**
+   * {@code TaskFunction} to invoke when the cued task executes.
+   */
+  final TaskFunction task;
+  /**
+   * Hash code of the data on which the task operates, used to select a
+   * preferred worker thread; {@code 0} if the task has no affinity.
+   */
+  final int affinity;
+  /**
+   * Time at which the task was last submitted for execution, in nanoseconds,
+   * if the theater is instrumented; otherwise {@code 0}.
+   */
+  long cueTime;
+  /**
+   * Atomic bit field with {@link #CUED} and {@link #RUNNING} flags.
+   */
+  volatile int status;
+
+  TheaterTask(Theater theater, TaskFunction task) {
+    this.theater = theater;
+    this.task = task;
+    this.affinity = task instanceof Task ? ((Task) task).taskAffinity() : 0;
+    this.cueTime = 0L;
+    this.status = 0;
+  }
+
+  @Override
+  public Stage stage() {
+    return this.theater;
+  }
+
+  @Override
+  public boolean isCued() {
+    return (TheaterTask.STATUS.get(this) & TheaterTask.CUED) != 0;
+  }
+
+  @Override
+  public boolean isReleasable() {
+    return (TheaterTask.STATUS.get(this) & TheaterTask.RUNNING) == 0;
+  }
+
+  @Override
+  public boolean cue() {
+    do {
+      final int oldStatus = TheaterTask.STATUS.get(this);
+      final int newStatus = oldStatus | TheaterTask.CUED;
+      if (TheaterTask.STATUS.compareAndSet(this, oldStatus, newStatus)) {
+        if (oldStatus != newStatus && (newStatus & TheaterTask.RUNNING) == 0) {
+          this.theater.taskWillCue(this.task);
+          if (this.task instanceof Task) {
+            ((Task) this.task).taskWillCue();
+          }
+          this.cueTime = this.theater.monitor != null ? System.nanoTime() : 0L;
+          this.theater.executeTask(this);
+          return true;
+        } else {
+          return false;
+        }
+      }
+    } while (true);
+  }
+
+  @Override
+  public boolean cancel() {
+    do {
+      final int oldStatus = TheaterTask.STATUS.get(this);
+      final int newStatus = oldStatus & ~TheaterTask.CUED;
+      if (TheaterTask.STATUS.compareAndSet(this, oldStatus, newStatus)) {
+        if (oldStatus != newStatus && (newStatus & TheaterTask.RUNNING) == 0) {
+          if (this.task instanceof Task) {
+            ((Task) this.task).taskDidCancel();
+          }
+          this.theater.taskDidCancel(this.task);
+          return true;
+        } else {
+          return false;
+        }
+      }
+    } while (true);
+  }
+
+  @Override
+  public void run() {
+    do {
+      final int oldStatus = TheaterTask.STATUS.get(this);
+      final int newStatus = (oldStatus | TheaterTask.RUNNING) & ~TheaterTask.CUED;
+      if (TheaterTask.STATUS.compareAndSet(this, oldStatus, newStatus)) {
+        if ((oldStatus & TheaterTask.CUED) != 0) {
+          final TheaterMonitor monitor = this.theater.monitor;
+          final long startTime;
+          if (monitor != null) {
+            startTime = System.nanoTime();
+            final long cueTime = this.cueTime;
+            if (cueTime != 0L) {
+              monitor.waitTimes.record(startTime - cueTime);
+            }
+            TheaterMonitor.RUNNING_COUNT.incrementAndGet(monitor);
+          } else {
+            startTime = 0L;
+          }
+          this.theater.taskWillRun(this.task);
+          try {
+            if (this.task instanceof Task && ((Task) this.task).taskWillBlock()) {
+              if (monitor != null) {
+                TheaterMonitor.BLOCKED_COUNT.incrementAndGet(monitor);
+              }
+              try {
+                ForkJoinPool.managedBlock(this);
+              } finally {
+                if (monitor != null) {
+                  TheaterMonitor.BLOCKED_COUNT.decrementAndGet(monitor);
+                }
+              }
+            } else {
+              this.task.runTask();
+            }
+            this.theater.taskDidRun(this.task);
+          } catch (InterruptedException error) {
+            this.theater.taskDidFail(this.task, error);
+          } catch (Throwable error) {
+            if (Cont.isNonFatal(error)) {
+              this.theater.taskDidFail(this.task, error);
+            } else {
+              throw error;
+            }
+          } finally {
+            if (monitor != null) {
+              TheaterMonitor.RUNNING_COUNT.decrementAndGet(monitor);
+              monitor.runTimes.record(System.nanoTime() - startTime);
+            }
+          }
+        }
+        break;
+      }
+    } while (true);
+
+    do {
+      final int oldStatus = TheaterTask.STATUS.get(this);
+      final int newStatus = oldStatus & ~TheaterTask.RUNNING;
+      if (TheaterTask.STATUS.compareAndSet(this, oldStatus, newStatus)) {
+        if ((newStatus & TheaterTask.CUED) != 0) {
+          this.theater.taskWillCue(this.task);
+          if (this.task instanceof Task) {
+            ((Task) this.task).taskWillCue();
+          }
+          this.cueTime = this.theater.monitor != null ? System.nanoTime() : 0L;
+          this.theater.executeTask(this);
+        }
+        break;
+      }
+    } while (true);
+  }
+
+  @Override
+  public boolean block() {
+    this.task.runTask();
+    return true;
+  }
+
+  /**
+   * Atomic {@link #status} bit flag indicating that the task is currently
+   * cued for execution.
+   */
+  static final int CUED = 1 << 0;
+  /**
+   * Atomic {@link #status} bit flag indicating that the task is currently
+   * executing.
+   */
+  static final int RUNNING = 1 << 1;
+
+  /**
+   * Atomic {@link #status} field updater, used to linearize task cueing.
+   */
+  static final AtomicIntegerFieldUpdater<TheaterTask> STATUS =
+      AtomicIntegerFieldUpdater.newUpdater(TheaterTask.class, "status");
+
+}
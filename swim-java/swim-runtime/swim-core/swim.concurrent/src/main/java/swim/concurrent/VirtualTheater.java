@@ -0,0 +1,82 @@
+// Copyright 2015-2023 Swim.inc
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.concurrent;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link Theater} that executes timers, tasks, and continuations on virtual
+ * threads. Tasks that block, such as agents that call blocking database or
+ * HTTP clients, park their virtual thread, rather than tying up a pool thread
+ * or spawning compensating threads. Tasks keep the cue and cancel semantics
+ * of a regular {@code Theater}: a task runs on at most one thread at a time,
+ * and a task that gets cued while running will run again once it returns.
+ * Virtual threads require Java 21 or later; on older JVMs, a virtual theater
+ * runs each task on a new platform thread instead. See {@link #isSupported()}.
+ */
+public class VirtualTheater extends Theater {
+
+  /**
+   * Executor that runs each submitted runnable on a new virtual thread.
+   */
+  final ExecutorService executor;
+
+  public VirtualTheater(TheaterDef theaterDef) {
+    super(theaterDef.name, theaterDef.scheduleDef);
+    this.executor = VirtualThreads.newExecutor(this.name, this);
+    if (theaterDef.instrumented) {
+      this.setInstrumented(true);
+    }
+  }
+
+  public VirtualTheater(String name) {
+    super(name, (ScheduleDef) null);
+    this.executor = VirtualThreads.newExecutor(this.name, this);
+  }
+
+  public VirtualTheater() {
+    this((String) null);
+  }
+
+  @Override
+  public void execute(Runnable runnable) {
+    this.start();
+    this.executor.execute(runnable);
+  }
+
+  @Override
+  void shutdownWorkers() {
+    this.executor.shutdown();
+  }
+
+  @Override
+  boolean workersTerminated() {
+    return this.executor.isTerminated();
+  }
+
+  @Override
+  void awaitWorkers(long timeout, TimeUnit unit) throws InterruptedException {
+    this.executor.awaitTermination(timeout, unit);
+  }
+
+  /**
+   * Returns {@code true} if the running JVM supports virtual threads.
+   */
+  public static boolean isSupported() {
+    return VirtualThreads.isSupported();
+  }
+
+}
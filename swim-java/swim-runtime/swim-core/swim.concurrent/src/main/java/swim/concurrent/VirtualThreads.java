@@ -0,0 +1,58 @@
+// Copyright 2015-2023 Swim.inc
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.concurrent;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Factory for executors that run each submitted task on a new virtual thread.
+ * Virtual threads require Java 21 or later; this baseline implementation,
+ * which falls back to running each submitted task on a new platform thread,
+ * is replaced by a versioned implementation in {@code META-INF/versions/21}
+ * of the multi-release {@code swim.concurrent} jar.
+ */
+final class VirtualThreads {
+
+  private VirtualThreads() {
+    // static
+  }
+
+  static boolean isSupported() {
+    return false;
+  }
+
+  static ExecutorService newExecutor(String name, Thread.UncaughtExceptionHandler handler) {
+    final ThreadFactory threadFactory = new ThreadFactory() {
+      final AtomicLong threadCount = new AtomicLong();
+
+      @Override
+      public Thread newThread(Runnable runnable) {
+        final Thread thread = new Thread(runnable, name + this.threadCount.getAndIncrement());
+        thread.setDaemon(true);
+        thread.setUncaughtExceptionHandler(handler);
+        return thread;
+      }
+    };
+    // Retain no idle threads, so that each task runs on a new thread.
+    return new ThreadPoolExecutor(0, Integer.MAX_VALUE, 0L, TimeUnit.SECONDS,
+                                  new SynchronousQueue<Runnable>(), threadFactory);
+  }
+
+}
@@ -0,0 +1,224 @@
+// Copyright 2015-2023 Swim.inc
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.concurrent;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import org.testng.annotations.Test;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+public class ConcurrentMpscQueueSpec {
+
+  @Test
+  public void pollElementsInInsertionOrder() {
+    final ConcurrentMpscQueue<Integer> queue = new ConcurrentMpscQueue<Integer>(4);
+    assertTrue(queue.isEmpty());
+    assertEquals(queue.size(), 0);
+    assertNull(queue.poll());
+    for (int i = 0; i < 100; i += 1) {
+      queue.add(i);
+    }
+    assertFalse(queue.isEmpty());
+    assertEquals(queue.size(), 100);
+    for (int i = 0; i < 100; i += 1) {
+      assertEquals(queue.poll(), (Integer) i);
+      assertEquals(queue.size(), 99 - i);
+    }
+    assertTrue(queue.isEmpty());
+    assertNull(queue.poll());
+  }
+
+  @Test
+  public void interleaveAddsAndPollsAcrossChunks() {
+    final ConcurrentMpscQueue<Integer> queue = new ConcurrentMpscQueue<Integer>(3);
+    int next = 0;
+    int expected = 0;
+    for (int round = 0; round < 50; round += 1) {
+      for (int i = 0; i < round % 7 + 1; i += 1) {
+        queue.add(next);
+        next += 1;
+      }
+      for (int i = 0; i < round % 5 + 1 && expected < next; i += 1) {
+        assertEquals(queue.poll(), (Integer) expected);
+        expected += 1;
+      }
+      assertEquals(queue.size(), next - expected);
+    }
+    while (expected < next) {
+      assertEquals(queue.poll(), (Integer) expected);
+      expected += 1;
+    }
+    assertTrue(queue.isEmpty());
+  }
+
+  @Test
+  public void peekElementsWithoutRemovingThem() {
+    final ConcurrentMpscQueue<String> queue = new ConcurrentMpscQueue<String>(1);
+    assertNull(queue.peek());
+    queue.add("a");
+    queue.add("b");
+    assertEquals(queue.peek(), "a");
+    assertEquals(queue.poll(), "a");
+    assertEquals(queue.peek(), "b");
+    assertEquals(queue.poll(), "b");
+    assertNull(queue.peek());
+  }
+
+  @Test(expectedExceptions = NullPointerException.class)
+  public void rejectNullElements() {
+    new ConcurrentMpscQueue<Object>().add(null);
+  }
+
+  @Test
+  public void pollElementsAddedByConcurrentProducers() throws InterruptedException {
+    final int producerCount = 4;
+    final int elementCount = 100000;
+    final ConcurrentMpscQueue<long[]> queue = new ConcurrentMpscQueue<long[]>(16);
+    final CountDownLatch start = new CountDownLatch(1);
+    final Thread[] producers = new Thread[producerCount];
+    for (int p = 0; p < producerCount; p += 1) {
+      final int producer = p;
+      producers[p] = new Thread(new Runnable() {
+        @Override
+        public void run() {
+          try {
+            start.await();
+          } catch (InterruptedException cause) {
+            throw new AssertionError(cause);
+          }
+          for (int i = 0; i < elementCount; i += 1) {
+            queue.add(new long[] {producer, i});
+          }
+        }
+      });
+      producers[p].start();
+    }
+    start.countDown();
+    final int[] nextIndexes = new int[producerCount];
+    int received = 0;
+    while (received < producerCount * elementCount) {
+      final long[] element = queue.poll();
+      if (element != null) {
+        final int producer = (int) element[0];
+        assertEquals((int) element[1], nextIndexes[producer]);
+        nextIndexes[producer] += 1;
+        received += 1;
+      } else {
+        Thread.onSpinWait();
+      }
+    }
+    for (int p = 0; p < producerCount; p += 1) {
+      producers[p].join();
+      assertEquals(nextIndexes[p], elementCount);
+    }
+    assertTrue(queue.isEmpty());
+  }
+
+  @Test(groups = {"benchmark"})
+  public void benchmarkConcurrentLinkedQueue() throws InterruptedException {
+    final ConcurrentLinkedQueue<Object> queue = new ConcurrentLinkedQueue<Object>();
+    this.benchmark("ConcurrentLinkedQueue", 4, 5000000, queue::add, queue::poll);
+  }
+
+  @Test(groups = {"benchmark"})
+  public void benchmarkConcurrentMpscQueue() throws InterruptedException {
+    final ConcurrentMpscQueue<Object> queue = new ConcurrentMpscQueue<Object>();
+    this.benchmark("ConcurrentMpscQueue", 4, 5000000, queue::add, queue::poll);
+  }
+
+  void benchmark(String name, int producerCount, int elementCount,
+                 Consumer<Object> add, Supplier<Object> poll) throws InterruptedException {
+    System.out.println("Warming up " + name + " ...");
+    this.benchmarkRound(producerCount, elementCount, add, poll);
+    System.out.println("Benchmarking " + name + " ...");
+    final long[] result = this.benchmarkRound(producerCount, elementCount, add, poll);
+    final long dt = Math.max(1L, result[0] / 1000000L);
+    final long total = (long) producerCount * (long) elementCount;
+    final long rate = (1000L * total) / dt;
+    System.out.println(name + " transferred " + total + " elements from " + producerCount + " producers in "
+                     + dt + " milliseconds (" + rate + " elements/second)");
+    if (result[1] >= 0L) {
+      System.out.println(name + " allocated " + (result[1] >> 20) + " MiB (" + ((double) result[1] / (double) total)
+                       + " bytes/element, " + ((1000L * result[1]) / dt >> 20) + " MiB/second)");
+    }
+  }
+
+  /**
+   * Returns the elapsed nanoseconds, and the number of bytes allocated by
+   * the producer and consumer threads, or {@code -1} if the JVM doesn't
+   * support thread allocation accounting.
+   */
+  long[] benchmarkRound(int producerCount, int elementCount,
+                        Consumer<Object> add, Supplier<Object> poll) throws InterruptedException {
+    final Object element = new Object();
+    final CountDownLatch start = new CountDownLatch(1);
+    final AtomicLong allocatedBytes = new AtomicLong();
+    final Thread[] producers = new Thread[producerCount];
+    for (int p = 0; p < producerCount; p += 1) {
+      producers[p] = new Thread(new Runnable() {
+        @Override
+        public void run() {
+          try {
+            start.await();
+          } catch (InterruptedException cause) {
+            throw new AssertionError(cause);
+          }
+          final long allocated0 = threadAllocatedBytes();
+          for (int i = 0; i < elementCount; i += 1) {
+            add.accept(element);
+          }
+          allocatedBytes.addAndGet(threadAllocatedBytes() - allocated0);
+        }
+      });
+      producers[p].start();
+    }
+    final long total = (long) producerCount * (long) elementCount;
+    final long t0 = System.nanoTime();
+    start.countDown();
+    final long allocated0 = threadAllocatedBytes();
+    long received = 0L;
+    while (received < total) {
+      if (poll.get() != null) {
+        received += 1L;
+      }
+    }
+    final long allocated1 = threadAllocatedBytes();
+    final long t1 = System.nanoTime();
+    for (int p = 0; p < producerCount; p += 1) {
+      producers[p].join();
+    }
+    if (allocated0 < 0L) {
+      return new long[] {t1 - t0, -1L};
+    }
+    return new long[] {t1 - t0, allocatedBytes.get() + (allocated1 - allocated0)};
+  }
+
+  static long threadAllocatedBytes() {
+    final ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+    if (threadMXBean instanceof com.sun.management.ThreadMXBean) {
+      return ((com.sun.management.ThreadMXBean) threadMXBean).getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+    return -1L;
+  }
+
+}
@@ -0,0 +1,173 @@
+// Copyright 2015-2023 Swim.inc
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.concurrent;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.testng.annotations.Test;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.fail;
+
+public class HierarchicalClockSpec {
+
+  @Test
+  public void fireTimersAcrossHierarchicalWheels() {
+    final MockClock clock = new MockClock(100, 8, 3, 1);
+    final CountDownLatch fire1 = new CountDownLatch(1);
+    final CountDownLatch fire2 = new CountDownLatch(1);
+    final CountDownLatch fire3 = new CountDownLatch(1);
+    try {
+      clock.start();
+      clock.setTimer(5L * 100L, new AbstractTimer() {
+        @Override
+        public void runTimer() {
+          assertEquals(clock.tick(), 5L);
+          fire1.countDown();
+        }
+      });
+      clock.setTimer(100L * 100L, new AbstractTimer() {
+        @Override
+        public void runTimer() {
+          assertEquals(clock.tick(), 100L);
+          fire2.countDown();
+        }
+      });
+      clock.setTimer(600L * 100L, new AbstractTimer() {
+        @Override
+        public void runTimer() {
+          assertEquals(clock.tick(), 600L);
+          fire3.countDown();
+        }
+      });
+
+      clock.tick(5);
+      clock.await(fire1);
+      assertEquals(fire2.getCount(), 1);
+
+      clock.tick(94);
+      assertEquals(fire2.getCount(), 1);
+      clock.tick(1);
+      clock.await(fire2);
+      assertEquals(fire3.getCount(), 1);
+
+      clock.tick(499);
+      assertEquals(fire3.getCount(), 1);
+      clock.tick(1);
+      clock.await(fire3);
+    } finally {
+      clock.stop();
+    }
+  }
+
+  @Test
+  public void sweepCancelledTimersFromUpperWheels() {
+    final MockClock clock = new MockClock(100, 8, 3, 1);
+    final CountDownLatch fire = new CountDownLatch(20);
+    try {
+      clock.start();
+      final TimerRef[] timers = new TimerRef[100];
+      for (int i = 0; i < timers.length; i += 1) {
+        final boolean cancelled = i >= 20;
+        timers[i] = clock.setTimer(300L * 100L, new AbstractTimer() {
+          @Override
+          public void runTimer() {
+            if (cancelled) {
+              fail();
+            }
+            assertEquals(clock.tick(), 300L);
+            fire.countDown();
+          }
+        });
+      }
+      // Tick 300 falls in slot 4 of the third wheel.
+      assertEquals(clock.wheels[2][4].eventCount, 100);
+      for (int i = 20; i < timers.length; i += 1) {
+        timers[i].cancel();
+      }
+      assertEquals(clock.wheels[2][4].cancelCount, 80);
+
+      // The clock thread sweeps the slot when its hand comes around.
+      clock.tick(8);
+      assertEquals(clock.wheels[2][4].eventCount, 20);
+      assertEquals(clock.wheels[2][4].cancelCount, 0);
+
+      clock.tick(291);
+      assertEquals(fire.getCount(), 20);
+      clock.tick(1);
+      clock.await(fire);
+    } finally {
+      clock.stop();
+    }
+  }
+
+  @Test
+  public void rescheduleATimerFromAnUpperWheel() {
+    final MockClock clock = new MockClock(100, 8, 3, 1);
+    final CountDownLatch fire = new CountDownLatch(1);
+    try {
+      clock.start();
+      final TimerRef timer = clock.setTimer(600L * 100L, new AbstractTimer() {
+        @Override
+        public void runTimer() {
+          assertEquals(clock.tick(), 30L);
+          assertEquals(fire.getCount(), 1);
+          fire.countDown();
+        }
+      });
+
+      clock.tick(10);
+      timer.reschedule(20L * 100L);
+      assertEquals(clock.wheels[2][1].cancelCount, 1);
+
+      clock.tick(20);
+      clock.await(fire);
+      clock.tick(600);
+    } finally {
+      clock.stop();
+    }
+  }
+
+  @Test
+  public void fireExpiredTimersInBatches() {
+    final AtomicInteger batchCount = new AtomicInteger();
+    final MockClock clock = new MockClock(100, 8, 1, 4) {
+      @Override
+      protected void runTimerBatch(Runnable batch) {
+        batchCount.incrementAndGet();
+        super.runTimerBatch(batch);
+      }
+    };
+    final CountDownLatch fire = new CountDownLatch(10);
+    try {
+      clock.start();
+      for (int i = 0; i < 10; i += 1) {
+        clock.setTimer(3L * 100L, new AbstractTimer() {
+          @Override
+          public void runTimer() {
+            assertEquals(clock.tick(), 3L);
+            fire.countDown();
+          }
+        });
+      }
+
+      clock.tick(3);
+      clock.await(fire);
+      assertEquals(batchCount.get(), 3);
+    } finally {
+      clock.stop();
+    }
+  }
+
+}
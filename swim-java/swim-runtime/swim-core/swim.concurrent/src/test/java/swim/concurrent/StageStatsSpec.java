@@ -0,0 +1,168 @@
+// Copyright 2015-2023 Swim.inc
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.concurrent;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.testng.TestException;
+import org.testng.annotations.Test;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+public class StageStatsSpec {
+
+  @Test
+  public void recordDurationsInLogLinearBuckets() {
+    final StageHistogram histogram = new StageHistogram();
+    for (long nanos = 1L; nanos <= 100L; nanos += 1L) {
+      histogram.record(nanos * 1000L);
+    }
+    assertEquals(histogram.count(), 100L);
+    assertEquals(histogram.maxNanos(), 100000L);
+    assertEquals(histogram.meanNanos(), 50500L);
+    final long p50 = histogram.quantileNanos(0.5);
+    assertTrue(p50 >= 50000L && p50 <= 50000L * 5L / 4L, Long.toString(p50));
+    final long p99 = histogram.quantileNanos(0.99);
+    assertTrue(p99 >= 99000L && p99 <= 100000L, Long.toString(p99));
+    assertEquals(histogram.quantileNanos(1.0), 100000L);
+  }
+
+  @Test
+  public void bucketDurationsExactly() {
+    for (long nanos = 0L; nanos < 4096L; nanos += 1L) {
+      final int index = StageHistogram.bucketIndex(nanos);
+      assertTrue(nanos <= StageHistogram.bucketLimit(index));
+      assertTrue(index == 0 || nanos > StageHistogram.bucketLimit(index - 1));
+    }
+    assertEquals(StageHistogram.bucketIndex(Long.MAX_VALUE), StageHistogram.BUCKET_COUNT - 1);
+    assertEquals(StageHistogram.bucketLimit(StageHistogram.BUCKET_COUNT - 1), Long.MAX_VALUE);
+  }
+
+  @Test
+  public void reconstructHistogramsFromBucketCounts() {
+    final StageHistogram histogram = new StageHistogram();
+    histogram.record(7L);
+    histogram.record(700L);
+    histogram.record(70000L);
+    final StageHistogram copy = new StageHistogram(histogram.bucketCounts(), histogram.totalNanos(), histogram.maxNanos());
+    assertEquals(copy.count(), 3L);
+    assertEquals(copy.totalNanos(), 70707L);
+    assertEquals(copy.quantileNanos(0.5), histogram.quantileNanos(0.5));
+    histogram.record(1L);
+    assertEquals(copy.count(), 3L);
+  }
+
+  @Test
+  public void uninstrumentedTheatersHaveNoStats() {
+    final Theater theater = new Theater("test", 2);
+    try {
+      theater.start();
+      assertNull(theater.stageStats());
+    } finally {
+      theater.stop();
+    }
+  }
+
+  @Test
+  public void recordTaskWaitAndRunTimes() {
+    final Theater theater = new Theater("test", 2);
+    theater.setInstrumented(true);
+    final CountDownLatch execute = new CountDownLatch(10);
+    try {
+      theater.start();
+      final TaskRef task = theater.task(new AbstractTask() {
+        @Override
+        public void runTask() {
+          execute.countDown();
+          if (execute.getCount() > 0L) {
+            this.cue();
+          }
+        }
+      });
+      task.cue();
+      await(execute);
+      final StageStats stats = awaitRunCount(theater, 10L);
+      assertEquals(stats.waitTimes().count(), 10L);
+      assertEquals(stats.runTimes().count(), 10L);
+      assertEquals(stats.parallelism(), 2);
+      assertEquals(stats.blockedCount(), 0);
+    } finally {
+      theater.stop();
+    }
+  }
+
+  @Test
+  public void countBlockedTasks() {
+    final Theater theater = new Theater(TheaterDef.standard().parallelism(2).instrumented(true));
+    final CountDownLatch blocked = new CountDownLatch(1);
+    final CountDownLatch release = new CountDownLatch(1);
+    try {
+      theater.start();
+      final TaskRef task = theater.task(new AbstractTask() {
+        @Override
+        public void runTask() {
+          blocked.countDown();
+          try {
+            release.await();
+          } catch (InterruptedException error) {
+            throw new TestException(error);
+          }
+        }
+
+        @Override
+        public boolean taskWillBlock() {
+          return true;
+        }
+      });
+      task.cue();
+      await(blocked);
+      final StageStats stats = theater.stageStats();
+      assertNotNull(stats);
+      assertEquals(stats.blockedCount(), 1);
+      assertTrue(stats.poolSize() >= 1);
+      release.countDown();
+      assertEquals(awaitRunCount(theater, 1L).blockedCount(), 0);
+    } finally {
+      release.countDown();
+      theater.stop();
+    }
+  }
+
+  static void await(CountDownLatch latch) {
+    try {
+      if (!latch.await(1000, TimeUnit.MILLISECONDS)) {
+        throw new TestException("await timeout");
+      }
+    } catch (InterruptedException error) {
+      throw new TestException(error);
+    }
+  }
+
+  static StageStats awaitRunCount(Theater theater, long runCount) {
+    final long deadline = System.currentTimeMillis() + 1000L;
+    do {
+      final StageStats stats = theater.stageStats();
+      if (stats.runTimes().count() >= runCount) {
+        return stats;
+      } else if (System.currentTimeMillis() > deadline) {
+        throw new TestException("await timeout");
+      }
+      Thread.yield();
+    } while (true);
+  }
+
+}
@@ -0,0 +1,317 @@
+// Copyright 2015-2023 Swim.inc
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.concurrent;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.testng.TestException;
+import org.testng.annotations.Test;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+public class TheaterAffinitySpec {
+
+  @Test
+  public void runAffineTasksOnThePoolWorkers() {
+    final Theater theater = new Theater(TheaterDef.standard().parallelism(4).affinity(true));
+    final CountDownLatch execute = new CountDownLatch(100);
+    try {
+      theater.start();
+      assertTrue(theater.hasAffinity());
+      final TaskRef task = theater.task(new AbstractTask() {
+        @Override
+        public void runTask() {
+          final Thread thread = Thread.currentThread();
+          assertTrue(thread instanceof ForkJoinWorkerThread && ((ForkJoinWorkerThread) thread).getPool() == theater.pool);
+          execute.countDown();
+          if (execute.getCount() > 0L) {
+            this.cue();
+          }
+        }
+
+        @Override
+        public int taskAffinity() {
+          return 42;
+        }
+      });
+      task.cue();
+      await(execute);
+      // Affinity queues don't spawn any threads beyond the pool's own workers.
+      assertTrue(theater.pool.getPoolSize() <= 4);
+    } finally {
+      theater.stop();
+    }
+  }
+
+  @Test
+  public void runTasksWithoutAffinityOnThePool() {
+    final Theater theater = new Theater(TheaterDef.standard().parallelism(2).affinity(true));
+    final CountDownLatch execute = new CountDownLatch(2);
+    try {
+      theater.start();
+      theater.task(new AbstractTask() {
+        @Override
+        public void runTask() {
+          assertTrue(Thread.currentThread() instanceof ForkJoinWorkerThread);
+          execute.countDown();
+        }
+      }).cue();
+      theater.task(new AbstractTask() {
+        @Override
+        public void runTask() {
+          assertTrue(Thread.currentThread() instanceof ForkJoinWorkerThread);
+          execute.countDown();
+        }
+
+        @Override
+        public boolean taskWillBlock() {
+          return true;
+        }
+
+        @Override
+        public int taskAffinity() {
+          return 42;
+        }
+      }).cue();
+      await(execute);
+    } finally {
+      theater.stop();
+    }
+  }
+
+  @Test
+  public void stealTasksQueuedBehindALongTask() {
+    final Theater theater = new Theater(TheaterDef.standard().parallelism(2).affinity(true));
+    final CountDownLatch blocked = new CountDownLatch(1);
+    final CountDownLatch release = new CountDownLatch(1);
+    final CountDownLatch execute = new CountDownLatch(8);
+    try {
+      theater.start();
+      // Occupy a worker with an affine task without declaring it as blocking.
+      theater.task(new AbstractTask() {
+        @Override
+        public void runTask() {
+          blocked.countDown();
+          try {
+            release.await();
+          } catch (InterruptedException error) {
+            throw new TestException(error);
+          }
+        }
+
+        @Override
+        public int taskAffinity() {
+          return 42;
+        }
+      }).cue();
+      await(blocked);
+      for (int i = 0; i < 8; i += 1) {
+        theater.task(new AbstractTask() {
+          @Override
+          public void runTask() {
+            execute.countDown();
+          }
+
+          @Override
+          public int taskAffinity() {
+            return 42;
+          }
+        }).cue();
+      }
+      // Tasks with the same affinity run on another worker while the long task runs.
+      await(execute);
+    } finally {
+      release.countDown();
+      theater.stop();
+    }
+  }
+
+  @Test
+  public void overflowToThePoolWhenAnAffinityQueueIsFull() {
+    final Theater theater = new Theater(TheaterDef.standard().parallelism(1).affinity(true));
+    final CountDownLatch blocked = new CountDownLatch(1);
+    final CountDownLatch release = new CountDownLatch(1);
+    final int overflowCount = 8;
+    final CountDownLatch execute = new CountDownLatch(Theater.AFFINITY_LIMIT + overflowCount);
+    try {
+      theater.start();
+      // Occupy the only worker without declaring the task as blocking.
+      theater.task(new AbstractTask() {
+        @Override
+        public void runTask() {
+          blocked.countDown();
+          try {
+            release.await();
+          } catch (InterruptedException error) {
+            throw new TestException(error);
+          }
+        }
+
+        @Override
+        public int taskAffinity() {
+          return 42;
+        }
+      }).cue();
+      await(blocked);
+      for (int i = 0; i < Theater.AFFINITY_LIMIT + overflowCount; i += 1) {
+        theater.task(new AbstractTask() {
+          @Override
+          public void runTask() {
+            execute.countDown();
+          }
+
+          @Override
+          public int taskAffinity() {
+            return 42;
+          }
+        }).cue();
+      }
+      // Tasks beyond the affinity limit get submitted directly to the pool.
+      assertEquals(theater.affinityQueues[0].queueSize, Theater.AFFINITY_LIMIT);
+      release.countDown();
+      await(execute);
+      assertEquals(theater.affinityQueues[0].queueSize, 0);
+    } finally {
+      release.countDown();
+      theater.stop();
+    }
+  }
+
+  @Test(groups = {"benchmark"})
+  public void benchmarkAgentCommandThroughput() throws InterruptedException {
+    this.benchmark("shared pool", false);
+    this.benchmark("affinity queues", true);
+  }
+
+  void benchmark(String name, boolean affinity) throws InterruptedException {
+    final int parallelism = Runtime.getRuntime().availableProcessors();
+    System.out.println("Warming up " + name + " ...");
+    this.benchmarkRound(parallelism, affinity, 256, 4, 250000);
+    System.out.println("Benchmarking " + name + " ...");
+    final long dt = Math.max(1L, this.benchmarkRound(parallelism, affinity, 256, 4, 1000000) / 1000000L);
+    final long total = 4L * 1000000L;
+    System.out.println(name + " processed " + total + " commands on 256 agents in " + dt
+                     + " milliseconds (" + (1000L * total) / dt + " commands/second)");
+  }
+
+  /**
+   * Returns the nanoseconds taken for {@code producerCount} threads to each
+   * send {@code commandCount} commands to randomly chosen agents, each of
+   * which updates a few cache lines of its private state per command.
+   */
+  long benchmarkRound(int parallelism, boolean affinity, int agentCount,
+                      int producerCount, int commandCount) throws InterruptedException {
+    final Theater theater = new Theater(TheaterDef.standard().parallelism(parallelism).affinity(affinity));
+    final long total = (long) producerCount * (long) commandCount;
+    final AtomicLong processed = new AtomicLong();
+    final CountDownLatch done = new CountDownLatch(1);
+    try {
+      theater.start();
+      final BenchmarkAgent[] agents = new BenchmarkAgent[agentCount];
+      for (int i = 0; i < agentCount; i += 1) {
+        agents[i] = new BenchmarkAgent(i + 1, processed, total, done);
+        theater.task(agents[i]);
+      }
+      final CountDownLatch start = new CountDownLatch(1);
+      final Thread[] producers = new Thread[producerCount];
+      for (int p = 0; p < producerCount; p += 1) {
+        producers[p] = new Thread(new Runnable() {
+          @Override
+          public void run() {
+            try {
+              start.await();
+            } catch (InterruptedException cause) {
+              throw new AssertionError(cause);
+            }
+            final ThreadLocalRandom random = ThreadLocalRandom.current();
+            for (int i = 0; i < commandCount; i += 1) {
+              agents[random.nextInt(agentCount)].send();
+            }
+          }
+        });
+        producers[p].start();
+      }
+      final long t0 = System.nanoTime();
+      start.countDown();
+      done.await();
+      final long dt = System.nanoTime() - t0;
+      for (int p = 0; p < producerCount; p += 1) {
+        producers[p].join();
+      }
+      return dt;
+    } finally {
+      theater.stop();
+    }
+  }
+
+  static void await(CountDownLatch latch) {
+    try {
+      if (!latch.await(5000, TimeUnit.MILLISECONDS)) {
+        throw new TestException("await timeout");
+      }
+    } catch (InterruptedException error) {
+      throw new TestException(error);
+    }
+  }
+
+  static final class BenchmarkAgent extends AbstractTask {
+
+    final int affinity;
+    final AtomicInteger pending;
+    final AtomicLong processed;
+    final long total;
+    final CountDownLatch done;
+    final long[] state;
+
+    BenchmarkAgent(int affinity, AtomicLong processed, long total, CountDownLatch done) {
+      this.affinity = affinity;
+      this.pending = new AtomicInteger();
+      this.processed = processed;
+      this.total = total;
+      this.done = done;
+      this.state = new long[2048];
+    }
+
+    void send() {
+      this.pending.incrementAndGet();
+      this.cue();
+    }
+
+    @Override
+    public void runTask() {
+      final int commandCount = this.pending.getAndSet(0);
+      final long[] state = this.state;
+      for (int i = 0; i < commandCount; i += 1) {
+        for (int j = 0; j < state.length; j += 8) {
+          state[j] += 1L;
+        }
+      }
+      if (this.processed.addAndGet((long) commandCount) == this.total) {
+        this.done.countDown();
+      }
+    }
+
+    @Override
+    public int taskAffinity() {
+      return this.affinity;
+    }
+
+  }
+
+}
@@ -0,0 +1,183 @@
+// Copyright 2015-2023 Swim.inc
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.concurrent;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.testng.TestException;
+import org.testng.annotations.Test;
+import swim.structure.Record;
+import swim.structure.Value;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+public class VirtualTheaterSpec {
+
+  @Test
+  public void decodeVirtualTheaterDefs() {
+    final Value config = Record.create(3).attr("theater").slot("parallelism", 4).slot("virtual", true);
+    final TheaterDef theaterDef = TheaterDef.theaterForm().cast(config);
+    assertTrue(theaterDef.virtual());
+    assertEquals(theaterDef.parallelism(), 4);
+    assertEquals(TheaterDef.theaterForm().mold(theaterDef).toValue(), config);
+    assertEquals(theaterDef, new TheaterDef(null, 4, null).virtual(true));
+  }
+
+  @Test
+  public void fallBackToThreadPerTaskWhenUnsupported() {
+    if (VirtualTheater.isSupported()) {
+      return;
+    }
+    final VirtualTheater theater = new VirtualTheater();
+    final CountDownLatch blocked = new CountDownLatch(2);
+    final CountDownLatch release = new CountDownLatch(1);
+    final CountDownLatch execute = new CountDownLatch(2);
+    try {
+      theater.start();
+      for (int i = 0; i < 2; i += 1) {
+        theater.task(new AbstractTask() {
+          @Override
+          public void runTask() {
+            assertTrue(Thread.currentThread().getName().startsWith(theater.name()));
+            blocked.countDown();
+            try {
+              release.await();
+            } catch (InterruptedException error) {
+              throw new TestException(error);
+            }
+            execute.countDown();
+          }
+
+          @Override
+          public boolean taskWillBlock() {
+            return true;
+          }
+        }).cue();
+      }
+      // Both tasks block concurrently, each on its own thread.
+      await(blocked);
+      release.countDown();
+      await(execute);
+    } finally {
+      theater.stop();
+    }
+  }
+
+  @Test
+  public void runCuedTasksOnVirtualThreads() {
+    final VirtualTheater theater = new VirtualTheater();
+    final CountDownLatch execute = new CountDownLatch(1);
+    try {
+      theater.start();
+      final TaskRef task = theater.task(new AbstractTask() {
+        @Override
+        public void runTask() {
+          assertTrue(Thread.currentThread().getName().startsWith(theater.name()));
+          execute.countDown();
+        }
+
+        @Override
+        public boolean taskWillBlock() {
+          return true;
+        }
+      });
+      task.cue();
+      await(execute);
+      assertFalse(task.isCued());
+    } finally {
+      theater.stop();
+    }
+  }
+
+  @Test
+  public void rerunTasksCuedWhileRunning() {
+    final VirtualTheater theater = new VirtualTheater();
+    final AtomicInteger runCount = new AtomicInteger();
+    final AtomicInteger concurrency = new AtomicInteger();
+    final CountDownLatch execute = new CountDownLatch(2);
+    try {
+      theater.start();
+      final TaskRef task = theater.task(new AbstractTask() {
+        @Override
+        public void runTask() {
+          assertEquals(concurrency.incrementAndGet(), 1);
+          if (runCount.incrementAndGet() == 1) {
+            this.cue();
+            assertFalse(this.cue());
+          }
+          concurrency.decrementAndGet();
+          execute.countDown();
+        }
+      });
+      task.cue();
+      await(execute);
+      assertEquals(runCount.get(), 2);
+    } finally {
+      theater.stop();
+    }
+  }
+
+  @Test
+  public void runManyBlockingTasksConcurrently() {
+    if (!VirtualTheater.isSupported()) {
+      return;
+    }
+    final int taskCount = 10000;
+    final VirtualTheater theater = new VirtualTheater();
+    final CountDownLatch blocked = new CountDownLatch(taskCount);
+    final CountDownLatch release = new CountDownLatch(1);
+    final CountDownLatch execute = new CountDownLatch(taskCount);
+    try {
+      theater.start();
+      for (int i = 0; i < taskCount; i += 1) {
+        theater.task(new AbstractTask() {
+          @Override
+          public void runTask() {
+            blocked.countDown();
+            try {
+              release.await();
+            } catch (InterruptedException error) {
+              throw new TestException(error);
+            }
+            execute.countDown();
+          }
+
+          @Override
+          public boolean taskWillBlock() {
+            return true;
+          }
+        }).cue();
+      }
+      await(blocked);
+      release.countDown();
+      await(execute);
+    } finally {
+      theater.stop();
+    }
+  }
+
+  static void await(CountDownLatch latch) {
+    try {
+      if (!latch.await(10, TimeUnit.SECONDS)) {
+        throw new TestException("await timeout");
+      }
+    } catch (InterruptedException error) {
+      throw new TestException(error);
+    }
+  }
+
+}
@@ -18,6 +18,7 @@ import swim.codec.Output;
 import swim.codec.Unicode;
 import swim.concurrent.Cont;
 import swim.recon.Recon;
+import swim.structure.Data;
 import swim.structure.Num;
 import swim.structure.Record;
 import swim.structure.Slot;
@@ -30,12 +31,24 @@ public final class BTreeLeaf extends BTreePage {
 
   final BTreePageRef pageRef;
   final long version;
-  final Slot[] slots;
+  volatile Slot[] slots;
+  final Value[] values;
+  BTreeLeafKeys keys;
 
   protected BTreeLeaf(BTreePageRef pageRef, long version, Slot[] slots) {
     this.pageRef = pageRef;
     this.version = version;
     this.slots = slots;
+    this.values = null;
+    this.keys = null;
+  }
+
+  BTreeLeaf(BTreePageRef pageRef, long version, BTreeLeafKeys keys, Value[] values) {
+    this.pageRef = pageRef;
+    this.version = version;
+    this.slots = null;
+    this.values = values;
+    this.keys = keys;
   }
 
   @Override
@@ -58,14 +71,45 @@ public final class BTreeLeaf extends BTreePage {
     return this.version;
   }
 
+  /**
+   * Returns the slots of this leaf, decoding them from the prefix compressed
+   * keys with which this leaf was loaded, if needed.
+   */
+  Slot[] slots() {
+    Slot[] slots = this.slots;
+    if (slots == null) {
+      slots = this.keys.toSlots(this.values);
+      this.slots = slots;
+    }
+    return slots;
+  }
+
+  /**
+   * Returns the prefix compressed keys of this leaf, encoding them from the
+   * slots of this leaf, if needed.
+   */
+  BTreeLeafKeys keys() {
+    BTreeLeafKeys keys = this.keys;
+    if (keys == null) {
+      keys = BTreeLeafKeys.encode(this.slots);
+      this.keys = keys; // Must match keys written by toBinaryValue
+    }
+    return keys;
+  }
+
   @Override
   public boolean isEmpty() {
-    return this.slots.length == 0;
+    return this.arity() == 0;
   }
 
   @Override
   public int arity() {
-    return this.slots.length;
+    final Slot[] slots = this.slots;
+    if (slots != null) {
+      return slots.length;
+    } else {
+      return this.keys.size;
+    }
   }
 
   @Override
@@ -85,26 +129,39 @@ public final class BTreeLeaf extends BTreePage {
 
   @Override
   public Slot getSlot(int x) {
-    return this.slots[x];
+    final Slot[] slots = this.slots;
+    if (slots != null) {
+      return slots[x];
+    } else {
+      return Slot.of(this.keys.key(x), this.values[x]).commit();
+    }
   }
 
   @Override
   public Value getKey(int x) {
-    return this.slots[x].key();
+    final Slot[] slots = this.slots;
+    if (slots != null) {
+      return slots[x].key();
+    } else {
+      return this.keys.key(x);
+    }
   }
 
   @Override
   public Value minKey() {
-    return this.slots[0].key();
+    return this.getKey(0);
   }
 
   @Override
   public Value maxKey() {
-    return this.slots[this.slots.length - 1].key();
+    return this.getKey(this.arity() - 1);
   }
 
   int lookup(Value key) {
     final Slot[] slots = this.slots;
+    if (slots == null) {
+      return this.keys.lookup(key);
+    }
     int low = 0;
     int high = slots.length - 1;
     while (low <= high) {
@@ -133,7 +190,7 @@ public final class BTreeLeaf extends BTreePage {
 
   @Override
   public boolean containsValue(Value value) {
-    final Slot[] slots = this.slots;
+    final Slot[] slots = this.slots();
     for (int i = 0, n = slots.length; i < n; i += 1) {
       if (value.equals(slots[i].value())) {
         return true;
@@ -146,7 +203,12 @@ public final class BTreeLeaf extends BTreePage {
   public Value get(Value key) {
     final int x = this.lookup(key);
     if (x >= 0) {
-      return this.slots[x].value();
+      final Slot[] slots = this.slots;
+      if (slots != null) {
+        return slots[x].value();
+      } else {
+        return this.values[x];
+      }
     } else {
       return Value.absent();
     }
@@ -156,7 +218,7 @@ public final class BTreeLeaf extends BTreePage {
   public Slot getEntry(Value key) {
     final int x = this.lookup(key);
     if (x >= 0) {
-      return this.slots[x];
+      return this.getSlot(x);
     } else {
       return null;
     }
@@ -164,8 +226,8 @@ public final class BTreeLeaf extends BTreePage {
 
   @Override
   public Slot getIndex(long index) {
-    if (0L <= index && index < this.slots.length) {
-      return this.slots[(int) index];
+    if (0L <= index && index < this.slots().length) {
+      return this.slots()[(int) index];
     } else {
       return null;
     }
@@ -175,11 +237,11 @@ public final class BTreeLeaf extends BTreePage {
   public Slot firstEntry(Value key) {
     int x = this.lookup(key);
     if (x >= 0) {
-      return this.slots[x];
+      return this.slots()[x];
     } else {
       x = -(x + 1);
-      if (0 <= x && x < this.slots.length) {
-        return this.slots[x];
+      if (0 <= x && x < this.slots().length) {
+        return this.slots()[x];
       } else {
         return null;
       }
@@ -188,8 +250,8 @@ public final class BTreeLeaf extends BTreePage {
 
   @Override
   public Slot firstEntry() {
-    if (this.slots.length != 0) {
-      return this.slots[0];
+    if (this.slots().length != 0) {
+      return this.slots()[0];
     } else {
       return null;
     }
@@ -197,8 +259,8 @@ public final class BTreeLeaf extends BTreePage {
 
   @Override
   public Slot lastEntry() {
-    if (this.slots.length != 0) {
-      return this.slots[this.slots.length - 1];
+    if (this.slots().length != 0) {
+      return this.slots()[this.slots().length - 1];
     } else {
       return null;
     }
@@ -212,8 +274,8 @@ public final class BTreeLeaf extends BTreePage {
     } else {
       x = -(x + 1);
     }
-    if (0 <= x && x < this.slots.length) {
-      return this.slots[x];
+    if (0 <= x && x < this.slots().length) {
+      return this.slots()[x];
     } else {
       return null;
     }
@@ -227,8 +289,8 @@ public final class BTreeLeaf extends BTreePage {
     } else {
       x = -(x + 2);
     }
-    if (0 <= x && x < this.slots.length) {
-      return this.slots[x];
+    if (0 <= x && x < this.slots().length) {
+      return this.slots()[x];
     } else {
       return null;
     }
@@ -246,7 +308,7 @@ public final class BTreeLeaf extends BTreePage {
   }
 
   BTreeLeaf updatedSlot(int x, Value key, Value newValue, long newVersion) {
-    final Slot[] oldSlots = this.slots;
+    final Slot[] oldSlots = this.slots();
     final Slot oldSlot = oldSlots[x];
     if (!newValue.equals(oldSlot.value())) {
       final int n = oldSlots.length;
@@ -260,7 +322,7 @@ public final class BTreeLeaf extends BTreePage {
   }
 
   BTreeLeaf insertedSlot(int x, Value key, Value newValue, long newVersion) {
-    final Slot[] oldSlots = this.slots;
+    final Slot[] oldSlots = this.slots();
     final int n = oldSlots.length + 1;
     final Slot[] newSlots = new Slot[n];
     System.arraycopy(oldSlots, 0, newSlots, 0, x);
@@ -273,7 +335,7 @@ public final class BTreeLeaf extends BTreePage {
   public BTreeLeaf removed(Value key, long newVersion) {
     final int x = this.lookup(key);
     if (x >= 0) {
-      if (this.slots.length > 1) {
+      if (this.slots().length > 1) {
         return this.removedSlot(x, newVersion);
       } else {
         return BTreeLeaf.empty(this.pageRef.context, this.pageRef.stem, newVersion);
@@ -284,7 +346,7 @@ public final class BTreeLeaf extends BTreePage {
   }
 
   BTreeLeaf removedSlot(int x, long newVersion) {
-    final Slot[] oldSlots = this.slots;
+    final Slot[] oldSlots = this.slots();
     final int n = oldSlots.length - 1;
     final Slot[] newSlots = new Slot[n];
     System.arraycopy(oldSlots, 0, newSlots, 0, x);
@@ -295,7 +357,7 @@ public final class BTreeLeaf extends BTreePage {
   @Override
   public BTreePage drop(long lower, long newVersion) {
     if (lower > 0L) {
-      final Slot[] oldSlots = this.slots;
+      final Slot[] oldSlots = this.slots();
       final int k = oldSlots.length;
       if (lower < k) {
         final int x = (int) lower;
@@ -313,7 +375,7 @@ public final class BTreeLeaf extends BTreePage {
 
   @Override
   public BTreePage take(long upper, long newVersion) {
-    final Slot[] oldSlots = this.slots;
+    final Slot[] oldSlots = this.slots();
     if (upper < oldSlots.length) {
       if (upper > 0L) {
         final int n = (int) upper;
@@ -330,7 +392,7 @@ public final class BTreeLeaf extends BTreePage {
 
   @Override
   public BTreePage balanced(long newVersion) {
-    final int n = this.slots.length;
+    final int n = this.slots().length;
     if (n > 1 && this.pageRef.context.pageShouldSplit(this)) {
       final int x = n >>> 1;
       return this.split(x, newVersion);
@@ -351,12 +413,12 @@ public final class BTreeLeaf extends BTreePage {
     newKnotKeys[0] = newRightPage.minKey();
 
     return BTreeNode.create(this.pageRef.context, this.pageRef.stem, newVersion,
-                            this.slots.length, Value.absent(), newChildRefs, newKnotKeys);
+                            this.slots().length, Value.absent(), newChildRefs, newKnotKeys);
   }
 
   @Override
   public BTreeLeaf splitLeft(int x, long newVersion) {
-    final Slot[] oldSlots = this.slots;
+    final Slot[] oldSlots = this.slots();
     final Slot[] newSlots = new Slot[x];
     System.arraycopy(oldSlots, 0, newSlots, 0, x);
     return BTreeLeaf.create(this.pageRef.context, this.pageRef.stem, newVersion, Value.absent(), newSlots);
@@ -364,7 +426,7 @@ public final class BTreeLeaf extends BTreePage {
 
   @Override
   public BTreeLeaf splitRight(int x, long newVersion) {
-    final Slot[] oldSlots = this.slots;
+    final Slot[] oldSlots = this.slots();
     final int y = oldSlots.length - x;
     final Slot[] newSlots = new Slot[y];
     System.arraycopy(oldSlots, x, newSlots, 0, y);
@@ -388,13 +450,52 @@ public final class BTreeLeaf extends BTreePage {
 
   @Override
   void memoizeSize(BTreePageRef pageRef) {
+    final int pageSize;
+    if (this.pageFormat().isBinary()) {
+      final BTreeLeafKeys keys = this.keys();
+      if (keys.isCompressed()) {
+        pageSize = this.compressedPageSize(keys);
+      } else {
+        pageSize = PageFormat.binaryPageSize(this.toHeader().head(), this.slots());
+      }
+    } else {
+      pageSize = this.reconPageSize();
+    }
+    pageRef.pageSize = pageSize; // Must match bytes written by writePage
+    pageRef.diffSize = pageSize; // Must match bytes written by writeDiff
+    pageRef.treeSize = pageSize;
+  }
+
+  /**
+   * Returns the size of the binary encoding of this leaf with the given
+   * prefix compressed {@code keys}, without building the encoded value.
+   */
+  int compressedPageSize(BTreeLeafKeys keys) {
+    int pageSize = PageFormat.BINARY_HEADER_SIZE;
+    pageSize += Recon.binarySizeOf(this.toCompressedHeader(keys).head());
+    pageSize += Recon.binarySizeOf(keys.toData());
+    final Value[] values = this.values;
+    if (values != null) {
+      for (int i = 0, n = keys.size; i < n; i += 1) {
+        pageSize += Recon.binarySizeOf(values[i]);
+      }
+    } else {
+      final Slot[] slots = this.slots;
+      for (int i = 0, n = keys.size; i < n; i += 1) {
+        pageSize += Recon.binarySizeOf(slots[i].value());
+      }
+    }
+    return pageSize;
+  }
+
+  int reconPageSize() {
     int pageSize = 12; // "@bleaf(stem:"
     pageSize += Recon.sizeOf(Num.from(this.pageRef.stem));
     pageSize += 3; // ",v:"
     pageSize += Recon.sizeOf(Num.from(this.version));
     pageSize += 1; // ')'
 
-    final Slot[] slots = this.slots;
+    final Slot[] slots = this.slots();
     final int n = slots.length;
     if (n > 0) {
       pageSize += 1; // '{'
@@ -407,9 +508,7 @@ public final class BTreeLeaf extends BTreePage {
     }
 
     pageSize += 1; // '\n'
-    pageRef.pageSize = pageSize; // Must match bytes written by writePage
-    pageRef.diffSize = pageSize; // Must match bytes written by writeDiff
-    pageRef.treeSize = pageSize;
+    return pageSize;
   }
 
   @Override
@@ -422,17 +521,53 @@ public final class BTreeLeaf extends BTreePage {
   @Override
   public Value toValue() {
     final Record record = (Record) this.toHeader();
-    final Slot[] slots = this.slots;
+    final Slot[] slots = this.slots();
     for (int i = 0, n = slots.length; i < n; i += 1) {
       record.add(slots[i]);
     }
     return record;
   }
 
+  Value toCompressedHeader(BTreeLeafKeys keys) {
+    final Record header = Record.create(3).slot("stem", this.pageRef.stem)
+                                          .slot("v", this.version)
+                                          .slot("keys", keys.size);
+    return Record.create(1).attr("bleaf", header);
+  }
+
+  /**
+   * Returns the binary encoding of this leaf, which stores the keys of the
+   * leaf in a prefix compressed key block, followed by the values of the
+   * leaf, when compression shrinks the page.
+   */
+  @Override
+  Value toBinaryValue() {
+    final BTreeLeafKeys keys = this.keys();
+    if (!keys.isCompressed()) {
+      return this.toValue();
+    }
+    final int n = keys.size;
+    final Record record = Record.create(2 + n);
+    record.add(this.toCompressedHeader(keys).head());
+    record.add(keys.toData());
+    final Value[] values = this.values;
+    if (values != null) {
+      for (int i = 0; i < n; i += 1) {
+        record.add(values[i]);
+      }
+    } else {
+      final Slot[] slots = this.slots;
+      for (int i = 0; i < n; i += 1) {
+        record.add(slots[i].value());
+      }
+    }
+    return record;
+  }
+
   @Override
   public BTreeLeaf reduced(Value identity, CombinerFunction<? super Value, Value> accumulator,
                            CombinerFunction<Value, Value> combiner, long newVersion) {
-    final Slot[] slots = this.slots;
+    final Slot[] slots = this.slots();
     Value fold = identity;
     for (int i = 0, n = slots.length; i < n; i += 1) {
       fold = accumulator.combine(fold, slots[i].value());
@@ -444,7 +579,7 @@ public final class BTreeLeaf extends BTreePage {
   public BTreeLeaf evacuated(int post, long version) {
     final int oldPost = this.pageRef.post;
     if (oldPost != 0 && oldPost < post) {
-      return BTreeLeaf.create(this.pageRef.context, this.pageRef.stem, version, this.pageRef.fold, this.slots);
+      return BTreeLeaf.create(this.pageRef.context, this.pageRef.stem, version, this.pageRef.fold, this.slots());
     } else {
       return this;
     }
@@ -452,12 +587,12 @@ public final class BTreeLeaf extends BTreePage {
 
   @Override
   public BTreeLeaf committed(int zone, long base, long version) {
-    return BTreeLeaf.create(this.pageRef.context, this.pageRef.stem, version, zone, base, this.pageRef.fold, this.slots);
+    return BTreeLeaf.create(this.pageRef.context, this.pageRef.stem, version, zone, base, this.pageRef.fold, this.slots());
   }
 
   @Override
   public BTreeLeaf uncommitted(long version) {
-    return BTreeLeaf.create(this.pageRef.context, this.pageRef.stem, version, this.pageRef.fold, this.slots);
+    return BTreeLeaf.create(this.pageRef.context, this.pageRef.stem, version, this.pageRef.fold, this.slots());
   }
 
   @Override
@@ -468,7 +603,7 @@ public final class BTreeLeaf extends BTreePage {
   }
 
   void writePageContent(Output<?> output) {
-    final Slot[] slots = this.slots;
+    final Slot[] slots = this.slots();
     final int n = slots.length;
     if (n > 0) {
       output.write('{');
@@ -503,7 +638,7 @@ public final class BTreeLeaf extends BTreePage {
 
   @Override
   public OrderedMapCursor<Value, Value> cursor() {
-    return new BTreeLeafCursor(this.slots, 0, this.slots.length);
+    return new BTreeLeafCursor(this.slots(), 0, this.slots().length);
   }
 
   @Override
@@ -554,6 +689,19 @@ public final class BTreeLeaf extends BTreePage {
       final Value header = value.header("bleaf");
       final long version = header.get("v").longValue();
       final Record tail = value.tail();
+      final Value keyCount = header.get("keys");
+      if (keyCount.isDefined()) {
+        final int n = keyCount.intValue();
+        if (tail.size() != n + 1) {
+          throw new StoreException("expected " + n + " values, but found " + (tail.size() - 1));
+        }
+        final BTreeLeafKeys keys = BTreeLeafKeys.decode((Data) tail.getItem(0), n);
+        final Value[] values = new Value[n];
+        for (int i = 0; i < n; i += 1) {
+          values[i] = tail.getItem(i + 1).toValue();
+        }
+        return new BTreeLeaf(pageRef, version, keys, values);
+      }
       final Slot[] slots = new Slot[tail.size()];
       tail.toArray(slots);
       return new BTreeLeaf(pageRef, version, slots);
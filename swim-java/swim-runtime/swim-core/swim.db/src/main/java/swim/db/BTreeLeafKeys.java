@@ -0,0 +1,317 @@
+// Copyright 2015-2023 Swim.inc
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.db;
+
+import java.nio.charset.StandardCharsets;
+import swim.recon.Recon;
+import swim.structure.Data;
+import swim.structure.Num;
+import swim.structure.Slot;
+import swim.structure.Text;
+import swim.structure.Value;
+
+/**
+ * Prefix compressed block of the ordered text keys of a leaf page. Each key
+ * is encoded as the number of leading UTF-8 bytes it shares with the
+ * previous key, followed by the length and bytes of its remaining suffix.
+ * Every {@code restartInterval} keys, a restart point encodes a key in full,
+ * and records its offset in a trailing table of 4-byte big-endian offsets,
+ * so that keys can be binary searched by restart point, and decoded from
+ * the nearest preceding restart point, without decoding the whole block.
+ *
+ * <p>Block layout: a variable length restart interval, followed by the key
+ * entries, followed by the restart table.</p>
+ */
+final class BTreeLeafKeys {
+
+  final byte[] block;
+  final int size;
+  final int restartInterval;
+  final int restartBase;
+
+  BTreeLeafKeys(byte[] block, int size, int restartInterval, int restartBase) {
+    this.block = block;
+    this.size = size;
+    this.restartInterval = restartInterval;
+    this.restartBase = restartBase;
+  }
+
+  int size() {
+    return this.size;
+  }
+
+  boolean isCompressed() {
+    return this.block.length != 0;
+  }
+
+  Data toData() {
+    return Data.wrap(this.block);
+  }
+
+  int restartOffset(int restartIndex) {
+    final byte[] block = this.block;
+    final int index = this.restartBase + (restartIndex << 2);
+    return (block[index] & 0xff) << 24 | (block[index + 1] & 0xff) << 16
+         | (block[index + 2] & 0xff) << 8 | block[index + 3] & 0xff;
+  }
+
+  Value key(int index) {
+    if (index < 0 || index >= this.size) {
+      throw new IndexOutOfBoundsException(Integer.toString(index));
+    }
+    final BTreeLeafKeysReader reader = new BTreeLeafKeysReader(this, index / this.restartInterval);
+    while (reader.index < index) {
+      reader.next();
+    }
+    return reader.next();
+  }
+
+  /**
+   * Searches for the given {@code key}, returning the index of the matching
+   * key, if found; otherwise returns {@code -(insertionPoint + 1)},
+   * matching the contract of {@link BTreeLeaf#lookup(Value)}.
+   */
+  int lookup(Value key) {
+    if (key == null) {
+      return -1;
+    }
+    int low = 0;
+    int high = (this.size + this.restartInterval - 1) / this.restartInterval - 1;
+    while (low <= high) {
+      final int r = (low + high) >>> 1;
+      final int order = key.compareTo(new BTreeLeafKeysReader(this, r).next());
+      if (order > 0) {
+        low = r + 1;
+      } else if (order < 0) {
+        high = r - 1;
+      } else {
+        return r * this.restartInterval;
+      }
+    }
+    if (high < 0) {
+      return -1;
+    }
+    // Scan the keys following the greatest restart point less than key.
+    final BTreeLeafKeysReader reader = new BTreeLeafKeysReader(this, high);
+    reader.next();
+    final int end = Math.min(this.size, (high + 1) * this.restartInterval);
+    while (reader.index < end) {
+      final int index = reader.index;
+      final int order = key.compareTo(reader.next());
+      if (order == 0) {
+        return index;
+      } else if (order < 0) {
+        return -(index + 1);
+      }
+    }
+    return -(end + 1);
+  }
+
+  Slot[] toSlots(Value[] values) {
+    final int n = this.size;
+    final Slot[] slots = new Slot[n];
+    if (n > 0) {
+      final BTreeLeafKeysReader reader = new BTreeLeafKeysReader(this, 0);
+      for (int i = 0; i < n; i += 1) {
+        slots[i] = Slot.of(reader.next(), values[i]).commit();
+      }
+    }
+    return slots;
+  }
+
+  static final int RESTART_INTERVAL = 16;
+
+  static final BTreeLeafKeys UNCOMPRESSED = new BTreeLeafKeys(new byte[0], 0, 1, 0);
+
+  /**
+   * Returns the prefix compressed keys of the given {@code slots}, or
+   * {@link #UNCOMPRESSED} if not all keys are text, or if compression
+   * wouldn't shrink the binary encoding of the leaf.
+   */
+  static BTreeLeafKeys encode(Slot[] slots) {
+    final int n = slots.length;
+    if (n < 2) {
+      return BTreeLeafKeys.UNCOMPRESSED;
+    }
+    final int restartInterval = BTreeLeafKeys.RESTART_INTERVAL;
+    final byte[][] keys = new byte[n][];
+    int plainSize = 0;
+    int entriesSize = 0;
+    byte[] prevKey = null;
+    for (int i = 0; i < n; i += 1) {
+      final Value key = slots[i].key();
+      if (!(key instanceof Text)) {
+        return BTreeLeafKeys.UNCOMPRESSED;
+      }
+      // Sizing the key in binary Recon rejects unpaired surrogates, which
+      // getBytes would otherwise silently replace with '?'.
+      plainSize += 1 + Recon.binarySizeOf(key); // slot tag and key
+      final byte[] keyBytes = key.stringValue().getBytes(StandardCharsets.UTF_8);
+      keys[i] = keyBytes;
+      final int shared = i % restartInterval == 0 ? 0 : BTreeLeafKeys.sharedPrefix(prevKey, keyBytes);
+      entriesSize += BTreeLeafKeys.sizeOfVarUint(shared)
+                   + BTreeLeafKeys.sizeOfVarUint(keyBytes.length - shared)
+                   + keyBytes.length - shared;
+      prevKey = keyBytes;
+    }
+    final int restartCount = (n + restartInterval - 1) / restartInterval;
+    final int restartBase = BTreeLeafKeys.sizeOfVarUint(restartInterval) + entriesSize;
+    final int blockSize = restartBase + (restartCount << 2);
+    final int compressedSize = 1 + BTreeLeafKeys.sizeOfVarUint(blockSize) + blockSize // data tag, length, and block
+                             + Recon.binarySizeOf(Slot.of("keys", Num.from(n))); // header key count
+    if (compressedSize >= plainSize) {
+      return BTreeLeafKeys.UNCOMPRESSED;
+    }
+
+    final byte[] block = new byte[blockSize];
+    int offset = BTreeLeafKeys.writeVarUint(block, 0, restartInterval);
+    prevKey = null;
+    for (int i = 0; i < n; i += 1) {
+      final byte[] keyBytes = keys[i];
+      final int shared;
+      if (i % restartInterval == 0) {
+        final int restartIndex = restartBase + ((i / restartInterval) << 2);
+        block[restartIndex] = (byte) (offset >>> 24);
+        block[restartIndex + 1] = (byte) (offset >>> 16);
+        block[restartIndex + 2] = (byte) (offset >>> 8);
+        block[restartIndex + 3] = (byte) offset;
+        shared = 0;
+      } else {
+        shared = BTreeLeafKeys.sharedPrefix(prevKey, keyBytes);
+      }
+      final int suffixSize = keyBytes.length - shared;
+      offset = BTreeLeafKeys.writeVarUint(block, offset, shared);
+      offset = BTreeLeafKeys.writeVarUint(block, offset, suffixSize);
+      System.arraycopy(keyBytes, shared, block, offset, suffixSize);
+      offset += suffixSize;
+      prevKey = keyBytes;
+    }
+    return new BTreeLeafKeys(block, n, restartInterval, restartBase);
+  }
+
+  static BTreeLeafKeys decode(Data data, int size) {
+    final byte[] block = data.toByteArray();
+    if (size < 0) {
+      throw new StoreException("negative key count: " + size);
+    }
+    int restartInterval = 0;
+    int shift = 0;
+    int offset = 0;
+    int b;
+    do {
+      if (offset >= block.length) {
+        throw new StoreException("truncated key block");
+      }
+      b = block[offset] & 0xff;
+      offset += 1;
+      restartInterval |= (b & 0x7f) << shift;
+      shift += 7;
+    } while ((b & 0x80) != 0 && shift < 32);
+    if (restartInterval <= 0) {
+      throw new StoreException("invalid key restart interval: " + restartInterval);
+    }
+    final int restartCount = (int) (((long) size + (long) restartInterval - 1L) / (long) restartInterval);
+    if (restartCount > (block.length - offset) >>> 2) {
+      throw new StoreException("truncated key block");
+    }
+    final int restartBase = block.length - (restartCount << 2);
+    return new BTreeLeafKeys(block, size, restartInterval, restartBase);
+  }
+
+  static int sharedPrefix(byte[] x, byte[] y) {
+    final int n = Math.min(x.length, y.length);
+    int i = 0;
+    while (i < n && x[i] == y[i]) {
+      i += 1;
+    }
+    return i;
+  }
+
+  static int sizeOfVarUint(int value) {
+    int size = 1;
+    while ((value & ~0x7f) != 0) {
+      value >>>= 7;
+      size += 1;
+    }
+    return size;
+  }
+
+  static int writeVarUint(byte[] block, int offset, int value) {
+    while ((value & ~0x7f) != 0) {
+      block[offset] = (byte) ((value & 0x7f) | 0x80);
+      offset += 1;
+      value >>>= 7;
+    }
+    block[offset] = (byte) value;
+    return offset + 1;
+  }
+
+}
+
+final class BTreeLeafKeysReader {
+
+  final BTreeLeafKeys keys;
+  byte[] key;
+  int keySize;
+  int offset;
+  int index;
+
+  BTreeLeafKeysReader(BTreeLeafKeys keys, int restartIndex) {
+    this.keys = keys;
+    this.key = new byte[32];
+    this.keySize = 0;
+    this.offset = keys.restartOffset(restartIndex);
+    this.index = restartIndex * keys.restartInterval;
+  }
+
+  Value next() {
+    final int shared = this.readVarUint();
+    final int suffixSize = this.readVarUint();
+    final int keySize = shared + suffixSize;
+    if (shared < 0 || suffixSize < 0 || shared > this.keySize || this.offset + suffixSize > this.keys.restartBase) {
+      throw new StoreException("malformed key block");
+    }
+    byte[] key = this.key;
+    if (keySize > key.length) {
+      final byte[] newKey = new byte[Math.max(keySize, key.length << 1)];
+      System.arraycopy(key, 0, newKey, 0, shared);
+      key = newKey;
+      this.key = key;
+    }
+    System.arraycopy(this.keys.block, this.offset, key, shared, suffixSize);
+    this.offset += suffixSize;
+    this.keySize = keySize;
+    this.index += 1;
+    return Text.from(new String(key, 0, keySize, StandardCharsets.UTF_8));
+  }
+
+  int readVarUint() {
+    final byte[] block = this.keys.block;
+    int value = 0;
+    int shift = 0;
+    int b;
+    do {
+      if (this.offset < 0 || this.offset >= this.keys.restartBase) {
+        throw new StoreException("malformed key block");
+      }
+      b = block[this.offset] & 0xff;
+      this.offset += 1;
+      value |= (b & 0x7f) << shift;
+      shift += 7;
+    } while ((b & 0x80) != 0 && shift < 32);
+    return value;
+  }
+
+}
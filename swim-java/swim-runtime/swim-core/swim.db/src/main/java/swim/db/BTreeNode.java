@@ -147,6 +147,9 @@ public final class BTreeNode extends BTreePage {
     } else {
       return true;
     }
+    if (!this.childRefs[x].mightContainKey(key)) {
+      return false;
+    }
     return this.getChild(x).containsKey(key);
   }
 
@@ -205,6 +208,9 @@ public final class BTreeNode extends BTreePage {
     } else {
       x = -(x + 1);
     }
+    if (!this.childRefs[x].mightContainKey(key)) {
+      return Value.absent();
+    }
     return this.getChild(x).get(key);
   }
 
@@ -216,6 +222,9 @@ public final class BTreeNode extends BTreePage {
     } else {
       x = -(x + 1);
     }
+    if (!this.childRefs[x].mightContainKey(key)) {
+      return null;
+    }
     return this.getChild(x).getEntry(key);
   }
 
@@ -712,6 +721,44 @@ public final class BTreeNode extends BTreePage {
 
   @Override
   void memoizeSize(BTreePageRef pageRef) {
+    final int pageSize;
+    if (this.pageFormat().isBinary()) {
+      pageSize = this.binaryPageSize();
+    } else {
+      pageSize = this.reconPageSize();
+    }
+
+    final BTreePageRef[] childRefs = this.childRefs;
+    int diffSize = pageSize;
+    long treeSize = pageSize;
+    for (int i = 0, n = childRefs.length; i < n; i += 1) {
+      final BTreePageRef childRef = childRefs[i];
+      if (this.version == childRef.softVersion()) {
+        diffSize += childRef.diffSize();
+      }
+      treeSize += childRef.treeSize();
+    }
+
+    pageRef.pageSize = pageSize; // Must match bytes written by writePage
+    pageRef.diffSize = diffSize; // Must match bytes written by writeDiff
+    pageRef.treeSize = treeSize;
+  }
+
+  int binaryPageSize() {
+    // Sum the sizes of the page items, without assembling the page record.
+    int pageSize = PageFormat.BINARY_HEADER_SIZE + Recon.binarySizeOf(this.toHeader().head());
+    final BTreePageRef[] childRefs = this.childRefs;
+    final Value[] knotKeys = this.knotKeys;
+    for (int i = 0, n = childRefs.length; i < n; i += 1) {
+      if (i > 0) {
+        pageSize += BTreeNode.KNOT_SIZE + Recon.binarySizeOf(knotKeys[i - 1]);
+      }
+      pageSize += Recon.binarySizeOf(childRefs[i].toValue());
+    }
+    return pageSize;
+  }
+
+  int reconPageSize() {
     int pageSize = 12; // "@bnode(stem:"
     pageSize += Recon.sizeOf(Num.from(this.pageRef.stem));
     pageSize += 3; // ",v:"
@@ -721,8 +768,6 @@ public final class BTreeNode extends BTreePage {
     final BTreePageRef[] childRefs = this.childRefs;
     final int n = childRefs.length;
     final Value[] knotKeys = this.knotKeys;
-    int diffSize = 0;
-    long treeSize = 0L;
     if (n > 0) {
       pageSize += 1; // '{'
       for (int i = 0; i < n; i += 1) {
@@ -732,22 +777,12 @@ public final class BTreeNode extends BTreePage {
           pageSize += Recon.sizeOf(key);
           pageSize += 2; // "),"
         }
-        final BTreePageRef childRef = childRefs[i];
-        pageSize += childRef.pageRefSize();
-        if (this.version == childRef.softVersion()) {
-          diffSize += childRef.diffSize();
-        }
-        treeSize += childRef.treeSize();
+        pageSize += childRefs[i].pageRefSize();
       }
       pageSize += 1; // '}'
       pageSize += 1; // '\n'
     }
-    diffSize += pageSize;
-    treeSize += pageSize;
-
-    pageRef.pageSize = pageSize; // Must match bytes written by writePage
-    pageRef.diffSize = diffSize; // Must match bytes written by writeDiff
-    pageRef.treeSize = treeSize;
+    return pageSize;
   }
 
   @Override
@@ -916,7 +951,12 @@ public final class BTreeNode extends BTreePage {
 
   @Override
   public OrderedMapCursor<Value, Value> cursor() {
-    return new BTreeNodeDepthCursor(this, Integer.MAX_VALUE);
+    final int cursorPrefetch = this.pageRef.context.settings().cursorPrefetch;
+    if (cursorPrefetch > 0) {
+      return new BTreeNodePrefetchCursor(this, cursorPrefetch);
+    } else {
+      return new BTreeNodeDepthCursor(this, Integer.MAX_VALUE);
+    }
   }
 
   @Override
@@ -939,6 +979,12 @@ public final class BTreeNode extends BTreePage {
 
   static final Value[] EMPTY_KNOT_KEYS = new Value[0];
 
+  /**
+   * Binary size of a knot page item, less the size of its key.
+   */
+  static final int KNOT_SIZE = Recon.binarySizeOf(Record.create(1).attr("knot", Record.create(1).slot("key", Value.extant())))
+                             - Recon.binarySizeOf(Value.extant());
+
   public static BTreeNode create(PageContext context, int stem, long version,
                                  int post, int zone, long base, long span, Value fold,
                                  BTreePageRef[] childRefs, Value[] knotKeys) {
@@ -19,6 +19,7 @@ import swim.codec.Output;
 import swim.codec.Unicode;
 import swim.concurrent.Cont;
 import swim.recon.Recon;
+import swim.structure.Data;
 import swim.structure.Num;
 import swim.structure.Record;
 import swim.structure.Value;
@@ -41,6 +42,7 @@ public final class BTreePageRef extends PageRef {
   int pageSize;
   int diffSize;
   long treeSize;
+  byte[] bloom;
 
   public BTreePageRef(PageContext context, PageType pageType, int stem, int post,
                       int zone, long base, long span, Value fold, Object page,
@@ -58,6 +60,7 @@ public final class BTreePageRef extends PageRef {
     this.pageSize = pageSize;
     this.diffSize = diffSize;
     this.treeSize = treeSize;
+    this.bloom = null;
   }
 
   public BTreePageRef(PageContext context, PageType pageType, int stem, int post,
@@ -199,12 +202,22 @@ public final class BTreePageRef extends PageRef {
         pageRefSize += 6; // ",fold:"
         pageRefSize += Recon.sizeOf(fold);
       }
+      final byte[] bloom = this.bloom();
+      if (bloom.length != 0) {
+        pageRefSize += 7; // ",bloom:"
+        pageRefSize += Recon.sizeOf(Data.wrap(bloom));
+      }
       pageRefSize += 1; // ')'
       this.pageRefSize = pageRefSize; // Must match bytes written by writePageRef
     }
     return pageRefSize;
   }
 
+  @Override
+  int memoizedPageSize() {
+    return this.pageSize;
+  }
+
   @Override
   public int pageSize() {
     if (this.pageSize < 0) {
@@ -229,9 +242,39 @@ public final class BTreePageRef extends PageRef {
     return this.treeSize;
   }
 
+  /**
+   * Returns the Bloom filter over the keys of the referenced leaf page,
+   * computing and memoizing the filter from the resident page, if needed.
+   * Returns an empty array if this page ref has no filter.
+   */
+  byte[] bloom() {
+    byte[] bloom = this.bloom;
+    if (bloom == null) {
+      bloom = PageBloom.EMPTY;
+      if (this.pageType == PageType.LEAF) {
+        final BTreePage page = this.softPage();
+        if (page instanceof BTreeLeaf) {
+          bloom = PageBloom.create(((BTreeLeaf) page).slots(), this.context.settings().pageBloomBits);
+        }
+      }
+      this.bloom = bloom; // Must match filter written by writePageRef
+    }
+    return bloom;
+  }
+
+  /**
+   * Returns {@code false} if the referenced page definitely doesn't contain
+   * the given {@code key}, without loading the page. Only consults a filter
+   * that has already been loaded or computed; never computes a new filter.
+   */
+  public boolean mightContainKey(Value key) {
+    final byte[] bloom = this.bloom;
+    return bloom == null || PageBloom.mightContain(bloom, key);
+  }
+
   @Override
   public Value toValue() {
-    final Record header = Record.create(7);
+    final Record header = Record.create(8);
     if (this.post != this.zone) {
       header.slot("post", this.post);
     }
@@ -244,6 +287,10 @@ public final class BTreePageRef extends PageRef {
     if (fold.isDefined()) {
       header.slot("fold", fold);
     }
+    final byte[] bloom = this.bloom();
+    if (bloom.length != 0) {
+      header.slot("bloom", Data.wrap(bloom));
+    }
     return Record.create(1).attr(this.pageType.tag(), header);
   }
 
@@ -454,6 +501,7 @@ public final class BTreePageRef extends PageRef {
       final long area = header.get("area").longValue();
       final long span = header.get("span").longValue();
       final Value fold = header.get("fold");
+      final Value bloom = header.get("bloom");
       if (base < 0L) {
         throw new StoreException("negative page base: " + base);
       } else if (size < 0) {
@@ -463,8 +511,12 @@ public final class BTreePageRef extends PageRef {
       } else if (span < 0) {
         throw new StoreException("negative page span: " + span);
       }
-      return new BTreePageRef(context, pageType, stem, post, zone, base, span,
-                              fold, null, -1, size, 0, area);
+      final BTreePageRef pageRef = new BTreePageRef(context, pageType, stem, post, zone, base, span,
+                                                    fold, null, -1, size, 0, area);
+      if (bloom instanceof Data) {
+        pageRef.bloom = ((Data) bloom).toByteArray();
+      }
+      return pageRef;
     } catch (Throwable error) {
       if (Cont.isNonFatal(error)) {
         cause = error;
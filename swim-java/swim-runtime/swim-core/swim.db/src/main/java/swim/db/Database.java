@@ -38,6 +38,7 @@ import swim.util.Murmur3;
 public class Database {
 
   final Store store;
+  final PageCache pageCache;
   volatile DatabaseDelegate delegate;
   volatile Germ germ;
   volatile int stem;
@@ -53,10 +54,12 @@ public class Database {
   Value commitKey;
   Value evacuateKey;
   int evacuationPass;
+  volatile DatabaseCompactor compactor;
   volatile int status;
 
   Database(Store store, int stem, long version) {
     this.store = store;
+    this.pageCache = new PageCache(store.settings());
     this.stem = stem;
     this.post = store.oldestZoneId();
     this.stablePost = this.post;
@@ -74,6 +77,7 @@ public class Database {
 
   Database(Store store, Germ germ) {
     this.store = store;
+    this.pageCache = new PageCache(store.settings());
     this.germ = germ;
     this.stem = germ.stem();
     this.post = store.oldestZoneId();
@@ -103,6 +107,13 @@ public class Database {
     return this.store.stage();
   }
 
+  /**
+   * Returns the page cache shared by all trunks of this database.
+   */
+  public PageCache pageCache() {
+    return this.pageCache;
+  }
+
   public DatabaseDelegate databaseDelegate() {
     return this.delegate;
   }
@@ -499,7 +510,8 @@ public class Database {
    * Lifecycle callback invoked to actually close the database.
    */
   protected void onClose() {
-    // hook
+    this.stopCompactor();
+    this.pageCache.clear();
   }
 
   /**
@@ -693,12 +705,23 @@ public class Database {
       final long storeSize = this.store.size();
       final double treeFill = (double) treeSize / (double) storeSize;
       if (storeSize > this.settings().minCompactSize && treeFill < this.settings().minTreeFill) {
-        post = zone;
+        final int compactParallelism = this.settings().compactParallelism;
+        if (compactParallelism > 0) {
+          post = this.compactPost(zone);
+        } else {
+          post = zone;
+        }
         this.evacuateKey = null;
         this.evacuationPass = 1;
         this.post = post;
         this.databaseWillCompact(post);
         this.store.databaseWillCompact(this, post);
+        if (compactParallelism > 0) {
+          final DatabaseCompactor compactor =
+              new DatabaseCompactor(this, post, DatabaseCompactor.treesToEvacuate(this, post));
+          this.compactor = compactor;
+          compactor.start(compactParallelism);
+        }
       }
     }
 
@@ -777,8 +800,12 @@ public class Database {
       }
     } while (true);
 
-    // Incrementally compact the store
-    if (this.evacuationPass != 0) {
+    // Incrementally compact the store; while compactor workers are still
+    // evacuating trees, commits only write out their evacuated pages, and
+    // the evacuation passes resume once the workers finish, committing the
+    // evacuated trees, and evacuating any trees the workers didn't reach.
+    final DatabaseCompactor compactor = this.compactor;
+    if (this.evacuationPass != 0 && (compactor == null || compactor.isDone())) {
       final long startEvacuationBase = base;
       final long startEvacuationTime = System.currentTimeMillis();
 
@@ -796,6 +823,7 @@ public class Database {
             // Completed evacuation
             this.stablePost = post;
             this.evacuationPass = 0;
+            this.stopCompactor();
             this.databaseDidCompact(post);
             this.store.databaseDidCompact(this, post);
             break;
@@ -926,6 +954,79 @@ public class Database {
     return new Chunk(this, commit, post, zone, germ, size, trees, pages);
   }
 
+  void stopCompactor() {
+    final DatabaseCompactor compactor = this.compactor;
+    if (compactor != null) {
+      compactor.stop();
+      this.compactor = null;
+    }
+  }
+
+  /**
+   * Returns estimates of the number of live bytes in each zone referenced
+   * by the trees of this database. Each tree's size gets apportioned evenly
+   * across the zones between the oldest zone the tree references, and the
+   * zone that contains the tree's root page.
+   */
+  public HashTrieMap<Integer, Long> zoneLiveSizes() {
+    HashTrieMap<Integer, Long> zoneLiveSizes = HashTrieMap.empty();
+    final Cursor<Map.Entry<Value, Value>> seedCursor = ((BTree) Trunk.TREE.get(this.seedTrunk)).cursor();
+    while (seedCursor.hasNext()) {
+      final Map.Entry<Value, Value> entry = seedCursor.next();
+      final Seed seed = Seed.fromValue(entry.getValue());
+      if (seed == null) {
+        continue;
+      }
+      final Trunk<Tree> trunk = new Trunk<Tree>(this, entry.getKey(), null);
+      final PageRef rootRef = seed.treeType().treeFromSeed(trunk, seed, false, false).rootRef();
+      final int maxZone = rootRef.zone();
+      if (maxZone == 0) {
+        continue;
+      }
+      final int minZone = rootRef.post() != 0 ? Math.min(rootRef.post(), maxZone) : maxZone;
+      final long zoneLiveSize = rootRef.treeSize() / (long) (maxZone - minZone + 1);
+      for (int zone = minZone; zone <= maxZone; zone += 1) {
+        final Long oldLiveSize = zoneLiveSizes.get(zone);
+        final long newLiveSize = (oldLiveSize != null ? oldLiveSize.longValue() : 0L) + zoneLiveSize;
+        zoneLiveSizes = zoneLiveSizes.updated(zone, newLiveSize);
+      }
+    }
+    return zoneLiveSizes;
+  }
+
+  /**
+   * Returns the post to which to compact the store, given the id of the
+   * current head zone. Zones can only be reclaimed in order, so the post
+   * ends the prefix of the zone chain that reclaims the most bytes, among
+   * all prefixes whose estimated fill is below {@code minZoneFill}.
+   * Returns the head zone id, compacting the entire zone chain, if no
+   * prefix is sparse enough.
+   */
+  int compactPost(int headZone) {
+    final HashTrieMap<Integer, Long> zoneLiveSizes = this.zoneLiveSizes();
+    final double minZoneFill = this.settings().minZoneFill;
+    int compactPost = headZone;
+    long maxReclaimSize = 0L;
+    long liveSize = 0L;
+    long zoneSize = 0L;
+    for (int zoneId = this.post; zoneId < headZone; zoneId += 1) {
+      final Long zoneLiveSize = zoneLiveSizes.get(zoneId);
+      if (zoneLiveSize != null) {
+        liveSize += zoneLiveSize.longValue();
+      }
+      final Zone zone = this.store.openZone(zoneId);
+      if (zone != null) {
+        zoneSize += zone.size();
+      }
+      final long reclaimSize = zoneSize - liveSize;
+      if ((double) liveSize < minZoneFill * (double) zoneSize && reclaimSize > maxReclaimSize) {
+        compactPost = zoneId + 1;
+        maxReclaimSize = reclaimSize;
+      }
+    }
+    return compactPost;
+  }
+
   public void uncommit(long version) {
     final Cursor<Map.Entry<Value, Value>> seedCursor = ((BTree) Trunk.TREE.get(this.seedTrunk)).cursor();
     while (seedCursor.hasNext()) {
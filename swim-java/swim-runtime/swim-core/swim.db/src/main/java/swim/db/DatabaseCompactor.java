@@ -0,0 +1,293 @@
+// Copyright 2015-2023 Swim.inc
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.db;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import swim.collections.FingerTrieSeq;
+import swim.concurrent.AbstractTask;
+import swim.concurrent.Cont;
+import swim.concurrent.Stage;
+import swim.concurrent.TimerFunction;
+import swim.structure.Value;
+import swim.util.Builder;
+import swim.util.Cursor;
+
+/**
+ * Evacuates the trees of a compacting database in parallel, ahead of the
+ * committer. Each worker task claims the next tree that still references
+ * zones older than the compaction post, rewrites the tree's old pages in
+ * memory, and installs the evacuated tree as an ordinary trunk update, so
+ * that subsequent commits write out the evacuated pages alongside regular
+ * changes. Trees are evacuated in order of the oldest zone they reference.
+ * Each worker step evacuates at most {@link StoreSettings#maxCompactSize()}
+ * bytes of pages, for at most {@link StoreSettings#maxCompactTime()}
+ * milliseconds, before yielding its thread and resuming the same tree.
+ * Workers throttle themselves to {@link StoreSettings#maxCompactRate()}
+ * bytes of evacuated pages per second, when positive.
+ */
+final class DatabaseCompactor {
+
+  final Database database;
+  final int post;
+  final FingerTrieSeq<Value> treeNames;
+  final long maxCompactSize;
+  final long maxCompactTime;
+  final long maxCompactRate;
+  final long startTime;
+  volatile int treeIndex;
+  volatile int taskCount;
+  volatile long compactSize;
+  volatile int status;
+
+  DatabaseCompactor(Database database, int post, FingerTrieSeq<Value> treeNames) {
+    this.database = database;
+    this.post = post;
+    this.treeNames = treeNames;
+    this.maxCompactSize = database.settings().maxCompactSize;
+    this.maxCompactTime = database.settings().maxCompactTime;
+    this.maxCompactRate = database.settings().maxCompactRate;
+    this.startTime = System.currentTimeMillis();
+    this.treeIndex = 0;
+    this.taskCount = 0;
+    this.compactSize = 0L;
+    this.status = 0;
+  }
+
+  final int post() {
+    return this.post;
+  }
+
+  final long compactSize() {
+    return this.compactSize;
+  }
+
+  boolean isStopped() {
+    return (this.status & DatabaseCompactor.STOPPED) != 0;
+  }
+
+  /**
+   * Returns {@code true} once every worker task has run out of trees to
+   * evacuate.
+   */
+  boolean isDone() {
+    return this.taskCount == 0;
+  }
+
+  void start(int parallelism) {
+    final Stage stage = this.database.stage();
+    final int taskCount = Math.min(parallelism, this.treeNames.size());
+    DatabaseCompactor.TASK_COUNT.set(this, taskCount);
+    for (int i = 0; i < taskCount; i += 1) {
+      final DatabaseCompactorTask task = new DatabaseCompactorTask(this);
+      stage.task(task);
+      task.cue();
+    }
+  }
+
+  void stop() {
+    do {
+      final int oldStatus = this.status;
+      final int newStatus = oldStatus | DatabaseCompactor.STOPPED;
+      if (DatabaseCompactor.STATUS.compareAndSet(this, oldStatus, newStatus)) {
+        break;
+      }
+    } while (true);
+  }
+
+  /**
+   * Returns the name of the next tree to evacuate, or {@code null} if all
+   * trees have been claimed, or if compaction was stopped.
+   */
+  Value nextTreeName() {
+    if (this.isStopped()) {
+      return null;
+    }
+    final int index = DatabaseCompactor.TREE_INDEX.getAndIncrement(this);
+    if (index < this.treeNames.size()) {
+      return this.treeNames.get(index);
+    } else {
+      return null;
+    }
+  }
+
+  /**
+   * Evacuates the next batch of old pages from the tree named
+   * {@code treeName}, stopping once the batch exceeds {@code maxCompactSize}
+   * bytes, or {@code maxCompactTime} milliseconds. Returns {@code true} if
+   * the tree no longer references zones older than the compaction post,
+   * or if compaction was stopped.
+   */
+  boolean evacuateTree(Value treeName) {
+    final Database database = this.database;
+    final Trunk<Tree> trunk = database.openTrunk(treeName, null, false, false);
+    final long startTime = System.currentTimeMillis();
+    long stepSize = 0L;
+    do {
+      final long version = database.version;
+      final Tree oldTree = Trunk.TREE.get(trunk);
+      final Tree newTree = oldTree.evacuated(this.post, version);
+      if (oldTree == newTree) {
+        return true;
+      } else if (trunk.updateTree(oldTree, newTree, version)) {
+        final long evacuatedSize = (long) Math.max(0, newTree.diffSize(version) - oldTree.diffSize(version));
+        DatabaseCompactor.COMPACT_SIZE.addAndGet(this, evacuatedSize);
+        stepSize += evacuatedSize;
+        database.store.treeDidChange(database, newTree, oldTree);
+        final int newPost = newTree.post();
+        if (newPost == 0 || newPost >= this.post) {
+          return true;
+        } else if (stepSize > this.maxCompactSize
+            || System.currentTimeMillis() - startTime > this.maxCompactTime) {
+          return false;
+        }
+      }
+    } while (!this.isStopped());
+    return true;
+  }
+
+  void taskDidFinish() {
+    if (DatabaseCompactor.TASK_COUNT.decrementAndGet(this) == 0) {
+      // Resume the committer's evacuation passes.
+      this.database.commitAsync(Commit.forced());
+    }
+  }
+
+  /**
+   * Returns the number of milliseconds workers should wait before
+   * evacuating another tree to keep the evacuation rate under
+   * {@code maxCompactRate}.
+   */
+  long throttleDelay() {
+    final long maxCompactRate = this.maxCompactRate;
+    if (maxCompactRate > 0L) {
+      final long elapsedTime = System.currentTimeMillis() - this.startTime;
+      final long allowedSize = maxCompactRate * elapsedTime / 1000L;
+      final long excessSize = this.compactSize - allowedSize;
+      if (excessSize > 0L) {
+        return Math.max(1L, excessSize * 1000L / maxCompactRate);
+      }
+    }
+    return 0L;
+  }
+
+  void compactDidFail(Throwable error) {
+    this.database.databaseCompactDidFail(error);
+  }
+
+  /**
+   * Returns the names of all trees in the given {@code database} that
+   * reference zones older than {@code post}, ordered by the oldest zone
+   * each tree references.
+   */
+  static FingerTrieSeq<Value> treesToEvacuate(Database database, int post) {
+    final TreeMap<Integer, Builder<Value, FingerTrieSeq<Value>>> treesByPost =
+        new TreeMap<Integer, Builder<Value, FingerTrieSeq<Value>>>();
+    final Cursor<Map.Entry<Value, Value>> seedCursor = ((BTree) Trunk.TREE.get(database.seedTrunk)).cursor();
+    while (seedCursor.hasNext()) {
+      final Map.Entry<Value, Value> entry = seedCursor.next();
+      final Seed seed = Seed.fromValue(entry.getValue());
+      if (seed == null) {
+        continue;
+      }
+      final Trunk<Tree> trunk = new Trunk<Tree>(database, entry.getKey(), null);
+      final Tree tree = seed.treeType().treeFromSeed(trunk, seed, false, false);
+      final int treePost = tree.rootRef().post();
+      if (treePost != 0 && treePost < post) {
+        Builder<Value, FingerTrieSeq<Value>> builder = treesByPost.get(treePost);
+        if (builder == null) {
+          builder = FingerTrieSeq.builder();
+          treesByPost.put(treePost, builder);
+        }
+        builder.add(entry.getKey());
+      }
+    }
+    final Builder<Value, FingerTrieSeq<Value>> treeNames = FingerTrieSeq.builder();
+    for (Builder<Value, FingerTrieSeq<Value>> builder : treesByPost.values()) {
+      treeNames.addAll(builder.bind());
+    }
+    return treeNames.bind();
+  }
+
+  static final int STOPPED = 1 << 0;
+
+  static final AtomicIntegerFieldUpdater<DatabaseCompactor> TREE_INDEX =
+      AtomicIntegerFieldUpdater.newUpdater(DatabaseCompactor.class, "treeIndex");
+  static final AtomicIntegerFieldUpdater<DatabaseCompactor> TASK_COUNT =
+      AtomicIntegerFieldUpdater.newUpdater(DatabaseCompactor.class, "taskCount");
+  static final AtomicLongFieldUpdater<DatabaseCompactor> COMPACT_SIZE =
+      AtomicLongFieldUpdater.newUpdater(DatabaseCompactor.class, "compactSize");
+  static final AtomicIntegerFieldUpdater<DatabaseCompactor> STATUS =
+      AtomicIntegerFieldUpdater.newUpdater(DatabaseCompactor.class, "status");
+
+}
+
+final class DatabaseCompactorTask extends AbstractTask implements TimerFunction {
+
+  final DatabaseCompactor compactor;
+  Value treeName;
+
+  DatabaseCompactorTask(DatabaseCompactor compactor) {
+    this.compactor = compactor;
+    this.treeName = null;
+  }
+
+  @Override
+  public boolean taskWillBlock() {
+    return true;
+  }
+
+  @Override
+  public void runTask() {
+    final DatabaseCompactor compactor = this.compactor;
+    Value treeName = this.treeName;
+    if (treeName == null) {
+      treeName = compactor.nextTreeName();
+      if (treeName == null) {
+        // Compaction finished or stopped.
+        this.cancel();
+        compactor.taskDidFinish();
+        return;
+      }
+      this.treeName = treeName;
+    }
+    try {
+      if (compactor.evacuateTree(treeName)) {
+        this.treeName = null;
+      }
+    } catch (Throwable cause) {
+      this.treeName = null;
+      if (Cont.isNonFatal(cause)) {
+        compactor.compactDidFail(cause);
+      } else {
+        throw cause;
+      }
+    }
+    final long throttleDelay = compactor.throttleDelay();
+    if (throttleDelay > 0L) {
+      this.stage().setTimer(throttleDelay, this);
+    } else {
+      this.cue();
+    }
+  }
+
+  @Override
+  public void runTimer() {
+    this.cue();
+  }
+
+}
@@ -15,6 +15,7 @@
 package swim.db;
 
 import java.io.IOException;
+import java.nio.MappedByteBuffer;
 import java.nio.channels.FileChannel;
 import java.util.Iterator;
 import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
@@ -47,6 +48,10 @@ final class FilePageLoader extends PageLoader {
   }
 
   Page loadPage(FileZone zone, PageRef pageRef) {
+    final MappedByteBuffer mappedBuffer = zone.map();
+    if (mappedBuffer != null) {
+      return zone.loadPage(mappedBuffer, pageRef, this.treeDelegate, this.isResident);
+    }
     final Integer zoneId = zone.id;
     FileChannel channel = null;
     do {
@@ -16,12 +16,15 @@ package swim.db;
 
 import java.io.File;
 import java.io.FilenameFilter;
+import java.nio.channels.ReadableByteChannel;
 import java.util.Iterator;
+import java.util.SortedMap;
 import java.util.TreeMap;
 import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import swim.collections.FingerTrieSeq;
 import swim.collections.HashTrieMap;
 import swim.concurrent.Cont;
 import swim.concurrent.Stage;
@@ -40,6 +43,7 @@ public class FileStore extends Store {
   final FilenameFilter zoneFilter;
   volatile HashTrieMap<Integer, FileZone> zones;
   volatile FileZone zone;
+  volatile FingerTrieSeq<FileStoreSnapshot> snapshots;
   volatile int status;
 
   public FileStore(StoreContext context, File directory, String baseName, Stage stage) {
@@ -60,6 +64,7 @@ public class FileStore extends Store {
     this.zonePattern = Pattern.compile(Pattern.quote(this.baseName) + "-([0-9]+)\\." + Pattern.quote(this.zoneFileExt));
     this.zoneFilter = new FileStoreZoneFilter(this.zonePattern);
     this.zones = HashTrieMap.empty();
+    this.snapshots = FingerTrieSeq.empty();
     this.status = 0;
   }
 
@@ -115,6 +120,14 @@ public class FileStore extends Store {
     return this.stage;
   }
 
+  /**
+   * Returns the store's legacy entry-counted page cache, which no longer
+   * retains any pages.
+   *
+   * @deprecated pages are only retained by the byte-bounded page cache of
+   * the open database; use {@code database().pageCache()} instead.
+   */
+  @Deprecated
   public final HashGenCacheSet<Page> pageCache() {
     return this.pageCache;
   }
@@ -485,6 +498,11 @@ public class FileStore extends Store {
    * Lifecycle callback invoked to actually close the store.
    */
   protected void onClose() {
+    // Release all cached pages.
+    final Database database = this.database();
+    if (database != null) {
+      database.pageCache.clear();
+    }
     // Close all zones.
     this.closeZones();
   }
@@ -627,8 +645,66 @@ public class FileStore extends Store {
     } while (true);
   }
 
+  /**
+   * Pins and returns a consistent snapshot of the most recently committed
+   * state of this store. Zones included in the snapshot won't be deleted
+   * until the snapshot is closed, or finishes streaming. Taking a snapshot
+   * doesn't block, nor wait for, concurrent commits.
+   */
+  public synchronized FileStoreSnapshot snapshot() {
+    this.open();
+    final FileZone headZone = this.zone;
+    final Germ germ;
+    final long headSize;
+    synchronized (headZone) {
+      germ = headZone.germ;
+      headSize = headZone.size;
+    }
+    final TreeMap<Integer, File> zoneFiles = this.zoneFiles();
+    final SortedMap<Integer, File> sealedZoneFiles = zoneFiles.headMap(headZone.id);
+    final int post = !sealedZoneFiles.isEmpty() ? sealedZoneFiles.firstKey() : headZone.id;
+    final FileStoreSnapshot snapshot = FileStoreSnapshot.create(this, post, germ, headZone,
+                                                                headSize, sealedZoneFiles);
+    do {
+      final FingerTrieSeq<FileStoreSnapshot> oldSnapshots = this.snapshots;
+      final FingerTrieSeq<FileStoreSnapshot> newSnapshots = oldSnapshots.appended(snapshot);
+      if (FileStore.SNAPSHOTS.compareAndSet(this, oldSnapshots, newSnapshots)) {
+        break;
+      }
+    } while (true);
+    return snapshot;
+  }
+
+  /**
+   * Recreates the zone files of a snapshot streamed by {@link
+   * FileStoreSnapshot#writeTo(java.nio.channels.WritableByteChannel)} from the given
+   * {@code input} channel. The store must not have any existing zones.
+   */
+  public void restore(ReadableByteChannel input) {
+    FileStoreSnapshot.restore(this, input);
+  }
+
+  void unpinSnapshot(FileStoreSnapshot snapshot) {
+    do {
+      final FingerTrieSeq<FileStoreSnapshot> oldSnapshots = this.snapshots;
+      final int index = oldSnapshots.indexOf(snapshot);
+      if (index < 0) {
+        break;
+      }
+      final FingerTrieSeq<FileStoreSnapshot> newSnapshots = oldSnapshots.removed(index);
+      if (FileStore.SNAPSHOTS.compareAndSet(this, oldSnapshots, newSnapshots)) {
+        break;
+      }
+    } while (true);
+  }
+
   @Override
-  public void deletePost(int post) {
+  public synchronized void deletePost(int post) {
+    // Never delete zones pinned by an open snapshot.
+    final FingerTrieSeq<FileStoreSnapshot> snapshots = this.snapshots;
+    for (int i = 0, n = snapshots.size(); i < n; i += 1) {
+      post = Math.min(post, snapshots.get(i).post);
+    }
     final Database database = this.openDatabase();
     final TreeMap<Integer, File> zoneFiles = this.zoneFiles();
     while (!zoneFiles.isEmpty()) {
@@ -703,6 +779,7 @@ public class FileStore extends Store {
         if (FileStore.ZONES.compareAndSet(this, oldZones, newZones)) {
           FileStore.ZONE.set(this, newZone);
           this.context.databaseDidShiftZone(this, newZone.database, newZone);
+          this.sealZone(oldZone);
           break;
         }
       } else {
@@ -717,6 +794,20 @@ public class FileStore extends Store {
     return newZone;
   }
 
+  /**
+   * Memory maps a zone that just stopped being the head zone of this store,
+   * if zone mapping is enabled. Sealed zones never change size, so their
+   * mappings remain valid until the zone gets closed or deleted. Zones that
+   * fail to map continue to be read through file channels.
+   */
+  protected void sealZone(FileZone zone) {
+    try {
+      zone.map();
+    } catch (StoreException swallow) {
+      swallow.printStackTrace();
+    }
+  }
+
   protected File zoneFile(int zone) {
     return new File(this.directory, this.baseName + '-' + zone + '.' + this.zoneFileExt);
   }
@@ -742,7 +833,7 @@ public class FileStore extends Store {
 
   @Override
   void hitPage(Database database, Page page) {
-    this.pageCache.put(page);
+    database.pageCache.hit(page);
     super.hitPage(database, page);
   }
 
@@ -763,6 +854,9 @@ public class FileStore extends Store {
       AtomicReferenceFieldUpdater.newUpdater(FileStore.class, (Class<HashTrieMap<Integer, FileZone>>) (Class<?>) HashTrieMap.class, "zones");
   static final AtomicReferenceFieldUpdater<FileStore, FileZone> ZONE =
       AtomicReferenceFieldUpdater.newUpdater(FileStore.class, FileZone.class, "zone");
+  @SuppressWarnings("unchecked")
+  static final AtomicReferenceFieldUpdater<FileStore, FingerTrieSeq<FileStoreSnapshot>> SNAPSHOTS =
+      AtomicReferenceFieldUpdater.newUpdater(FileStore.class, (Class<FingerTrieSeq<FileStoreSnapshot>>) (Class<?>) FingerTrieSeq.class, "snapshots");
   static final AtomicIntegerFieldUpdater<FileStore> STATUS =
       AtomicIntegerFieldUpdater.newUpdater(FileStore.class, "status");
 
@@ -17,8 +17,19 @@ package swim.db;
 import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 import swim.concurrent.AbstractTask;
 import swim.concurrent.Cont;
+import swim.concurrent.TimerFunction;
 
-final class FileStoreCommitter extends AbstractTask {
+/**
+ * Writes commits to the head zone of a file store. Commits that arrive while
+ * a previous commit is pending get merged into the pending commit, so that
+ * a burst of commits turns into a single chunk write, with a single sync.
+ * When {@link StoreSettings#maxCommitDelay()} is positive, the committer
+ * waits up to that many milliseconds after the first commit of a group
+ * arrives before writing, trading commit latency for larger commit groups.
+ * Each merged commit still gets individually completed with the written
+ * chunk.
+ */
+final class FileStoreCommitter extends AbstractTask implements TimerFunction {
 
   final FileStore store;
   volatile Commit commit;
@@ -41,6 +52,9 @@ final class FileStoreCommitter extends AbstractTask {
               break;
             }
           } while (true);
+          this.schedule(newCommit);
+        } else if (commit.isClosed()) {
+          // Don't delay commits that close the store.
           this.cue();
         }
         break;
@@ -48,6 +62,20 @@ final class FileStoreCommitter extends AbstractTask {
     } while (true);
   }
 
+  void schedule(Commit commit) {
+    final long maxCommitDelay = this.store.settings().maxCommitDelay;
+    if (maxCommitDelay > 0L && !commit.isClosed()) {
+      this.store.stage.setTimer(maxCommitDelay, this);
+    } else {
+      this.cue();
+    }
+  }
+
+  @Override
+  public void runTimer() {
+    this.cue();
+  }
+
   @Override
   public boolean taskWillBlock() {
     return true;
@@ -58,11 +86,12 @@ final class FileStoreCommitter extends AbstractTask {
     final FileStore store = this.store;
     Database database = null;
     Commit committing = FileStoreCommitter.COMMIT.getAndSet(this, null);
+    if (committing == null) {
+      // Commit group already written by an earlier run.
+      return;
+    }
     try {
       database = store.openDatabase();
-      if (committing == null) {
-        return;
-      }
       committing = database.databaseWillCommit(committing);
       if (committing.isShifted()) {
         store.shiftZone();
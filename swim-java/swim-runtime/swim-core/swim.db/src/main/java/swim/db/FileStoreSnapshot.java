@@ -0,0 +1,369 @@
+// Copyright 2015-2023 Swim.inc
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.db;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import swim.collections.FingerTrieSeq;
+import swim.util.Builder;
+
+/**
+ * A consistent, online snapshot of the committed state of a {@link
+ * FileStore}. A snapshot pins the germ and size of the store's head zone,
+ * as of the most recent commit, along with every older zone file, and
+ * prevents the store from deleting pinned zones until the snapshot is
+ * closed. Commits proceed concurrently with snapshot streaming; the
+ * snapshot only ever reads sealed zones, and the head zone prefix that was
+ * committed when the snapshot was taken.
+ *
+ * <p>A snapshot streams as an 8-byte {@code "swimsnap"} magic number and a
+ * 4-byte format version, followed by a sequence of zone records, each
+ * consisting of a 4-byte zone id, an 8-byte zone size, and the zone's
+ * bytes, terminated by a zero zone id. All integers are big-endian.
+ * {@link #restore(FileStore, ReadableByteChannel)} recreates the zone files
+ * of a streamed snapshot.</p>
+ */
+public class FileStoreSnapshot implements AutoCloseable {
+
+  final FileStore store;
+  final int post;
+  final Germ germ;
+  final FingerTrieSeq<FileStoreSnapshotSegment> segments;
+  final long size;
+  final ByteBuffer buffer;
+  int segmentIndex;
+  long segmentOffset;
+  FileChannel channel;
+  volatile int status;
+
+  FileStoreSnapshot(FileStore store, int post, Germ germ, FingerTrieSeq<FileStoreSnapshotSegment> segments) {
+    this.store = store;
+    this.post = post;
+    this.germ = germ;
+    this.segments = segments;
+    long size = 0L;
+    for (int i = 0, n = segments.size(); i < n; i += 1) {
+      size += segments.get(i).size;
+    }
+    this.size = size;
+    this.buffer = ByteBuffer.allocate(FileStoreSnapshot.BUFFER_SIZE);
+    ((Buffer) this.buffer).limit(0);
+    this.segmentIndex = 0;
+    this.segmentOffset = 0L;
+    this.channel = null;
+    this.status = 0;
+  }
+
+  public final FileStore store() {
+    return this.store;
+  }
+
+  /**
+   * Returns the id of the oldest zone included in this snapshot.
+   */
+  public final int post() {
+    return this.post;
+  }
+
+  /**
+   * Returns the committed germ of the database captured by this snapshot.
+   */
+  public final Germ germ() {
+    return this.germ;
+  }
+
+  /**
+   * Returns the total number of bytes in the snapshot stream.
+   */
+  public final long size() {
+    return this.size;
+  }
+
+  public final boolean isDone() {
+    return (this.status & FileStoreSnapshot.DONE) != 0;
+  }
+
+  public final boolean isClosed() {
+    return (this.status & FileStoreSnapshot.CLOSED) != 0;
+  }
+
+  /**
+   * Writes as much of the remaining snapshot stream to the given
+   * {@code output} channel as the channel will accept, returning the number
+   * of bytes written. Returns early, without blocking, when a non-blocking
+   * channel stops accepting bytes; call {@code writeTo} again once the
+   * channel becomes writable to resume the stream. Closes the snapshot,
+   * unpinning its zones, once the stream is complete.
+   */
+  public synchronized long writeTo(WritableByteChannel output) {
+    if (this.isClosed()) {
+      throw new StoreException("closed snapshot");
+    }
+    final ByteBuffer buffer = this.buffer;
+    long count = 0L;
+    try {
+      do {
+        if (!buffer.hasRemaining() && !this.fill()) {
+          FileStoreSnapshot.STATUS.set(this, this.status | FileStoreSnapshot.DONE);
+          this.close();
+          break;
+        }
+        final int k = output.write(buffer);
+        if (k == 0) {
+          break;
+        }
+        count += (long) k;
+      } while (true);
+    } catch (IOException cause) {
+      this.close();
+      throw new StoreException(cause);
+    }
+    return count;
+  }
+
+  /**
+   * Writes the entire remaining snapshot stream to the given blocking
+   * {@code output} stream, and closes the snapshot.
+   */
+  public void writeTo(OutputStream output) {
+    final WritableByteChannel channel = Channels.newChannel(output);
+    while (!this.isDone()) {
+      this.writeTo(channel);
+    }
+  }
+
+  /**
+   * Refills the stream buffer from the remaining snapshot segments.
+   * Returns {@code false} if the stream is exhausted.
+   */
+  boolean fill() throws IOException {
+    final ByteBuffer buffer = this.buffer;
+    ((Buffer) buffer).clear();
+    final FingerTrieSeq<FileStoreSnapshotSegment> segments = this.segments;
+    while (buffer.hasRemaining() && this.segmentIndex < segments.size()) {
+      final FileStoreSnapshotSegment segment = segments.get(this.segmentIndex);
+      final long remaining = segment.size - this.segmentOffset;
+      if (remaining > 0L) {
+        final int start = buffer.position();
+        final int limit = (int) Math.min((long) buffer.limit(), (long) start + remaining);
+        ((Buffer) buffer).limit(limit);
+        if (segment.data != null) {
+          buffer.put(segment.data, (int) this.segmentOffset, limit - start);
+        } else {
+          FileChannel channel = this.channel;
+          if (channel == null) {
+            channel = FileChannel.open(segment.file.toPath(), StandardOpenOption.READ);
+            this.channel = channel;
+          }
+          while (buffer.hasRemaining()) {
+            final long position = segment.offset + this.segmentOffset + (long) (buffer.position() - start);
+            if (channel.read(buffer, position) < 0) {
+              throw new StoreException("truncated zone file " + segment.file.getPath());
+            }
+          }
+        }
+        this.segmentOffset += (long) (limit - start);
+        ((Buffer) buffer).limit(buffer.capacity());
+      }
+      if (this.segmentOffset >= segment.size) {
+        this.nextSegment();
+      }
+    }
+    ((Buffer) buffer).flip();
+    return buffer.hasRemaining();
+  }
+
+  void nextSegment() throws IOException {
+    final FileChannel channel = this.channel;
+    if (channel != null) {
+      this.channel = null;
+      channel.close();
+    }
+    this.segmentIndex += 1;
+    this.segmentOffset = 0L;
+  }
+
+  /**
+   * Closes the snapshot stream and unpins the snapshot's zones, allowing
+   * the store to delete them.
+   */
+  @Override
+  public void close() {
+    do {
+      final int oldStatus = this.status;
+      if ((oldStatus & FileStoreSnapshot.CLOSED) != 0) {
+        return;
+      }
+      final int newStatus = oldStatus | FileStoreSnapshot.CLOSED;
+      if (FileStoreSnapshot.STATUS.compareAndSet(this, oldStatus, newStatus)) {
+        break;
+      }
+    } while (true);
+    this.store.unpinSnapshot(this);
+    final FileChannel channel = this.channel;
+    if (channel != null) {
+      this.channel = null;
+      try {
+        channel.close();
+      } catch (IOException swallow) {
+        swallow.printStackTrace();
+      }
+    }
+  }
+
+  static final int DONE = 1 << 0;
+  static final int CLOSED = 1 << 1;
+
+  static final int BUFFER_SIZE = 64 * 1024;
+  static final byte[] MAGIC = "swimsnap".getBytes(StandardCharsets.US_ASCII);
+  static final int VERSION = 1;
+
+  static FileStoreSnapshot create(FileStore store, int post, Germ germ, FileZone headZone,
+                                  long headSize, Map<Integer, File> sealedZoneFiles) {
+    final Builder<FileStoreSnapshotSegment, FingerTrieSeq<FileStoreSnapshotSegment>> segments = FingerTrieSeq.builder();
+    final ByteBuffer header = ByteBuffer.allocate(12);
+    header.put(FileStoreSnapshot.MAGIC);
+    header.putInt(FileStoreSnapshot.VERSION);
+    segments.add(new FileStoreSnapshotSegment(header.array()));
+    for (Map.Entry<Integer, File> entry : sealedZoneFiles.entrySet()) {
+      final int zoneId = entry.getKey();
+      final File zoneFile = entry.getValue();
+      final long zoneSize = zoneFile.length();
+      segments.add(FileStoreSnapshotSegment.zoneHeader(zoneId, zoneSize));
+      segments.add(new FileStoreSnapshotSegment(zoneFile, 0L, zoneSize));
+    }
+    // The head zone may be appended to by later commits, and its germ
+    // overwritten; stream the pinned germ, followed by the pinned chunks.
+    final long germSize = 2L * (long) Germ.BLOCK_SIZE;
+    final long chunkSize = Math.max(0L, headSize - germSize);
+    final ByteBuffer germBuffer = germ.toByteBuffer();
+    final byte[] germBlocks = new byte[(int) germSize];
+    germBuffer.get(germBlocks, 0, Germ.BLOCK_SIZE);
+    System.arraycopy(germBlocks, 0, germBlocks, Germ.BLOCK_SIZE, Germ.BLOCK_SIZE);
+    segments.add(FileStoreSnapshotSegment.zoneHeader(headZone.id, germSize + chunkSize));
+    segments.add(new FileStoreSnapshotSegment(germBlocks));
+    if (chunkSize > 0L) {
+      segments.add(new FileStoreSnapshotSegment(headZone.file, germSize, chunkSize));
+    }
+    segments.add(FileStoreSnapshotSegment.zoneHeader(0, 0L));
+    return new FileStoreSnapshot(store, post, germ, segments.bind());
+  }
+
+  /**
+   * Recreates the zone files of a snapshot stream, read from the given
+   * {@code input} channel, in the directory of the given {@code store}.
+   * The store must not be open, and must not have any existing zone files.
+   */
+  public static void restore(FileStore store, ReadableByteChannel input) {
+    if (!store.zoneFiles().isEmpty()) {
+      throw new StoreException("can't restore snapshot over existing store " + store.directory.getPath());
+    }
+    try {
+      final ByteBuffer header = ByteBuffer.allocate(12);
+      FileStoreSnapshot.readFully(input, header);
+      final byte[] magic = new byte[FileStoreSnapshot.MAGIC.length];
+      header.get(magic);
+      if (!Arrays.equals(magic, FileStoreSnapshot.MAGIC)) {
+        throw new StoreException("invalid snapshot magic");
+      }
+      final int version = header.getInt();
+      if (version != FileStoreSnapshot.VERSION) {
+        throw new StoreException("unsupported snapshot version: " + version);
+      }
+      final ByteBuffer buffer = ByteBuffer.allocate(FileStoreSnapshot.BUFFER_SIZE);
+      do {
+        ((Buffer) buffer).clear().limit(12);
+        FileStoreSnapshot.readFully(input, buffer);
+        final int zoneId = buffer.getInt();
+        long zoneSize = buffer.getLong();
+        if (zoneId == 0) {
+          break;
+        } else if (zoneId < 0 || zoneSize < 0L) {
+          throw new StoreException("malformed snapshot zone " + zoneId + " of size " + zoneSize);
+        }
+        final File zoneFile = store.zoneFile(zoneId);
+        try (FileChannel channel = FileChannel.open(zoneFile.toPath(), StandardOpenOption.CREATE_NEW,
+                                                    StandardOpenOption.WRITE)) {
+          while (zoneSize > 0L) {
+            ((Buffer) buffer).clear().limit((int) Math.min((long) buffer.capacity(), zoneSize));
+            FileStoreSnapshot.readFully(input, buffer);
+            zoneSize -= (long) buffer.remaining();
+            do {
+              channel.write(buffer);
+            } while (buffer.hasRemaining());
+          }
+          channel.force(true);
+        }
+      } while (true);
+    } catch (IOException cause) {
+      throw new StoreException(cause);
+    }
+  }
+
+  static void readFully(ReadableByteChannel input, ByteBuffer buffer) throws IOException {
+    while (buffer.hasRemaining()) {
+      if (input.read(buffer) < 0) {
+        throw new StoreException("truncated snapshot");
+      }
+    }
+    ((Buffer) buffer).flip();
+  }
+
+  static final AtomicIntegerFieldUpdater<FileStoreSnapshot> STATUS =
+      AtomicIntegerFieldUpdater.newUpdater(FileStoreSnapshot.class, "status");
+
+}
+
+final class FileStoreSnapshotSegment {
+
+  final byte[] data;
+  final File file;
+  final long offset;
+  final long size;
+
+  FileStoreSnapshotSegment(byte[] data) {
+    this.data = data;
+    this.file = null;
+    this.offset = 0L;
+    this.size = (long) data.length;
+  }
+
+  FileStoreSnapshotSegment(File file, long offset, long size) {
+    this.data = null;
+    this.file = file;
+    this.offset = offset;
+    this.size = size;
+  }
+
+  static FileStoreSnapshotSegment zoneHeader(int zoneId, long zoneSize) {
+    final ByteBuffer header = ByteBuffer.allocate(12);
+    header.putInt(zoneId);
+    header.putLong(zoneSize);
+    return new FileStoreSnapshotSegment(header.array());
+  }
+
+}
@@ -20,14 +20,13 @@ import java.io.IOException;
 import java.io.RandomAccessFile;
 import java.nio.Buffer;
 import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
 import java.nio.channels.FileChannel;
 import java.nio.channels.FileLock;
 import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 import swim.codec.Binary;
 import swim.codec.Input;
-import swim.codec.Output;
-import swim.codec.OutputBuffer;
 import swim.codec.Parser;
 import swim.codec.Utf8;
 import swim.collections.FingerTrieSeq;
@@ -46,6 +45,7 @@ public class FileZone extends Zone {
   volatile Germ germ;
   volatile long size;
   volatile int status;
+  volatile MappedByteBuffer mappedBuffer;
 
   public FileZone(Store store, int id, File file, Stage stage, Database database, Germ germ) {
     if (database == null || germ == null) {
@@ -103,6 +103,14 @@ public class FileZone extends Zone {
     return this.size;
   }
 
+  /**
+   * Returns the read-only memory mapping of this zone's file, or {@code null}
+   * if this zone has not been mapped.
+   */
+  public final MappedByteBuffer mappedBuffer() {
+    return this.mappedBuffer;
+  }
+
   @Override
   public boolean open() {
     // Load the current zone status, without ordering constraints.
@@ -449,7 +457,7 @@ public class FileZone extends Zone {
    * Lifecycle callback invoked to actually close the zone.
    */
   protected void onClose() {
-    // hook
+    this.unmap();
   }
 
   /**
@@ -556,6 +564,61 @@ public class FileZone extends Zone {
     return new RandomAccessFile(this.file, "rw").getChannel();
   }
 
+  /**
+   * Returns {@code true} if this zone can be memory mapped. Only sealed
+   * zones, which are no longer the head zone of their store, get mapped,
+   * so that mappings never need to grow with subsequent commits.
+   */
+  boolean isMappable() {
+    return this.settings().mapZones && !FileZone.WINDOWS
+        && (this.status & FileZone.STATE_MASK) == FileZone.OPENED_STATE
+        && this.store.zone() != this;
+  }
+
+  /**
+   * Maps this zone's file into memory, if the zone is mappable, and returns
+   * the read-only mapping, or {@code null} if the zone can't be mapped.
+   */
+  MappedByteBuffer map() {
+    MappedByteBuffer mappedBuffer = this.mappedBuffer;
+    if (mappedBuffer == null && this.isMappable()) {
+      try (FileChannel channel = this.openReadChannel()) {
+        final long size = channel.size();
+        if (size <= (long) Integer.MAX_VALUE) {
+          mappedBuffer = channel.map(FileChannel.MapMode.READ_ONLY, 0L, size);
+          if (!FileZone.MAPPED_BUFFER.compareAndSet(this, null, mappedBuffer)) {
+            // Lost map race
+            mappedBuffer = this.mappedBuffer;
+          }
+        }
+      } catch (IOException cause) {
+        throw new StoreException("failed to map " + this.file.getPath(), cause);
+      }
+    }
+    return mappedBuffer;
+  }
+
+  /**
+   * Releases this zone's memory mapping. The mapped region itself gets
+   * unmapped once all page loads referencing it complete, and the buffer
+   * becomes unreachable.
+   */
+  void unmap() {
+    FileZone.MAPPED_BUFFER.set(this, null);
+  }
+
+  Page loadPage(MappedByteBuffer mappedBuffer, PageRef pageRef, TreeDelegate treeDelegate, boolean isResident) {
+    final long offset = pageRef.base();
+    final int size = pageRef.pageSize();
+    if (offset < 0L || offset + size > (long) mappedBuffer.capacity()) {
+      throw new StoreException("page " + this.file.getPath() + ':' + offset + '-' + size
+                             + " lies outside of mapped zone of " + mappedBuffer.capacity() + " bytes");
+    }
+    final ByteBuffer buffer = mappedBuffer.duplicate();
+    ((Buffer) buffer).limit((int) offset + size).position((int) offset);
+    return this.decodePage(buffer, pageRef, treeDelegate, isResident);
+  }
+
   Page loadPage(FileChannel channel, PageRef pageRef, TreeDelegate treeDelegate, boolean isResident) {
     final long offset = pageRef.base();
     final int size = pageRef.pageSize();
@@ -576,10 +639,14 @@ public class FileZone extends Zone {
                              + ':' + offset + '-' + position);
     }
     ((Buffer) buffer).flip();
+    return this.decodePage(buffer, pageRef, treeDelegate, isResident);
+  }
+
+  Page decodePage(ByteBuffer buffer, PageRef pageRef, TreeDelegate treeDelegate, boolean isResident) {
+    final long offset = pageRef.base();
+    final int size = pageRef.pageSize();
     try {
-      final Parser<Value> parser = Utf8.parseDecoded(Binary.inputBuffer(buffer),
-                                                     Recon.structureParser().blockParser());
-      final Value value = parser.bind();
+      final Value value = PageFormat.detect(buffer).decodePage(buffer);
       final Page page = pageRef.setPageValue(value, isResident);
       if (treeDelegate != null) {
         treeDelegate.treeDidLoadPage(page);
@@ -613,15 +680,8 @@ public class FileZone extends Zone {
           final FingerTrieSeq<Page> pages = chunk.pages;
           for (int i = 0; i < pages.size(); i += 1) {
             final Page page = pages.get(i);
-            final int pageSize = page.pageSize();
-            final OutputBuffer<ByteBuffer> output = Binary.outputBuffer(new byte[pageSize]);
-            final Output<ByteBuffer> encoder = Utf8.encodedOutput(output);
-            page.writePage(encoder);
-            final ByteBuffer pageBuffer = output.bind();
-            if (pageBuffer.remaining() != pageSize) {
-              throw new StoreException("serialized page size of " + pageBuffer.remaining() + " bytes "
-                                     + "does not match expected page size of " + pageSize + " bytes");
-            }
+            final ByteBuffer pageBuffer = page.toByteBuffer();
+            final int pageSize = pageBuffer.remaining();
             this.write(channel, pageBuffer, step);
             step += pageSize;
           }
@@ -649,7 +709,11 @@ public class FileZone extends Zone {
             channel.force(true);
           }
 
-          this.size = actualSize;
+          synchronized (this) {
+            // Publish the committed germ and size together, for snapshots.
+            this.germ = germ;
+            this.size = actualSize;
+          }
         }
         return chunk;
       } finally {
@@ -699,5 +763,7 @@ public class FileZone extends Zone {
       AtomicReferenceFieldUpdater.newUpdater(FileZone.class, Database.class, "database");
   static final AtomicIntegerFieldUpdater<FileZone> STATUS =
       AtomicIntegerFieldUpdater.newUpdater(FileZone.class, "status");
+  static final AtomicReferenceFieldUpdater<FileZone, MappedByteBuffer> MAPPED_BUFFER =
+      AtomicReferenceFieldUpdater.newUpdater(FileZone.class, MappedByteBuffer.class, "mappedBuffer");
 
 }
@@ -14,6 +14,7 @@
 
 package swim.db;
 
+import java.nio.ByteBuffer;
 import swim.codec.Output;
 import swim.structure.Value;
 import swim.util.Builder;
@@ -21,6 +22,11 @@ import swim.util.Cursor;
 
 public abstract class Page {
 
+  /**
+   * Residency flags managed by the {@link PageCache} that retains this page.
+   */
+  volatile int cacheFlags;
+
   Page() {
     // sealed
   }
@@ -109,6 +115,14 @@ public abstract class Page {
 
   public abstract Value toValue();
 
+  /**
+   * Returns the structure of this page to encode in the {@code BINARY} page
+   * format; defaults to {@link #toValue()}.
+   */
+  Value toBinaryValue() {
+    return this.toValue();
+  }
+
   public abstract Page evacuated(int zone, long version);
 
   public abstract Page committed(int zone, long base, long version);
@@ -117,6 +131,14 @@ public abstract class Page {
 
   public abstract void writePage(Output<?> output);
 
+  public PageFormat pageFormat() {
+    return this.pageRef().settings().pageFormat();
+  }
+
+  public ByteBuffer toByteBuffer() {
+    return this.pageFormat().encodePage(this);
+  }
+
   public abstract void writeDiff(Output<?> output);
 
   public abstract void buildDiff(Builder<Page, ?> builder);
@@ -0,0 +1,89 @@
+// Copyright 2015-2023 Swim.inc
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.db;
+
+import swim.structure.Slot;
+import swim.structure.Value;
+import swim.util.Murmur3;
+
+/**
+ * Bloom filters over the keys of a page, encoded as a byte array whose first
+ * byte holds the number of hash functions, followed by the filter's bit set.
+ * A zero length array denotes the absence of a filter, which conservatively
+ * reports every key as possibly present. Keys are hashed with
+ * {@link Value#hashCode()}, which agrees with key ordering, so that keys
+ * that compare equal always probe the same bits.
+ */
+final class PageBloom {
+
+  private PageBloom() {
+    // static
+  }
+
+  static final byte[] EMPTY = new byte[0];
+
+  static byte[] create(Slot[] slots, int bitsPerKey) {
+    final int keyCount = slots.length;
+    if (keyCount == 0 || bitsPerKey <= 0) {
+      return PageBloom.EMPTY;
+    }
+    final int bitCount = Math.max(64, keyCount * bitsPerKey);
+    final byte[] bloom = new byte[1 + ((bitCount + 7) >>> 3)];
+    // The false positive rate is minimized by ln(2) hash functions per bit per key.
+    final int hashCount = Math.max(1, Math.min(16, (int) Math.round(bitsPerKey * 0.6931471805599453)));
+    bloom[0] = (byte) hashCount;
+    for (int i = 0; i < keyCount; i += 1) {
+      PageBloom.add(bloom, slots[i].getKey().hashCode());
+    }
+    return bloom;
+  }
+
+  static void add(byte[] bloom, int hash) {
+    final int bitCount = (bloom.length - 1) << 3;
+    final int hashCount = bloom[0];
+    final int delta = PageBloom.rehash(hash);
+    int h = hash;
+    for (int i = 0; i < hashCount; i += 1) {
+      final int bit = (h & 0x7fffffff) % bitCount;
+      bloom[1 + (bit >>> 3)] |= (byte) (1 << (bit & 7));
+      h += delta;
+    }
+  }
+
+  static boolean mightContain(byte[] bloom, Value key) {
+    if (bloom.length == 0) {
+      return true;
+    }
+    final int bitCount = (bloom.length - 1) << 3;
+    final int hashCount = bloom[0];
+    final int hash = key.hashCode();
+    final int delta = PageBloom.rehash(hash);
+    int h = hash;
+    for (int i = 0; i < hashCount; i += 1) {
+      final int bit = (h & 0x7fffffff) % bitCount;
+      if ((bloom[1 + (bit >>> 3)] & (1 << (bit & 7))) == 0) {
+        return false;
+      }
+      h += delta;
+    }
+    return true;
+  }
+
+  static int rehash(int hash) {
+    // Derive the double hashing stride from an independent mix of the key hash.
+    return Murmur3.mash(Murmur3.mix(0x9e3779b9, hash)) | 1;
+  }
+
+}
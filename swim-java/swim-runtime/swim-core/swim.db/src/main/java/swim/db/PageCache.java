@@ -0,0 +1,373 @@
+// Copyright 2015-2023 Swim.inc
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.db;
+
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import swim.structure.Record;
+import swim.structure.Value;
+import swim.util.Murmur3;
+
+/**
+ * A page cache bounded by the estimated byte size of its retained pages.
+ * A page cache strongly retains recently hit pages that would otherwise only
+ * be weakly referenced by their page refs, keeping hot non-resident pages
+ * in memory up to a fixed byte budget.
+ *
+ * <p>Retained pages are evicted in CLOCK order: every hit marks a retained
+ * page as referenced, and the clock hand clears referenced pages as it sweeps
+ * past them, evicting the first unreferenced page it finds. A TinyLFU
+ * frequency sketch, keyed by the zone and base address of each page, guards
+ * admission to a full cache: a candidate page only displaces a victim page if
+ * the candidate was hit more frequently in the recent past than the victim.
+ * Frequency counts are periodically halved, so that the sketch tracks recent
+ * access patterns. An admitted page takes the slot of the first page it
+ * displaced, just behind the clock hand, so that admissions never reorder
+ * the pages still awaiting the hand.</p>
+ *
+ * <p>Cache hits are lock-free. Admissions and evictions synchronize on the
+ * page cache.</p>
+ */
+public class PageCache {
+
+  final long maxSize;
+  final long[] sketch;
+  final int sketchMask;
+  final int sampleSize;
+  Page[] pages;
+  int slotCount;
+  int pageCount;
+  int clockHand;
+  volatile long size;
+  volatile int samples;
+  volatile long hits;
+  volatile long misses;
+  volatile long evictions;
+
+  public PageCache(long maxSize, int expectedPageCount) {
+    this.maxSize = Math.max(0L, maxSize);
+    final int sketchSize = PageCache.sketchSize(Math.max(1, expectedPageCount));
+    this.sketch = new long[sketchSize];
+    this.sketchMask = (sketchSize << 4) - 1;
+    this.sampleSize = 10 * (sketchSize << 2);
+    this.pages = PageCache.EMPTY_PAGES;
+    this.slotCount = 0;
+    this.pageCount = 0;
+    this.clockHand = 0;
+    this.size = 0L;
+    this.samples = 0;
+    this.hits = 0L;
+    this.misses = 0L;
+    this.evictions = 0L;
+  }
+
+  public PageCache(StoreSettings settings) {
+    this(settings.maxPageCacheSize, settings.pageCacheSketchSize);
+  }
+
+  /**
+   * Returns the maximum estimated byte size of all pages retained by this
+   * cache.
+   */
+  public final long maxSize() {
+    return this.maxSize;
+  }
+
+  /**
+   * Returns the estimated byte size of all pages currently retained by this
+   * cache.
+   */
+  public final long size() {
+    return this.size;
+  }
+
+  public final synchronized int pageCount() {
+    return this.pageCount;
+  }
+
+  public final long hits() {
+    return this.hits;
+  }
+
+  public final long misses() {
+    return this.misses;
+  }
+
+  public final long evictions() {
+    return this.evictions;
+  }
+
+  public final double hitRatio() {
+    final double hits = (double) this.hits;
+    final double misses = (double) this.misses;
+    return hits / (hits + misses);
+  }
+
+  /**
+   * Records an access to the given {@code page}, admitting the page into
+   * the cache if it isn't already retained, and if the admission policy
+   * deems it more valuable than the pages it would displace. Returns
+   * {@code true} if the page was already retained by this cache.
+   * Uncommitted pages are strongly referenced by their page refs,
+   * and so never need to be retained by the cache.
+   */
+  public boolean hit(Page page) {
+    final PageRef pageRef = page.pageRef();
+    if (!pageRef.isCommitted() || pageRef.memoizedPageSize() < 0) {
+      return false;
+    }
+    this.increment(PageCache.pageHash(pageRef));
+    do {
+      final int flags = page.cacheFlags;
+      if ((flags & PageCache.CACHED_FLAG) == 0) {
+        PageCache.MISSES.incrementAndGet(this);
+        this.admit(page);
+        return false;
+      } else if ((flags & PageCache.REFERENCED_FLAG) != 0
+          || PageCache.CACHE_FLAGS.compareAndSet(page, flags, flags | PageCache.REFERENCED_FLAG)) {
+        PageCache.HITS.incrementAndGet(this);
+        return true;
+      }
+    } while (true);
+  }
+
+  /**
+   * Stops retaining all pages in this cache.
+   */
+  public synchronized void clear() {
+    final Page[] pages = this.pages;
+    for (int i = 0; i < this.slotCount; i += 1) {
+      final Page page = pages[i];
+      if (page != null) {
+        PageCache.CACHE_FLAGS.set(page, 0);
+        pages[i] = null;
+      }
+    }
+    this.slotCount = 0;
+    this.pageCount = 0;
+    this.clockHand = 0;
+    PageCache.SIZE.set(this, 0L);
+  }
+
+  public Value toValue() {
+    return Record.create(6)
+                 .slot("size", this.size)
+                 .slot("maxSize", this.maxSize)
+                 .slot("pageCount", this.pageCount())
+                 .slot("hits", this.hits)
+                 .slot("misses", this.misses)
+                 .slot("evictions", this.evictions);
+  }
+
+  synchronized void admit(Page page) {
+    if ((page.cacheFlags & PageCache.CACHED_FLAG) != 0) {
+      // Admitted by a concurrent hit.
+      return;
+    }
+    final long pageSize = (long) PageCache.pageWeight(page);
+    if (pageSize > this.maxSize) {
+      return;
+    }
+    final int pageFrequency = this.frequency(PageCache.pageHash(page.pageRef()));
+    int slot = -1;
+    while (this.size + pageSize > this.maxSize) {
+      final int victimIndex = this.sweep();
+      final Page victim = this.pages[victimIndex];
+      if (pageFrequency <= this.frequency(PageCache.pageHash(victim.pageRef()))) {
+        // Reject the candidate page in favor of the more frequently hit victim.
+        return;
+      }
+      this.evict(victimIndex);
+      PageCache.EVICTIONS.incrementAndGet(this);
+      this.clockHand = victimIndex + 1;
+      if (slot < 0) {
+        slot = victimIndex;
+      }
+    }
+    if (slot < 0) {
+      slot = this.slotCount;
+      if (slot == this.pages.length) {
+        slot = this.compact();
+      }
+      this.slotCount = slot + 1;
+    }
+    this.pages[slot] = page;
+    this.pageCount += 1;
+    PageCache.CACHE_FLAGS.set(page, PageCache.CACHED_FLAG);
+    PageCache.SIZE.set(this, this.size + pageSize);
+  }
+
+  /**
+   * Advances the clock hand to the next unreferenced page, clearing the
+   * referenced flags of all pages it passes over, and returns the index of
+   * the unreferenced page.
+   */
+  int sweep() {
+    final Page[] pages = this.pages;
+    int clockHand = this.clockHand;
+    do {
+      if (clockHand >= this.slotCount) {
+        clockHand = 0;
+      }
+      final Page page = pages[clockHand];
+      if (page != null) {
+        final int flags = page.cacheFlags;
+        if ((flags & PageCache.REFERENCED_FLAG) == 0) {
+          this.clockHand = clockHand;
+          return clockHand;
+        }
+        PageCache.CACHE_FLAGS.compareAndSet(page, flags, flags & ~PageCache.REFERENCED_FLAG);
+      }
+      clockHand += 1;
+    } while (true);
+  }
+
+  /**
+   * Stops retaining the page at the given {@code index}, leaving its slot
+   * empty, so that the remaining pages keep their positions in clock order.
+   */
+  void evict(int index) {
+    final Page[] pages = this.pages;
+    final Page page = pages[index];
+    PageCache.CACHE_FLAGS.set(page, 0);
+    pages[index] = null;
+    this.pageCount -= 1;
+    PageCache.SIZE.set(this, this.size - (long) PageCache.pageWeight(page));
+  }
+
+  /**
+   * Squeezes empty slots out of the full page array, growing the array if
+   * every slot is occupied, and returns the index of the first free slot.
+   * Retained pages keep their relative clock order, and the clock hand
+   * continues from the same page it pointed to before.
+   */
+  int compact() {
+    final Page[] oldPages = this.pages;
+    final int slotCount = this.slotCount;
+    final Page[] newPages;
+    if (this.pageCount < slotCount) {
+      newPages = oldPages;
+    } else {
+      newPages = new Page[Math.max(16, oldPages.length << 1)];
+    }
+    final int oldClockHand = this.clockHand;
+    int newClockHand = -1;
+    int j = 0;
+    for (int i = 0; i < slotCount; i += 1) {
+      if (i == oldClockHand) {
+        newClockHand = j;
+      }
+      final Page page = oldPages[i];
+      if (page != null) {
+        newPages[j] = page;
+        j += 1;
+      }
+    }
+    for (int i = j; i < slotCount; i += 1) {
+      newPages[i] = null;
+    }
+    this.pages = newPages;
+    this.slotCount = j;
+    this.clockHand = newClockHand >= 0 ? newClockHand : j;
+    return j;
+  }
+
+  int frequency(int hash) {
+    final long[] sketch = this.sketch;
+    int frequency = Integer.MAX_VALUE;
+    for (int i = 0; i < 4; i += 1) {
+      final int counterIndex = PageCache.counterIndex(hash, i) & this.sketchMask;
+      final int count = (int) (sketch[counterIndex >>> 4] >>> ((counterIndex & 15) << 2)) & 0xf;
+      frequency = Math.min(frequency, count);
+    }
+    return frequency;
+  }
+
+  void increment(int hash) {
+    // Sketch updates race benignly; lost increments only perturb frequency estimates.
+    final long[] sketch = this.sketch;
+    for (int i = 0; i < 4; i += 1) {
+      final int counterIndex = PageCache.counterIndex(hash, i) & this.sketchMask;
+      final int shift = (counterIndex & 15) << 2;
+      final long counters = sketch[counterIndex >>> 4];
+      if (((counters >>> shift) & 0xfL) != 0xfL) {
+        sketch[counterIndex >>> 4] = counters + (1L << shift);
+      }
+    }
+    if (PageCache.SAMPLES.incrementAndGet(this) >= this.sampleSize) {
+      this.age();
+    }
+  }
+
+  /**
+   * Halves all frequency counts, so that the sketch favors recent hits.
+   */
+  synchronized void age() {
+    if (this.samples >= this.sampleSize) {
+      final long[] sketch = this.sketch;
+      for (int i = 0; i < sketch.length; i += 1) {
+        sketch[i] = (sketch[i] >>> 1) & 0x7777777777777777L;
+      }
+      PageCache.SAMPLES.set(this, this.samples >>> 1);
+    }
+  }
+
+  static final int CACHED_FLAG = 1 << 0;
+  static final int REFERENCED_FLAG = 1 << 1;
+
+  static final Page[] EMPTY_PAGES = new Page[0];
+
+  static final int[] SKETCH_SEEDS = {0x97cb3127, 0xb492b66f, 0x9ae16a3b, 0xc2b2ae35};
+
+  static int counterIndex(int hash, int row) {
+    int h = hash * PageCache.SKETCH_SEEDS[row];
+    h ^= h >>> 16;
+    h *= 0x85ebca6b;
+    h ^= h >>> 13;
+    return h;
+  }
+
+  static int sketchSize(int expectedPageCount) {
+    // One 64-bit word of sixteen 4-bit counters for every four expected pages.
+    final int wordCount = (expectedPageCount + 3) >>> 2;
+    int sketchSize = 1;
+    while (sketchSize < wordCount && sketchSize < (1 << 24)) {
+      sketchSize <<= 1;
+    }
+    return sketchSize;
+  }
+
+  static int pageHash(PageRef pageRef) {
+    return Murmur3.mash(Murmur3.mix(pageRef.zone(), Murmur3.hash(pageRef.base())));
+  }
+
+  static int pageWeight(Page page) {
+    return page.pageRef().memoizedPageSize();
+  }
+
+  static final AtomicIntegerFieldUpdater<Page> CACHE_FLAGS =
+      AtomicIntegerFieldUpdater.newUpdater(Page.class, "cacheFlags");
+  static final AtomicLongFieldUpdater<PageCache> SIZE =
+      AtomicLongFieldUpdater.newUpdater(PageCache.class, "size");
+  static final AtomicIntegerFieldUpdater<PageCache> SAMPLES =
+      AtomicIntegerFieldUpdater.newUpdater(PageCache.class, "samples");
+  static final AtomicLongFieldUpdater<PageCache> HITS =
+      AtomicLongFieldUpdater.newUpdater(PageCache.class, "hits");
+  static final AtomicLongFieldUpdater<PageCache> MISSES =
+      AtomicLongFieldUpdater.newUpdater(PageCache.class, "misses");
+  static final AtomicLongFieldUpdater<PageCache> EVICTIONS =
+      AtomicLongFieldUpdater.newUpdater(PageCache.class, "evictions");
+
+}
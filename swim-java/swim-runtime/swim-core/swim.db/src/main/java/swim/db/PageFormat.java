@@ -0,0 +1,164 @@
+// Copyright 2015-2023 Swim.inc
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.db;
+
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import swim.codec.Binary;
+import swim.codec.Debug;
+import swim.codec.Output;
+import swim.codec.OutputBuffer;
+import swim.codec.Parser;
+import swim.codec.Utf8;
+import swim.recon.Recon;
+import swim.structure.Item;
+import swim.structure.Record;
+import swim.structure.Value;
+
+/**
+ * On-disk encoding of store pages. {@code RECON} pages are written as
+ * newline terminated Recon text blocks. {@code BINARY} pages are written
+ * as a magic byte, a format version byte, a 4-byte big-endian body length,
+ * and a body consisting of the page's items in compact binary Recon
+ * notation. Page loads detect the format of each page from its first byte,
+ * so zones written in either format remain readable regardless of the
+ * format in which new pages get written.
+ */
+public enum PageFormat implements Debug {
+
+  RECON("recon"),
+  BINARY("binary");
+
+  final String tag;
+
+  PageFormat(String tag) {
+    this.tag = tag;
+  }
+
+  public boolean isRecon() {
+    return this == PageFormat.RECON;
+  }
+
+  public boolean isBinary() {
+    return this == PageFormat.BINARY;
+  }
+
+  public String tag() {
+    return this.tag;
+  }
+
+  ByteBuffer encodePage(Page page) {
+    final int pageSize = page.pageSize();
+    final ByteBuffer pageBuffer;
+    if (this == PageFormat.BINARY) {
+      final Record record = (Record) page.toBinaryValue();
+      pageBuffer = ByteBuffer.allocate(pageSize);
+      pageBuffer.put((byte) PageFormat.BINARY_MAGIC);
+      pageBuffer.put((byte) PageFormat.BINARY_VERSION);
+      pageBuffer.putInt(pageSize - PageFormat.BINARY_HEADER_SIZE);
+      for (int i = 0, n = record.size(); i < n; i += 1) {
+        Recon.writeBinary(pageBuffer, record.getItem(i));
+      }
+      ((Buffer) pageBuffer).flip();
+    } else {
+      final OutputBuffer<ByteBuffer> output = Binary.outputBuffer(new byte[pageSize]);
+      final Output<ByteBuffer> encoder = Utf8.encodedOutput(output);
+      page.writePage(encoder);
+      pageBuffer = output.bind();
+    }
+    if (pageBuffer.remaining() != pageSize) {
+      throw new StoreException("serialized page size of " + pageBuffer.remaining() + " bytes "
+                             + "does not match expected page size of " + pageSize + " bytes");
+    }
+    return pageBuffer;
+  }
+
+  Value decodePage(ByteBuffer pageBuffer) {
+    if (this == PageFormat.BINARY) {
+      final int magic = pageBuffer.get() & 0xff;
+      final int version = pageBuffer.get() & 0xff;
+      if (magic != PageFormat.BINARY_MAGIC) {
+        throw new StoreException("invalid binary page magic: 0x" + Integer.toHexString(magic));
+      } else if (version != PageFormat.BINARY_VERSION) {
+        throw new StoreException("unsupported binary page version: " + version);
+      }
+      final int bodySize = pageBuffer.getInt();
+      if (bodySize != pageBuffer.remaining()) {
+        throw new StoreException("binary page body size of " + bodySize + " bytes "
+                               + "does not match page size of " + pageBuffer.remaining() + " bytes");
+      }
+      final Record record = Record.create();
+      while (pageBuffer.hasRemaining()) {
+        record.add(Recon.readBinaryItem(pageBuffer));
+      }
+      return record;
+    } else {
+      final Parser<Value> parser = Utf8.parseDecoded(Binary.inputBuffer(pageBuffer),
+                                                     Recon.structureParser().blockParser());
+      return parser.bind();
+    }
+  }
+
+  @Override
+  public <T> Output<T> debug(Output<T> output) {
+    output = output.write("PageFormat").write('.').write(this.name());
+    return output;
+  }
+
+  static final int BINARY_MAGIC = 0xfe;
+  static final int BINARY_VERSION = 1;
+  static final int BINARY_HEADER_SIZE = 6;
+
+  static int binaryPageSize(Item header, Item[] items) {
+    int pageSize = PageFormat.BINARY_HEADER_SIZE;
+    pageSize += Recon.binarySizeOf(header);
+    for (int i = 0, n = items.length; i < n; i += 1) {
+      pageSize += Recon.binarySizeOf(items[i]);
+    }
+    return pageSize;
+  }
+
+  static int binaryPageSize(Value value) {
+    int pageSize = PageFormat.BINARY_HEADER_SIZE;
+    for (int i = 0, n = value.length(); i < n; i += 1) {
+      pageSize += Recon.binarySizeOf(value.getItem(i));
+    }
+    return pageSize;
+  }
+
+  /**
+   * Returns the format of the page encoded by the given buffer, based on
+   * the first byte of the page. Binary pages begin with a byte that never
+   * occurs in UTF-8 text; every other page is assumed to be Recon.
+   */
+  public static PageFormat detect(ByteBuffer pageBuffer) {
+    if (pageBuffer.hasRemaining() && (pageBuffer.get(pageBuffer.position()) & 0xff) == PageFormat.BINARY_MAGIC) {
+      return PageFormat.BINARY;
+    } else {
+      return PageFormat.RECON;
+    }
+  }
+
+  public static PageFormat fromTag(String tag) {
+    if ("recon".equals(tag)) {
+      return PageFormat.RECON;
+    } else if ("binary".equals(tag)) {
+      return PageFormat.BINARY;
+    } else {
+      return null;
+    }
+  }
+
+}
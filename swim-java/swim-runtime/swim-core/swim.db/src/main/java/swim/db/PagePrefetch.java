@@ -0,0 +1,105 @@
+// Copyright 2015-2023 Swim.inc
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.db;
+
+import java.lang.ref.WeakReference;
+import swim.concurrent.AbstractTask;
+import swim.concurrent.Cont;
+
+/**
+ * Asynchronously loads a non-resident page on the stage of its page context,
+ * strongly retaining the loaded page until a cursor takes it. Prefetch
+ * failures are ignored; the cursor that takes a failed prefetch loads the
+ * page synchronously, and reports any error that recurs. A prefetch only
+ * weakly references the prefetch slots of the cursor that issued it, and
+ * skips loading its page if that cursor has since been dropped.
+ */
+final class PagePrefetch extends AbstractTask {
+
+  final PageRef pageRef;
+  final WeakReference<PagePrefetch[]> prefetches;
+  volatile Page page;
+
+  PagePrefetch(PageRef pageRef, PagePrefetch[] prefetches) {
+    this.pageRef = pageRef;
+    this.prefetches = new WeakReference<PagePrefetch[]>(prefetches);
+    this.page = null;
+  }
+
+  @Override
+  public boolean taskWillBlock() {
+    return true;
+  }
+
+  @Override
+  public void runTask() {
+    if (this.prefetches.get() == null) {
+      // Issuing cursor was dropped.
+      return;
+    }
+    try {
+      this.page = this.pageRef.loadPage(false);
+    } catch (Throwable error) {
+      if (!Cont.isNonFatal(error)) {
+        throw error;
+      }
+    }
+  }
+
+  /**
+   * Prefetches up to {@code count} non-resident page refs following the
+   * page ref at {@code index}, in the direction of {@code step}, that don't
+   * already have a pending prefetch. Cancels all pending prefetches of page
+   * refs preceding {@code index}, which the cursor has already passed;
+   * once the cursor takes its last page ref, no prefetches remain pending.
+   */
+  static void prefetch(PageRef[] pageRefs, PagePrefetch[] prefetches, int index, int step, int count) {
+    for (int i = index - step; 0 <= i && i < pageRefs.length; i -= step) {
+      final PagePrefetch prefetch = prefetches[i];
+      if (prefetch != null) {
+        prefetches[i] = null;
+        prefetch.cancel();
+      }
+    }
+    for (int i = index + step; count > 0 && 0 <= i && i < pageRefs.length; i += step, count -= 1) {
+      final PageRef pageRef = pageRefs[i];
+      if (prefetches[i] == null && pageRef.isCommitted() && pageRef.softPage() == null) {
+        final PagePrefetch prefetch = new PagePrefetch(pageRef, prefetches);
+        pageRef.pageContext().stage().task(prefetch);
+        prefetch.cue();
+        prefetches[i] = prefetch;
+      }
+    }
+  }
+
+  /**
+   * Returns the page referenced by the page ref at {@code index}, taking
+   * the page from its prefetch, if the prefetch has completed; otherwise
+   * cancels any pending prefetch, and loads the page synchronously.
+   */
+  static Page take(PageRef[] pageRefs, PagePrefetch[] prefetches, int index) {
+    final PagePrefetch prefetch = prefetches[index];
+    if (prefetch != null) {
+      prefetches[index] = null;
+      final Page page = prefetch.page;
+      if (page != null) {
+        return page;
+      }
+      prefetch.cancel();
+    }
+    return pageRefs[index].page();
+  }
+
+}
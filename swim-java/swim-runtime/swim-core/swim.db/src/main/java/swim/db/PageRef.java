@@ -62,6 +62,12 @@ public abstract class PageRef {
 
   public abstract int pageSize();
 
+  /**
+   * Returns the byte size of the referenced page, if already known,
+   * without loading or sizing the page; otherwise returns {@code -1}.
+   */
+  abstract int memoizedPageSize();
+
   public abstract int diffSize();
 
   public abstract long treeSize();
@@ -684,6 +684,18 @@ public final class QTreeLeaf extends QTreePage {
 
   @Override
   void memoizeSize(QTreePageRef pageRef) {
+    final int pageSize;
+    if (this.pageFormat().isBinary()) {
+      pageSize = PageFormat.binaryPageSize(this.toHeader().head(), this.slots);
+    } else {
+      pageSize = this.reconPageSize();
+    }
+    pageRef.pageSize = pageSize; // Must match bytes written by writePage
+    pageRef.diffSize = pageSize; // Must match bytes written by writeDiff
+    pageRef.treeSize = pageSize;
+  }
+
+  int reconPageSize() {
     int pageSize = 12; // "@qleaf(stem:"
     pageSize += Recon.sizeOf(Num.from(this.pageRef.stem));
     pageSize += 3; // ",v:"
@@ -703,9 +715,7 @@ public final class QTreeLeaf extends QTreePage {
     }
 
     pageSize += 1; // '\n'
-    pageRef.pageSize = pageSize; // Must match bytes written by writePage
-    pageRef.diffSize = pageSize; // Must match bytes written by writeDiff
-    pageRef.treeSize = pageSize;
+    return pageSize;
   }
 
   @Override
@@ -1176,6 +1176,30 @@ public final class QTreeNode extends QTreePage {
 
   @Override
   void memoizeSize(QTreePageRef pageRef) {
+    final int pageSize;
+    if (this.pageFormat().isBinary()) {
+      pageSize = PageFormat.binaryPageSize(this.toValue());
+    } else {
+      pageSize = this.reconPageSize();
+    }
+
+    final QTreePageRef[] childRefs = this.childRefs;
+    int diffSize = pageSize;
+    long treeSize = pageSize;
+    for (int i = 0, n = childRefs.length; i < n; i += 1) {
+      final QTreePageRef childRef = childRefs[i];
+      if (this.version == childRef.softVersion()) {
+        diffSize += childRef.diffSize();
+      }
+      treeSize += childRef.treeSize();
+    }
+
+    pageRef.pageSize = pageSize; // Must match bytes written by writePage
+    pageRef.diffSize = diffSize; // Must match bytes written by writeDiff
+    pageRef.treeSize = treeSize;
+  }
+
+  int reconPageSize() {
     int pageSize = 12; // "@qnode(stem:"
     pageSize += Recon.sizeOf(Num.from(this.pageRef.stem));
     pageSize += 3; // ",v:"
@@ -1184,20 +1208,13 @@ public final class QTreeNode extends QTreePage {
 
     final QTreePageRef[] childRefs = this.childRefs;
     final int childCount = childRefs.length;
-    int diffSize = 0;
-    long treeSize = 0L;
     if (childCount > 0) {
       pageSize += 1; // '{'
       for (int i = 0; i < childCount; i += 1) {
         if (i > 0) {
           pageSize += 1; // ','
         }
-        final QTreePageRef childRef = childRefs[i];
-        pageSize += childRef.pageRefSize();
-        if (this.version == childRef.softVersion()) {
-          diffSize += childRef.diffSize();
-        }
-        treeSize += childRef.treeSize();
+        pageSize += childRefs[i].pageRefSize();
       }
       final Slot[] slots = this.slots;
       for (int i = 0, slotCount = slots.length; i < slotCount; i += 1) {
@@ -1207,12 +1224,7 @@ public final class QTreeNode extends QTreePage {
       pageSize += 1; // '}'
       pageSize += 1; // '\n'
     }
-    diffSize += pageSize;
-    treeSize += pageSize;
-
-    pageRef.pageSize = pageSize; // Must match bytes written by writePage
-    pageRef.diffSize = diffSize; // Must match bytes written by writeDiff
-    pageRef.treeSize = treeSize;
+    return pageSize;
   }
 
   @Override
@@ -1229,6 +1241,10 @@ public final class QTreeNode extends QTreePage {
     for (int i = 0, n = childRefs.length; i < n; i += 1) {
       record.add(childRefs[i].toValue());
     }
+    final Slot[] slots = this.slots;
+    for (int i = 0, n = slots.length; i < n; i += 1) {
+      record.add(slots[i]);
+    }
     return record;
   }
 
@@ -254,6 +254,11 @@ public final class QTreePageRef extends PageRef {
     return pageRefSize;
   }
 
+  @Override
+  int memoizedPageSize() {
+    return this.pageSize;
+  }
+
   @Override
   public int pageSize() {
     if (this.pageSize < 0) {
@@ -319,6 +319,18 @@ public final class STreeLeaf extends STreePage {
 
   @Override
   void memoizeSize(STreePageRef pageRef) {
+    final int pageSize;
+    if (this.pageFormat().isBinary()) {
+      pageSize = PageFormat.binaryPageSize(this.toHeader().head(), this.slots);
+    } else {
+      pageSize = this.reconPageSize();
+    }
+    pageRef.pageSize = pageSize; // Must match bytes written by writePage
+    pageRef.diffSize = pageSize; // Must match bytes written by writeDiff
+    pageRef.treeSize = pageSize;
+  }
+
+  int reconPageSize() {
     int pageSize = 12; // "@sleaf(stem:"
     pageSize += Recon.sizeOf(Num.from(this.pageRef.stem));
     pageSize += 3; // ",v:"
@@ -338,9 +350,7 @@ public final class STreeLeaf extends STreePage {
     }
 
     pageSize += 1; // '\n'
-    pageRef.pageSize = pageSize; // Must match bytes written by writePage
-    pageRef.diffSize = pageSize; // Must match bytes written by writeDiff
-    pageRef.treeSize = pageSize;
+    return pageSize;
   }
 
   @Override
@@ -603,6 +603,44 @@ public final class STreeNode extends STreePage {
 
   @Override
   void memoizeSize(STreePageRef pageRef) {
+    final int pageSize;
+    if (this.pageFormat().isBinary()) {
+      pageSize = this.binaryPageSize();
+    } else {
+      pageSize = this.reconPageSize();
+    }
+
+    final STreePageRef[] childRefs = this.childRefs;
+    int diffSize = pageSize;
+    long treeSize = pageSize;
+    for (int i = 0, n = childRefs.length; i < n; i += 1) {
+      final STreePageRef childRef = childRefs[i];
+      if (this.version == childRef.softVersion()) {
+        diffSize += childRef.diffSize();
+      }
+      treeSize += childRef.treeSize();
+    }
+
+    pageRef.pageSize = pageSize; // Must match bytes written by writePage
+    pageRef.diffSize = diffSize; // Must match bytes written by writeDiff
+    pageRef.treeSize = treeSize;
+  }
+
+  int binaryPageSize() {
+    // Sum the sizes of the page items, without assembling the page record.
+    int pageSize = PageFormat.BINARY_HEADER_SIZE + Recon.binarySizeOf(this.toHeader().head());
+    final STreePageRef[] childRefs = this.childRefs;
+    final long[] knotIndexes = this.knotIndexes;
+    for (int i = 0, n = childRefs.length; i < n; i += 1) {
+      if (i > 0) {
+        pageSize += STreeNode.KNOT_SIZE + Recon.binarySizeOf(Num.from(knotIndexes[i - 1]));
+      }
+      pageSize += Recon.binarySizeOf(childRefs[i].toValue());
+    }
+    return pageSize;
+  }
+
+  int reconPageSize() {
     int pageSize = 12; // "@snode(stem:"
     pageSize += Recon.sizeOf(Num.from(this.pageRef.stem));
     pageSize += 3; // ",v:"
@@ -612,8 +650,6 @@ public final class STreeNode extends STreePage {
     final STreePageRef[] childRefs = this.childRefs;
     final int n = childRefs.length;
     final long[] knotIndexes = this.knotIndexes;
-    int diffSize = 0;
-    long treeSize = 0L;
     if (n > 0) {
       pageSize += 1; // '{'
       for (int i = 0; i < n; i += 1) {
@@ -623,22 +659,12 @@ public final class STreeNode extends STreePage {
           pageSize += Recon.sizeOf(Num.from(index));
           pageSize += 2; // "),"
         }
-        final STreePageRef childRef = childRefs[i];
-        pageSize += childRef.pageRefSize();
-        if (this.version == childRef.softVersion()) {
-          diffSize += childRef.diffSize();
-        }
-        treeSize += childRef.treeSize();
+        pageSize += childRefs[i].pageRefSize();
       }
       pageSize += 1; // '}'
       pageSize += 1; // '\n'
     }
-    diffSize += pageSize;
-    treeSize += pageSize;
-
-    pageRef.pageSize = pageSize; // Must match bytes written by writePage
-    pageRef.diffSize = diffSize; // Must match bytes written by writeDiff
-    pageRef.treeSize = treeSize;
+    return pageSize;
   }
 
   @Override
@@ -807,7 +833,12 @@ public final class STreeNode extends STreePage {
 
   @Override
   public Cursor<Slot> cursor() {
-    return new STreeNodeDepthCursor(this, Integer.MAX_VALUE);
+    final int cursorPrefetch = this.pageRef.context.settings().cursorPrefetch;
+    if (cursorPrefetch > 0) {
+      return new STreeNodePrefetchCursor(this, cursorPrefetch);
+    } else {
+      return new STreeNodeDepthCursor(this, Integer.MAX_VALUE);
+    }
   }
 
   @Override
@@ -830,6 +861,12 @@ public final class STreeNode extends STreePage {
 
   static final long[] EMPTY_KNOT_INDEXES = new long[0];
 
+  /**
+   * Binary size of a knot page item, less the size of its key.
+   */
+  static final int KNOT_SIZE = Recon.binarySizeOf(Record.create(1).attr("knot", Record.create(1).slot("i", Value.extant())))
+                             - Recon.binarySizeOf(Value.extant());
+
   public static STreeNode create(PageContext context, int stem, long version,
                                  int post, int zone, long base, long span, Value fold,
                                  STreePageRef[] childRefs, long[] knotIndexes) {
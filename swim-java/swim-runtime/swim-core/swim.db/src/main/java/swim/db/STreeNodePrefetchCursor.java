@@ -0,0 +1,57 @@
+// Copyright 2015-2023 Swim.inc
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.db;
+
+import swim.structure.Slot;
+import swim.util.Cursor;
+
+/**
+ * Node cursor that prefetches the next {@code prefetchCount} non-resident
+ * child pages in the direction of traversal, while the caller consumes
+ * the current child page.
+ */
+final class STreeNodePrefetchCursor extends STreeNodeCursor {
+
+  final int prefetchCount;
+  final PagePrefetch[] prefetches;
+
+  STreeNodePrefetchCursor(STreeNode page, int prefetchCount) {
+    super(page);
+    this.prefetchCount = prefetchCount;
+    this.prefetches = new PagePrefetch[page.childRefs.length];
+  }
+
+  @Override
+  Cursor<Slot> childCursor(STreePageRef childRef) {
+    final STreePageRef[] childRefs = this.page.childRefs;
+    final int childIndex;
+    final int step;
+    if (this.childIndex < childRefs.length && childRefs[this.childIndex] == childRef) {
+      childIndex = this.childIndex;
+      step = 1;
+    } else {
+      childIndex = this.childIndex - 1;
+      step = -1;
+    }
+    PagePrefetch.prefetch(childRefs, this.prefetches, childIndex, step, this.prefetchCount);
+    final STreePage childPage = (STreePage) PagePrefetch.take(childRefs, this.prefetches, childIndex);
+    if (childPage instanceof STreeNode) {
+      return new STreeNodePrefetchCursor((STreeNode) childPage, this.prefetchCount);
+    } else {
+      return childPage.cursor();
+    }
+  }
+
+}
@@ -206,6 +206,11 @@ public final class STreePageRef extends PageRef {
     return pageRefSize;
   }
 
+  @Override
+  int memoizedPageSize() {
+    return this.pageSize;
+  }
+
   @Override
   public int pageSize() {
     if (this.pageSize < 0) {
@@ -40,6 +40,15 @@ public class StoreSettings implements Debug {
   protected final double minTreeFill;
   protected final int maxRetries;
   protected final int deleteDelay;
+  protected final PageFormat pageFormat;
+  protected final boolean mapZones;
+  protected final long maxPageCacheSize;
+  protected final long maxCommitDelay;
+  protected final int compactParallelism;
+  protected final long maxCompactRate;
+  protected final int pageBloomBits;
+  protected final int cursorPrefetch;
+  protected final int pageCacheSketchSize;
 
   public StoreSettings(int pageSplitSize, int pageCacheSize,
                        long minCommitSize, long maxCommitSize,
@@ -47,7 +56,12 @@ public class StoreSettings implements Debug {
                        long minCompactSize, long maxCompactSize,
                        long maxCompactTime, long maxZoneSize,
                        double minZoneFill, double minTreeFill,
-                       int maxRetries, int deleteDelay) {
+                       int maxRetries, int deleteDelay,
+                       PageFormat pageFormat, boolean mapZones,
+                       long maxPageCacheSize, long maxCommitDelay,
+                       int compactParallelism, long maxCompactRate,
+                       int pageBloomBits, int cursorPrefetch,
+                       int pageCacheSketchSize) {
     this.pageSplitSize = pageSplitSize;
     this.pageCacheSize = pageCacheSize;
     this.minCommitSize = minCommitSize;
@@ -62,6 +76,36 @@ public class StoreSettings implements Debug {
     this.minTreeFill = minTreeFill;
     this.maxRetries = maxRetries;
     this.deleteDelay = deleteDelay;
+    this.pageFormat = pageFormat;
+    this.mapZones = mapZones;
+    this.maxPageCacheSize = maxPageCacheSize;
+    this.maxCommitDelay = maxCommitDelay;
+    this.compactParallelism = compactParallelism;
+    this.maxCompactRate = maxCompactRate;
+    this.pageBloomBits = pageBloomBits;
+    this.cursorPrefetch = cursorPrefetch;
+    this.pageCacheSketchSize = pageCacheSketchSize;
+  }
+
+  public StoreSettings(int pageSplitSize, int pageCacheSize,
+                       long minCommitSize, long maxCommitSize,
+                       long minCommitInterval, long maxCommitTime,
+                       long minCompactSize, long maxCompactSize,
+                       long maxCompactTime, long maxZoneSize,
+                       double minZoneFill, double minTreeFill,
+                       int maxRetries, int deleteDelay) {
+    this(pageSplitSize, pageCacheSize,
+         minCommitSize, maxCommitSize,
+         minCommitInterval, maxCommitTime,
+         minCompactSize, maxCompactSize,
+         maxCompactTime, maxZoneSize,
+         minZoneFill, minTreeFill,
+         maxRetries, deleteDelay,
+         PageFormat.RECON, false,
+         64L * 1024L * 1024L, 0L,
+         0, 0L,
+         0, 0,
+         4096);
   }
 
   public final int pageSplitSize() {
@@ -75,9 +119,21 @@ public class StoreSettings implements Debug {
                      this.minCompactSize, this.maxCompactSize,
                      this.maxCompactTime, this.maxZoneSize,
                      this.minZoneFill, this.minTreeFill,
-                     this.maxRetries, this.deleteDelay);
+                     this.maxRetries, this.deleteDelay,
+                     this.pageFormat, this.mapZones,
+                     this.maxPageCacheSize, this.maxCommitDelay,
+                     this.compactParallelism, this.maxCompactRate,
+                     this.pageBloomBits, this.cursorPrefetch,
+                     this.pageCacheSketchSize);
   }
 
+  /**
+   * Returns the capacity of the store's legacy entry-counted page cache.
+   *
+   * @deprecated pages are retained by a cache bounded by
+   * {@link #maxPageCacheSize()} bytes; this setting no longer has any effect.
+   */
+  @Deprecated
   public final int pageCacheSize() {
     return this.pageCacheSize;
   }
@@ -89,7 +145,12 @@ public class StoreSettings implements Debug {
                      this.minCompactSize, this.maxCompactSize,
                      this.maxCompactTime, this.maxZoneSize,
                      this.minZoneFill, this.minTreeFill,
-                     this.maxRetries, this.deleteDelay);
+                     this.maxRetries, this.deleteDelay,
+                     this.pageFormat, this.mapZones,
+                     this.maxPageCacheSize, this.maxCommitDelay,
+                     this.compactParallelism, this.maxCompactRate,
+                     this.pageBloomBits, this.cursorPrefetch,
+                     this.pageCacheSketchSize);
   }
 
   public final long minCommitSize() {
@@ -103,7 +164,12 @@ public class StoreSettings implements Debug {
                      this.minCompactSize, this.maxCompactSize,
                      this.maxCompactTime, this.maxZoneSize,
                      this.minZoneFill, this.minTreeFill,
-                     this.maxRetries, this.deleteDelay);
+                     this.maxRetries, this.deleteDelay,
+                     this.pageFormat, this.mapZones,
+                     this.maxPageCacheSize, this.maxCommitDelay,
+                     this.compactParallelism, this.maxCompactRate,
+                     this.pageBloomBits, this.cursorPrefetch,
+                     this.pageCacheSketchSize);
   }
 
   public final long maxCommitSize() {
@@ -117,7 +183,12 @@ public class StoreSettings implements Debug {
                      this.minCompactSize, this.maxCompactSize,
                      this.maxCompactTime, this.maxZoneSize,
                      this.minZoneFill, this.minTreeFill,
-                     this.maxRetries, this.deleteDelay);
+                     this.maxRetries, this.deleteDelay,
+                     this.pageFormat, this.mapZones,
+                     this.maxPageCacheSize, this.maxCommitDelay,
+                     this.compactParallelism, this.maxCompactRate,
+                     this.pageBloomBits, this.cursorPrefetch,
+                     this.pageCacheSketchSize);
   }
 
   public final long minCommitInterval() {
@@ -131,7 +202,12 @@ public class StoreSettings implements Debug {
                      this.minCompactSize, this.maxCompactSize,
                      this.maxCompactTime, this.maxZoneSize,
                      this.minZoneFill, this.minTreeFill,
-                     this.maxRetries, this.deleteDelay);
+                     this.maxRetries, this.deleteDelay,
+                     this.pageFormat, this.mapZones,
+                     this.maxPageCacheSize, this.maxCommitDelay,
+                     this.compactParallelism, this.maxCompactRate,
+                     this.pageBloomBits, this.cursorPrefetch,
+                     this.pageCacheSketchSize);
   }
 
   public final long maxCommitTime() {
@@ -145,7 +221,12 @@ public class StoreSettings implements Debug {
                      this.minCompactSize, this.maxCompactSize,
                      this.maxCompactTime, this.maxZoneSize,
                      this.minZoneFill, this.minTreeFill,
-                     this.maxRetries, this.deleteDelay);
+                     this.maxRetries, this.deleteDelay,
+                     this.pageFormat, this.mapZones,
+                     this.maxPageCacheSize, this.maxCommitDelay,
+                     this.compactParallelism, this.maxCompactRate,
+                     this.pageBloomBits, this.cursorPrefetch,
+                     this.pageCacheSketchSize);
   }
 
   public final long minCompactSize() {
@@ -159,7 +240,12 @@ public class StoreSettings implements Debug {
                      minCompactSize, this.maxCompactSize,
                      this.maxCompactTime, this.maxZoneSize,
                      this.minZoneFill, this.minTreeFill,
-                     this.maxRetries, this.deleteDelay);
+                     this.maxRetries, this.deleteDelay,
+                     this.pageFormat, this.mapZones,
+                     this.maxPageCacheSize, this.maxCommitDelay,
+                     this.compactParallelism, this.maxCompactRate,
+                     this.pageBloomBits, this.cursorPrefetch,
+                     this.pageCacheSketchSize);
   }
 
   public final long maxCompactSize() {
@@ -173,7 +259,12 @@ public class StoreSettings implements Debug {
                      this.minCompactSize, maxCompactSize,
                      this.maxCompactTime, this.maxZoneSize,
                      this.minZoneFill, this.minTreeFill,
-                     this.maxRetries, this.deleteDelay);
+                     this.maxRetries, this.deleteDelay,
+                     this.pageFormat, this.mapZones,
+                     this.maxPageCacheSize, this.maxCommitDelay,
+                     this.compactParallelism, this.maxCompactRate,
+                     this.pageBloomBits, this.cursorPrefetch,
+                     this.pageCacheSketchSize);
   }
 
   public final long maxCompactTime() {
@@ -187,7 +278,12 @@ public class StoreSettings implements Debug {
                      this.minCompactSize, this.maxCompactSize,
                      maxCompactTime, this.maxZoneSize,
                      this.minZoneFill, this.minTreeFill,
-                     this.maxRetries, this.deleteDelay);
+                     this.maxRetries, this.deleteDelay,
+                     this.pageFormat, this.mapZones,
+                     this.maxPageCacheSize, this.maxCommitDelay,
+                     this.compactParallelism, this.maxCompactRate,
+                     this.pageBloomBits, this.cursorPrefetch,
+                     this.pageCacheSketchSize);
   }
 
   public final long maxZoneSize() {
@@ -201,7 +297,12 @@ public class StoreSettings implements Debug {
                      this.minCompactSize, this.maxCompactSize,
                      this.maxCompactTime, maxZoneSize,
                      this.minZoneFill, this.minTreeFill,
-                     this.maxRetries, this.deleteDelay);
+                     this.maxRetries, this.deleteDelay,
+                     this.pageFormat, this.mapZones,
+                     this.maxPageCacheSize, this.maxCommitDelay,
+                     this.compactParallelism, this.maxCompactRate,
+                     this.pageBloomBits, this.cursorPrefetch,
+                     this.pageCacheSketchSize);
   }
 
   public final double minZoneFill() {
@@ -215,7 +316,12 @@ public class StoreSettings implements Debug {
                      this.minCompactSize, this.maxCompactSize,
                      this.maxCompactTime, this.maxZoneSize,
                      minZoneFill, this.minTreeFill,
-                     this.maxRetries, this.deleteDelay);
+                     this.maxRetries, this.deleteDelay,
+                     this.pageFormat, this.mapZones,
+                     this.maxPageCacheSize, this.maxCommitDelay,
+                     this.compactParallelism, this.maxCompactRate,
+                     this.pageBloomBits, this.cursorPrefetch,
+                     this.pageCacheSketchSize);
   }
 
   public final double minTreeFill() {
@@ -229,7 +335,12 @@ public class StoreSettings implements Debug {
                      this.minCompactSize, this.maxCompactSize,
                      this.maxCompactTime, this.maxZoneSize,
                      this.minZoneFill, minTreeFill,
-                     this.maxRetries, this.deleteDelay);
+                     this.maxRetries, this.deleteDelay,
+                     this.pageFormat, this.mapZones,
+                     this.maxPageCacheSize, this.maxCommitDelay,
+                     this.compactParallelism, this.maxCompactRate,
+                     this.pageBloomBits, this.cursorPrefetch,
+                     this.pageCacheSketchSize);
   }
 
   public final int maxRetries() {
@@ -243,7 +354,12 @@ public class StoreSettings implements Debug {
                      this.minCompactSize, this.maxCompactSize,
                      this.maxCompactTime, this.maxZoneSize,
                      this.minZoneFill, this.minTreeFill,
-                     maxRetries, this.deleteDelay);
+                     maxRetries, this.deleteDelay,
+                     this.pageFormat, this.mapZones,
+                     this.maxPageCacheSize, this.maxCommitDelay,
+                     this.compactParallelism, this.maxCompactRate,
+                     this.pageBloomBits, this.cursorPrefetch,
+                     this.pageCacheSketchSize);
   }
 
   public final int deleteDelay() {
@@ -257,7 +373,183 @@ public class StoreSettings implements Debug {
                      this.minCompactSize, this.maxCompactSize,
                      this.maxCompactTime, this.maxZoneSize,
                      this.minZoneFill, this.minTreeFill,
-                     this.maxRetries, deleteDelay);
+                     this.maxRetries, deleteDelay,
+                     this.pageFormat, this.mapZones,
+                     this.maxPageCacheSize, this.maxCommitDelay,
+                     this.compactParallelism, this.maxCompactRate,
+                     this.pageBloomBits, this.cursorPrefetch,
+                     this.pageCacheSketchSize);
+  }
+
+  public final PageFormat pageFormat() {
+    return this.pageFormat;
+  }
+
+  public StoreSettings pageFormat(PageFormat pageFormat) {
+    return this.copy(this.pageSplitSize, this.pageCacheSize,
+                     this.minCommitSize, this.maxCommitSize,
+                     this.minCommitInterval, this.maxCommitTime,
+                     this.minCompactSize, this.maxCompactSize,
+                     this.maxCompactTime, this.maxZoneSize,
+                     this.minZoneFill, this.minTreeFill,
+                     this.maxRetries, this.deleteDelay,
+                     pageFormat, this.mapZones,
+                     this.maxPageCacheSize, this.maxCommitDelay,
+                     this.compactParallelism, this.maxCompactRate,
+                     this.pageBloomBits, this.cursorPrefetch,
+                     this.pageCacheSketchSize);
+  }
+
+  public final boolean mapZones() {
+    return this.mapZones;
+  }
+
+  public StoreSettings mapZones(boolean mapZones) {
+    return this.copy(this.pageSplitSize, this.pageCacheSize,
+                     this.minCommitSize, this.maxCommitSize,
+                     this.minCommitInterval, this.maxCommitTime,
+                     this.minCompactSize, this.maxCompactSize,
+                     this.maxCompactTime, this.maxZoneSize,
+                     this.minZoneFill, this.minTreeFill,
+                     this.maxRetries, this.deleteDelay,
+                     this.pageFormat, mapZones,
+                     this.maxPageCacheSize, this.maxCommitDelay,
+                     this.compactParallelism, this.maxCompactRate,
+                     this.pageBloomBits, this.cursorPrefetch,
+                     this.pageCacheSketchSize);
+  }
+
+  public final long maxPageCacheSize() {
+    return this.maxPageCacheSize;
+  }
+
+  public StoreSettings maxPageCacheSize(long maxPageCacheSize) {
+    return this.copy(this.pageSplitSize, this.pageCacheSize,
+                     this.minCommitSize, this.maxCommitSize,
+                     this.minCommitInterval, this.maxCommitTime,
+                     this.minCompactSize, this.maxCompactSize,
+                     this.maxCompactTime, this.maxZoneSize,
+                     this.minZoneFill, this.minTreeFill,
+                     this.maxRetries, this.deleteDelay,
+                     this.pageFormat, this.mapZones,
+                     maxPageCacheSize, this.maxCommitDelay,
+                     this.compactParallelism, this.maxCompactRate,
+                     this.pageBloomBits, this.cursorPrefetch,
+                     this.pageCacheSketchSize);
+  }
+
+  public final long maxCommitDelay() {
+    return this.maxCommitDelay;
+  }
+
+  public StoreSettings maxCommitDelay(long maxCommitDelay) {
+    return this.copy(this.pageSplitSize, this.pageCacheSize,
+                     this.minCommitSize, this.maxCommitSize,
+                     this.minCommitInterval, this.maxCommitTime,
+                     this.minCompactSize, this.maxCompactSize,
+                     this.maxCompactTime, this.maxZoneSize,
+                     this.minZoneFill, this.minTreeFill,
+                     this.maxRetries, this.deleteDelay,
+                     this.pageFormat, this.mapZones,
+                     this.maxPageCacheSize, maxCommitDelay,
+                     this.compactParallelism, this.maxCompactRate,
+                     this.pageBloomBits, this.cursorPrefetch,
+                     this.pageCacheSketchSize);
+  }
+
+  public final int compactParallelism() {
+    return this.compactParallelism;
+  }
+
+  public StoreSettings compactParallelism(int compactParallelism) {
+    return this.copy(this.pageSplitSize, this.pageCacheSize,
+                     this.minCommitSize, this.maxCommitSize,
+                     this.minCommitInterval, this.maxCommitTime,
+                     this.minCompactSize, this.maxCompactSize,
+                     this.maxCompactTime, this.maxZoneSize,
+                     this.minZoneFill, this.minTreeFill,
+                     this.maxRetries, this.deleteDelay,
+                     this.pageFormat, this.mapZones,
+                     this.maxPageCacheSize, this.maxCommitDelay,
+                     compactParallelism, this.maxCompactRate,
+                     this.pageBloomBits, this.cursorPrefetch,
+                     this.pageCacheSketchSize);
+  }
+
+  public final long maxCompactRate() {
+    return this.maxCompactRate;
+  }
+
+  public StoreSettings maxCompactRate(long maxCompactRate) {
+    return this.copy(this.pageSplitSize, this.pageCacheSize,
+                     this.minCommitSize, this.maxCommitSize,
+                     this.minCommitInterval, this.maxCommitTime,
+                     this.minCompactSize, this.maxCompactSize,
+                     this.maxCompactTime, this.maxZoneSize,
+                     this.minZoneFill, this.minTreeFill,
+                     this.maxRetries, this.deleteDelay,
+                     this.pageFormat, this.mapZones,
+                     this.maxPageCacheSize, this.maxCommitDelay,
+                     this.compactParallelism, maxCompactRate,
+                     this.pageBloomBits, this.cursorPrefetch,
+                     this.pageCacheSketchSize);
+  }
+
+  public final int pageBloomBits() {
+    return this.pageBloomBits;
+  }
+
+  public StoreSettings pageBloomBits(int pageBloomBits) {
+    return this.copy(this.pageSplitSize, this.pageCacheSize,
+                     this.minCommitSize, this.maxCommitSize,
+                     this.minCommitInterval, this.maxCommitTime,
+                     this.minCompactSize, this.maxCompactSize,
+                     this.maxCompactTime, this.maxZoneSize,
+                     this.minZoneFill, this.minTreeFill,
+                     this.maxRetries, this.deleteDelay,
+                     this.pageFormat, this.mapZones,
+                     this.maxPageCacheSize, this.maxCommitDelay,
+                     this.compactParallelism, this.maxCompactRate,
+                     pageBloomBits, this.cursorPrefetch,
+                     this.pageCacheSketchSize);
+  }
+
+  public final int cursorPrefetch() {
+    return this.cursorPrefetch;
+  }
+
+  public StoreSettings cursorPrefetch(int cursorPrefetch) {
+    return this.copy(this.pageSplitSize, this.pageCacheSize,
+                     this.minCommitSize, this.maxCommitSize,
+                     this.minCommitInterval, this.maxCommitTime,
+                     this.minCompactSize, this.maxCompactSize,
+                     this.maxCompactTime, this.maxZoneSize,
+                     this.minZoneFill, this.minTreeFill,
+                     this.maxRetries, this.deleteDelay,
+                     this.pageFormat, this.mapZones,
+                     this.maxPageCacheSize, this.maxCommitDelay,
+                     this.compactParallelism, this.maxCompactRate,
+                     this.pageBloomBits, cursorPrefetch,
+                     this.pageCacheSketchSize);
+  }
+
+  public final int pageCacheSketchSize() {
+    return this.pageCacheSketchSize;
+  }
+
+  public StoreSettings pageCacheSketchSize(int pageCacheSketchSize) {
+    return this.copy(this.pageSplitSize, this.pageCacheSize,
+                     this.minCommitSize, this.maxCommitSize,
+                     this.minCommitInterval, this.maxCommitTime,
+                     this.minCompactSize, this.maxCompactSize,
+                     this.maxCompactTime, this.maxZoneSize,
+                     this.minZoneFill, this.minTreeFill,
+                     this.maxRetries, this.deleteDelay,
+                     this.pageFormat, this.mapZones,
+                     this.maxPageCacheSize, this.maxCommitDelay,
+                     this.compactParallelism, this.maxCompactRate,
+                     this.pageBloomBits, this.cursorPrefetch,
+                     pageCacheSketchSize);
   }
 
   protected StoreSettings copy(int pageSplitSize, int pageCacheSize,
@@ -266,14 +558,45 @@ public class StoreSettings implements Debug {
                                long minCompactSize, long maxCompactSize,
                                long maxCompactTime, long maxZoneSize,
                                double minZoneFill, double minTreeFill,
-                               int maxRetries, int deleteDelay) {
+                               int maxRetries, int deleteDelay,
+                               PageFormat pageFormat, boolean mapZones,
+                               long maxPageCacheSize, long maxCommitDelay,
+                               int compactParallelism, long maxCompactRate,
+                               int pageBloomBits, int cursorPrefetch,
+                               int pageCacheSketchSize) {
     return new StoreSettings(pageSplitSize, pageCacheSize,
                              minCommitSize, maxCommitSize,
                              minCommitInterval, maxCommitTime,
                              minCompactSize, maxCompactSize,
                              maxCompactTime, maxZoneSize,
                              minZoneFill, minTreeFill,
-                             maxRetries, deleteDelay);
+                             maxRetries, deleteDelay,
+                             pageFormat, mapZones,
+                             maxPageCacheSize, maxCommitDelay,
+                             compactParallelism, maxCompactRate,
+                             pageBloomBits, cursorPrefetch,
+                             pageCacheSketchSize);
+  }
+
+  protected StoreSettings copy(int pageSplitSize, int pageCacheSize,
+                               long minCommitSize, long maxCommitSize,
+                               long minCommitInterval, long maxCommitTime,
+                               long minCompactSize, long maxCompactSize,
+                               long maxCompactTime, long maxZoneSize,
+                               double minZoneFill, double minTreeFill,
+                               int maxRetries, int deleteDelay) {
+    return this.copy(pageSplitSize, pageCacheSize,
+                     minCommitSize, maxCommitSize,
+                     minCommitInterval, maxCommitTime,
+                     minCompactSize, maxCompactSize,
+                     maxCompactTime, maxZoneSize,
+                     minZoneFill, minTreeFill,
+                     maxRetries, deleteDelay,
+                     this.pageFormat, this.mapZones,
+                     this.maxPageCacheSize, this.maxCommitDelay,
+                     this.compactParallelism, this.maxCompactRate,
+                     this.pageBloomBits, this.cursorPrefetch,
+                     this.pageCacheSketchSize);
   }
 
   protected boolean canEqual(Object other) {
@@ -299,7 +622,16 @@ public class StoreSettings implements Debug {
           && this.minZoneFill == that.minZoneFill
           && this.minTreeFill == that.minTreeFill
           && this.maxRetries == that.maxRetries
-          && this.deleteDelay == that.deleteDelay;
+          && this.deleteDelay == that.deleteDelay
+          && this.pageFormat == that.pageFormat
+          && this.mapZones == that.mapZones
+          && this.maxPageCacheSize == that.maxPageCacheSize
+          && this.maxCommitDelay == that.maxCommitDelay
+          && this.compactParallelism == that.compactParallelism
+          && this.maxCompactRate == that.maxCompactRate
+          && this.pageBloomBits == that.pageBloomBits
+          && this.cursorPrefetch == that.cursorPrefetch
+          && this.pageCacheSketchSize == that.pageCacheSketchSize;
     }
     return false;
   }
@@ -311,7 +643,9 @@ public class StoreSettings implements Debug {
     if (StoreSettings.hashSeed == 0) {
       StoreSettings.hashSeed = Murmur3.seed(StoreSettings.class);
     }
-    return Murmur3.mash(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(
+    return Murmur3.mash(Murmur3.mix(Murmur3.mix(Murmur3.mix(
+        Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(
+        Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(
         Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(
         Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(
         StoreSettings.hashSeed, this.pageSplitSize), this.pageCacheSize),
@@ -320,7 +654,11 @@ public class StoreSettings implements Debug {
         Murmur3.hash(this.minCompactSize)), Murmur3.hash(this.maxCompactSize)),
         Murmur3.hash(this.maxCompactTime)), Murmur3.hash(this.maxZoneSize)),
         Murmur3.hash(this.minZoneFill)), Murmur3.hash(this.minTreeFill)),
-        this.maxRetries), this.deleteDelay));
+        this.maxRetries), this.deleteDelay),
+        this.pageFormat.ordinal()), Murmur3.hash(this.mapZones)),
+        Murmur3.hash(this.maxPageCacheSize)), Murmur3.hash(this.maxCommitDelay)),
+        this.compactParallelism), Murmur3.hash(this.maxCompactRate)),
+        this.pageBloomBits), this.cursorPrefetch), this.pageCacheSketchSize));
   }
 
   @Override
@@ -339,7 +677,16 @@ public class StoreSettings implements Debug {
                    .write('.').write("minZoneFill").write('(').debug(this.minZoneFill).write(')')
                    .write('.').write("minTreeFill").write('(').debug(this.minTreeFill).write(')')
                    .write('.').write("maxRetries").write('(').debug(this.maxRetries).write(')')
-                   .write('.').write("deleteDelay").write('(').debug(this.deleteDelay).write(')');
+                   .write('.').write("deleteDelay").write('(').debug(this.deleteDelay).write(')')
+                   .write('.').write("pageFormat").write('(').debug(this.pageFormat).write(')')
+                   .write('.').write("mapZones").write('(').debug(this.mapZones).write(')')
+                   .write('.').write("maxPageCacheSize").write('(').debug(this.maxPageCacheSize).write(')')
+                   .write('.').write("maxCommitDelay").write('(').debug(this.maxCommitDelay).write(')')
+                   .write('.').write("compactParallelism").write('(').debug(this.compactParallelism).write(')')
+                   .write('.').write("maxCompactRate").write('(').debug(this.maxCompactRate).write(')')
+                   .write('.').write("pageBloomBits").write('(').debug(this.pageBloomBits).write(')')
+                   .write('.').write("cursorPrefetch").write('(').debug(this.cursorPrefetch).write(')')
+                   .write('.').write("pageCacheSketchSize").write('(').debug(this.pageCacheSketchSize).write(')');
     return output;
   }
 
@@ -450,13 +797,74 @@ public class StoreSettings implements Debug {
         deleteDelay = 15 * 1000;
       }
 
+      PageFormat pageFormat = PageFormat.fromTag(System.getProperty("swim.db.page.format"));
+      if (pageFormat == null) {
+        pageFormat = PageFormat.RECON;
+      }
+
+      final boolean mapZones = Boolean.parseBoolean(System.getProperty("swim.db.map.zones"));
+
+      long maxPageCacheSize;
+      try {
+        maxPageCacheSize = Long.parseLong(System.getProperty("swim.db.max.page.cache.size"));
+      } catch (NumberFormatException e) {
+        maxPageCacheSize = 64 * 1024 * 1024;
+      }
+
+      long maxCommitDelay;
+      try {
+        maxCommitDelay = Long.parseLong(System.getProperty("swim.db.max.commit.delay"));
+      } catch (NumberFormatException e) {
+        maxCommitDelay = 0L;
+      }
+
+      int compactParallelism;
+      try {
+        compactParallelism = Integer.parseInt(System.getProperty("swim.db.compact.parallelism"));
+      } catch (NumberFormatException e) {
+        compactParallelism = 0;
+      }
+
+      long maxCompactRate;
+      try {
+        maxCompactRate = Long.parseLong(System.getProperty("swim.db.max.compact.rate"));
+      } catch (NumberFormatException e) {
+        maxCompactRate = 0L;
+      }
+
+      int pageBloomBits;
+      try {
+        pageBloomBits = Integer.parseInt(System.getProperty("swim.db.page.bloom.bits"));
+      } catch (NumberFormatException e) {
+        pageBloomBits = 0;
+      }
+
+      int cursorPrefetch;
+      try {
+        cursorPrefetch = Integer.parseInt(System.getProperty("swim.db.cursor.prefetch"));
+      } catch (NumberFormatException e) {
+        cursorPrefetch = 0;
+      }
+
+      int pageCacheSketchSize;
+      try {
+        pageCacheSketchSize = Integer.parseInt(System.getProperty("swim.db.page.cache.sketch.size"));
+      } catch (NumberFormatException e) {
+        pageCacheSketchSize = 4096;
+      }
+
       StoreSettings.standard = new StoreSettings(pageSplitSize, pageCacheSize,
                                                  minCommitSize, maxCommitSize,
                                                  minCommitInterval, maxCommitTime,
                                                  minCompactSize, maxCompactSize,
                                                  maxCompactTime, maxZoneSize,
                                                  minZoneFill, minTreeFill,
-                                                 maxRetries, deleteDelay);
+                                                 maxRetries, deleteDelay,
+                                                 pageFormat, mapZones,
+                                                 maxPageCacheSize, maxCommitDelay,
+                                                 compactParallelism, maxCompactRate,
+                                                 pageBloomBits, cursorPrefetch,
+                                                 pageCacheSketchSize);
     }
     return StoreSettings.standard;
   }
@@ -538,6 +946,33 @@ final class StoreSettingsForm extends Form<StoreSettings> {
       if (settings.deleteDelay != standard.deleteDelay) {
         record.slot("deleteDelay", settings.deleteDelay);
       }
+      if (settings.pageFormat != standard.pageFormat) {
+        record.slot("pageFormat", settings.pageFormat.tag());
+      }
+      if (settings.mapZones != standard.mapZones) {
+        record.slot("mapZones", settings.mapZones);
+      }
+      if (settings.maxPageCacheSize != standard.maxPageCacheSize) {
+        record.slot("maxPageCacheSize", settings.maxPageCacheSize);
+      }
+      if (settings.maxCommitDelay != standard.maxCommitDelay) {
+        record.slot("maxCommitDelay", settings.maxCommitDelay);
+      }
+      if (settings.compactParallelism != standard.compactParallelism) {
+        record.slot("compactParallelism", settings.compactParallelism);
+      }
+      if (settings.maxCompactRate != standard.maxCompactRate) {
+        record.slot("maxCompactRate", settings.maxCompactRate);
+      }
+      if (settings.pageBloomBits != standard.pageBloomBits) {
+        record.slot("pageBloomBits", settings.pageBloomBits);
+      }
+      if (settings.cursorPrefetch != standard.cursorPrefetch) {
+        record.slot("cursorPrefetch", settings.cursorPrefetch);
+      }
+      if (settings.pageCacheSketchSize != standard.pageCacheSketchSize) {
+        record.slot("pageCacheSketchSize", settings.pageCacheSketchSize);
+      }
 
       return record;
     } else {
@@ -564,13 +999,30 @@ final class StoreSettingsForm extends Form<StoreSettings> {
       final double minTreeFill = value.get("minTreeFill").doubleValue(standard.minTreeFill);
       final int maxRetries = value.get("maxRetries").intValue(standard.maxRetries);
       final int deleteDelay = value.get("deleteDelay").intValue(standard.deleteDelay);
+      PageFormat pageFormat = PageFormat.fromTag(value.get("pageFormat").stringValue(null));
+      if (pageFormat == null) {
+        pageFormat = standard.pageFormat;
+      }
+      final boolean mapZones = value.get("mapZones").booleanValue(standard.mapZones);
+      final long maxPageCacheSize = value.get("maxPageCacheSize").longValue(standard.maxPageCacheSize);
+      final long maxCommitDelay = value.get("maxCommitDelay").longValue(standard.maxCommitDelay);
+      final int compactParallelism = value.get("compactParallelism").intValue(standard.compactParallelism);
+      final long maxCompactRate = value.get("maxCompactRate").longValue(standard.maxCompactRate);
+      final int pageBloomBits = value.get("pageBloomBits").intValue(standard.pageBloomBits);
+      final int cursorPrefetch = value.get("cursorPrefetch").intValue(standard.cursorPrefetch);
+      final int pageCacheSketchSize = value.get("pageCacheSketchSize").intValue(standard.pageCacheSketchSize);
       return new StoreSettings(pageSplitSize, pageCacheSize,
                                minCommitSize, maxCommitSize,
                                minCommitInterval, maxCommitTime,
                                minCompactSize, maxCompactSize,
                                maxCompactTime, maxZoneSize,
                                minZoneFill, minTreeFill,
-                               maxRetries, deleteDelay);
+                               maxRetries, deleteDelay,
+                               pageFormat, mapZones,
+                               maxPageCacheSize, maxCommitDelay,
+                               compactParallelism, maxCompactRate,
+                               pageBloomBits, cursorPrefetch,
+                               pageCacheSketchSize);
     }
     return null;
   }
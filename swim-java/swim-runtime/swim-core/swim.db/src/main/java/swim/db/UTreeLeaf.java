@@ -112,6 +112,17 @@ public final class UTreeLeaf extends UTreePage {
 
   @Override
   void memoizeSize(UTreePageRef pageRef) {
+    final int pageSize;
+    if (this.pageFormat().isBinary()) {
+      pageSize = PageFormat.binaryPageSize(this.toValue());
+    } else {
+      pageSize = this.reconPageSize();
+    }
+    pageRef.pageSize = pageSize; // Must match bytes written by writePage
+    pageRef.diffSize = pageSize; // Must match bytes written by writeDiff
+  }
+
+  int reconPageSize() {
     int pageSize = 12; // "@uleaf(stem:"
     pageSize += Recon.sizeOf(Num.from(this.pageRef.stem));
     pageSize += 3; // ",v:"
@@ -123,8 +134,7 @@ public final class UTreeLeaf extends UTreePage {
     pageSize += 1; // '}'
 
     pageSize += 1; // '\n'
-    pageRef.pageSize = pageSize; // Must match bytes written by writePage
-    pageRef.diffSize = pageSize; // Must match bytes written by writeDiff
+    return pageSize;
   }
 
   @Override
@@ -184,6 +184,11 @@ public final class UTreePageRef extends PageRef {
     return pageRefSize;
   }
 
+  @Override
+  int memoizedPageSize() {
+    return this.pageSize;
+  }
+
   @Override
   public int pageSize() {
     if (this.pageSize < 0) {
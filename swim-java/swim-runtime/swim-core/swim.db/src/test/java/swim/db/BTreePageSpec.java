@@ -15,10 +15,15 @@
 package swim.db;
 
 import org.testng.annotations.Test;
+import swim.structure.Data;
 import swim.structure.Num;
 import swim.structure.Slot;
+import swim.structure.Text;
 import swim.structure.Value;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertThrows;
+import static org.testng.Assert.assertTrue;
 
 public class BTreePageSpec {
 
@@ -198,4 +203,63 @@ public class BTreePageSpec {
     }
   }
 
+  @Test
+  public void testPrefixCompressedLeafKeys() {
+    final PageContext pageContext = new PageContext() {
+      @Override
+      public StoreSettings settings() {
+        return StoreSettings.standard().pageFormat(PageFormat.BINARY);
+      }
+    };
+    final int n = 100;
+    final Slot[] slots = new Slot[n];
+    for (int i = 0; i < n; i += 1) {
+      slots[i] = Slot.of(Text.from("warp://example.com/sensor/" + (1000 + 2 * i)), Num.from(i));
+    }
+    final BTreeLeaf leaf = BTreeLeaf.create(pageContext, 0, 1L, Value.absent(), slots);
+    final Value binaryValue = leaf.toBinaryValue();
+    assertEquals(binaryValue.header("bleaf").get("keys"), Num.from(n));
+    assertTrue(PageFormat.binaryPageSize(binaryValue) < PageFormat.binaryPageSize(leaf.toValue()));
+    assertEquals(leaf.pageSize(), PageFormat.binaryPageSize(binaryValue));
+
+    final BTreePageRef pageRef = new BTreePageRef(pageContext, PageType.LEAF, 0, 0, 0, 0L, n, Value.absent());
+    final BTreeLeaf loadedLeaf = BTreeLeaf.fromValue(pageRef, binaryValue);
+    assertEquals(loadedLeaf.arity(), n);
+    assertEquals(loadedLeaf.minKey(), slots[0].key());
+    assertEquals(loadedLeaf.maxKey(), slots[n - 1].key());
+    for (int i = 0; i < n; i += 1) {
+      final int key = 1000 + 2 * i;
+      assertEquals(loadedLeaf.lookup(Text.from("warp://example.com/sensor/" + key)), i);
+      assertEquals(loadedLeaf.lookup(Text.from("warp://example.com/sensor/" + (key + 1))),
+                   leaf.lookup(Text.from("warp://example.com/sensor/" + (key + 1))));
+      assertEquals(loadedLeaf.get(slots[i].key()), Num.from(i));
+      assertEquals(loadedLeaf.getKey(i), slots[i].key());
+    }
+    assertEquals(loadedLeaf.lookup(Text.from("a")), -1);
+    assertEquals(loadedLeaf.lookup(Text.from("z")), -(n + 1));
+    assertNull(loadedLeaf.slots);
+    for (int i = 0; i < n; i += 1) {
+      assertEquals(loadedLeaf.slots()[i], slots[i]);
+    }
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void testRejectUnpairedSurrogateLeafKeys() {
+    final Slot[] slots = new Slot[32];
+    for (int i = 0; i < slots.length; i += 1) {
+      slots[i] = Slot.of(Text.from("warp://example.com/sensor/" + (1000 + i) + (i == 7 ? "\ud800" : "")), Num.from(i));
+    }
+    BTreeLeafKeys.encode(slots);
+  }
+
+  @Test
+  public void testRejectTruncatedLeafKeyBlocks() {
+    assertThrows(StoreException.class, () -> BTreeLeafKeys.decode(Data.empty(), 2));
+    assertThrows(StoreException.class, () -> BTreeLeafKeys.decode(Data.wrap(new byte[] {(byte) 0x90}), 2));
+    assertThrows(StoreException.class, () -> BTreeLeafKeys.decode(Data.wrap(new byte[] {(byte) 0x10, 0, 0}), 2));
+    // A restart point past the end of the key entries.
+    final BTreeLeafKeys keys = BTreeLeafKeys.decode(Data.wrap(new byte[] {(byte) 0x10, 0, 0, 0, 0x7f}), 2);
+    assertThrows(StoreException.class, () -> keys.key(0));
+  }
+
 }
@@ -14,11 +14,16 @@
 
 package swim.db;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
+import java.nio.channels.Channels;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Random;
 import org.testng.annotations.Test;
+import swim.concurrent.Sync;
 import swim.concurrent.Theater;
 import swim.math.R2Point;
 import swim.math.R2Shape;
@@ -26,10 +31,15 @@ import swim.spatial.GeoProjection;
 import swim.spatial.SpatialMap;
 import swim.structure.Data;
 import swim.structure.Form;
+import swim.structure.Num;
+import swim.structure.Slot;
 import swim.structure.Text;
 import swim.structure.Value;
+import swim.util.Cursor;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
 
 public class FileStoreSpec {
 
@@ -286,6 +296,449 @@ public class FileStoreSpec {
     }
   }
 
+  @Test
+  public void testMixedPageFormats() throws InterruptedException {
+    final File storePath = new File(this.testOutputDir, "mixed-page-formats.swimdb");
+    this.writeBTreeMap(storePath, this.storeSettings.pageFormat(PageFormat.RECON), 0, 100);
+    this.writeBTreeMap(storePath, this.storeSettings.pageFormat(PageFormat.BINARY), 100, 200);
+    final Theater stage = new Theater();
+    final FileStore store = new FileStore(new StoreContext(this.storeSettings), storePath, stage);
+    store.open();
+    try {
+      stage.start();
+      final Database database = store.openDatabase();
+      final Map<String, Integer> map = database.openBTreeMap("test")
+                                               .keyForm(Form.forString())
+                                               .valueForm(Form.forInteger());
+      for (int i = 0; i < 200; i += 1) {
+        assertEquals(map.get("k" + i), Integer.valueOf(i));
+      }
+      store.close();
+      store.delete();
+    } finally {
+      stage.stop();
+    }
+  }
+
+  @Test
+  public void testMappedZoneReads() throws InterruptedException {
+    final File storePath = new File(this.testOutputDir, "mapped-zone-reads.swimdb");
+    final StoreSettings storeSettings = this.storeSettings.mapZones(true);
+    this.writeBTreeMap(storePath, storeSettings, 0, 100);
+    this.writeBTreeMap(storePath, storeSettings, 100, 200, Commit.forced().isShifted(true));
+    final Theater stage = new Theater();
+    final FileStore store = new FileStore(new StoreContext(storeSettings), storePath, stage);
+    store.open();
+    try {
+      stage.start();
+      final Database database = store.openDatabase();
+      final Map<String, Integer> map = database.openBTreeMap("test")
+                                               .keyForm(Form.forString())
+                                               .valueForm(Form.forInteger());
+      for (int i = 0; i < 200; i += 1) {
+        assertEquals(map.get("k" + i), Integer.valueOf(i));
+      }
+      final FileZone sealedZone = store.zone(store.zone().id() - 1);
+      assertNotNull(sealedZone);
+      if (!FileZone.WINDOWS) {
+        assertNotNull(sealedZone.mappedBuffer());
+      }
+      assertNull(store.zone().mappedBuffer());
+      store.close();
+      assertNull(sealedZone.mappedBuffer());
+      store.delete();
+    } finally {
+      stage.stop();
+    }
+  }
+
+  @Test
+  public void testBoundedPageCache() throws InterruptedException {
+    final File storePath = new File(this.testOutputDir, "bounded-page-cache.swimdb");
+    final StoreSettings storeSettings = this.storeSettings.maxPageCacheSize(4 * 1024);
+    this.writeBTreeMap(storePath, storeSettings, 0, 1000);
+    final Theater stage = new Theater();
+    final FileStore store = new FileStore(new StoreContext(storeSettings), storePath, stage);
+    store.open();
+    try {
+      stage.start();
+      final Database database = store.openDatabase();
+      final Map<String, Integer> map = database.openBTreeMap("test")
+                                               .keyForm(Form.forString())
+                                               .valueForm(Form.forInteger());
+      for (int j = 0; j < 2; j += 1) {
+        for (int i = 0; i < 1000; i += 1) {
+          assertEquals(map.get("k" + i), Integer.valueOf(i));
+        }
+      }
+      final PageCache pageCache = database.pageCache();
+      assertTrue(pageCache.size() <= pageCache.maxSize());
+      assertTrue(pageCache.hits() > 0L);
+      assertTrue(pageCache.misses() > 0L);
+      assertTrue(pageCache.evictions() > 0L);
+      store.close();
+      assertEquals(pageCache.size(), 0L);
+      store.delete();
+    } finally {
+      stage.stop();
+    }
+  }
+
+  @Test
+  public void testGroupCommit() throws InterruptedException {
+    final File storePath = new File(this.testOutputDir, "group-commit.swimdb");
+    final StoreSettings storeSettings = this.storeSettings.maxCommitDelay(200L);
+    final StoreContext storeContext = new StoreContext(storeSettings) {
+      @Override
+      public void treeDidChange(Store store, Database database, Tree newTree, Tree oldTree) {
+        // Disable auto commit.
+      }
+    };
+    final Theater stage = new Theater();
+    final FileStore store = new FileStore(storeContext, storePath, stage);
+    store.open();
+    try {
+      stage.start();
+      final Database database = store.openDatabase();
+      final BTreeMap map = database.openBTreeMap("test");
+      final List<Sync<Chunk>> commits = new ArrayList<Sync<Chunk>>();
+      for (int i = 0; i < 20; i += 1) {
+        map.put(Text.from("k" + i), Num.from(i));
+        final Sync<Chunk> commit = new Sync<Chunk>();
+        database.commitAsync(Commit.forced().andThen(commit));
+        commits.add(commit);
+      }
+      final Chunk chunk = commits.get(0).await();
+      assertNotNull(chunk);
+      for (int i = 1; i < commits.size(); i += 1) {
+        assertEquals(commits.get(i).await(), chunk);
+      }
+      store.close();
+      store.delete();
+    } finally {
+      stage.stop();
+    }
+  }
+
+  @Test
+  public void testParallelCompaction() throws InterruptedException {
+    final File storePath = new File(this.testOutputDir, "parallel-compaction.swimdb");
+    this.compactInParallel(storePath, this.storeSettings.compactParallelism(4)
+                                                        .minCompactSize(0L)
+                                                        .minTreeFill(0.5));
+  }
+
+  @Test
+  public void testIncrementalParallelCompaction() throws InterruptedException {
+    final File storePath = new File(this.testOutputDir, "incremental-parallel-compaction.swimdb");
+    // Evacuate a single root-to-leaf path of each tree per compaction step.
+    this.compactInParallel(storePath, this.storeSettings.compactParallelism(2)
+                                                        .minCompactSize(0L)
+                                                        .maxCompactSize(1L)
+                                                        .minTreeFill(0.5));
+  }
+
+  void compactInParallel(File storePath, StoreSettings storeSettings) throws InterruptedException {
+    final StoreContext storeContext = new StoreContext(storeSettings) {
+      @Override
+      public void treeDidChange(Store store, Database database, Tree newTree, Tree oldTree) {
+        // Disable auto commit.
+      }
+    };
+    final Theater stage = new Theater();
+    final FileStore store = new FileStore(storeContext, storePath, stage);
+    store.open();
+    try {
+      stage.start();
+      final Database database = store.openDatabase();
+      final int treeCount = 8;
+      for (int round = 0; round < 4; round += 1) {
+        for (int t = 0; t < treeCount; t += 1) {
+          final BTreeMap map = database.openBTreeMap("tree" + t);
+          for (int i = 0; i < 100; i += 1) {
+            map.put(Text.from("k" + i), Num.from(round * 100 + i));
+          }
+        }
+        database.commit(Commit.forced().isShifted(true));
+      }
+      final int oldestZoneId = store.oldestZoneId();
+      for (int i = 0; i < 20 && store.oldestZoneId() == oldestZoneId; i += 1) {
+        final BTreeMap map = database.openBTreeMap("tree0");
+        map.put(Text.from("commit"), Num.from(i));
+        database.commit(Commit.forced());
+      }
+      assertTrue(store.oldestZoneId() > oldestZoneId);
+      for (int t = 0; t < treeCount; t += 1) {
+        final BTreeMap map = database.openBTreeMap("tree" + t);
+        for (int i = 0; i < 100; i += 1) {
+          assertEquals(map.get(Text.from("k" + i)), Num.from(300 + i));
+        }
+      }
+      store.close();
+      store.delete();
+    } finally {
+      stage.stop();
+    }
+  }
+
+  @Test
+  public void testPageBloomFilters() throws InterruptedException {
+    final File storePath = new File(this.testOutputDir, "page-bloom-filters.swimdb");
+    final StoreSettings storeSettings = this.storeSettings.pageBloomBits(10);
+    this.writeBTreeMap(storePath, storeSettings, 0, 1000);
+    final Theater stage = new Theater();
+    final FileStore store = new FileStore(new StoreContext(storeSettings), storePath, stage);
+    store.open();
+    try {
+      stage.start();
+      final Database database = store.openDatabase();
+      final BTreeMap map = database.openBTreeMap("test");
+      int skipCount = 0;
+      for (int i = 0; i < 1000; i += 1) {
+        final Value key = Text.from("k" + i);
+        assertTrue(this.leafRefMightContainKey(map.tree(), key));
+        assertEquals(map.get(key), Num.from(i));
+        final Value absentKey = Text.from("k" + i + "x");
+        if (!this.leafRefMightContainKey(map.tree(), absentKey)) {
+          skipCount += 1;
+        }
+        assertEquals(map.get(absentKey), Value.absent());
+        assertNull(map.getEntry(absentKey));
+      }
+      assertTrue(skipCount > 900);
+      store.close();
+      store.delete();
+    } finally {
+      stage.stop();
+    }
+  }
+
+  @Test
+  public void testPrefixCompressedLeaves() throws InterruptedException {
+    final File storePath = new File(this.testOutputDir, "prefix-compressed-leaves.swimdb");
+    final StoreSettings storeSettings = this.storeSettings.pageFormat(PageFormat.BINARY);
+    final Theater stage = new Theater();
+    try {
+      stage.start();
+      for (int round = 0; round < 2; round += 1) {
+        final FileStore store = new FileStore(new StoreContext(storeSettings), storePath, stage);
+        store.open();
+        final Database database = store.openDatabase();
+        final Map<String, Integer> map = database.openBTreeMap("test")
+                                                 .keyForm(Form.forString())
+                                                 .valueForm(Form.forInteger());
+        if (round == 0) {
+          for (int i = 0; i < 1000; i += 1) {
+            map.put("warp://example.com/sensors/" + i + "/reading", i);
+          }
+        } else {
+          for (int i = 0; i < 1000; i += 1) {
+            assertEquals(map.get("warp://example.com/sensors/" + i + "/reading"), Integer.valueOf(i));
+            assertTrue(!map.containsKey("warp://example.com/sensors/" + i + "/readings"));
+          }
+          for (int i = 0; i < 1000; i += 2) {
+            map.put("warp://example.com/sensors/" + i + "/reading", -i);
+          }
+        }
+        database.commit(Commit.forced());
+        store.close();
+      }
+      final FileStore store = new FileStore(new StoreContext(storeSettings), storePath, stage);
+      store.open();
+      final Database database = store.openDatabase();
+      final BTreeMap map = database.openBTreeMap("test");
+      int i = 0;
+      Value prevKey = null;
+      for (Map.Entry<Value, Value> entry : map.entrySet()) {
+        if (prevKey != null) {
+          assertTrue(prevKey.compareTo(entry.getKey()) < 0);
+        }
+        final int k = Integer.parseInt(entry.getKey().stringValue().split("/")[4]);
+        assertEquals(entry.getValue(), Num.from((k & 1) == 0 ? -k : k));
+        prevKey = entry.getKey();
+        i += 1;
+      }
+      assertEquals(i, 1000);
+      store.close();
+      store.delete();
+    } finally {
+      stage.stop();
+    }
+  }
+
+  @Test
+  public void testPrefetchCursors() throws InterruptedException {
+    final File storePath = new File(this.testOutputDir, "prefetch-cursors.swimdb");
+    final StoreSettings storeSettings = this.storeSettings.cursorPrefetch(4);
+    final StoreContext storeContext = new StoreContext(storeSettings) {
+      @Override
+      public boolean pageShouldSplit(Store store, Database database, Page page) {
+        return page.arity() > 8;
+      }
+
+      @Override
+      public boolean pageShouldMerge(Store store, Database database, Page page) {
+        return page.arity() < 4;
+      }
+    };
+    final Theater stage = new Theater();
+    try {
+      stage.start();
+      FileStore store = new FileStore(storeContext, storePath, stage);
+      store.open();
+      Database database = store.openDatabase();
+      final Map<String, Integer> map = database.openBTreeMap("map")
+                                               .keyForm(Form.forString())
+                                               .valueForm(Form.forInteger());
+      final List<String> list = database.openSTreeList("list")
+                                        .valueForm(Form.forString());
+      for (int i = 0; i < 1000; i += 1) {
+        map.put("k" + (1000 + i), i);
+        list.add("v" + i);
+      }
+      database.commit(Commit.forced());
+      store.close();
+
+      store = new FileStore(storeContext, storePath, stage);
+      store.open();
+      database = store.openDatabase();
+      final BTreeMap btreeMap = database.openBTreeMap("map");
+      final Cursor<Map.Entry<Value, Value>> mapCursor = btreeMap.tree().cursor();
+      assertTrue(mapCursor instanceof BTreeNodePrefetchCursor);
+      for (int i = 0; i < 1000; i += 1) {
+        assertTrue(mapCursor.hasNext());
+        final Map.Entry<Value, Value> entry = mapCursor.next();
+        assertEquals(entry.getKey(), Text.from("k" + (1000 + i)));
+        assertEquals(entry.getValue(), Num.from(i));
+      }
+      assertTrue(!mapCursor.hasNext());
+      for (PagePrefetch prefetch : ((BTreeNodePrefetchCursor) mapCursor).prefetches) {
+        assertNull(prefetch);
+      }
+      final STreeList streeList = database.openSTreeList("list");
+      final Cursor<Slot> listCursor = streeList.tree().cursor();
+      assertTrue(listCursor instanceof STreeNodePrefetchCursor);
+      for (int i = 0; i < 1000; i += 1) {
+        assertTrue(listCursor.hasNext());
+        assertEquals(listCursor.next().getValue(), Text.from("v" + i));
+      }
+      assertTrue(!listCursor.hasNext());
+      for (PagePrefetch prefetch : ((STreeNodePrefetchCursor) listCursor).prefetches) {
+        assertNull(prefetch);
+      }
+      store.close();
+      store.delete();
+    } finally {
+      stage.stop();
+    }
+  }
+
+  @Test
+  public void testSnapshotStreaming() throws InterruptedException {
+    final File storePath = new File(this.testOutputDir, "snapshot-source.swimdb");
+    final File restorePath = new File(this.testOutputDir, "snapshot-restore.swimdb");
+    this.writeBTreeMap(storePath, this.storeSettings, 0, 100);
+    this.writeBTreeMap(storePath, this.storeSettings, 100, 200, Commit.forced().isShifted(true));
+    final Theater stage = new Theater();
+    try {
+      stage.start();
+      final FileStore store = new FileStore(new StoreContext(this.storeSettings), storePath, stage);
+      store.open();
+      final Database database = store.openDatabase();
+      final Map<String, Integer> map = database.openBTreeMap("test")
+                                               .keyForm(Form.forString())
+                                               .valueForm(Form.forInteger());
+      final FileStoreSnapshot snapshot = store.snapshot();
+      assertEquals(snapshot.post(), store.oldestZoneId());
+      // Changes committed after the snapshot was taken must not be streamed.
+      for (int i = 0; i < 200; i += 1) {
+        map.put("k" + i, -i);
+      }
+      database.commit(Commit.forced().isShifted(true));
+      store.deletePost(store.zone().id());
+      assertTrue(store.zoneFile(snapshot.post()).exists());
+
+      final ByteArrayOutputStream output = new ByteArrayOutputStream();
+      snapshot.writeTo(output);
+      assertTrue(snapshot.isDone());
+      assertEquals((long) output.size(), snapshot.size());
+      store.deletePost(store.zone().id());
+      assertTrue(!store.zoneFile(snapshot.post()).exists());
+      store.close();
+      store.delete();
+
+      final FileStore restoredStore = new FileStore(new StoreContext(this.storeSettings), restorePath, stage);
+      restoredStore.delete();
+      restoredStore.restore(Channels.newChannel(new ByteArrayInputStream(output.toByteArray())));
+      restoredStore.open();
+      final Map<String, Integer> restoredMap = restoredStore.openDatabase().openBTreeMap("test")
+                                                            .keyForm(Form.forString())
+                                                            .valueForm(Form.forInteger());
+      assertEquals(restoredMap.size(), 200);
+      for (int i = 0; i < 200; i += 1) {
+        assertEquals(restoredMap.get("k" + i), Integer.valueOf(i));
+      }
+      restoredStore.close();
+      restoredStore.delete();
+    } finally {
+      stage.stop();
+    }
+  }
+
+  boolean leafRefMightContainKey(BTree tree, Value key) {
+    BTreePage page = tree.rootPage();
+    while (page instanceof BTreeNode) {
+      final BTreeNode node = (BTreeNode) page;
+      int x = node.lookup(key);
+      if (x >= 0) {
+        x += 1;
+      } else {
+        x = -(x + 1);
+      }
+      final BTreePageRef childRef = node.childRefs[x];
+      if (childRef.pageType() == PageType.LEAF) {
+        return childRef.mightContainKey(key);
+      }
+      page = childRef.page();
+    }
+    return true;
+  }
+
+  void writeBTreeMap(File storePath, StoreSettings storeSettings, int from, int until) throws InterruptedException {
+    this.writeBTreeMap(storePath, storeSettings, from, until, Commit.forced());
+  }
+
+  void writeBTreeMap(File storePath, StoreSettings storeSettings, int from, int until, Commit commit) throws InterruptedException {
+    final Theater stage = new Theater();
+    final StoreContext storeContext = new StoreContext(storeSettings) {
+      @Override
+      public boolean pageShouldSplit(Store store, Database database, Page page) {
+        return page.arity() > 8;
+      }
+
+      @Override
+      public boolean pageShouldMerge(Store store, Database database, Page page) {
+        return page.arity() < 4;
+      }
+    };
+    final FileStore store = new FileStore(storeContext, storePath, stage);
+    store.open();
+    try {
+      stage.start();
+      final Database database = store.openDatabase();
+      final Map<String, Integer> map = database.openBTreeMap("test")
+                                               .keyForm(Form.forString())
+                                               .valueForm(Form.forInteger());
+      for (int i = from; i < until; i += 1) {
+        map.put("k" + i, i);
+      }
+      database.commit(commit);
+      store.close();
+    } finally {
+      stage.stop();
+    }
+  }
+
   @Test
   public void benchmarkLargeWrites() throws InterruptedException {
     final File storePath = new File(this.testOutputDir, "large-writes.swimdb");
@@ -329,7 +782,7 @@ public class FileStoreSpec {
       final long dataRate = (1000L * size) / (dt * (1 << 20));
       System.out.println("Wrote " + (size / (1 << 20)) + " MiB (" + dataRate + " MiB/second)");
 
-      System.out.println("Page cache hit ratio: " + (int) (store.pageCache().hitRatio() * 100) + "%");
+      System.out.println("Page cache hit ratio: " + (int) (store.database().pageCache().hitRatio() * 100) + "%");
     } finally {
       stage.stop();
     }
@@ -378,7 +831,7 @@ public class FileStoreSpec {
       final long dataRate = (1000L * size) / (dt * (1 << 10));
       System.out.println("Wrote " + (size / (1 << 10)) + " KiB (" + dataRate + " KiB/second)");
 
-      System.out.println("Page cache hit ratio: " + (int) (store.pageCache().hitRatio() * 100) + "%");
+      System.out.println("Page cache hit ratio: " + (int) (store.database().pageCache().hitRatio() * 100) + "%");
     } finally {
       stage.stop();
     }
@@ -420,7 +873,7 @@ public class FileStoreSpec {
       final long changeRate = (1000L * i) / dt;
       System.out.println("Applied " + i + " state changes in " + dt + " milliseconds (" + changeRate + " changes/second)");
 
-      System.out.println("Page cache hit ratio: " + (int) (store.pageCache().hitRatio() * 100) + "%");
+      System.out.println("Page cache hit ratio: " + (int) (store.database().pageCache().hitRatio() * 100) + "%");
     } finally {
       stage.stop();
     }
@@ -465,7 +918,7 @@ public class FileStoreSpec {
       final long changeRate = (1000L * i) / dt;
       System.out.println("Updated " + i + " tiles in " + dt + " milliseconds (" + changeRate + " updates/second)");
 
-      System.out.println("Page cache hit ratio: " + (int) (store.pageCache().hitRatio() * 100) + "%");
+      System.out.println("Page cache hit ratio: " + (int) (store.database().pageCache().hitRatio() * 100) + "%");
     } finally {
       stage.stop();
     }
@@ -15,6 +15,7 @@
 package swim.io.warp;
 
 import swim.codec.Decoder;
+import swim.concurrent.Schedule;
 import swim.io.http.HttpClientContext;
 import swim.io.ws.AbstractWsClient;
 import swim.io.ws.WebSocketContext;
@@ -74,10 +75,14 @@ public abstract class AbstractWarpClient extends AbstractWsClient implements Web
     return this.warpSettings;
   }
 
-  protected WsUpgradeRequester upgrade(WarpSocket warpSocket, WsRequest wsRequest) {
-    final WarpWebSocket webSocket = new WarpWebSocket(warpSocket, this.warpSettings);
+  protected WsUpgradeRequester upgrade(WarpSocket warpSocket, WsRequest wsRequest, Schedule schedule) {
+    final WarpWebSocket webSocket = new WarpWebSocket(warpSocket, this.warpSettings, schedule);
     warpSocket.setWarpSocketContext(webSocket); // eagerly set
     return new WsUpgradeRequester(webSocket, wsRequest, this.wsSettings);
   }
 
+  protected WsUpgradeRequester upgrade(WarpSocket warpSocket, WsRequest wsRequest) {
+    return this.upgrade(warpSocket, wsRequest, null);
+  }
+
 }
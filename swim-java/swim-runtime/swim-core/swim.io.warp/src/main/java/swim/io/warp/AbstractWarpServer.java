@@ -14,10 +14,12 @@
 
 package swim.io.warp;
 
+import swim.concurrent.Schedule;
 import swim.io.http.HttpServerContext;
 import swim.io.ws.AbstractWsServer;
 import swim.io.ws.WsSettings;
 import swim.io.ws.WsUpgradeResponder;
+import swim.ws.WsRequest;
 import swim.ws.WsResponse;
 
 public abstract class AbstractWarpServer extends AbstractWsServer {
@@ -47,10 +49,23 @@ public abstract class AbstractWarpServer extends AbstractWsServer {
     return this.warpSettings;
   }
 
-  protected WsUpgradeResponder upgrade(WarpSocket warpSocket, WsResponse wsResponse) {
-    final WarpWebSocket webSocket = new WarpWebSocket(warpSocket, this.warpSettings);
+  /**
+   * Accepts a WebSocket handshake, selecting the binary WARP protocol when
+   * the client offers it; returns {@code null} if the request can't be
+   * upgraded.
+   */
+  protected WsResponse accept(WsRequest wsRequest) {
+    return wsRequest.accept(this.wsSettings, WarpWebSocket.acceptProtocol(wsRequest.protocols()));
+  }
+
+  protected WsUpgradeResponder upgrade(WarpSocket warpSocket, WsResponse wsResponse, Schedule schedule) {
+    final WarpWebSocket webSocket = new WarpWebSocket(warpSocket, this.warpSettings, schedule);
     warpSocket.setWarpSocketContext(webSocket); // eagerly set
     return new WsUpgradeResponder(webSocket, wsResponse, this.wsSettings);
   }
 
+  protected WsUpgradeResponder upgrade(WarpSocket warpSocket, WsResponse wsResponse) {
+    return this.upgrade(warpSocket, wsResponse, null);
+  }
+
 }
@@ -15,19 +15,32 @@
 package swim.io.warp;
 
 import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
 import java.security.Principal;
 import java.security.cert.Certificate;
 import java.util.Collection;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import swim.codec.Binary;
+import swim.codec.Decoder;
+import swim.codec.InputBuffer;
+import swim.collections.FingerTrieSeq;
 import swim.concurrent.ConcurrentTrancheQueue;
 import swim.concurrent.Cont;
 import swim.concurrent.DropException;
 import swim.concurrent.PullContext;
 import swim.concurrent.PullRequest;
 import swim.concurrent.PushRequest;
+import swim.concurrent.Schedule;
 import swim.concurrent.StayContext;
+import swim.concurrent.TimerFunction;
+import swim.concurrent.TimerRef;
+import swim.http.HttpHeader;
 import swim.http.HttpRequest;
 import swim.http.HttpResponse;
+import swim.http.header.SecWebSocketProtocolHeader;
 import swim.io.FlowControl;
 import swim.io.FlowModifier;
 import swim.io.IpSocket;
@@ -35,27 +48,70 @@ import swim.io.ws.WebSocket;
 import swim.io.ws.WebSocketContext;
 import swim.warp.Envelope;
 import swim.warp.WarpException;
+import swim.ws.WsBinaryFrame;
 import swim.ws.WsCloseFrame;
 import swim.ws.WsControlFrame;
 import swim.ws.WsDataFrame;
 import swim.ws.WsFragmentFrame;
 import swim.ws.WsFrame;
+import swim.ws.WsOpcode;
 import swim.ws.WsTextFrame;
 
 public class WarpWebSocket implements WebSocket<Envelope, Envelope>, WarpSocketContext, PullContext<Envelope>, StayContext {
 
   protected final WarpSocket socket;
   protected final WarpSettings warpSettings;
+  /**
+   * Schedule on which lingering batches get flushed, or {@code null} if
+   * batches never linger.
+   */
+  protected final Schedule schedule;
   final ConcurrentTrancheQueue<PullRequest<Envelope>> supply;
   protected WebSocketContext<Envelope, Envelope> context;
   volatile long status;
-
-  public WarpWebSocket(WarpSocket socket, WarpSettings warpSettings) {
+  /**
+   * Pushed envelope frames held back to be written together, when batching
+   * is enabled.
+   */
+  final ConcurrentLinkedQueue<WarpWebSocketBatchFrame> batch;
+  /**
+   * Total payload bytes of the frames in the {@link #batch} queue.
+   */
+  volatile long batchSize;
+  /**
+   * Non-zero while a thread is writing out the {@link #batch} queue.
+   */
+  volatile int batchFlushing;
+  /**
+   * Timer that flushes a lingering batch, if one is scheduled.
+   */
+  volatile TimerRef batchTimer;
+  volatile long batchCount;
+  volatile long batchEnvelopeCount;
+  volatile long batchByteCount;
+
+  public WarpWebSocket(WarpSocket socket, WarpSettings warpSettings, Schedule schedule) {
     this.socket = socket;
     this.warpSettings = warpSettings;
+    this.schedule = schedule;
     this.supply = new ConcurrentTrancheQueue<PullRequest<Envelope>>(WarpWebSocket.TRANCHES);
     this.context = null;
     this.status = 0L;
+    this.batch = new ConcurrentLinkedQueue<WarpWebSocketBatchFrame>();
+    this.batchSize = 0L;
+    this.batchFlushing = 0;
+    this.batchTimer = null;
+    this.batchCount = 0L;
+    this.batchEnvelopeCount = 0L;
+    this.batchByteCount = 0L;
+  }
+
+  public WarpWebSocket(WarpSocket socket, WarpSettings warpSettings) {
+    this(socket, warpSettings, null);
+  }
+
+  public final Schedule schedule() {
+    return this.schedule;
   }
 
   @Override
@@ -90,7 +146,7 @@ public class WarpWebSocket implements WebSocket<Envelope, Envelope>, WarpSocketC
       } else if (frame instanceof WsControlFrame<?, ?>) {
         this.socket.didRead((WsControlFrame<?, ?>) frame);
       }
-      this.context.read(Envelope.decoder());
+      this.context.read(WarpWebSocket.envelopeDecoder());
     }
   }
 
@@ -125,13 +181,14 @@ public class WarpWebSocket implements WebSocket<Envelope, Envelope>, WarpSocketC
 
   @Override
   public void didUpgrade(HttpRequest<?> httpRequest, HttpResponse<?> httpResponse) {
+    final long protocolFlags = WarpWebSocket.isBinaryProtocol(httpResponse) ? WarpWebSocket.BINARY : 0L;
     do {
       final long oldStatus = WarpWebSocket.STATUS.get(this);
-      final long newStatus = oldStatus | WarpWebSocket.UPGRADED;
+      final long newStatus = oldStatus | WarpWebSocket.UPGRADED | protocolFlags;
       if (oldStatus != newStatus) {
         if (WarpWebSocket.STATUS.compareAndSet(this, oldStatus, newStatus)) {
           this.socket.didUpgrade(httpRequest, httpResponse);
-          this.context.read(Envelope.decoder());
+          this.context.read(WarpWebSocket.envelopeDecoder());
           this.generateDemand();
           break;
         }
@@ -346,12 +403,14 @@ public class WarpWebSocket implements WebSocket<Envelope, Envelope>, WarpSocketC
 
   @Override
   public void push(Envelope envelope) {
+    long newDemand;
+    long newBuffer;
     do {
       final long oldStatus = WarpWebSocket.STATUS.get(this);
       final long oldDemand = (oldStatus & WarpWebSocket.DEMAND_MASK) >>> WarpWebSocket.DEMAND_SHIFT;
       final long oldBuffer = (oldStatus & WarpWebSocket.BUFFER_MASK) >>> WarpWebSocket.BUFFER_SHIFT;
-      final long newDemand = oldDemand - 1L;
-      final long newBuffer = oldBuffer + 1L;
+      newDemand = oldDemand - 1L;
+      newBuffer = oldBuffer + 1L;
       if (newDemand >= 0L) {
         if (newBuffer <= WarpWebSocket.BUFFER_MAX) {
           final long newStatus = oldStatus & ~(WarpWebSocket.DEMAND_MASK | WarpWebSocket.BUFFER_MASK)
@@ -367,7 +426,141 @@ public class WarpWebSocket implements WebSocket<Envelope, Envelope>, WarpSocketC
         throw new WarpException("overdemand");
       }
     } while (true);
-    this.context.write(WsTextFrame.create(envelope, envelope.reconEncoder()));
+    if (this.batchEnabled()) {
+      this.batch(envelope, newDemand, newBuffer);
+    } else if ((WarpWebSocket.STATUS.get(this) & WarpWebSocket.BINARY) != 0) {
+      this.context.write(WsBinaryFrame.create(envelope, envelope.binaryEncoder()));
+    } else {
+      this.context.write(WsTextFrame.create(envelope, envelope.reconEncoder()));
+    }
+  }
+
+  /**
+   * Adds a pushed envelope to the pending batch of frames. The batch gets
+   * written once it reaches the maximum batch size, or once every pulled
+   * envelope has been pushed, so that all ready envelopes go out together
+   * in one write cycle. With a non-zero linger, the batch instead waits up
+   * to the linger time for more envelopes, unless the demand window is full.
+   */
+  void batch(Envelope envelope, long demand, long buffer) {
+    final long batchLinger = this.batchLinger();
+    final boolean binary = (WarpWebSocket.STATUS.get(this) & WarpWebSocket.BINARY) != 0;
+    // Encode the envelope up front to account for its size in the batch.
+    final byte[] payload = binary ? envelope.toBinary() : envelope.toRecon().getBytes(StandardCharsets.UTF_8);
+    final WsDataFrame<Envelope> frame;
+    if (binary) {
+      frame = WsBinaryFrame.create(envelope, Binary.byteArrayWriter(envelope, payload));
+    } else {
+      frame = WsTextFrame.create(envelope, Binary.byteArrayWriter(envelope, payload));
+    }
+    final long batchSize = WarpWebSocket.BATCH_SIZE.addAndGet(this, (long) payload.length);
+    this.batch.add(new WarpWebSocketBatchFrame(frame, payload.length));
+    if (batchSize >= this.batchBytes()
+        || demand == 0L && (batchLinger == 0L || buffer >= WarpWebSocket.TARGET_DEMAND)) {
+      this.flushBatch();
+    } else if (batchLinger > 0L && this.batchTimer == null) {
+      final TimerRef batchTimer = this.schedule.setTimer(batchLinger, new WarpWebSocketBatchTimer(this));
+      if (!WarpWebSocket.BATCH_TIMER.compareAndSet(this, null, batchTimer)) {
+        batchTimer.cancel();
+      }
+    }
+  }
+
+  /**
+   * Writes all batched frames back to back, so that the transport coalesces
+   * them into as few output buffers, and socket writes, as possible.
+   */
+  void flushBatch() {
+    do {
+      if (!WarpWebSocket.BATCH_FLUSHING.compareAndSet(this, 0, 1)) {
+        // Another thread is flushing; it will recheck the batch when it's done.
+        return;
+      }
+      try {
+        final TimerRef batchTimer = WarpWebSocket.BATCH_TIMER.getAndSet(this, null);
+        if (batchTimer != null) {
+          batchTimer.cancel();
+        }
+        long envelopeCount = 0L;
+        long byteCount = 0L;
+        do {
+          final WarpWebSocketBatchFrame batchFrame = this.batch.poll();
+          if (batchFrame == null) {
+            break;
+          }
+          WarpWebSocket.BATCH_SIZE.addAndGet(this, -(long) batchFrame.size);
+          this.context.write(batchFrame.frame);
+          envelopeCount += 1L;
+          byteCount += (long) batchFrame.size;
+        } while (true);
+        if (envelopeCount != 0L) {
+          // Batch statistics only get updated by the flushing thread.
+          this.batchCount += 1L;
+          this.batchEnvelopeCount += envelopeCount;
+          this.batchByteCount += byteCount;
+        }
+      } finally {
+        WarpWebSocket.BATCH_FLUSHING.set(this, 0);
+      }
+    } while (!this.batch.isEmpty());
+  }
+
+  /**
+   * Returns {@code true} if pushed envelopes get held back and written in
+   * batches; defaults to the {@code swim.warp.batch} system property.
+   */
+  protected boolean batchEnabled() {
+    return WarpWebSocket.BATCH_ENABLED;
+  }
+
+  /**
+   * Returns the payload size, in bytes, at which a batch gets written
+   * without waiting for more envelopes; defaults to the
+   * {@code swim.warp.batch.bytes} system property.
+   */
+  protected long batchBytes() {
+    return WarpWebSocket.BATCH_BYTES;
+  }
+
+  /**
+   * Returns the maximum number of milliseconds a batched envelope waits for
+   * its batch to fill; defaults to the {@code swim.warp.batch.linger} system
+   * property, or to zero if this websocket has no {@link #schedule()}.
+   */
+  protected long batchLinger() {
+    return this.schedule != null ? WarpWebSocket.BATCH_LINGER : 0L;
+  }
+
+  /**
+   * Returns the number of batches of envelopes written by this websocket.
+   */
+  public long batchCount() {
+    return this.batchCount;
+  }
+
+  /**
+   * Returns the total number of envelopes written in batches by this
+   * websocket; divided by the {@link #batchCount() batch count}, the
+   * average number of envelopes per batch.
+   */
+  public long batchEnvelopeCount() {
+    return this.batchEnvelopeCount;
+  }
+
+  /**
+   * Returns the total number of payload bytes written in batches by this
+   * websocket.
+   */
+  public long batchByteCount() {
+    return this.batchByteCount;
+  }
+
+  /**
+   * Returns {@code true} if this websocket negotiated the binary WARP
+   * protocol, and so sends envelopes in binary frames.
+   */
+  public boolean isBinary() {
+    return (WarpWebSocket.STATUS.get(this) & WarpWebSocket.BINARY) != 0;
   }
 
   @Override
@@ -379,6 +572,10 @@ public class WarpWebSocket implements WebSocket<Envelope, Envelope>, WarpSocketC
       if (newDemand >= 0L) {
         final long newStatus = oldStatus & ~WarpWebSocket.DEMAND_MASK | newDemand << WarpWebSocket.DEMAND_SHIFT;
         if (WarpWebSocket.STATUS.compareAndSet(this, oldStatus, newStatus)) {
+          if (newDemand == 0L && this.batchEnabled() && this.batchLinger() == 0L) {
+            // The skipped envelope was the last one the batch was waiting on.
+            this.flushBatch();
+          }
           break;
         }
       } else {
@@ -430,6 +627,10 @@ public class WarpWebSocket implements WebSocket<Envelope, Envelope>, WarpSocketC
 
   @Override
   public void write(WsControlFrame<?, ? extends Envelope> frame) {
+    if (this.batchEnabled()) {
+      // Keep control frames ordered after any batched envelopes.
+      this.flushBatch();
+    }
     if (frame instanceof WsCloseFrame<?, ?>) {
       do {
         final long oldStatus = WarpWebSocket.STATUS.get(this);
@@ -485,6 +686,17 @@ public class WarpWebSocket implements WebSocket<Envelope, Envelope>, WarpSocketC
     }
     final WebSocketContext<Envelope, Envelope> context = this.context;
     if (context != null) {
+      if (this.batchEnabled()) {
+        try {
+          // Write out any batched envelopes ahead of closing.
+          this.flushBatch();
+        } catch (Throwable cause) {
+          if (!Cont.isNonFatal(cause)) {
+            throw cause;
+          }
+          failure = cause;
+        }
+      }
       context.close();
     }
     if (failure instanceof RuntimeException) {
@@ -494,6 +706,65 @@ public class WarpWebSocket implements WebSocket<Envelope, Envelope>, WarpSocketC
     }
   }
 
+  /**
+   * WebSocket subprotocol over which envelopes are sent as Recon text.
+   */
+  public static final String PROTOCOL = "warp0";
+
+  /**
+   * WebSocket subprotocol over which envelopes are sent in the compact
+   * binary WARP format. Browser clients, which don't offer it, fall back
+   * to the text protocol.
+   */
+  public static final String BINARY_PROTOCOL = "warp0-binary";
+
+  /**
+   * Returns the WebSocket subprotocols a WARP client offers, in order of
+   * preference.
+   */
+  public static FingerTrieSeq<String> protocols() {
+    if (WarpWebSocket.BINARY_ENABLED) {
+      return FingerTrieSeq.of(WarpWebSocket.BINARY_PROTOCOL, WarpWebSocket.PROTOCOL);
+    } else {
+      return FingerTrieSeq.of(WarpWebSocket.PROTOCOL);
+    }
+  }
+
+  /**
+   * Returns the WebSocket subprotocol a WARP server selects from the
+   * {@code protocols} offered by a client, or {@code null} to send text
+   * envelopes without acknowledging a subprotocol.
+   */
+  public static String acceptProtocol(FingerTrieSeq<String> protocols) {
+    if (WarpWebSocket.BINARY_ENABLED && protocols.contains(WarpWebSocket.BINARY_PROTOCOL)) {
+      return WarpWebSocket.BINARY_PROTOCOL;
+    } else {
+      return null;
+    }
+  }
+
+  static boolean isBinaryProtocol(HttpResponse<?> httpResponse) {
+    for (HttpHeader header : httpResponse.headers()) {
+      if (header instanceof SecWebSocketProtocolHeader) {
+        return ((SecWebSocketProtocolHeader) header).protocols().contains(WarpWebSocket.BINARY_PROTOCOL);
+      }
+    }
+    return false;
+  }
+
+  private static Decoder<Envelope> envelopeDecoder;
+
+  /**
+   * Returns a payload {@code Decoder} that reads Recon envelopes from text
+   * frames, and binary envelopes from binary frames.
+   */
+  static Decoder<Envelope> envelopeDecoder() {
+    if (WarpWebSocket.envelopeDecoder == null) {
+      WarpWebSocket.envelopeDecoder = new WarpWebSocketDecoder();
+    }
+    return WarpWebSocket.envelopeDecoder;
+  }
+
   static final long SUPPLY_MAX;
   static final long DEMAND_MAX;
   static final long BUFFER_MAX;
@@ -504,6 +775,31 @@ public class WarpWebSocket implements WebSocket<Envelope, Envelope>, WarpSocketC
   static final long BUFFER_MASK;
   static final long UPGRADED;
   static final long CLOSING;
+  static final long BINARY;
+
+  static final boolean BINARY_ENABLED = Boolean.parseBoolean(System.getProperty("swim.warp.binary", "true"));
+  /**
+   * Whether received envelopes get decoded header-first, leaving their
+   * bodies unparsed until first accessed. Disabled by default; enable with
+   * the {@code swim.warp.lazy} system property.
+   */
+  static final boolean LAZY_DECODE = Boolean.parseBoolean(System.getProperty("swim.warp.lazy", "false"));
+
+  /**
+   * Whether pushed envelopes get held back and written in batches.
+   */
+  static final boolean BATCH_ENABLED = Boolean.parseBoolean(System.getProperty("swim.warp.batch", "false"));
+  /**
+   * Payload size, in bytes, at which a batch gets written without waiting
+   * for more envelopes.
+   */
+  static final long BATCH_BYTES;
+  /**
+   * Maximum number of milliseconds a batched envelope waits for its batch
+   * to fill, or zero to write each batch as soon as all pulled envelopes
+   * have been pushed.
+   */
+  static final long BATCH_LINGER;
 
   static final long TARGET_DEMAND;
   static final int TRANCHES;
@@ -511,6 +807,15 @@ public class WarpWebSocket implements WebSocket<Envelope, Envelope>, WarpSocketC
   static final AtomicLongFieldUpdater<WarpWebSocket> STATUS =
       AtomicLongFieldUpdater.newUpdater(WarpWebSocket.class, "status");
 
+  static final AtomicLongFieldUpdater<WarpWebSocket> BATCH_SIZE =
+      AtomicLongFieldUpdater.newUpdater(WarpWebSocket.class, "batchSize");
+
+  static final AtomicIntegerFieldUpdater<WarpWebSocket> BATCH_FLUSHING =
+      AtomicIntegerFieldUpdater.newUpdater(WarpWebSocket.class, "batchFlushing");
+
+  static final AtomicReferenceFieldUpdater<WarpWebSocket, TimerRef> BATCH_TIMER =
+      AtomicReferenceFieldUpdater.newUpdater(WarpWebSocket.class, TimerRef.class, "batchTimer");
+
   static {
     int supplyBits;
     try {
@@ -547,6 +852,7 @@ public class WarpWebSocket implements WebSocket<Envelope, Envelope>, WarpSocketC
     BUFFER_MASK = BUFFER_MAX << BUFFER_SHIFT;
     UPGRADED = 1L << 60;
     CLOSING = 1L << 61;
+    BINARY = 1L << 62;
 
     int targetDemand;
     try {
@@ -563,6 +869,68 @@ public class WarpWebSocket implements WebSocket<Envelope, Envelope>, WarpSocketC
       tranches = 5;
     }
     TRANCHES = tranches;
+
+    long batchBytes;
+    try {
+      batchBytes = Long.parseLong(System.getProperty("swim.warp.batch.bytes"));
+    } catch (NumberFormatException e) {
+      batchBytes = 64L * 1024L;
+    }
+    BATCH_BYTES = batchBytes;
+
+    long batchLinger;
+    try {
+      batchLinger = Long.parseLong(System.getProperty("swim.warp.batch.linger"));
+    } catch (NumberFormatException e) {
+      batchLinger = 0L;
+    }
+    BATCH_LINGER = batchLinger;
+  }
+
+}
+
+final class WarpWebSocketDecoder extends Decoder<Envelope> {
+
+  @Override
+  public Decoder<Envelope> fork(Object condition) {
+    if (condition == WsOpcode.BINARY) {
+      return WarpWebSocket.LAZY_DECODE ? Envelope.lazyBinaryDecoder() : Envelope.binaryDecoder();
+    } else if (condition == WsOpcode.TEXT) {
+      return WarpWebSocket.LAZY_DECODE ? Envelope.lazyDecoder() : Envelope.decoder();
+    }
+    return this;
+  }
+
+  @Override
+  public Decoder<Envelope> feed(InputBuffer input) {
+    return this.fork(WsOpcode.TEXT).feed(input);
+  }
+
+}
+
+final class WarpWebSocketBatchFrame {
+
+  final WsDataFrame<Envelope> frame;
+  final int size;
+
+  WarpWebSocketBatchFrame(WsDataFrame<Envelope> frame, int size) {
+    this.frame = frame;
+    this.size = size;
+  }
+
+}
+
+final class WarpWebSocketBatchTimer implements TimerFunction {
+
+  final WarpWebSocket webSocket;
+
+  WarpWebSocketBatchTimer(WarpWebSocket webSocket) {
+    this.webSocket = webSocket;
+  }
+
+  @Override
+  public void runTimer() {
+    this.webSocket.flushBatch();
   }
 
 }
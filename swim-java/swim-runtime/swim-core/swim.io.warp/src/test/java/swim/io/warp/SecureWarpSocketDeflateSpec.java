@@ -14,6 +14,7 @@
 
 package swim.io.warp;
 
+import swim.collections.FingerTrieSeq;
 import swim.io.IpServiceRef;
 import swim.io.IpSocketRef;
 import swim.io.http.HttpClient;
@@ -37,8 +38,8 @@ public class SecureWarpSocketDeflateSpec extends WarpSocketBehaviors {
   }
 
   @Override
-  protected IpSocketRef connect(HttpEndpoint endpoint, final WarpSocket socket) {
-    final WsRequest wsRequest = this.warpSettings.wsSettings().handshakeRequest(this.wsUri);
+  protected IpSocketRef connect(HttpEndpoint endpoint, final WarpSocket socket, FingerTrieSeq<String> protocols) {
+    final WsRequest wsRequest = this.warpSettings.wsSettings().handshakeRequest(this.wsUri, protocols);
     final HttpClient client = new AbstractWarpClient(this.warpSettings) {
       @Override
       public void didConnect() {
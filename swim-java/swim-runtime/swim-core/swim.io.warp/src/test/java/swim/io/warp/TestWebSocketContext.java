@@ -0,0 +1,170 @@
+// Copyright 2015-2023 Swim.inc
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.io.warp;
+
+import java.net.InetSocketAddress;
+import java.security.Principal;
+import java.security.cert.Certificate;
+import java.util.Collection;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import swim.codec.Decoder;
+import swim.io.FlowControl;
+import swim.io.FlowModifier;
+import swim.io.IpSocket;
+import swim.io.ws.WebSocketContext;
+import swim.io.ws.WsSettings;
+import swim.warp.Envelope;
+import swim.ws.WsControlFrame;
+import swim.ws.WsDataFrame;
+import swim.ws.WsFrame;
+import swim.ws.WsOpcode;
+
+/**
+ * WebSocket context that records the frames written to it, in place of a
+ * network connection.
+ */
+public class TestWebSocketContext implements WebSocketContext<Envelope, Envelope> {
+
+  final ConcurrentLinkedQueue<WsFrame<?>> frames;
+  volatile int closedFrameCount;
+
+  public TestWebSocketContext() {
+    this.frames = new ConcurrentLinkedQueue<WsFrame<?>>();
+    this.closedFrameCount = -1;
+  }
+
+  public ConcurrentLinkedQueue<WsFrame<?>> frames() {
+    return this.frames;
+  }
+
+  /**
+   * Returns the number of frames that had been written when this context
+   * was closed, or {@code -1} if it hasn't been closed.
+   */
+  public int closedFrameCount() {
+    return this.closedFrameCount;
+  }
+
+  @Override
+  public WsSettings wsSettings() {
+    return WsSettings.standard();
+  }
+
+  @Override
+  public <I2 extends Envelope> void read(Decoder<I2> payloadDecoder) {
+    // nop
+  }
+
+  @Override
+  public <I2 extends Envelope> void read(WsOpcode frameType, Decoder<I2> payloadDecoder) {
+    // nop
+  }
+
+  @Override
+  public <O2 extends Envelope> void write(WsDataFrame<O2> frame) {
+    this.frames.add(frame);
+  }
+
+  @Override
+  public <O2 extends Envelope> void write(WsControlFrame<?, O2> frame) {
+    this.frames.add(frame);
+  }
+
+  @Override
+  public void become(IpSocket socket) {
+    // nop
+  }
+
+  @Override
+  public void close() {
+    this.closedFrameCount = this.frames.size();
+  }
+
+  @Override
+  public boolean isConnected() {
+    return this.closedFrameCount < 0;
+  }
+
+  @Override
+  public boolean isClient() {
+    return false;
+  }
+
+  @Override
+  public boolean isServer() {
+    return true;
+  }
+
+  @Override
+  public boolean isSecure() {
+    return false;
+  }
+
+  @Override
+  public String securityProtocol() {
+    return null;
+  }
+
+  @Override
+  public String cipherSuite() {
+    return null;
+  }
+
+  @Override
+  public InetSocketAddress localAddress() {
+    return null;
+  }
+
+  @Override
+  public Principal localPrincipal() {
+    return null;
+  }
+
+  @Override
+  public Collection<Certificate> localCertificates() {
+    return null;
+  }
+
+  @Override
+  public InetSocketAddress remoteAddress() {
+    return null;
+  }
+
+  @Override
+  public Principal remotePrincipal() {
+    return null;
+  }
+
+  @Override
+  public Collection<Certificate> remoteCertificates() {
+    return null;
+  }
+
+  @Override
+  public FlowControl flowControl() {
+    return FlowControl.READ_WRITE;
+  }
+
+  @Override
+  public void flowControl(FlowControl flowControl) {
+    // nop
+  }
+
+  @Override
+  public FlowControl flowControl(FlowModifier flowModifier) {
+    return FlowControl.READ_WRITE;
+  }
+
+}
@@ -19,6 +19,7 @@ import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import org.testng.TestException;
 import org.testng.annotations.Test;
+import swim.collections.FingerTrieSeq;
 import swim.concurrent.PullContext;
 import swim.concurrent.PullRequest;
 import swim.concurrent.StayContext;
@@ -32,10 +33,13 @@ import swim.io.http.HttpEndpoint;
 import swim.io.http.HttpResponder;
 import swim.io.http.HttpServer;
 import swim.io.http.HttpService;
+import swim.structure.Attr;
 import swim.structure.Record;
+import swim.structure.Slot;
 import swim.structure.Value;
 import swim.warp.CommandMessage;
 import swim.warp.Envelope;
+import swim.warp.EventMessage;
 import swim.warp.LinkRequest;
 import swim.warp.LinkedResponse;
 import swim.ws.WsCloseFrame;
@@ -43,6 +47,7 @@ import swim.ws.WsControlFrame;
 import swim.ws.WsRequest;
 import swim.ws.WsResponse;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
 
 public abstract class WarpSocketBehaviors {
 
@@ -54,7 +59,11 @@ public abstract class WarpSocketBehaviors {
 
   protected abstract IpServiceRef bind(HttpEndpoint endpoint, HttpService service);
 
-  protected abstract IpSocketRef connect(HttpEndpoint endpoint, WarpSocket socket);
+  protected abstract IpSocketRef connect(HttpEndpoint endpoint, WarpSocket socket, FingerTrieSeq<String> protocols);
+
+  protected IpSocketRef connect(HttpEndpoint endpoint, WarpSocket socket) {
+    return this.connect(endpoint, socket, FingerTrieSeq.<String>empty());
+  }
 
   @Test
   public void testConnection() {
@@ -209,6 +218,73 @@ public abstract class WarpSocketBehaviors {
     }
   }
 
+  @Test
+  public void testBinarySendReceive() {
+    final Theater stage = new Theater();
+    final HttpEndpoint endpoint = new HttpEndpoint(stage);
+    final CountDownLatch clientRead = new CountDownLatch(1);
+    final CountDownLatch serverRead = new CountDownLatch(1);
+    final CommandMessage clientToServerCommand = new CommandMessage("a", "x", Record.of(Slot.of("n", 1)));
+    final EventMessage serverToClientEvent = new EventMessage("b", "y", Record.of(Attr.of("update"), "z"));
+    final AbstractWarpSocket clientSocket = new AbstractWarpSocket() {
+      @Override
+      public void didUpgrade(HttpRequest<?> httpRequest, HttpResponse<?> httpResponse) {
+        assertTrue(((WarpWebSocket) this.warpSocketContext()).isBinary());
+        this.feed(clientToServerCommand);
+      }
+
+      @Override
+      public void didRead(Envelope envelope) {
+        assertEquals(envelope, serverToClientEvent);
+        clientRead.countDown();
+      }
+    };
+    final AbstractWarpSocket serverSocket = new AbstractWarpSocket() {
+      @Override
+      public void didUpgrade(HttpRequest<?> httpRequest, HttpResponse<?> httpResponse) {
+        assertTrue(((WarpWebSocket) this.warpSocketContext()).isBinary());
+        this.feed(serverToClientEvent);
+      }
+
+      @Override
+      public void didRead(Envelope envelope) {
+        assertEquals(envelope, clientToServerCommand);
+        serverRead.countDown();
+      }
+    };
+    final AbstractWarpServer server = new AbstractWarpServer(WarpSocketBehaviors.this.warpSettings) {
+      @Override
+      public HttpResponder<?> doRequest(HttpRequest<?> httpRequest) {
+        final WsRequest wsRequest = WsRequest.create(httpRequest);
+        final WsResponse wsResponse = this.accept(wsRequest);
+        return this.upgrade(serverSocket, wsResponse);
+      }
+    };
+    final AbstractHttpService service = new AbstractHttpService() {
+      @Override
+      public HttpServer createServer() {
+        return server;
+      }
+    };
+
+    try {
+      stage.start();
+      endpoint.start();
+      this.bind(endpoint, service);
+      this.connect(endpoint, clientSocket, WarpWebSocket.protocols());
+      clientRead.await();
+      serverRead.await();
+    } catch (InterruptedException cause) {
+      throw new TestException(cause);
+    } finally {
+      clientSocket.close();
+      serverSocket.close();
+      service.unbind();
+      endpoint.stop();
+      stage.stop();
+    }
+  }
+
   @Test
   public void testRequestResponse() {
     final Theater stage = new Theater();
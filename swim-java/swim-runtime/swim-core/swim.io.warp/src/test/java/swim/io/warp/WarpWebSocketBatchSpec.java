@@ -0,0 +1,154 @@
+// Copyright 2015-2023 Swim.inc
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.io.warp;
+
+import org.testng.annotations.Test;
+import swim.concurrent.Clock;
+import swim.concurrent.Schedule;
+import swim.http.HttpResponse;
+import swim.http.HttpStatus;
+import swim.structure.Text;
+import swim.warp.EventMessage;
+import swim.ws.WsCloseFrame;
+import swim.ws.WsTextFrame;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+public class WarpWebSocketBatchSpec {
+
+  @Test
+  public void flushLingeringBatches() throws InterruptedException {
+    final Clock clock = new Clock(1, Clock.TICK_COUNT);
+    clock.start();
+    try {
+      final TestWebSocketContext context = new TestWebSocketContext();
+      final TestBatchWebSocket webSocket = new TestBatchWebSocket(clock, 64L * 1024L, 50L);
+      webSocket.setWebSocketContext(context);
+      webSocket.didUpgrade(null, HttpResponse.create(HttpStatus.SWITCHING_PROTOCOLS));
+
+      webSocket.feed(new EventMessage("/node", "lane", Text.from("a")));
+      webSocket.feed(new EventMessage("/node", "lane", Text.from("b")));
+      webSocket.feed(new EventMessage("/node", "lane", Text.from("c")));
+      assertEquals(context.frames().size(), 0);
+
+      final long deadline = System.currentTimeMillis() + 5000L;
+      while (context.frames().size() < 3 && System.currentTimeMillis() < deadline) {
+        Thread.sleep(5L);
+      }
+      assertEquals(context.frames().size(), 3);
+      assertEquals(webSocket.batchCount(), 1L);
+      assertEquals(webSocket.batchEnvelopeCount(), 3L);
+    } finally {
+      clock.stop();
+    }
+  }
+
+  @Test
+  public void flushFullBatchesWithoutLingering() {
+    final Clock clock = new Clock(1, Clock.TICK_COUNT);
+    clock.start();
+    try {
+      final EventMessage envelope = new EventMessage("/node", "lane", Text.from("a"));
+      final int envelopeSize = envelope.toRecon().length();
+      final TestWebSocketContext context = new TestWebSocketContext();
+      final TestBatchWebSocket webSocket = new TestBatchWebSocket(clock, 2L * envelopeSize, 60L * 1000L);
+      webSocket.setWebSocketContext(context);
+      webSocket.didUpgrade(null, HttpResponse.create(HttpStatus.SWITCHING_PROTOCOLS));
+
+      webSocket.feed(envelope);
+      assertEquals(context.frames().size(), 0);
+      webSocket.feed(envelope);
+      assertEquals(context.frames().size(), 2);
+      webSocket.feed(envelope);
+      assertEquals(context.frames().size(), 2);
+      assertEquals(webSocket.batchCount(), 1L);
+      assertEquals(webSocket.batchEnvelopeCount(), 2L);
+      assertEquals(webSocket.batchByteCount(), 2L * envelopeSize);
+    } finally {
+      clock.stop();
+    }
+  }
+
+  @Test
+  public void flushBatchesOnClose() {
+    final Clock clock = new Clock(1, Clock.TICK_COUNT);
+    clock.start();
+    try {
+      final TestWebSocketContext context = new TestWebSocketContext();
+      final TestBatchWebSocket webSocket = new TestBatchWebSocket(clock, 64L * 1024L, 60L * 1000L);
+      webSocket.setWebSocketContext(context);
+      webSocket.didUpgrade(null, HttpResponse.create(HttpStatus.SWITCHING_PROTOCOLS));
+
+      webSocket.feed(new EventMessage("/node", "lane", Text.from("a")));
+      webSocket.feed(new EventMessage("/node", "lane", Text.from("b")));
+      assertEquals(context.frames().size(), 0);
+
+      webSocket.close();
+      assertEquals(context.closedFrameCount(), 2);
+      assertEquals(webSocket.batchCount(), 1L);
+      assertEquals(webSocket.batchEnvelopeCount(), 2L);
+    } finally {
+      clock.stop();
+    }
+  }
+
+  @Test
+  public void flushBatchesAheadOfControlFrames() {
+    final Clock clock = new Clock(1, Clock.TICK_COUNT);
+    clock.start();
+    try {
+      final TestWebSocketContext context = new TestWebSocketContext();
+      final TestBatchWebSocket webSocket = new TestBatchWebSocket(clock, 64L * 1024L, 60L * 1000L);
+      webSocket.setWebSocketContext(context);
+      webSocket.didUpgrade(null, HttpResponse.create(HttpStatus.SWITCHING_PROTOCOLS));
+
+      webSocket.feed(new EventMessage("/node", "lane", Text.from("a")));
+      webSocket.write(WsCloseFrame.empty());
+      assertEquals(context.frames().size(), 2);
+      assertTrue(context.frames().peek() instanceof WsTextFrame<?>);
+    } finally {
+      clock.stop();
+    }
+  }
+
+}
+
+final class TestBatchWebSocket extends WarpWebSocket {
+
+  final long batchBytes;
+  final long batchLinger;
+
+  TestBatchWebSocket(Schedule schedule, long batchBytes, long batchLinger) {
+    super(new AbstractWarpSocket() { }, WarpSettings.standard(), schedule);
+    this.batchBytes = batchBytes;
+    this.batchLinger = batchLinger;
+  }
+
+  @Override
+  protected boolean batchEnabled() {
+    return true;
+  }
+
+  @Override
+  protected long batchBytes() {
+    return this.batchBytes;
+  }
+
+  @Override
+  protected long batchLinger() {
+    return this.batchLinger;
+  }
+
+}
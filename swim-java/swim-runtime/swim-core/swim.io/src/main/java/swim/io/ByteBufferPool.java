@@ -0,0 +1,212 @@
+// Copyright 2015-2023 Swim.inc
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.io;
+
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import swim.collections.FingerTrieSeq;
+import swim.collections.HashTrieMap;
+import swim.structure.Record;
+import swim.structure.Value;
+
+/**
+ * Shared pool of fixed-size direct byte buffers, which transports lease
+ * while they have data in flight, and return once their buffers drain, so
+ * that idle connections don't pin dedicated buffers. Up to {@link
+ * #capacity()} released buffers are retained for reuse; buffers released
+ * to a full pool are dropped and left to the garbage collector.
+ */
+public class ByteBufferPool {
+
+  final int bufferSize;
+  final int capacity;
+  final ConcurrentLinkedQueue<ByteBuffer> buffers;
+  volatile int pooledCount;
+  volatile int leasedCount;
+  volatile long allocationCount;
+  volatile long leaseCount;
+
+  public ByteBufferPool(int bufferSize, int capacity) {
+    if (bufferSize <= 0) {
+      throw new IllegalArgumentException("bufferSize: " + bufferSize);
+    }
+    this.bufferSize = bufferSize;
+    this.capacity = capacity;
+    this.buffers = new ConcurrentLinkedQueue<ByteBuffer>();
+    this.pooledCount = 0;
+    this.leasedCount = 0;
+    this.allocationCount = 0L;
+    this.leaseCount = 0L;
+  }
+
+  /**
+   * Returns the capacity in bytes of each buffer in this pool.
+   */
+  public final int bufferSize() {
+    return this.bufferSize;
+  }
+
+  /**
+   * Returns the maximum number of idle buffers retained by this pool.
+   */
+  public final int capacity() {
+    return this.capacity;
+  }
+
+  /**
+   * Returns the number of idle buffers currently retained by this pool.
+   */
+  public final int pooledCount() {
+    return this.pooledCount;
+  }
+
+  /**
+   * Returns the number of buffers currently leased from this pool.
+   */
+  public final int leasedCount() {
+    return this.leasedCount;
+  }
+
+  /**
+   * Returns the total number of bytes held in idle buffers by this pool.
+   */
+  public final long pooledSize() {
+    return (long) this.pooledCount * (long) this.bufferSize;
+  }
+
+  /**
+   * Returns the total number of bytes held in buffers currently leased from
+   * this pool.
+   */
+  public final long leasedSize() {
+    return (long) this.leasedCount * (long) this.bufferSize;
+  }
+
+  /**
+   * Returns the cumulative number of direct buffers allocated by this pool.
+   */
+  public final long allocationCount() {
+    return this.allocationCount;
+  }
+
+  /**
+   * Returns the cumulative number of buffers leased from this pool.
+   */
+  public final long leaseCount() {
+    return this.leaseCount;
+  }
+
+  /**
+   * Returns a cleared buffer of {@link #bufferSize()} bytes, reusing an idle
+   * pooled buffer, if available.
+   */
+  public ByteBuffer lease() {
+    ByteBuffer buffer = this.buffers.poll();
+    if (buffer != null) {
+      ByteBufferPool.POOLED_COUNT.decrementAndGet(this);
+      ((Buffer) buffer).clear();
+    } else {
+      buffer = ByteBuffer.allocateDirect(this.bufferSize);
+      ByteBufferPool.ALLOCATION_COUNT.incrementAndGet(this);
+    }
+    ByteBufferPool.LEASED_COUNT.incrementAndGet(this);
+    ByteBufferPool.LEASE_COUNT.incrementAndGet(this);
+    return buffer;
+  }
+
+  /**
+   * Returns a leased {@code buffer} to this pool. The caller must not access
+   * the {@code buffer} after it has been released.
+   */
+  public void release(ByteBuffer buffer) {
+    ByteBufferPool.LEASED_COUNT.decrementAndGet(this);
+    do {
+      final int oldPooledCount = this.pooledCount;
+      if (oldPooledCount < this.capacity) {
+        final int newPooledCount = oldPooledCount + 1;
+        if (ByteBufferPool.POOLED_COUNT.compareAndSet(this, oldPooledCount, newPooledCount)) {
+          this.buffers.offer(buffer);
+          break;
+        }
+      } else {
+        // Pool is full; drop the buffer.
+        break;
+      }
+    } while (true);
+  }
+
+  /**
+   * Relinquishes a leased {@code buffer} that may still be referenced by
+   * some concurrent operation, without returning it to the pool for reuse.
+   */
+  public void discard(ByteBuffer buffer) {
+    ByteBufferPool.LEASED_COUNT.decrementAndGet(this);
+  }
+
+  /**
+   * Returns a structural {@code Value} describing the current occupancy of
+   * this pool.
+   */
+  public Value toValue() {
+    return Record.create(7).attr("bufferPool")
+                 .slot("bufferSize", this.bufferSize)
+                 .slot("capacity", this.capacity)
+                 .slot("pooledCount", this.pooledCount)
+                 .slot("leasedCount", this.leasedCount)
+                 .slot("allocationCount", this.allocationCount)
+                 .slot("leaseCount", this.leaseCount);
+  }
+
+  @Override
+  public String toString() {
+    return this.toValue().toString();
+  }
+
+  private static HashTrieMap<Long, ByteBufferPool> pools = HashTrieMap.empty();
+
+  /**
+   * Returns the process-wide pool of direct buffers of {@code bufferSize}
+   * bytes that retains up to {@code capacity} idle buffers.
+   */
+  public static synchronized ByteBufferPool shared(int bufferSize, int capacity) {
+    final Long key = (long) bufferSize << 32 | (long) capacity & 0xffffffffL;
+    ByteBufferPool pool = ByteBufferPool.pools.get(key);
+    if (pool == null) {
+      pool = new ByteBufferPool(bufferSize, capacity);
+      ByteBufferPool.pools = ByteBufferPool.pools.updated(key, pool);
+    }
+    return pool;
+  }
+
+  /**
+   * Returns all process-wide buffer pools, for inspecting pool occupancy.
+   */
+  public static synchronized FingerTrieSeq<ByteBufferPool> shared() {
+    return FingerTrieSeq.from(ByteBufferPool.pools.values());
+  }
+
+  static final AtomicIntegerFieldUpdater<ByteBufferPool> POOLED_COUNT =
+      AtomicIntegerFieldUpdater.newUpdater(ByteBufferPool.class, "pooledCount");
+  static final AtomicIntegerFieldUpdater<ByteBufferPool> LEASED_COUNT =
+      AtomicIntegerFieldUpdater.newUpdater(ByteBufferPool.class, "leasedCount");
+  static final AtomicLongFieldUpdater<ByteBufferPool> ALLOCATION_COUNT =
+      AtomicLongFieldUpdater.newUpdater(ByteBufferPool.class, "allocationCount");
+  static final AtomicLongFieldUpdater<ByteBufferPool> LEASE_COUNT =
+      AtomicLongFieldUpdater.newUpdater(ByteBufferPool.class, "leaseCount");
+
+}
@@ -52,9 +52,10 @@ public class Station {
    */
   final CountDownLatch stopLatch;
   /**
-   * Thread that waits on and dispatches I/O readiness events.
+   * Threads that wait on and dispatch I/O readiness events, each with its
+   * own I/O selector, and its own shard of the station's transports.
    */
-  final StationThread thread;
+  final StationThread[] threads;
   /**
    * Transport configuration parameters.
    */
@@ -63,6 +64,14 @@ public class Station {
    * Atomic bit field with {@link #STARTED} and {@link #STOPPED} flags.
    */
   volatile int status;
+  /**
+   * Atomic count of selector threads that have started, and not yet exited.
+   */
+  volatile int runningCount;
+  /**
+   * Atomic counter used to distribute transports across selector threads.
+   */
+  volatile int transportCount;
 
   public Station(Stage stage, TransportSettings transportSettings) {
     // Assign the I/O task execution stage.
@@ -71,14 +80,18 @@ public class Station {
     // Assign the initial transport configuration parameters.
     this.transportSettings = transportSettings != null ? transportSettings : TransportSettings.standard();
 
+    // Initialize--but don't start--the selector threads.
+    final int selectorCount = Math.max(1, this.transportSettings.selectorCount);
+    this.threads = new StationThread[selectorCount];
+    for (int i = 0; i < selectorCount; i += 1) {
+      this.threads[i] = new StationThread(this);
+    }
+
     // Initialize the barrier used to sequence station startup.
-    this.startLatch = new CountDownLatch(1);
+    this.startLatch = new CountDownLatch(selectorCount);
 
     // Initialize the barrier used to sequence station shutdown.
     this.stopLatch = new CountDownLatch(1);
-
-    // Initialize--but don't start--the station thread.
-    this.thread = new StationThread(this);
   }
 
   public Station(Stage stage) {
@@ -102,16 +115,26 @@ public class Station {
 
   /**
    * Updates the transport configuration parameters that govern this {@code
-   * Station}'s registered transports, and returns {@code this}.
+   * Station}'s registered transports, and returns {@code this}. The number
+   * of selector threads is fixed when the {@code Station} is constructed,
+   * and is unaffected by subsequent changes to the {@code selectorCount}.
    */
   public Station transportSettings(TransportSettings transportSettings) {
     this.transportSettings = transportSettings;
     return this;
   }
 
+  /**
+   * Returns the number of selector threads across which this {@code
+   * Station} distributes its transports.
+   */
+  public final int selectorCount() {
+    return this.threads.length;
+  }
+
   /**
    * Ensures that this {@code Station} is up and running, starting up the
-   * selector thread if it has not yet been started.
+   * selector threads if they have not yet been started.
    *
    * @throws StationException if this {@code Station} has been stopped.
    */
@@ -126,7 +149,9 @@ public class Station {
           if (Station.STATUS.compareAndSet(this, oldStatus, newStatus)) {
             // Initaite selector thread startup.
             this.willStart();
-            this.thread.start();
+            for (int i = 0; i < this.threads.length; i += 1) {
+              this.threads[i].start();
+            }
             break;
           }
         } else {
@@ -138,11 +163,11 @@ public class Station {
       }
     } while (true);
 
-    // Loop while the selector thread is not yet up and running.
+    // Loop while the selector threads are not yet up and running.
     boolean interrupted = false;
     while (this.startLatch.getCount() != 0) {
       try {
-        // Wait for selector thread startup to complete.
+        // Wait for selector threads startup to complete.
         this.startLatch.await();
       } catch (InterruptedException cause) {
         interrupted = true;
@@ -155,8 +180,8 @@ public class Station {
 
   /**
    * Ensures that this {@code Station} has been permanently stopped, shutting
-   * down the selector thread, if it's currently running. Upon return, this
-   * {@code Station} is guaranteed to be in the <em>stopped</em> state.
+   * down the selector threads, if they're currently running. Upon return,
+   * this {@code Station} is guaranteed to be in the <em>stopped</em> state.
    */
   public void stop() {
     boolean interrupted = false;
@@ -167,15 +192,18 @@ public class Station {
         final int newStatus = oldStatus | Station.STOPPED;
         // Try to set the STOPPED flag; linearization point for station shutdown.
         if (Station.STATUS.compareAndSet(this, oldStatus, newStatus)) {
-          // Loop while the selector thread is still running.
-          while (this.thread.isAlive()) {
-            // Interrupt the selector thread so it will wakeup and die.
-            this.thread.interrupt();
-            try {
-              // Wait for the selector thread to exit.
-              this.thread.join(100);
-            } catch (InterruptedException cause) {
-              interrupted = true;
+          for (int i = 0; i < this.threads.length; i += 1) {
+            final StationThread thread = this.threads[i];
+            // Loop while the selector thread is still running.
+            while (thread.isAlive()) {
+              // Interrupt the selector thread so it will wakeup and die.
+              thread.interrupt();
+              try {
+                // Wait for the selector thread to exit.
+                thread.join(100);
+              } catch (InterruptedException cause) {
+                interrupted = true;
+              }
             }
           }
         }
@@ -185,10 +213,10 @@ public class Station {
       }
     } while (true);
 
-    // Loop while the selector thread is still running.
+    // Loop while any selector thread is still running.
     while (this.stopLatch.getCount() != 0) {
       try {
-        // Wait for selector thread shutdown to complete.
+        // Wait for selector threads shutdown to complete.
         this.stopLatch.await();
       } catch (InterruptedException e) {
         interrupted = true;
@@ -216,8 +244,13 @@ public class Station {
     // Ensure that the station has started.
     this.start();
 
+    // Assign the transport to the next selector thread, round robin.
+    final StationThread[] threads = this.threads;
+    final int transportIndex = Station.TRANSPORT_COUNT.getAndIncrement(this);
+    final StationThread thread = threads[(transportIndex & 0x7fffffff) % threads.length];
+
     // Create the context that binds the transport to this station.
-    final StationTransport context = new StationTransport(this, transport, flowControl);
+    final StationTransport context = new StationTransport(this, thread, transport, flowControl);
     transport.setTransportContext(context);
 
     // Initialize the transport's flow control.
@@ -232,40 +265,89 @@ public class Station {
    * {@code context}'s flow control state.
    */
   void reselect(StationTransport context) {
-    this.thread.reselect(context);
+    context.thread.reselect(context);
   }
 
   /**
-   * Lifecycle callback invoked before the selector thread starts.
+   * Invoked by each selector thread once it's up and running. The last
+   * selector thread to start completes station startup.
+   */
+  void threadDidStart() {
+    // Linearization point for selector thread start.
+    this.startLatch.countDown();
+    if (Station.RUNNING_COUNT.incrementAndGet(this) == this.threads.length) {
+      this.didStart();
+    }
+  }
+
+  /**
+   * Invoked by each selector thread when it exits its dispatch loop. The
+   * first selector thread to exit stops the station, and wakes up all other
+   * selector threads so that they exit too.
+   */
+  void threadWillStop() {
+    do {
+      final int oldStatus = Station.STATUS.get(this);
+      if ((oldStatus & Station.STOPPING) == 0) {
+        final int newStatus = oldStatus | (Station.STOPPING | Station.STOPPED);
+        if (Station.STATUS.compareAndSet(this, oldStatus, newStatus)) {
+          this.willStop();
+          for (int i = 0; i < this.threads.length; i += 1) {
+            this.threads[i].selector.wakeup();
+          }
+          break;
+        }
+      } else {
+        break;
+      }
+    } while (true);
+  }
+
+  /**
+   * Invoked by each selector thread after it has closed its transports. The
+   * last selector thread to exit completes station shutdown.
+   */
+  void threadDidStop() {
+    if (Station.RUNNING_COUNT.decrementAndGet(this) == 0) {
+      // Force the station into the stopped state.
+      Station.STATUS.set(this, Station.STOPPED);
+      // Linearization point for station stop.
+      this.stopLatch.countDown();
+      this.didStop();
+    }
+  }
+
+  /**
+   * Lifecycle callback invoked before the selector threads start.
    */
   protected void willStart() {
     // hook
   }
 
   /**
-   * Lifecycle callback invoked after the selector thread starts.
+   * Lifecycle callback invoked after all selector threads have started.
    */
   protected void didStart() {
     // hook
   }
 
   /**
-   * Lifecycle callback invoked before the selector thread stops.
+   * Lifecycle callback invoked before the selector threads stop.
    */
   protected void willStop() {
     // hook
   }
 
   /**
-   * Lifecycle callback invoked after the selector thread stops.
+   * Lifecycle callback invoked after all selector threads have stopped.
    */
   protected void didStop() {
     // hook
   }
 
   /**
-   * Lifecycle callback invoked if the selector thread throws a fatal {@code
-   * error}. The selector thread will stop after invoking {@code didFail}.
+   * Lifecycle callback invoked if a selector thread throws a fatal {@code
+   * error}. The station will stop after invoking {@code didFail}.
    */
   protected void didFail(Throwable error) {
     error.printStackTrace();
@@ -321,6 +403,11 @@ public class Station {
    * started, but is now permanently stopped.
    */
   static final int STOPPED = 1 << 1;
+  /**
+   * Atomic {@link #status} bit flag indicating that some selector thread has
+   * exited its dispatch loop, and that all selector threads are stopping.
+   */
+  static final int STOPPING = 1 << 2;
 
   /**
    * Atomic {@link #status} field updater, used to linearize station startup
@@ -329,6 +416,20 @@ public class Station {
   static final AtomicIntegerFieldUpdater<Station> STATUS =
       AtomicIntegerFieldUpdater.newUpdater(Station.class, "status");
 
+  /**
+   * Atomic {@link #runningCount} field updater, used to sequence station
+   * startup and shutdown across selector threads.
+   */
+  static final AtomicIntegerFieldUpdater<Station> RUNNING_COUNT =
+      AtomicIntegerFieldUpdater.newUpdater(Station.class, "runningCount");
+
+  /**
+   * Atomic {@link #transportCount} field updater, used to distribute
+   * transports across selector threads.
+   */
+  static final AtomicIntegerFieldUpdater<Station> TRANSPORT_COUNT =
+      AtomicIntegerFieldUpdater.newUpdater(Station.class, "transportCount");
+
 }
 
 /**
@@ -342,6 +443,10 @@ final class StationTransport implements TransportContext, TransportRef {
    * {@code Station} to which the {@code transport} is bound.
    */
   final Station station;
+  /**
+   * Selector thread with which the {@code transport} is registered.
+   */
+  final StationThread thread;
   /**
    * {@code Transport} binding on which to invoke I/O callbacks.
    */
@@ -367,18 +472,19 @@ final class StationTransport implements TransportContext, TransportRef {
    */
   volatile long lastSelectTime;
 
-  StationTransport(Station station, Transport transport, FlowControl flowControl) {
+  StationTransport(Station station, StationThread thread, Transport transport, FlowControl flowControl) {
     this.station = station;
+    this.thread = thread;
     this.transport = transport;
     this.flowControl = flowControl;
   }
 
   /**
-   * Informs the station's selector thread of a possible change to the
+   * Informs the transport's selector thread of a possible change to the
    * transport's flow control state.
    */
   void reselect() {
-    this.station.reselect(this);
+    this.thread.reselect(this);
   }
 
   /**
@@ -623,6 +729,9 @@ final class StationTransport implements TransportContext, TransportRef {
         break;
       }
     }
+    // Give the transport an opportunity to return a drained read buffer to
+    // its buffer pool.
+    this.transport.releaseReadBuffer();
     return yield;
   }
 
@@ -753,6 +862,9 @@ final class StationTransport implements TransportContext, TransportRef {
         break;
       }
     } while (true);
+    // Give the transport an opportunity to return a drained write buffer to
+    // its buffer pool.
+    this.transport.releaseWriteBuffer();
   }
 
   void didTimeout() {
@@ -916,7 +1028,8 @@ final class StationWriter extends AbstractTask {
 }
 
 /**
- * Thread of execution that waits on and dispatches I/O readiness events.
+ * Thread of execution that waits on and dispatches I/O readiness events for
+ * one shard of a station's transports.
  */
 final class StationThread extends Thread {
 
@@ -957,9 +1070,8 @@ final class StationThread extends Thread {
     Throwable failure = null;
 
     try {
-      // Linearization point for station start.
-      station.startLatch.countDown();
-      station.didStart();
+      // Linearization point for selector thread start.
+      station.threadDidStart();
 
       // Loop while the station has not been stopped.
       do {
@@ -972,8 +1084,6 @@ final class StationThread extends Thread {
         // Check for idle transport timeouts.
         this.checkIdle();
       } while ((Station.STATUS.get(station) & Station.STOPPED) == 0);
-
-      station.willStop();
     } catch (Throwable cause) {
       if (!Cont.isNonFatal(cause)) {
         // Rethrow fatal exception.
@@ -984,7 +1094,18 @@ final class StationThread extends Thread {
       station.didFail(cause);
     }
 
-    // Close all registered transports.
+    try {
+      // Stop the station, and all other selector threads.
+      station.threadWillStop();
+    } catch (Throwable cause) {
+      if (!Cont.isNonFatal(cause)) {
+        // Rethrow fatal exception.
+        throw cause;
+      }
+      failure = cause;
+    }
+
+    // Close all transports registered with this selector thread.
     try {
       this.closeAll();
     } catch (Throwable cause) {
@@ -1004,11 +1125,8 @@ final class StationThread extends Thread {
     }
 
     try {
-      // Force the station into the stopped state.
-      Station.STATUS.set(station, Station.STOPPED);
-      // Linearization point for station stop.
-      station.stopLatch.countDown();
-      station.didStop();
+      // Complete station shutdown, if this is the last selector thread to stop.
+      station.threadDidStop();
     } catch (Throwable cause) {
       if (!Cont.isNonFatal(cause)) {
         // Rethrow fatal exception.
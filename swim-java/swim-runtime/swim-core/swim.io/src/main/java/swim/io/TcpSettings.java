@@ -37,15 +37,23 @@ public class TcpSettings implements Debug {
   protected final int sendBufferSize;
   protected final int readBufferSize;
   protected final int writeBufferSize;
+  protected final int bufferPoolSize;
 
   public TcpSettings(boolean keepAlive, boolean noDelay, int receiveBufferSize,
-                     int sendBufferSize, int readBufferSize, int writeBufferSize) {
+                     int sendBufferSize, int readBufferSize, int writeBufferSize,
+                     int bufferPoolSize) {
     this.keepAlive = keepAlive;
     this.noDelay = noDelay;
     this.receiveBufferSize = receiveBufferSize;
     this.sendBufferSize = sendBufferSize;
     this.readBufferSize = readBufferSize;
     this.writeBufferSize = writeBufferSize;
+    this.bufferPoolSize = bufferPoolSize;
+  }
+
+  public TcpSettings(boolean keepAlive, boolean noDelay, int receiveBufferSize,
+                     int sendBufferSize, int readBufferSize, int writeBufferSize) {
+    this(keepAlive, noDelay, receiveBufferSize, sendBufferSize, readBufferSize, writeBufferSize, 0);
   }
 
   /**
@@ -63,7 +71,8 @@ public class TcpSettings implements Debug {
    */
   public TcpSettings keepAlive(boolean keepAlive) {
     return this.copy(keepAlive, this.noDelay, this.receiveBufferSize,
-                     this.sendBufferSize, this.readBufferSize, this.writeBufferSize);
+                     this.sendBufferSize, this.readBufferSize, this.writeBufferSize,
+                     this.bufferPoolSize);
   }
 
   /**
@@ -80,7 +89,8 @@ public class TcpSettings implements Debug {
    */
   public TcpSettings noDelay(boolean noDelay) {
     return this.copy(this.keepAlive, noDelay, this.receiveBufferSize,
-                     this.sendBufferSize, this.readBufferSize, this.writeBufferSize);
+                     this.sendBufferSize, this.readBufferSize, this.writeBufferSize,
+                     this.bufferPoolSize);
   }
 
   /**
@@ -97,7 +107,8 @@ public class TcpSettings implements Debug {
    */
   public TcpSettings receiveBufferSize(int receiveBufferSize) {
     return this.copy(this.keepAlive, this.noDelay, receiveBufferSize,
-                     this.sendBufferSize, this.readBufferSize, this.writeBufferSize);
+                     this.sendBufferSize, this.readBufferSize, this.writeBufferSize,
+                     this.bufferPoolSize);
   }
 
   /**
@@ -114,7 +125,8 @@ public class TcpSettings implements Debug {
    */
   public TcpSettings sendBufferSize(int sendBufferSize) {
     return this.copy(this.keepAlive, this.noDelay, this.receiveBufferSize,
-                     sendBufferSize, this.readBufferSize, this.writeBufferSize);
+                     sendBufferSize, this.readBufferSize, this.writeBufferSize,
+                     this.bufferPoolSize);
   }
 
   /**
@@ -131,7 +143,8 @@ public class TcpSettings implements Debug {
    */
   public TcpSettings readBufferSize(int readBufferSize) {
     return this.copy(this.keepAlive, this.noDelay, this.receiveBufferSize,
-                     this.sendBufferSize, readBufferSize, this.writeBufferSize);
+                     this.sendBufferSize, readBufferSize, this.writeBufferSize,
+                     this.bufferPoolSize);
   }
 
   /**
@@ -148,7 +161,28 @@ public class TcpSettings implements Debug {
    */
   public TcpSettings writeBufferSize(int writeBufferSize) {
     return this.copy(this.keepAlive, this.noDelay, this.receiveBufferSize,
-                     this.sendBufferSize, this.readBufferSize, writeBufferSize);
+                     this.sendBufferSize, this.readBufferSize, writeBufferSize,
+                     this.bufferPoolSize);
+  }
+
+  /**
+   * Returns the maximum number of idle direct buffers to retain in each
+   * shared {@link ByteBufferPool} from which sockets lease their read and
+   * write buffers while data is in flight. Returns {@code 0} if each socket
+   * should instead allocate dedicated heap buffers for its lifetime.
+   */
+  public final int bufferPoolSize() {
+    return this.bufferPoolSize;
+  }
+
+  /**
+   * Returns a copy of these {@code TcpSettings} configured with the given
+   * {@code bufferPoolSize} for shared pools of direct socket buffers.
+   */
+  public TcpSettings bufferPoolSize(int bufferPoolSize) {
+    return this.copy(this.keepAlive, this.noDelay, this.receiveBufferSize,
+                     this.sendBufferSize, this.readBufferSize, this.writeBufferSize,
+                     bufferPoolSize);
   }
 
   /**
@@ -157,9 +191,10 @@ public class TcpSettings implements Debug {
    * instantiated when updating settings.
    */
   protected TcpSettings copy(boolean keepAlive, boolean noDelay, int receiveBufferSize,
-                             int sendBufferSize, int readBufferSize, int writeBufferSize) {
-    return new TcpSettings(keepAlive, noDelay, receiveBufferSize,
-                           sendBufferSize, readBufferSize, writeBufferSize);
+                             int sendBufferSize, int readBufferSize, int writeBufferSize,
+                             int bufferPoolSize) {
+    return new TcpSettings(keepAlive, noDelay, receiveBufferSize, sendBufferSize,
+                           readBufferSize, writeBufferSize, bufferPoolSize);
   }
 
   /**
@@ -199,7 +234,8 @@ public class TcpSettings implements Debug {
       final TcpSettings that = (TcpSettings) other;
       return that.canEqual(this) && this.keepAlive == that.keepAlive && this.noDelay == that.noDelay
           && this.receiveBufferSize == that.receiveBufferSize && this.sendBufferSize == that.sendBufferSize
-          && this.readBufferSize == that.readBufferSize && this.writeBufferSize == that.writeBufferSize;
+          && this.readBufferSize == that.readBufferSize && this.writeBufferSize == that.writeBufferSize
+          && this.bufferPoolSize == that.bufferPoolSize;
     }
     return false;
   }
@@ -211,9 +247,9 @@ public class TcpSettings implements Debug {
     if (TcpSettings.hashSeed == 0) {
       TcpSettings.hashSeed = Murmur3.seed(TcpSettings.class);
     }
-    return Murmur3.mash(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(
+    return Murmur3.mash(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(
         TcpSettings.hashSeed, Murmur3.hash(this.keepAlive)), Murmur3.hash(this.noDelay)), this.receiveBufferSize),
-        this.sendBufferSize), this.readBufferSize), this.writeBufferSize));
+        this.sendBufferSize), this.readBufferSize), this.writeBufferSize), this.bufferPoolSize));
   }
 
   @Override
@@ -224,7 +260,8 @@ public class TcpSettings implements Debug {
                    .write('.').write("receiveBufferSize").write('(').debug(this.receiveBufferSize).write(')')
                    .write('.').write("sendBufferSize").write('(').debug(this.sendBufferSize).write(')')
                    .write('.').write("readBufferSize").write('(').debug(this.readBufferSize).write(')')
-                   .write('.').write("writeBufferSize").write('(').debug(this.writeBufferSize).write(')');
+                   .write('.').write("writeBufferSize").write('(').debug(this.writeBufferSize).write(')')
+                   .write('.').write("bufferPoolSize").write('(').debug(this.bufferPoolSize).write(')');
     return output;
   }
 
@@ -272,8 +309,15 @@ public class TcpSettings implements Debug {
         writeBufferSize = 4096;
       }
 
-      TcpSettings.standard = new TcpSettings(keepAlive, noDelay, receiveBufferSize,
-                                             sendBufferSize, readBufferSize, writeBufferSize);
+      int bufferPoolSize;
+      try {
+        bufferPoolSize = Integer.parseInt(System.getProperty("swim.tcp.buffer.pool.size"));
+      } catch (NumberFormatException error) {
+        bufferPoolSize = 0;
+      }
+
+      TcpSettings.standard = new TcpSettings(keepAlive, noDelay, receiveBufferSize, sendBufferSize,
+                                             readBufferSize, writeBufferSize, bufferPoolSize);
     }
     return TcpSettings.standard;
   }
@@ -314,7 +358,7 @@ final class TcpSettingsForm extends Form<TcpSettings> {
   public Item mold(TcpSettings settings) {
     if (settings != null) {
       final TcpSettings standard = TcpSettings.standard();
-      final Record record = Record.create(7).attr(this.tag());
+      final Record record = Record.create(8).attr(this.tag());
       if (settings.keepAlive != standard.keepAlive) {
         record.slot("keepAlive", true);
       }
@@ -333,6 +377,9 @@ final class TcpSettingsForm extends Form<TcpSettings> {
       if (settings.writeBufferSize != standard.writeBufferSize) {
         record.slot("writeBufferSize", settings.writeBufferSize);
       }
+      if (settings.bufferPoolSize != standard.bufferPoolSize) {
+        record.slot("bufferPoolSize", settings.bufferPoolSize);
+      }
       return record;
     } else {
       return Item.extant();
@@ -350,8 +397,9 @@ final class TcpSettingsForm extends Form<TcpSettings> {
       final int sendBufferSize = value.get("sendBufferSize").intValue(standard.sendBufferSize);
       final int readBufferSize = value.get("readBufferSize").intValue(standard.readBufferSize);
       final int writeBufferSize = value.get("writeBufferSize").intValue(standard.writeBufferSize);
+      final int bufferPoolSize = value.get("bufferPoolSize").intValue(standard.bufferPoolSize);
       return new TcpSettings(keepAlive, noDelay, receiveBufferSize, sendBufferSize,
-                             readBufferSize, writeBufferSize);
+                             readBufferSize, writeBufferSize, bufferPoolSize);
     }
     return null;
   }
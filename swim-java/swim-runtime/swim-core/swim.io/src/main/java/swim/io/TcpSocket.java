@@ -17,7 +17,6 @@ package swim.io;
 import java.io.IOException;
 import java.net.ConnectException;
 import java.net.InetSocketAddress;
-import java.nio.Buffer;
 import java.nio.ByteBuffer;
 import java.nio.channels.SocketChannel;
 import java.security.Principal;
@@ -25,7 +24,6 @@ import java.security.cert.Certificate;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
-import swim.codec.Binary;
 import swim.codec.InputBuffer;
 import swim.codec.OutputBuffer;
 import swim.concurrent.Cont;
@@ -34,10 +32,8 @@ class TcpSocket implements Transport, IpSocketContext {
 
   final InetSocketAddress localAddress;
   final InetSocketAddress remoteAddress;
-  final ByteBuffer readBuffer;
-  final ByteBuffer writeBuffer;
-  final InputBuffer inputBuffer;
-  final OutputBuffer<?> outputBuffer;
+  final TransportBuffer readBuffer;
+  final TransportBuffer writeBuffer;
   final SocketChannel channel;
   final IpSettings ipSettings;
   TransportContext context;
@@ -52,11 +48,13 @@ class TcpSocket implements Transport, IpSocketContext {
     this.ipSettings = ipSettings;
     this.status = isClient ? TcpSocket.CLIENT : TcpSocket.SERVER;
     final TcpSettings tcpSettings = ipSettings.tcpSettings();
-    this.readBuffer = ByteBuffer.allocate(tcpSettings.readBufferSize());
-    this.writeBuffer = ByteBuffer.allocate(tcpSettings.writeBufferSize());
-    ((Buffer) this.writeBuffer).position(this.writeBuffer.capacity());
-    this.inputBuffer = Binary.inputBuffer(this.readBuffer);
-    this.outputBuffer = Binary.outputBuffer(this.writeBuffer);
+    final int readBufferSize = tcpSettings.readBufferSize();
+    final int writeBufferSize = tcpSettings.writeBufferSize();
+    final int bufferPoolSize = tcpSettings.bufferPoolSize();
+    final ByteBufferPool readPool = bufferPoolSize > 0 ? ByteBufferPool.shared(readBufferSize, bufferPoolSize) : null;
+    final ByteBufferPool writePool = bufferPoolSize > 0 ? ByteBufferPool.shared(writeBufferSize, bufferPoolSize) : null;
+    this.readBuffer = new TransportBuffer(readPool, readBufferSize, false);
+    this.writeBuffer = new TransportBuffer(writePool, writeBufferSize, true);
   }
 
   @Override
@@ -76,12 +74,22 @@ class TcpSocket implements Transport, IpSocketContext {
 
   @Override
   public ByteBuffer readBuffer() {
-    return this.readBuffer;
+    return this.readBuffer.buffer();
   }
 
   @Override
   public ByteBuffer writeBuffer() {
-    return this.writeBuffer;
+    return this.writeBuffer.buffer();
+  }
+
+  @Override
+  public void releaseReadBuffer() {
+    this.readBuffer.release();
+  }
+
+  @Override
+  public void releaseWriteBuffer() {
+    this.writeBuffer.release();
   }
 
   @Override
@@ -96,12 +104,12 @@ class TcpSocket implements Transport, IpSocketContext {
 
   @Override
   public InputBuffer inputBuffer() {
-    return this.inputBuffer;
+    return this.readBuffer.inputBuffer();
   }
 
   @Override
   public OutputBuffer<?> outputBuffer() {
-    return this.outputBuffer;
+    return this.writeBuffer.outputBuffer();
   }
 
   @Override
@@ -272,6 +280,8 @@ class TcpSocket implements Transport, IpSocketContext {
 
   @Override
   public void didClose() {
+    this.readBuffer.discard();
+    this.writeBuffer.discard();
     do {
       final int oldStatus = TcpSocket.STATUS.get(this);
       if ((oldStatus & (TcpSocket.CONNECTING | TcpSocket.CONNECTED)) != 0) {
@@ -47,14 +47,22 @@ public class TlsSettings implements Debug {
   protected final ClientAuth clientAuth;
   protected final Collection<String> cipherSuites;
   protected final Collection<String> protocols;
+  protected final int bufferPoolSize;
 
   public TlsSettings(SSLContext sslContext, ClientAuth clientAuth,
                      Collection<String> cipherSuites,
-                     Collection<String> protocols) {
+                     Collection<String> protocols, int bufferPoolSize) {
     this.sslContext = sslContext;
     this.clientAuth = clientAuth;
     this.cipherSuites = cipherSuites;
     this.protocols = protocols;
+    this.bufferPoolSize = bufferPoolSize;
+  }
+
+  public TlsSettings(SSLContext sslContext, ClientAuth clientAuth,
+                     Collection<String> cipherSuites,
+                     Collection<String> protocols) {
+    this(sslContext, clientAuth, cipherSuites, protocols, 0);
   }
 
   /**
@@ -69,7 +77,7 @@ public class TlsSettings implements Debug {
    * {@code sslContext} for creating secure sockets.
    */
   public TlsSettings sslContext(SSLContext sslContext) {
-    return this.copy(sslContext, this.clientAuth, this.cipherSuites, this.protocols);
+    return this.copy(sslContext, this.clientAuth, this.cipherSuites, this.protocols, this.bufferPoolSize);
   }
 
   /**
@@ -84,7 +92,7 @@ public class TlsSettings implements Debug {
    * {@code clientAuth} authentication requirement for incoming connections.
    */
   public TlsSettings clientAuth(ClientAuth clientAuth) {
-    return this.copy(this.sslContext, clientAuth, this.cipherSuites, this.protocols);
+    return this.copy(this.sslContext, clientAuth, this.cipherSuites, this.protocols, this.bufferPoolSize);
   }
 
   /**
@@ -101,7 +109,7 @@ public class TlsSettings implements Debug {
    * system defaults should be used.
    */
   public TlsSettings cipherSuites(Collection<String> cipherSuites) {
-    return this.copy(this.sslContext, this.clientAuth, cipherSuites, this.protocols);
+    return this.copy(this.sslContext, this.clientAuth, cipherSuites, this.protocols, this.bufferPoolSize);
   }
 
   /**
@@ -118,7 +126,26 @@ public class TlsSettings implements Debug {
    * defaults should be used.
    */
   public TlsSettings protocols(Collection<String> protocols) {
-    return this.copy(this.sslContext, this.clientAuth, this.cipherSuites, protocols);
+    return this.copy(this.sslContext, this.clientAuth, this.cipherSuites, protocols, this.bufferPoolSize);
+  }
+
+  /**
+   * Returns the maximum number of idle direct buffers to retain in each
+   * shared {@link ByteBufferPool} from which secure sockets lease their
+   * network and application buffers while data is in flight. Returns
+   * {@code 0} if each secure socket should instead allocate dedicated heap
+   * buffers for its lifetime.
+   */
+  public final int bufferPoolSize() {
+    return this.bufferPoolSize;
+  }
+
+  /**
+   * Returns a copy of these {@code TlsSettings} configured with the given
+   * {@code bufferPoolSize} for shared pools of direct secure socket buffers.
+   */
+  public TlsSettings bufferPoolSize(int bufferPoolSize) {
+    return this.copy(this.sslContext, this.clientAuth, this.cipherSuites, this.protocols, bufferPoolSize);
   }
 
   /**
@@ -128,8 +155,8 @@ public class TlsSettings implements Debug {
    */
   protected TlsSettings copy(SSLContext sslContext, ClientAuth clientAuth,
                              Collection<String> cipherSuites,
-                             Collection<String> protocols) {
-    return new TlsSettings(sslContext, clientAuth, cipherSuites, protocols);
+                             Collection<String> protocols, int bufferPoolSize) {
+    return new TlsSettings(sslContext, clientAuth, cipherSuites, protocols, bufferPoolSize);
   }
 
   /**
@@ -157,7 +184,8 @@ public class TlsSettings implements Debug {
           && (this.sslContext == null ? that.sslContext == null : this.sslContext.equals(that.sslContext))
           && this.clientAuth.equals(that.clientAuth)
           && (this.cipherSuites == null ? that.cipherSuites == null : this.cipherSuites.equals(that.cipherSuites))
-          && (this.protocols == null ? that.protocols == null : this.protocols.equals(that.protocols));
+          && (this.protocols == null ? that.protocols == null : this.protocols.equals(that.protocols))
+          && this.bufferPoolSize == that.bufferPoolSize;
     }
     return false;
   }
@@ -169,9 +197,9 @@ public class TlsSettings implements Debug {
     if (TlsSettings.hashSeed == 0) {
       TlsSettings.hashSeed = Murmur3.seed(TlsSettings.class);
     }
-    return Murmur3.mash(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(TlsSettings.hashSeed,
+    return Murmur3.mash(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(TlsSettings.hashSeed,
         Murmur3.hash(this.sslContext)), this.clientAuth.hashCode()),
-        Murmur3.hash(this.cipherSuites)), Murmur3.hash(this.protocols)));
+        Murmur3.hash(this.cipherSuites)), Murmur3.hash(this.protocols)), this.bufferPoolSize));
   }
 
   @Override
@@ -180,7 +208,8 @@ public class TlsSettings implements Debug {
                    .write('.').write("sslContext").write('(').debug(this.sslContext).write(')')
                    .write('.').write("clientAuth").write('(').debug(this.clientAuth).write(')')
                    .write('.').write("cipherSuites").write('(').debug(this.cipherSuites).write(')')
-                   .write('.').write("protocols").write('(').debug(this.protocols).write(')');
+                   .write('.').write("protocols").write('(').debug(this.protocols).write(')')
+                   .write('.').write("bufferPoolSize").write('(').debug(this.bufferPoolSize).write(')');
     return output;
   }
 
@@ -241,12 +270,21 @@ public class TlsSettings implements Debug {
       final KeyManager[] keyManagers = TlsSettings.loadKeyManagers();
       final TrustManager[] trustManagers = TlsSettings.loadTrustManagers();
       sslContext.init(keyManagers, trustManagers, random);
-      return new TlsSettings(sslContext, clientAuth, cipherSuites, protocols);
+      return new TlsSettings(sslContext, clientAuth, cipherSuites, protocols,
+                             TlsSettings.standardBufferPoolSize());
     } catch (GeneralSecurityException cause) {
       return null;
     }
   }
 
+  static int standardBufferPoolSize() {
+    try {
+      return Integer.parseInt(System.getProperty("swim.tls.buffer.pool.size"));
+    } catch (NumberFormatException error) {
+      return 0;
+    }
+  }
+
   static KeyManager[] loadKeyManagers() {
     final String path = System.getProperty("swim.tls.keystore.path");
     final String resource = System.getProperty("swim.tls.keystore.resource");
@@ -391,6 +429,10 @@ final class TlsSettingsForm extends Form<TlsSettings> {
         record.slot("protocols", protocols);
       }
 
+      if (settings.bufferPoolSize != TlsSettings.standardBufferPoolSize()) {
+        record.slot("bufferPoolSize", settings.bufferPoolSize);
+      }
+
       return record;
     } else {
       return Item.extant();
@@ -495,7 +537,9 @@ final class TlsSettingsForm extends Form<TlsSettings> {
         }
       }
 
-      return new TlsSettings(sslContext, clientAuth, cipherSuites, protocols);
+      final int bufferPoolSize = value.get("bufferPoolSize").intValue(TlsSettings.standardBufferPoolSize());
+
+      return new TlsSettings(sslContext, clientAuth, cipherSuites, protocols, bufferPoolSize);
     }
     return null;
   }
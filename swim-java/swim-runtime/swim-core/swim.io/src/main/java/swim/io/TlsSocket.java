@@ -31,7 +31,6 @@ import javax.net.ssl.SSLEngine;
 import javax.net.ssl.SSLEngineResult;
 import javax.net.ssl.SSLException;
 import javax.net.ssl.SSLSession;
-import swim.codec.Binary;
 import swim.codec.InputBuffer;
 import swim.codec.OutputBuffer;
 import swim.concurrent.Cont;
@@ -40,12 +39,10 @@ class TlsSocket implements Transport, IpSocketContext {
 
   final InetSocketAddress localAddress;
   final InetSocketAddress remoteAddress;
-  final ByteBuffer readBuffer;
-  final ByteBuffer writeBuffer;
-  final ByteBuffer inputBuffer;
-  final ByteBuffer outputBuffer;
-  final InputBuffer reader;
-  final OutputBuffer<?> writer;
+  final TransportBuffer readBuffer;
+  final TransportBuffer writeBuffer;
+  final TransportBuffer inputBuffer;
+  final TransportBuffer outputBuffer;
   final SocketChannel channel;
   final SSLEngine sslEngine;
   final IpSettings ipSettings;
@@ -71,14 +68,13 @@ class TlsSocket implements Transport, IpSocketContext {
     final TcpSettings tcpSettings = this.ipSettings.tcpSettings();
     final int readBufferSize = Math.max(tcpSettings.readBufferSize(), sslSession.getApplicationBufferSize());
     final int writeBufferSize = Math.max(tcpSettings.writeBufferSize(), sslSession.getPacketBufferSize());
-    this.readBuffer = ByteBuffer.allocate(readBufferSize);
-    this.writeBuffer = ByteBuffer.allocate(writeBufferSize);
-    ((Buffer) this.writeBuffer).position(this.writeBuffer.capacity());
-    this.inputBuffer = ByteBuffer.allocate(readBufferSize);
-    this.outputBuffer = ByteBuffer.allocate(writeBufferSize);
-    ((Buffer) this.outputBuffer).position(this.outputBuffer.capacity());
-    this.reader = Binary.inputBuffer(this.inputBuffer);
-    this.writer = Binary.outputBuffer(this.outputBuffer);
+    final int bufferPoolSize = this.ipSettings.tlsSettings().bufferPoolSize();
+    final ByteBufferPool readPool = bufferPoolSize > 0 ? ByteBufferPool.shared(readBufferSize, bufferPoolSize) : null;
+    final ByteBufferPool writePool = bufferPoolSize > 0 ? ByteBufferPool.shared(writeBufferSize, bufferPoolSize) : null;
+    this.readBuffer = new TransportBuffer(readPool, readBufferSize, false);
+    this.writeBuffer = new TransportBuffer(writePool, writeBufferSize, true);
+    this.inputBuffer = new TransportBuffer(readPool, readBufferSize, false);
+    this.outputBuffer = new TransportBuffer(writePool, writeBufferSize, true);
   }
 
   @Override
@@ -98,12 +94,24 @@ class TlsSocket implements Transport, IpSocketContext {
 
   @Override
   public ByteBuffer readBuffer() {
-    return this.readBuffer;
+    return this.readBuffer.buffer();
   }
 
   @Override
   public ByteBuffer writeBuffer() {
-    return this.writeBuffer;
+    return this.writeBuffer.buffer();
+  }
+
+  @Override
+  public void releaseReadBuffer() {
+    this.readBuffer.release();
+    this.inputBuffer.release();
+  }
+
+  @Override
+  public void releaseWriteBuffer() {
+    this.writeBuffer.release();
+    this.outputBuffer.release();
   }
 
   @Override
@@ -118,12 +126,12 @@ class TlsSocket implements Transport, IpSocketContext {
 
   @Override
   public InputBuffer inputBuffer() {
-    return this.reader;
+    return this.inputBuffer.inputBuffer();
   }
 
   @Override
   public OutputBuffer<?> outputBuffer() {
-    return this.writer;
+    return this.outputBuffer.outputBuffer();
   }
 
   @Override
@@ -292,10 +300,12 @@ class TlsSocket implements Transport, IpSocketContext {
 
   @Override
   public void doRead() {
+    final ByteBuffer readBuffer = this.readBuffer.buffer();
+    final ByteBuffer inputBuffer = this.inputBuffer.buffer();
     read: do {
       final SSLEngineResult result;
       try {
-        result = this.sslEngine.unwrap(this.readBuffer, this.inputBuffer);
+        result = this.sslEngine.unwrap(readBuffer, inputBuffer);
       } catch (SSLException cause) {
         this.socket.didFail(cause);
         this.context.close();
@@ -312,13 +322,13 @@ class TlsSocket implements Transport, IpSocketContext {
       SSLEngineResult.HandshakeStatus handshakeStatus;
       switch (sslStatus) {
         case OK:
-          if (this.inputBuffer.position() > 0) {
-            ((Buffer) this.inputBuffer).flip();
+          if (inputBuffer.position() > 0) {
+            ((Buffer) inputBuffer).flip();
             this.socket.doRead();
-            if (this.inputBuffer.hasRemaining()) {
-              this.inputBuffer.compact();
+            if (inputBuffer.hasRemaining()) {
+              inputBuffer.compact();
             } else {
-              ((Buffer) this.inputBuffer).clear();
+              ((Buffer) inputBuffer).clear();
             }
           }
           handshakeStatus = result.getHandshakeStatus();
@@ -326,7 +336,7 @@ class TlsSocket implements Transport, IpSocketContext {
             switch (handshakeStatus) {
               case NEED_UNWRAP:
                 this.context.flowControl(FlowModifier.ENABLE_READ);
-                if (this.readBuffer.hasRemaining()) {
+                if (readBuffer.hasRemaining()) {
                   continue read;
                 } else {
                   break read;
@@ -390,14 +400,16 @@ class TlsSocket implements Transport, IpSocketContext {
 
   @Override
   public void doWrite() {
-    if ((TlsSocket.STATUS.get(this) & TlsSocket.OPEN) != 0 && !this.outputBuffer.hasRemaining()) {
-      ((Buffer) this.outputBuffer).clear();
+    final ByteBuffer writeBuffer = this.writeBuffer.buffer();
+    final ByteBuffer outputBuffer = this.outputBuffer.buffer();
+    if ((TlsSocket.STATUS.get(this) & TlsSocket.OPEN) != 0 && !outputBuffer.hasRemaining()) {
+      ((Buffer) outputBuffer).clear();
       this.socket.doWrite();
-      ((Buffer) this.outputBuffer).flip();
+      ((Buffer) outputBuffer).flip();
     }
     final SSLEngineResult result;
     try {
-      result = this.sslEngine.wrap(this.outputBuffer, this.writeBuffer);
+      result = this.sslEngine.wrap(outputBuffer, writeBuffer);
     } catch (SSLException cause) {
       this.socket.didFail(cause);
       this.context.close();
@@ -456,7 +468,7 @@ class TlsSocket implements Transport, IpSocketContext {
         this.context.close();
         break;
       case BUFFER_OVERFLOW:
-        if (this.writeBuffer.position() == 0) {
+        if (writeBuffer.position() == 0) {
           this.context.close();
         }
         break;
@@ -608,6 +620,10 @@ class TlsSocket implements Transport, IpSocketContext {
 
   @Override
   public void didClose() {
+    this.readBuffer.discard();
+    this.writeBuffer.discard();
+    this.inputBuffer.discard();
+    this.outputBuffer.discard();
     do {
       final int oldStatus = TlsSocket.STATUS.get(this);
       if ((oldStatus & (TlsSocket.CONNECTING | TlsSocket.CONNECTED | TlsSocket.HANDSHAKING | TlsSocket.HANDSHAKED | TlsSocket.OPEN | TlsSocket.CLOSING_INBOUND | TlsSocket.CLOSING_OUTBOUND)) != 0) {
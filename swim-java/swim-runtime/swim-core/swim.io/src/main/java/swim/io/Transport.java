@@ -60,6 +60,27 @@ public interface Transport {
    */
   ByteBuffer writeBuffer();
 
+  /**
+   * I/O callback invoked by the transport context after each <em>read</em>
+   * operation, giving this {@code Transport} an opportunity to return its
+   * {@link #readBuffer()} to a buffer pool, if no unread input remains.
+   * A subsequent call to {@code readBuffer()} may return a different buffer.
+   */
+  default void releaseReadBuffer() {
+    // nop
+  }
+
+  /**
+   * I/O callback invoked by the transport context after each <em>write</em>
+   * operation, giving this {@code Transport} an opportunity to return its
+   * {@link #writeBuffer()} to a buffer pool, if no output remains to be
+   * written. A subsequent call to {@code writeBuffer()} may return a
+   * different buffer.
+   */
+  default void releaseWriteBuffer() {
+    // nop
+  }
+
   /**
    * Returns the number of idle milliseconds after which this {@code Transport}
    * should be closed due to inactivity. Returns {@code -1} if a default idle
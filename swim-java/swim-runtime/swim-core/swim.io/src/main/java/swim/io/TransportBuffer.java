@@ -0,0 +1,129 @@
+// Copyright 2015-2023 Swim.inc
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.io;
+
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import swim.codec.Binary;
+import swim.codec.InputBuffer;
+import swim.codec.OutputBuffer;
+
+/**
+ * Transport buffer that is either permanently allocated on the heap, when
+ * no pool is configured, or leased from a {@link ByteBufferPool} on first
+ * access, and released once drained. Input buffers are filled by writing
+ * to them, and are drained when empty of unread data. Output buffers are
+ * filled by flipping them for reading, and are drained when no bytes
+ * remain to be read.
+ */
+final class TransportBuffer {
+
+  final ByteBufferPool pool;
+  final int bufferSize;
+  final boolean isOutput;
+  volatile ByteBuffer buffer;
+  volatile boolean isDiscarded;
+  InputBuffer inputBuffer;
+  OutputBuffer<?> outputBuffer;
+
+  TransportBuffer(ByteBufferPool pool, int bufferSize, boolean isOutput) {
+    this.pool = pool;
+    this.bufferSize = bufferSize;
+    this.isOutput = isOutput;
+    this.isDiscarded = false;
+    if (pool == null) {
+      this.buffer = this.reset(ByteBuffer.allocate(bufferSize));
+    } else {
+      this.buffer = null;
+    }
+  }
+
+  ByteBuffer buffer() {
+    ByteBuffer buffer = this.buffer;
+    if (buffer == null) {
+      if (this.isDiscarded) {
+        // Serve straggling operations on a closed transport from the heap.
+        buffer = this.reset(ByteBuffer.allocate(this.bufferSize));
+        this.buffer = buffer;
+      } else {
+        buffer = this.reset(this.pool.lease());
+        this.buffer = buffer;
+        if (this.isDiscarded && TransportBuffer.BUFFER.compareAndSet(this, buffer, null)) {
+          // Discarded concurrently with leasing.
+          this.pool.discard(buffer);
+        }
+      }
+    }
+    return buffer;
+  }
+
+  InputBuffer inputBuffer() {
+    this.buffer();
+    return this.inputBuffer;
+  }
+
+  OutputBuffer<?> outputBuffer() {
+    this.buffer();
+    return this.outputBuffer;
+  }
+
+  ByteBuffer reset(ByteBuffer buffer) {
+    if (this.isOutput) {
+      ((Buffer) buffer).position(buffer.capacity());
+    }
+    this.inputBuffer = Binary.inputBuffer(buffer);
+    this.outputBuffer = Binary.outputBuffer(buffer);
+    return buffer;
+  }
+
+  boolean isDrained(ByteBuffer buffer) {
+    return this.isOutput ? !buffer.hasRemaining() : buffer.position() == 0;
+  }
+
+  /**
+   * Returns the leased buffer to the pool, if it has been drained.
+   */
+  void release() {
+    final ByteBufferPool pool = this.pool;
+    if (pool != null && !this.isDiscarded) {
+      final ByteBuffer buffer = this.buffer;
+      if (buffer != null && this.isDrained(buffer)
+          && TransportBuffer.BUFFER.compareAndSet(this, buffer, null)) {
+        pool.release(buffer);
+      }
+    }
+  }
+
+  /**
+   * Relinquishes the leased buffer, regardless of whether or not it has
+   * been drained, without making it available for reuse, since a concurrent
+   * operation may still be accessing it.
+   */
+  synchronized void discard() {
+    final ByteBufferPool pool = this.pool;
+    if (pool != null && !this.isDiscarded) {
+      this.isDiscarded = true;
+      final ByteBuffer buffer = TransportBuffer.BUFFER.getAndSet(this, null);
+      if (buffer != null) {
+        pool.discard(buffer);
+      }
+    }
+  }
+
+  static final AtomicReferenceFieldUpdater<TransportBuffer, ByteBuffer> BUFFER =
+      AtomicReferenceFieldUpdater.newUpdater(TransportBuffer.class, ByteBuffer.class, "buffer");
+
+}
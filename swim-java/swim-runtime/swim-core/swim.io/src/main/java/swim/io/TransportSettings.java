@@ -32,11 +32,17 @@ public class TransportSettings implements Debug {
   protected final int backlog;
   protected final long idleInterval;
   protected final long idleTimeout;
+  protected final int selectorCount;
 
-  public TransportSettings(int backlog, long idleInterval, long idleTimeout) {
+  public TransportSettings(int backlog, long idleInterval, long idleTimeout, int selectorCount) {
     this.backlog = backlog;
     this.idleInterval = idleInterval;
     this.idleTimeout = idleTimeout;
+    this.selectorCount = selectorCount;
+  }
+
+  public TransportSettings(int backlog, long idleInterval, long idleTimeout) {
+    this(backlog, idleInterval, idleTimeout, TransportSettings.standardSelectorCount());
   }
 
   /**
@@ -52,7 +58,7 @@ public class TransportSettings implements Debug {
    * connections.
    */
   public TransportSettings backlog(int backlog) {
-    return this.copy(backlog, this.idleInterval, this.idleTimeout);
+    return this.copy(backlog, this.idleInterval, this.idleTimeout, this.selectorCount);
   }
 
   /**
@@ -67,7 +73,7 @@ public class TransportSettings implements Debug {
    * given {@code idleInterval} for transport idle checks.
    */
   public TransportSettings idleInterval(long idleInterval) {
-    return this.copy(this.backlog, idleInterval, this.idleTimeout);
+    return this.copy(this.backlog, idleInterval, this.idleTimeout, this.selectorCount);
   }
 
   /**
@@ -83,7 +89,23 @@ public class TransportSettings implements Debug {
    * given {@code idleTimeout} for transport idle timeouts
    */
   public TransportSettings idleTimeout(long idleTimeout) {
-    return this.copy(this.backlog, this.idleInterval, idleTimeout);
+    return this.copy(this.backlog, this.idleInterval, idleTimeout, this.selectorCount);
+  }
+
+  /**
+   * Returns the number of selector threads across which a {@link Station}
+   * should distribute its transports.
+   */
+  public final int selectorCount() {
+    return this.selectorCount;
+  }
+
+  /**
+   * Returns a copy of these {@code TransportSettings} configured with the
+   * given {@code selectorCount} for the number of station selector threads.
+   */
+  public TransportSettings selectorCount(int selectorCount) {
+    return this.copy(this.backlog, this.idleInterval, this.idleTimeout, selectorCount);
   }
 
   /**
@@ -91,8 +113,8 @@ public class TransportSettings implements Debug {
    * Subclasses may override this method to ensure the proper class is
    * instantiated when updating settings.
    */
-  protected TransportSettings copy(int backlog, long idleInterval, long idleTimeout) {
-    return new TransportSettings(backlog, idleInterval, idleTimeout);
+  protected TransportSettings copy(int backlog, long idleInterval, long idleTimeout, int selectorCount) {
+    return new TransportSettings(backlog, idleInterval, idleTimeout, selectorCount);
   }
 
   /**
@@ -119,7 +141,8 @@ public class TransportSettings implements Debug {
       final TransportSettings that = (TransportSettings) other;
       return that.canEqual(this) && this.backlog == that.backlog
           && this.idleInterval == that.idleInterval
-          && this.idleTimeout == that.idleTimeout;
+          && this.idleTimeout == that.idleTimeout
+          && this.selectorCount == that.selectorCount;
     }
     return false;
   }
@@ -131,8 +154,8 @@ public class TransportSettings implements Debug {
     if (TransportSettings.hashSeed == 0) {
       TransportSettings.hashSeed = Murmur3.seed(TransportSettings.class);
     }
-    return Murmur3.mash(Murmur3.mix(Murmur3.mix(Murmur3.mix(TransportSettings.hashSeed,
-        this.backlog), Murmur3.hash(this.idleInterval)), Murmur3.hash(this.idleTimeout)));
+    return Murmur3.mash(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(TransportSettings.hashSeed,
+        this.backlog), Murmur3.hash(this.idleInterval)), Murmur3.hash(this.idleTimeout)), this.selectorCount));
   }
 
   @Override
@@ -140,7 +163,8 @@ public class TransportSettings implements Debug {
     output = output.write("TransportSettings").write('.').write("standard").write('(').write(')')
                    .write('.').write("backlog").write('(').debug(this.backlog).write(')')
                    .write('.').write("idleInterval").write('(').debug(this.idleInterval).write(')')
-                   .write('.').write("idleTimeout").write('(').debug(this.idleTimeout).write(')');
+                   .write('.').write("idleTimeout").write('(').debug(this.idleTimeout).write(')')
+                   .write('.').write("selectorCount").write('(').debug(this.selectorCount).write(')');
     return output;
   }
 
@@ -177,11 +201,23 @@ public class TransportSettings implements Debug {
         idleTimeout = 90000L; // 90 seconds
       }
 
-      TransportSettings.standard = new TransportSettings(backlog, idleInterval, idleTimeout);
+      final int selectorCount = TransportSettings.standardSelectorCount();
+
+      TransportSettings.standard = new TransportSettings(backlog, idleInterval, idleTimeout, selectorCount);
     }
     return TransportSettings.standard;
   }
 
+  static int standardSelectorCount() {
+    int selectorCount;
+    try {
+      selectorCount = Integer.parseInt(System.getProperty("swim.transport.selector.count"));
+    } catch (NumberFormatException error) {
+      selectorCount = Runtime.getRuntime().availableProcessors();
+    }
+    return selectorCount;
+  }
+
   private static Form<TransportSettings> form;
 
   /**
@@ -218,7 +254,7 @@ final class TransportSettingsForm extends Form<TransportSettings> {
   public Item mold(TransportSettings settings) {
     if (settings != null) {
       final TransportSettings standard = TransportSettings.standard();
-      final Record record = Record.create(4).attr(this.tag());
+      final Record record = Record.create(5).attr(this.tag());
       if (settings.backlog != standard.backlog) {
         record.slot("backlog", settings.backlog);
       }
@@ -228,6 +264,9 @@ final class TransportSettingsForm extends Form<TransportSettings> {
       if (settings.idleTimeout != standard.idleTimeout) {
         record.slot("idleTimeout", settings.idleTimeout);
       }
+      if (settings.selectorCount != standard.selectorCount) {
+        record.slot("selectorCount", settings.selectorCount);
+      }
       return record;
     } else {
       return Item.extant();
@@ -242,7 +281,8 @@ final class TransportSettingsForm extends Form<TransportSettings> {
       final int backlog = value.get("backlog").intValue(standard.backlog);
       final long idleInterval = value.get("idleInterval").longValue(standard.idleInterval);
       final long idleTimeout = value.get("idleTimeout").longValue(standard.idleTimeout);
-      return new TransportSettings(backlog, idleInterval, idleTimeout);
+      final int selectorCount = value.get("selectorCount").intValue(standard.selectorCount);
+      return new TransportSettings(backlog, idleInterval, idleTimeout, selectorCount);
     }
     return null;
   }
@@ -0,0 +1,117 @@
+// Copyright 2015-2023 Swim.inc
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.io;
+
+import java.nio.ByteBuffer;
+import org.testng.annotations.Test;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertTrue;
+
+public class ByteBufferPoolSpec {
+
+  @Test
+  public void leaseDirectBuffers() {
+    final ByteBufferPool pool = new ByteBufferPool(64, 2);
+    final ByteBuffer buffer = pool.lease();
+    assertNotNull(buffer);
+    assertTrue(buffer.isDirect());
+    assertEquals(buffer.capacity(), 64);
+    assertEquals(pool.leasedCount(), 1);
+    assertEquals(pool.pooledCount(), 0);
+    assertEquals(pool.allocationCount(), 1L);
+  }
+
+  @Test
+  public void reuseReleasedBuffers() {
+    final ByteBufferPool pool = new ByteBufferPool(64, 2);
+    final ByteBuffer buffer = pool.lease();
+    buffer.put((byte) 1);
+    pool.release(buffer);
+    assertEquals(pool.leasedCount(), 0);
+    assertEquals(pool.pooledCount(), 1);
+    final ByteBuffer reused = pool.lease();
+    assertTrue(reused == buffer);
+    assertEquals(reused.position(), 0);
+    assertEquals(reused.limit(), 64);
+    assertEquals(pool.allocationCount(), 1L);
+    assertEquals(pool.leaseCount(), 2L);
+  }
+
+  @Test
+  public void dropBuffersReleasedToFullPool() {
+    final ByteBufferPool pool = new ByteBufferPool(64, 1);
+    final ByteBuffer buffer1 = pool.lease();
+    final ByteBuffer buffer2 = pool.lease();
+    pool.release(buffer1);
+    pool.release(buffer2);
+    assertEquals(pool.leasedCount(), 0);
+    assertEquals(pool.pooledCount(), 1);
+    assertEquals(pool.pooledSize(), 64L);
+  }
+
+  @Test
+  public void neverReuseDiscardedBuffers() {
+    final ByteBufferPool pool = new ByteBufferPool(64, 2);
+    final ByteBuffer buffer = pool.lease();
+    pool.discard(buffer);
+    assertEquals(pool.leasedCount(), 0);
+    assertEquals(pool.pooledCount(), 0);
+    assertTrue(pool.lease() != buffer);
+  }
+
+  @Test
+  public void releaseDrainedTransportBuffers() {
+    final ByteBufferPool pool = new ByteBufferPool(64, 2);
+    final TransportBuffer readBuffer = new TransportBuffer(pool, 64, false);
+    assertEquals(pool.leasedCount(), 0);
+    final ByteBuffer buffer = readBuffer.buffer();
+    assertEquals(pool.leasedCount(), 1);
+    buffer.put((byte) 1);
+    readBuffer.release();
+    assertEquals(pool.leasedCount(), 1); // unread input remains
+    buffer.clear();
+    readBuffer.release();
+    assertEquals(pool.leasedCount(), 0);
+    assertEquals(pool.pooledCount(), 1);
+  }
+
+  @Test
+  public void leaseOutputTransportBuffersDrained() {
+    final ByteBufferPool pool = new ByteBufferPool(64, 2);
+    final TransportBuffer writeBuffer = new TransportBuffer(pool, 64, true);
+    final ByteBuffer buffer = writeBuffer.buffer();
+    assertTrue(!buffer.hasRemaining());
+    writeBuffer.release();
+    assertEquals(pool.leasedCount(), 0);
+    assertEquals(pool.pooledCount(), 1);
+  }
+
+  @Test
+  public void discardClosedTransportBuffers() {
+    final ByteBufferPool pool = new ByteBufferPool(64, 2);
+    final TransportBuffer readBuffer = new TransportBuffer(pool, 64, false);
+    readBuffer.buffer().put((byte) 1);
+    readBuffer.discard();
+    assertEquals(pool.leasedCount(), 0);
+    final ByteBuffer straggler = readBuffer.buffer();
+    assertTrue(!straggler.isDirect());
+    readBuffer.release();
+    readBuffer.discard();
+    assertEquals(pool.leasedCount(), 0);
+    assertEquals(pool.pooledCount(), 0);
+  }
+
+}
@@ -0,0 +1,111 @@
+// Copyright 2015-2023 Swim.inc
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.io;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.testng.TestException;
+import org.testng.annotations.Test;
+import swim.concurrent.Theater;
+import static org.testng.Assert.assertEquals;
+
+public class StationSpec {
+
+  @Test
+  public void testSelectorThreadLifecycle() {
+    final Theater stage = new Theater();
+    final AtomicInteger didStartCount = new AtomicInteger();
+    final AtomicInteger willStopCount = new AtomicInteger();
+    final AtomicInteger didStopCount = new AtomicInteger();
+    final Station station = new Station(stage, TransportSettings.standard().selectorCount(3)) {
+      @Override
+      protected void didStart() {
+        didStartCount.incrementAndGet();
+      }
+
+      @Override
+      protected void willStop() {
+        willStopCount.incrementAndGet();
+      }
+
+      @Override
+      protected void didStop() {
+        didStopCount.incrementAndGet();
+      }
+    };
+    assertEquals(station.selectorCount(), 3);
+    try {
+      stage.start();
+      station.start();
+      assertEquals(didStartCount.get(), 1);
+    } finally {
+      station.stop();
+      stage.stop();
+    }
+    assertEquals(willStopCount.get(), 1);
+    assertEquals(didStopCount.get(), 1);
+  }
+
+  @Test
+  public void testShardedConnections() {
+    final int connectionCount = 8;
+    final Theater stage = new Theater();
+    final Station station = new Station(stage, TransportSettings.standard().selectorCount(4));
+    final IpEndpoint endpoint = new IpEndpoint(station);
+    final CountDownLatch clientConnect = new CountDownLatch(connectionCount);
+    final CountDownLatch serverConnect = new CountDownLatch(connectionCount);
+    final CountDownLatch serverBind = new CountDownLatch(1);
+    final AbstractIpService service = new AbstractIpService() {
+      @Override
+      public IpSocket createSocket() {
+        return new AbstractIpSocket() {
+          @Override
+          public void didConnect() {
+            serverConnect.countDown();
+          }
+        };
+      }
+
+      @Override
+      public void didBind() {
+        serverBind.countDown();
+      }
+    };
+
+    try {
+      stage.start();
+      endpoint.start();
+      endpoint.bindTcp("127.0.0.1", 53550, service);
+      serverBind.await();
+      for (int i = 0; i < connectionCount; i += 1) {
+        endpoint.connectTcp("127.0.0.1", 53550, new AbstractIpSocket() {
+          @Override
+          public void didConnect() {
+            clientConnect.countDown();
+          }
+        });
+      }
+      serverConnect.await();
+      clientConnect.await();
+    } catch (InterruptedException cause) {
+      throw new TestException(cause);
+    } finally {
+      service.unbind();
+      endpoint.stop();
+      stage.stop();
+    }
+  }
+
+}
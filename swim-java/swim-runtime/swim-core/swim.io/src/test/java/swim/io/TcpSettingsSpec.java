@@ -40,6 +40,13 @@ public class TcpSettingsSpec {
                 new TcpSettings(true, true, 2, 3, 5, 7));
   }
 
+  @Test
+  public void decodesPooledTcpSettings() {
+    assertCasts(Record.of(Attr.of("tcp"),
+                          Slot.of("bufferPoolSize", 64)),
+                TcpSettings.standard().bufferPoolSize(64));
+  }
+
   @Test
   public void encodesStandardTcpSettings() {
     assertMolds(TcpSettings.standard(), Record.of(Attr.of("tcp")));
@@ -57,6 +64,19 @@ public class TcpSettingsSpec {
                           Slot.of("writeBufferSize", 7)));
   }
 
+  @Test
+  public void encodesPooledTcpSettings() {
+    assertMolds(new TcpSettings(true, true, 2, 3, 5, 7, 11),
+                Record.of(Attr.of("tcp"),
+                          Slot.of("keepAlive", true),
+                          Slot.of("noDelay", true),
+                          Slot.of("receiveBufferSize", 2),
+                          Slot.of("sendBufferSize", 3),
+                          Slot.of("readBufferSize", 5),
+                          Slot.of("writeBufferSize", 7),
+                          Slot.of("bufferPoolSize", 11)));
+  }
+
   static void assertCasts(Value actualValue, TcpSettings expected) {
     final TcpSettings actual = TcpSettings.form().cast(actualValue);
     assertEquals(actual, expected);
@@ -14,6 +14,8 @@
 
 package swim.recon;
 
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
 import swim.codec.Decoder;
 import swim.codec.Encoder;
 import swim.codec.Output;
@@ -113,6 +115,47 @@ public final class Recon {
     return output.bind();
   }
 
+  /**
+   * Returns the number of bytes needed to encode the given {@code item}
+   * in compact binary Recon notation.
+   */
+  public static int binarySizeOf(Item item) {
+    return ReconBinary.sizeOf(item);
+  }
+
+  /**
+   * Encodes the given {@code item} in compact binary Recon notation into
+   * the {@code output} buffer, which must have at least
+   * {@link #binarySizeOf(Item) binarySizeOf(item)} bytes remaining.
+   */
+  public static void writeBinary(ByteBuffer output, Item item) {
+    ReconBinary.write(output, item);
+  }
+
+  public static ByteBuffer toBinary(Item item) {
+    final ByteBuffer output = ByteBuffer.allocate(ReconBinary.sizeOf(item));
+    ReconBinary.write(output, item);
+    ((Buffer) output).flip();
+    return output;
+  }
+
+  /**
+   * Decodes a single value encoded in compact binary Recon notation from
+   * the {@code input} buffer, advancing the buffer position past the value.
+   */
+  public static Value readBinary(ByteBuffer input) {
+    return ReconBinary.readValue(input);
+  }
+
+  /**
+   * Decodes a single item, which may be a field, encoded in compact binary
+   * Recon notation from the {@code input} buffer, advancing the buffer
+   * position past the item.
+   */
+  public static Item readBinaryItem(ByteBuffer input) {
+    return ReconBinary.readItem(input);
+  }
+
   public static <T> Parser<T> formParser(Form<T> form) {
     return new ReconFormParser<T>(Recon.structureParser(), form);
   }
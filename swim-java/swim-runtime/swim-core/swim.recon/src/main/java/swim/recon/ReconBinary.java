@@ -0,0 +1,362 @@
+// Copyright 2015-2023 Swim.inc
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.recon;
+
+import java.math.BigInteger;
+import java.nio.Buffer;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import swim.structure.Attr;
+import swim.structure.Bool;
+import swim.structure.Data;
+import swim.structure.Field;
+import swim.structure.Item;
+import swim.structure.Num;
+import swim.structure.Record;
+import swim.structure.Slot;
+import swim.structure.Text;
+import swim.structure.Value;
+
+/**
+ * Compact binary notation for the Recon data model. Every item is encoded
+ * as a single tag byte, followed by a tag-specific payload. Integers are
+ * zig-zag encoded as variable length quantities, and all lengths and counts
+ * are unsigned variable length quantities. Items that have no dedicated
+ * binary tag, such as selectors and operators, are embedded as Recon text.
+ */
+final class ReconBinary {
+
+  private ReconBinary() {
+    // static
+  }
+
+  static final int ABSENT = 0x00;
+  static final int EXTANT = 0x01;
+  static final int FALSE = 0x02;
+  static final int TRUE = 0x03;
+  static final int INT = 0x04;
+  static final int UINT32 = 0x05;
+  static final int UINT64 = 0x06;
+  static final int FLOAT32 = 0x07;
+  static final int FLOAT64 = 0x08;
+  static final int INTEGER = 0x09;
+  static final int TEXT = 0x0a;
+  static final int DATA = 0x0b;
+  static final int RECORD = 0x0c;
+  static final int ATTR = 0x0d;
+  static final int SLOT = 0x0e;
+  static final int RECON = 0x0f;
+
+  static int sizeOf(Item item) {
+    if (item instanceof Field) {
+      if (item instanceof Attr) {
+        final Attr attr = (Attr) item;
+        return 1 + ReconBinary.sizeOfString(attr.getKey().stringValue())
+                 + ReconBinary.sizeOf(attr.getValue());
+      } else if (item instanceof Slot) {
+        final Slot slot = (Slot) item;
+        return 1 + ReconBinary.sizeOf(slot.getKey()) + ReconBinary.sizeOf(slot.getValue());
+      }
+    } else if (item instanceof Record) {
+      final Record record = (Record) item;
+      final int n = record.size();
+      int size = 1 + ReconBinary.sizeOfVarUint(n);
+      for (int i = 0; i < n; i += 1) {
+        size += ReconBinary.sizeOf(record.getItem(i));
+      }
+      return size;
+    } else if (item instanceof Text) {
+      return 1 + ReconBinary.sizeOfString(item.stringValue());
+    } else if (item instanceof Num) {
+      return ReconBinary.sizeOfNum((Num) item);
+    } else if (item instanceof Data) {
+      final int size = ((Data) item).size();
+      return 1 + ReconBinary.sizeOfVarUint(size) + size;
+    } else if (item instanceof Bool || item == Value.extant() || item == Value.absent()) {
+      return 1;
+    }
+    return 1 + ReconBinary.sizeOfString(Recon.toString(item));
+  }
+
+  static int sizeOfNum(Num num) {
+    if (num.isUint32()) {
+      return 1 + ReconBinary.sizeOfVarUint(num.intValue() & 0xffffffffL);
+    } else if (num.isUint64()) {
+      return 1 + ReconBinary.sizeOfVarUint(num.longValue());
+    } else if (num.isValidLong()) {
+      return 1 + ReconBinary.sizeOfVarInt(num.longValue());
+    } else if (num.isValidFloat()) {
+      return 5;
+    } else if (num.isValidDouble()) {
+      return 9;
+    } else {
+      final int size = num.integerValue().toByteArray().length;
+      return 1 + ReconBinary.sizeOfVarUint(size) + size;
+    }
+  }
+
+  static int sizeOfString(String string) {
+    final int size = ReconBinary.utf8Size(string);
+    return ReconBinary.sizeOfVarUint(size) + size;
+  }
+
+  static int sizeOfVarInt(long value) {
+    return ReconBinary.sizeOfVarUint((value << 1) ^ (value >> 63));
+  }
+
+  static int sizeOfVarUint(long value) {
+    int size = 1;
+    while ((value & ~0x7fL) != 0L) {
+      value >>>= 7;
+      size += 1;
+    }
+    return size;
+  }
+
+  static int utf8Size(String string) {
+    int size = 0;
+    for (int i = 0, n = string.length(); i < n; i += 1) {
+      final char c = string.charAt(i);
+      if (c < 0x80) {
+        size += 1;
+      } else if (c < 0x800) {
+        size += 2;
+      } else if (Character.isHighSurrogate(c) && i + 1 < n && Character.isLowSurrogate(string.charAt(i + 1))) {
+        size += 4;
+        i += 1;
+      } else if (Character.isSurrogate(c)) {
+        throw new IllegalArgumentException("unpaired surrogate at index " + i);
+      } else {
+        size += 3;
+      }
+    }
+    return size;
+  }
+
+  static void write(ByteBuffer output, Item item) {
+    if (item instanceof Field) {
+      if (item instanceof Attr) {
+        final Attr attr = (Attr) item;
+        output.put((byte) ReconBinary.ATTR);
+        ReconBinary.writeString(output, attr.getKey().stringValue());
+        ReconBinary.write(output, attr.getValue());
+        return;
+      } else if (item instanceof Slot) {
+        final Slot slot = (Slot) item;
+        output.put((byte) ReconBinary.SLOT);
+        ReconBinary.write(output, slot.getKey());
+        ReconBinary.write(output, slot.getValue());
+        return;
+      }
+    } else if (item instanceof Record) {
+      final Record record = (Record) item;
+      final int n = record.size();
+      output.put((byte) ReconBinary.RECORD);
+      ReconBinary.writeVarUint(output, n);
+      for (int i = 0; i < n; i += 1) {
+        ReconBinary.write(output, record.getItem(i));
+      }
+      return;
+    } else if (item instanceof Text) {
+      output.put((byte) ReconBinary.TEXT);
+      ReconBinary.writeString(output, item.stringValue());
+      return;
+    } else if (item instanceof Num) {
+      ReconBinary.writeNum(output, (Num) item);
+      return;
+    } else if (item instanceof Data) {
+      final Data data = (Data) item;
+      output.put((byte) ReconBinary.DATA);
+      ReconBinary.writeVarUint(output, data.size());
+      output.put(data.asByteArray(), 0, data.size());
+      return;
+    } else if (item instanceof Bool) {
+      output.put((byte) (((Bool) item).booleanValue() ? ReconBinary.TRUE : ReconBinary.FALSE));
+      return;
+    } else if (item == Value.extant()) {
+      output.put((byte) ReconBinary.EXTANT);
+      return;
+    } else if (item == Value.absent()) {
+      output.put((byte) ReconBinary.ABSENT);
+      return;
+    }
+    output.put((byte) ReconBinary.RECON);
+    ReconBinary.writeString(output, Recon.toString(item));
+  }
+
+  static void writeNum(ByteBuffer output, Num num) {
+    if (num.isUint32()) {
+      output.put((byte) ReconBinary.UINT32);
+      ReconBinary.writeVarUint(output, num.intValue() & 0xffffffffL);
+    } else if (num.isUint64()) {
+      output.put((byte) ReconBinary.UINT64);
+      ReconBinary.writeVarUint(output, num.longValue());
+    } else if (num.isValidLong()) {
+      output.put((byte) ReconBinary.INT);
+      ReconBinary.writeVarInt(output, num.longValue());
+    } else if (num.isValidFloat()) {
+      output.put((byte) ReconBinary.FLOAT32);
+      output.putFloat(num.floatValue());
+    } else if (num.isValidDouble()) {
+      output.put((byte) ReconBinary.FLOAT64);
+      output.putDouble(num.doubleValue());
+    } else {
+      final byte[] bytes = num.integerValue().toByteArray();
+      output.put((byte) ReconBinary.INTEGER);
+      ReconBinary.writeVarUint(output, bytes.length);
+      output.put(bytes);
+    }
+  }
+
+  static void writeString(ByteBuffer output, String string) {
+    // Fails on unpaired surrogates, which String.getBytes would replace.
+    ReconBinary.writeVarUint(output, ReconBinary.utf8Size(string));
+    for (int i = 0, n = string.length(); i < n; i += 1) {
+      final int c = string.codePointAt(i);
+      if (c < 0x80) {
+        output.put((byte) c);
+      } else if (c < 0x800) {
+        output.put((byte) (0xc0 | (c >>> 6)));
+        output.put((byte) (0x80 | (c & 0x3f)));
+      } else if (c < 0x10000) {
+        output.put((byte) (0xe0 | (c >>> 12)));
+        output.put((byte) (0x80 | ((c >>> 6) & 0x3f)));
+        output.put((byte) (0x80 | (c & 0x3f)));
+      } else {
+        output.put((byte) (0xf0 | (c >>> 18)));
+        output.put((byte) (0x80 | ((c >>> 12) & 0x3f)));
+        output.put((byte) (0x80 | ((c >>> 6) & 0x3f)));
+        output.put((byte) (0x80 | (c & 0x3f)));
+        i += 1;
+      }
+    }
+  }
+
+  static void writeVarInt(ByteBuffer output, long value) {
+    ReconBinary.writeVarUint(output, (value << 1) ^ (value >> 63));
+  }
+
+  static void writeVarUint(ByteBuffer output, long value) {
+    while ((value & ~0x7fL) != 0L) {
+      output.put((byte) ((value & 0x7fL) | 0x80L));
+      value >>>= 7;
+    }
+    output.put((byte) value);
+  }
+
+  static Value readValue(ByteBuffer input) {
+    return ReconBinary.readItem(input).toValue();
+  }
+
+  static Item readItem(ByteBuffer input) {
+    final int tag = input.get() & 0xff;
+    switch (tag) {
+      case ABSENT:
+        return Value.absent();
+      case EXTANT:
+        return Value.extant();
+      case FALSE:
+        return Bool.from(false);
+      case TRUE:
+        return Bool.from(true);
+      case INT:
+        final long value = ReconBinary.readVarInt(input);
+        if (value == (long) (int) value) {
+          return Num.from((int) value);
+        } else {
+          return Num.from(value);
+        }
+      case UINT32:
+        return Num.uint32((int) ReconBinary.readVarUint(input));
+      case UINT64:
+        return Num.uint64(ReconBinary.readVarUint(input));
+      case FLOAT32:
+        return Num.from(input.getFloat());
+      case FLOAT64:
+        return Num.from(input.getDouble());
+      case INTEGER:
+        final byte[] integer = new byte[ReconBinary.readLength(input)];
+        input.get(integer);
+        return Num.from(new BigInteger(integer));
+      case TEXT:
+        return Text.from(ReconBinary.readString(input));
+      case DATA:
+        final byte[] data = new byte[ReconBinary.readLength(input)];
+        input.get(data);
+        return Data.wrap(data);
+      case RECORD:
+        final int n = ReconBinary.readLength(input);
+        final Record record = Record.create(n);
+        for (int i = 0; i < n; i += 1) {
+          record.add(ReconBinary.readItem(input));
+        }
+        return record;
+      case ATTR:
+        final String key = ReconBinary.readString(input);
+        return Attr.of(key, ReconBinary.readValue(input));
+      case SLOT:
+        final Value slotKey = ReconBinary.readValue(input);
+        return Slot.of(slotKey, ReconBinary.readValue(input));
+      case RECON:
+        return Recon.parse(ReconBinary.readString(input));
+      default:
+        throw new IllegalArgumentException("unknown binary recon tag: 0x" + Integer.toHexString(tag));
+    }
+  }
+
+  static String readString(ByteBuffer input) {
+    final int size = ReconBinary.readLength(input);
+    final String string;
+    if (input.hasArray()) {
+      final int position = input.position();
+      string = new String(input.array(), input.arrayOffset() + position, size, StandardCharsets.UTF_8);
+      ((Buffer) input).position(position + size);
+    } else {
+      final byte[] bytes = new byte[size];
+      input.get(bytes);
+      string = new String(bytes, StandardCharsets.UTF_8);
+    }
+    return string;
+  }
+
+  static int readLength(ByteBuffer input) {
+    final long length = ReconBinary.readVarUint(input);
+    if (length < 0L || length > input.remaining()) {
+      throw new BufferUnderflowException();
+    }
+    return (int) length;
+  }
+
+  static long readVarInt(ByteBuffer input) {
+    final long value = ReconBinary.readVarUint(input);
+    return (value >>> 1) ^ -(value & 1L);
+  }
+
+  static long readVarUint(ByteBuffer input) {
+    long value = 0L;
+    int shift = 0;
+    do {
+      final int b = input.get() & 0xff;
+      value |= (long) (b & 0x7f) << shift;
+      if ((b & 0x80) == 0) {
+        return value;
+      }
+      shift += 7;
+    } while (shift < 64);
+    throw new IllegalArgumentException("malformed binary recon varint");
+  }
+
+}
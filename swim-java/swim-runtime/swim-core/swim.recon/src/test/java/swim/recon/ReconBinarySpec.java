@@ -0,0 +1,109 @@
+// Copyright 2015-2023 Swim.inc
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.recon;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import org.testng.annotations.Test;
+import swim.structure.Attr;
+import swim.structure.Bool;
+import swim.structure.Data;
+import swim.structure.Item;
+import swim.structure.Num;
+import swim.structure.Record;
+import swim.structure.Slot;
+import swim.structure.Text;
+import swim.structure.Value;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+
+public class ReconBinarySpec {
+
+  @Test
+  public void transcodeAbsentAndExtant() {
+    assertTranscodes(Value.absent());
+    assertTranscodes(Value.extant());
+  }
+
+  @Test
+  public void transcodeBools() {
+    assertTranscodes(Bool.from(true));
+    assertTranscodes(Bool.from(false));
+  }
+
+  @Test
+  public void transcodeNumbers() {
+    assertTranscodes(Num.from(0));
+    assertTranscodes(Num.from(-1));
+    assertTranscodes(Num.from(Integer.MAX_VALUE));
+    assertTranscodes(Num.from(Long.MIN_VALUE));
+    assertTranscodes(Num.from(2.5f));
+    assertTranscodes(Num.from(0.1));
+    assertTranscodes(Num.uint32(0xffffffff));
+    assertTranscodes(Num.uint64(-1L));
+    assertTranscodes(Num.from(new BigInteger("123456789012345678901234567890")));
+  }
+
+  @Test
+  public void transcodeTextAndData() {
+    assertTranscodes(Text.empty());
+    assertTranscodes(Text.from("héllo, 世界 😀"));
+    assertTranscodes(Data.fromBase64("AAEC/w=="));
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void rejectUnpairedSurrogates() {
+    Recon.toBinary(Text.from("a\ud800b"));
+  }
+
+  @Test
+  public void transcodeRecords() {
+    assertTranscodes(Record.empty());
+    assertTranscodes(Record.of(1, "2", true));
+    assertTranscodes(Record.of(Attr.of("a", Record.of(Slot.of("x", 1))), Slot.of("b", Record.of(2, 3))));
+    assertTranscodes(Record.of(Slot.of(Record.of(1, 2), "composite")));
+  }
+
+  @Test
+  public void transcodeExpressions() {
+    assertTranscodes(Recon.parse("$a.b + 1"));
+  }
+
+  @Test
+  public void transcodeConsecutiveItems() {
+    final Item[] items = {Attr.of("page"), Slot.of("k", 1), Slot.of("v", Record.of(2, 3))};
+    int size = 0;
+    for (int i = 0; i < items.length; i += 1) {
+      size += Recon.binarySizeOf(items[i]);
+    }
+    final ByteBuffer buffer = ByteBuffer.allocate(size);
+    for (int i = 0; i < items.length; i += 1) {
+      Recon.writeBinary(buffer, items[i]);
+    }
+    buffer.flip();
+    for (int i = 0; i < items.length; i += 1) {
+      assertEquals(Recon.readBinaryItem(buffer), items[i]);
+    }
+    assertFalse(buffer.hasRemaining());
+  }
+
+  public static void assertTranscodes(Value value) {
+    final ByteBuffer buffer = Recon.toBinary(value);
+    assertEquals(buffer.remaining(), Recon.binarySizeOf(value));
+    assertEquals(Recon.readBinary(buffer), value);
+    assertFalse(buffer.hasRemaining());
+  }
+
+}
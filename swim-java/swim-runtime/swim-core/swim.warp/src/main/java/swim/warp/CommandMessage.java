@@ -25,6 +25,10 @@ public final class CommandMessage extends LaneAddressed {
     super(nodeUri, laneUri, body);
   }
 
+  CommandMessage(Uri nodeUri, Uri laneUri, Value body, EnvelopeBody rawBody) {
+    super(nodeUri, laneUri, body, rawBody);
+  }
+
   public CommandMessage(Uri nodeUri, Uri laneUri) {
     this(nodeUri, laneUri, Value.absent());
   }
@@ -49,12 +53,12 @@ public final class CommandMessage extends LaneAddressed {
 
   @Override
   public CommandMessage nodeUri(Uri nodeUri) {
-    return new CommandMessage(nodeUri, this.laneUri, this.body);
+    return new CommandMessage(nodeUri, this.laneUri, this.body, this.rawBody);
   }
 
   @Override
   public CommandMessage laneUri(Uri laneUri) {
-    return new CommandMessage(this.nodeUri, laneUri, this.body);
+    return new CommandMessage(this.nodeUri, laneUri, this.body, this.rawBody);
   }
 
   @Override
@@ -62,6 +66,11 @@ public final class CommandMessage extends LaneAddressed {
     return new CommandMessage(this.nodeUri, this.laneUri, body);
   }
 
+  @Override
+  CommandMessage rawBody(EnvelopeBody rawBody) {
+    return new CommandMessage(this.nodeUri, this.laneUri, null, rawBody);
+  }
+
   @Kind
   public static final Form<CommandMessage> FORM = new CommandMessageForm();
 
@@ -56,6 +56,18 @@ public abstract class Envelope implements Debug {
     return new EnvelopeEncoder(this);
   }
 
+  /**
+   * Returns an {@code Encoder} that writes this envelope in the compact
+   * binary WARP format, for transmission in WebSocket binary frames.
+   */
+  public Encoder<?, Envelope> binaryEncoder() {
+    return new EnvelopeBinaryEncoder(this);
+  }
+
+  public byte[] toBinary() {
+    return EnvelopeBinaryEncoder.toByteArray(this);
+  }
+
   public Writer<?, ?> reconWriter() {
     return Recon.write(Output.full(), this.toValue());
   }
@@ -85,6 +97,49 @@ public abstract class Envelope implements Debug {
     return Envelope.decoder;
   }
 
+  private static Decoder<Envelope> binaryDecoder;
+
+  /**
+   * Returns a {@code Decoder} that reads an envelope in the compact binary
+   * WARP format from the payload of a WebSocket binary message.
+   */
+  public static Decoder<Envelope> binaryDecoder() {
+    if (Envelope.binaryDecoder == null) {
+      Envelope.binaryDecoder = new EnvelopeBinaryDecoder();
+    }
+    return Envelope.binaryDecoder;
+  }
+
+  private static Decoder<Envelope> lazyDecoder;
+
+  /**
+   * Returns a {@code Decoder} that parses only the header of a Recon
+   * envelope, deferring the parse of a lane addressed envelope's body until
+   * the body is first accessed. Envelopes whose bodies are never accessed
+   * get re-encoded with their original body text.
+   */
+  public static Decoder<Envelope> lazyDecoder() {
+    if (Envelope.lazyDecoder == null) {
+      Envelope.lazyDecoder = new EnvelopeHeaderDecoder();
+    }
+    return Envelope.lazyDecoder;
+  }
+
+  private static Decoder<Envelope> lazyBinaryDecoder;
+
+  /**
+   * Returns a {@code Decoder} that reads only the header of a binary
+   * envelope, deferring the decode of a lane addressed envelope's body until
+   * the body is first accessed. Envelopes whose bodies are never accessed
+   * get re-encoded with their original body bytes.
+   */
+  public static Decoder<Envelope> lazyBinaryDecoder() {
+    if (Envelope.lazyBinaryDecoder == null) {
+      Envelope.lazyBinaryDecoder = new EnvelopeBinaryDecoder(true);
+    }
+    return Envelope.lazyBinaryDecoder;
+  }
+
   private static Encoder<Envelope, Envelope> encoder;
 
   public static Encoder<Envelope, Envelope> encoder() {
@@ -104,6 +159,10 @@ public abstract class Envelope implements Debug {
     }
   }
 
+  public static Envelope fromBinary(byte[] binary) {
+    return EnvelopeBinaryDecoder.fromByteArray(binary);
+  }
+
   public static Envelope parseRecon(String recon) {
     final Value value = Recon.parse(recon);
     return Envelope.fromValue(value);
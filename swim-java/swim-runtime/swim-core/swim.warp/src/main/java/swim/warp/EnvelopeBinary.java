@@ -0,0 +1,240 @@
+// Copyright 2015-2023 Swim.inc
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.warp;
+
+import java.nio.Buffer;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import swim.codec.DecoderException;
+import swim.recon.Recon;
+import swim.structure.Num;
+import swim.structure.Text;
+import swim.structure.Value;
+import swim.uri.Uri;
+
+/**
+ * Binary WARP envelope format. Each envelope begins with one of the envelope
+ * type codes, followed by the node and lane URIs of lane addressed envelopes
+ * as binary Recon text, the priority and rate of link addressed envelopes as
+ * binary Recon numbers, and finally the envelope body as a binary Recon value.
+ */
+final class EnvelopeBinary {
+
+  private EnvelopeBinary() {
+    // static
+  }
+
+  static final int EVENT = 0x01;
+  static final int COMMAND = 0x02;
+  static final int LINK = 0x03;
+  static final int LINKED = 0x04;
+  static final int SYNC = 0x05;
+  static final int SYNCED = 0x06;
+  static final int UNLINK = 0x07;
+  static final int UNLINKED = 0x08;
+  static final int AUTH = 0x09;
+  static final int AUTHED = 0x0a;
+  static final int DEAUTH = 0x0b;
+  static final int DEAUTHED = 0x0c;
+
+  static int typeCode(Envelope envelope) {
+    if (envelope instanceof EventMessage) {
+      return EVENT;
+    } else if (envelope instanceof CommandMessage) {
+      return COMMAND;
+    } else if (envelope instanceof LinkRequest) {
+      return LINK;
+    } else if (envelope instanceof LinkedResponse) {
+      return LINKED;
+    } else if (envelope instanceof SyncRequest) {
+      return SYNC;
+    } else if (envelope instanceof SyncedResponse) {
+      return SYNCED;
+    } else if (envelope instanceof UnlinkRequest) {
+      return UNLINK;
+    } else if (envelope instanceof UnlinkedResponse) {
+      return UNLINKED;
+    } else if (envelope instanceof AuthRequest) {
+      return AUTH;
+    } else if (envelope instanceof AuthedResponse) {
+      return AUTHED;
+    } else if (envelope instanceof DeauthRequest) {
+      return DEAUTH;
+    } else if (envelope instanceof DeauthedResponse) {
+      return DEAUTHED;
+    } else {
+      throw new IllegalArgumentException(envelope.toString());
+    }
+  }
+
+  /**
+   * Returns a buffer, flipped for reading, that holds {@code envelope}
+   * encoded in the binary WARP format.
+   */
+  static ByteBuffer write(Envelope envelope) {
+    final int type = EnvelopeBinary.typeCode(envelope);
+    if (envelope instanceof LaneAddressed) {
+      final LaneAddressed laneAddressed = (LaneAddressed) envelope;
+      final Text nodeUri = Text.from(laneAddressed.nodeUri.toString());
+      final Text laneUri = Text.from(laneAddressed.laneUri.toString());
+      int size = 1 + Recon.binarySizeOf(nodeUri) + Recon.binarySizeOf(laneUri);
+      Num prio = null;
+      Num rate = null;
+      if (envelope instanceof LinkAddressed) {
+        prio = Num.from(((LinkAddressed) envelope).prio());
+        rate = Num.from(((LinkAddressed) envelope).rate());
+        size += Recon.binarySizeOf(prio) + Recon.binarySizeOf(rate);
+      }
+      final EnvelopeBody rawBody = laneAddressed.rawBody;
+      final EnvelopeBodyBytes bodyBytes = rawBody != null ? rawBody.encoding(true) : null;
+      final Value body = bodyBytes == null ? laneAddressed.body() : null;
+      size += bodyBytes != null ? bodyBytes.limit - bodyBytes.offset : Recon.binarySizeOf(body);
+      final ByteBuffer output = ByteBuffer.allocate(size);
+      output.put((byte) type);
+      Recon.writeBinary(output, nodeUri);
+      Recon.writeBinary(output, laneUri);
+      if (prio != null) {
+        Recon.writeBinary(output, prio);
+        Recon.writeBinary(output, rate);
+      }
+      if (bodyBytes != null) {
+        // Copy the already encoded body verbatim, without materializing it.
+        output.put(bodyBytes.array, bodyBytes.offset, bodyBytes.limit - bodyBytes.offset);
+      } else {
+        Recon.writeBinary(output, body);
+      }
+      ((Buffer) output).flip();
+      return output;
+    } else {
+      final Value body = envelope.body();
+      final ByteBuffer output = ByteBuffer.allocate(1 + Recon.binarySizeOf(body));
+      output.put((byte) type);
+      Recon.writeBinary(output, body);
+      ((Buffer) output).flip();
+      return output;
+    }
+  }
+
+  /**
+   * Reads an envelope that spans all remaining bytes of the array backed
+   * {@code input} buffer; if {@code lazy} is {@code true}, the body of a lane
+   * addressed envelope is left undecoded, to be parsed on first access.
+   */
+  static Envelope read(ByteBuffer input, boolean lazy) {
+    if (!input.hasRemaining()) {
+      throw new DecoderException("truncated envelope");
+    }
+    final int type = input.get() & 0xff;
+    final Envelope envelope;
+    if (type >= EnvelopeBinary.EVENT && type <= EnvelopeBinary.UNLINKED) {
+      final Uri nodeUri = EnvelopeBinary.readUri(input);
+      final Uri laneUri = EnvelopeBinary.readUri(input);
+      float prio = 0f;
+      float rate = 0f;
+      if (type == EnvelopeBinary.LINK || type == EnvelopeBinary.LINKED || type == EnvelopeBinary.SYNC) {
+        prio = EnvelopeBinary.readFloat(input);
+        rate = EnvelopeBinary.readFloat(input);
+      }
+      final Value body;
+      final EnvelopeBody rawBody;
+      if (lazy) {
+        body = null;
+        rawBody = new ReceivedEnvelopeBody(input.array(), input.arrayOffset() + input.position(),
+                                           input.arrayOffset() + input.limit(), true);
+        ((Buffer) input).position(input.limit());
+      } else {
+        body = EnvelopeBinary.readValue(input);
+        rawBody = null;
+      }
+      switch (type) {
+        case EnvelopeBinary.EVENT:
+          envelope = new EventMessage(nodeUri, laneUri, body, rawBody);
+          break;
+        case EnvelopeBinary.COMMAND:
+          envelope = new CommandMessage(nodeUri, laneUri, body, rawBody);
+          break;
+        case EnvelopeBinary.LINK:
+          envelope = new LinkRequest(nodeUri, laneUri, prio, rate, body, rawBody);
+          break;
+        case EnvelopeBinary.LINKED:
+          envelope = new LinkedResponse(nodeUri, laneUri, prio, rate, body, rawBody);
+          break;
+        case EnvelopeBinary.SYNC:
+          envelope = new SyncRequest(nodeUri, laneUri, prio, rate, body, rawBody);
+          break;
+        case EnvelopeBinary.SYNCED:
+          envelope = new SyncedResponse(nodeUri, laneUri, body, rawBody);
+          break;
+        case EnvelopeBinary.UNLINK:
+          envelope = new UnlinkRequest(nodeUri, laneUri, body, rawBody);
+          break;
+        default:
+          envelope = new UnlinkedResponse(nodeUri, laneUri, body, rawBody);
+      }
+    } else {
+      switch (type) {
+        case EnvelopeBinary.AUTH:
+          envelope = new AuthRequest(EnvelopeBinary.readValue(input));
+          break;
+        case EnvelopeBinary.AUTHED:
+          envelope = new AuthedResponse(EnvelopeBinary.readValue(input));
+          break;
+        case EnvelopeBinary.DEAUTH:
+          envelope = new DeauthRequest(EnvelopeBinary.readValue(input));
+          break;
+        case EnvelopeBinary.DEAUTHED:
+          envelope = new DeauthedResponse(EnvelopeBinary.readValue(input));
+          break;
+        default:
+          throw new DecoderException("unknown envelope type: " + type);
+      }
+    }
+    if (input.hasRemaining()) {
+      throw new DecoderException("trailing envelope bytes");
+    }
+    return envelope;
+  }
+
+  /**
+   * Reads a binary Recon value from {@code input}, reporting malformed and
+   * truncated values as {@code DecoderException}s.
+   */
+  static Value readValue(ByteBuffer input) {
+    try {
+      return Recon.readBinary(input);
+    } catch (BufferUnderflowException cause) {
+      throw new DecoderException("truncated envelope", cause);
+    } catch (IllegalArgumentException cause) {
+      throw new DecoderException(cause.getMessage(), cause);
+    }
+  }
+
+  static Uri readUri(ByteBuffer input) {
+    final Value uri = EnvelopeBinary.readValue(input);
+    if (!(uri instanceof Text)) {
+      throw new DecoderException("malformed envelope uri: " + uri);
+    }
+    return Uri.parse(uri.stringValue());
+  }
+
+  static float readFloat(ByteBuffer input) {
+    final Value value = EnvelopeBinary.readValue(input);
+    if (!(value instanceof Num)) {
+      throw new DecoderException("malformed envelope number: " + value);
+    }
+    return value.floatValue();
+  }
+
+}
@@ -0,0 +1,82 @@
+// Copyright 2015-2023 Swim.inc
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.warp;
+
+import java.nio.ByteBuffer;
+import swim.codec.Decoder;
+import swim.codec.InputBuffer;
+
+final class EnvelopeBinaryDecoder extends Decoder<Envelope> {
+
+  final boolean lazy;
+  final byte[] array;
+  final int size;
+
+  EnvelopeBinaryDecoder(boolean lazy, byte[] array, int size) {
+    this.lazy = lazy;
+    this.array = array;
+    this.size = size;
+  }
+
+  EnvelopeBinaryDecoder(boolean lazy) {
+    this(lazy, null, 0);
+  }
+
+  EnvelopeBinaryDecoder() {
+    this(false, null, 0);
+  }
+
+  @Override
+  public Decoder<Envelope> feed(InputBuffer input) {
+    return EnvelopeBinaryDecoder.decode(input, this.lazy, this.array, this.size);
+  }
+
+  static Decoder<Envelope> decode(InputBuffer input, boolean lazy, byte[] array, int size) {
+    // Buffer the payload, which may span multiple reads or fragments,
+    // until the end of the message.
+    if (input.isCont()) {
+      final int index = input.index();
+      final int count = input.remaining();
+      if (array == null) {
+        array = new byte[count];
+      } else if (size + count > array.length) {
+        final byte[] newArray = new byte[Math.max(array.length << 1, size + count)];
+        System.arraycopy(array, 0, newArray, 0, size);
+        array = newArray;
+      }
+      for (int i = 0; i < count; i += 1) {
+        array[size + i] = (byte) input.get(index + i);
+      }
+      size += count;
+      input = input.index(index + count);
+    }
+    if (input.isDone()) {
+      try {
+        final ByteBuffer buffer = array != null ? ByteBuffer.wrap(array, 0, size) : ByteBuffer.allocate(0);
+        return Decoder.done(EnvelopeBinary.read(buffer, lazy));
+      } catch (RuntimeException cause) {
+        return Decoder.error(cause);
+      }
+    } else if (input.isError()) {
+      return Decoder.error(input.trap());
+    }
+    return new EnvelopeBinaryDecoder(lazy, array, size);
+  }
+
+  static Envelope fromByteArray(byte[] array) {
+    return EnvelopeBinary.read(ByteBuffer.wrap(array), false);
+  }
+
+}
@@ -0,0 +1,71 @@
+// Copyright 2015-2023 Swim.inc
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.warp;
+
+import java.nio.ByteBuffer;
+import swim.codec.Encoder;
+import swim.codec.OutputBuffer;
+
+final class EnvelopeBinaryEncoder extends Encoder<Envelope, Envelope> {
+
+  final Envelope envelope;
+  final ByteBuffer buffer;
+
+  EnvelopeBinaryEncoder(Envelope envelope, ByteBuffer buffer) {
+    this.envelope = envelope;
+    this.buffer = buffer;
+  }
+
+  EnvelopeBinaryEncoder(Envelope envelope) {
+    this(envelope, null);
+  }
+
+  EnvelopeBinaryEncoder() {
+    this(null, null);
+  }
+
+  @Override
+  public Encoder<Envelope, Envelope> pull(OutputBuffer<?> output) {
+    return EnvelopeBinaryEncoder.encode(output, this.envelope, this.buffer);
+  }
+
+  @Override
+  public Encoder<Envelope, Envelope> feed(Envelope envelope) {
+    return new EnvelopeBinaryEncoder(envelope);
+  }
+
+  static Encoder<Envelope, Envelope> encode(OutputBuffer<?> output, Envelope envelope, ByteBuffer buffer) {
+    if (buffer == null) {
+      buffer = EnvelopeBinary.write(envelope);
+    }
+    while (buffer.hasRemaining() && output.isCont()) {
+      output = output.write(buffer.get() & 0xff);
+    }
+    if (!buffer.hasRemaining()) {
+      return Encoder.done(envelope);
+    } else if (output.isError()) {
+      return Encoder.error(output.trap());
+    }
+    return new EnvelopeBinaryEncoder(envelope, buffer);
+  }
+
+  static byte[] toByteArray(Envelope envelope) {
+    final ByteBuffer buffer = EnvelopeBinary.write(envelope);
+    final byte[] array = new byte[buffer.remaining()];
+    buffer.get(array);
+    return array;
+  }
+
+}
@@ -0,0 +1,35 @@
+// Copyright 2015-2023 Swim.inc
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.warp;
+
+import swim.structure.Value;
+
+/**
+ * Body of a {@link LaneAddressed} envelope held in encoded form, either
+ * because it was received and hasn't been parsed yet, or because it was
+ * encoded once to be shared by many envelopes.
+ */
+abstract class EnvelopeBody {
+
+  abstract Value parseBody();
+
+  /**
+   * Returns the body encoded in the binary WARP format, if {@code binary} is
+   * {@code true}, or in Recon otherwise; or {@code null} if the body has no
+   * encoding in that format at hand.
+   */
+  abstract EnvelopeBodyBytes encoding(boolean binary);
+
+}
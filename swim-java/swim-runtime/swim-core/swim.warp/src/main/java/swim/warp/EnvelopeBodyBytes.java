@@ -0,0 +1,55 @@
+// Copyright 2015-2023 Swim.inc
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.warp;
+
+import java.nio.charset.StandardCharsets;
+import swim.codec.OutputBuffer;
+
+/**
+ * Slice of a byte array holding an encoded envelope body, from
+ * {@code offset} to {@code limit}.
+ */
+final class EnvelopeBodyBytes {
+
+  final byte[] array;
+  final int offset;
+  final int limit;
+
+  EnvelopeBodyBytes(byte[] array, int offset, int limit) {
+    this.array = array;
+    this.offset = offset;
+    this.limit = limit;
+  }
+
+  /**
+   * Writes as many body bytes, starting at {@code index}, as fit in
+   * {@code output}; returns the index of the next byte to write.
+   */
+  int writeBody(OutputBuffer<?> output, int index) {
+    final byte[] array = this.array;
+    final int limit = this.limit;
+    while (index < limit && output.isCont()) {
+      output = output.write(array[index] & 0xff);
+      index += 1;
+    }
+    return index;
+  }
+
+  @Override
+  public String toString() {
+    return new String(this.array, this.offset, this.limit - this.offset, StandardCharsets.UTF_8);
+  }
+
+}
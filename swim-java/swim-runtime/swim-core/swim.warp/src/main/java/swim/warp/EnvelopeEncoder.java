@@ -15,30 +15,37 @@
 package swim.warp;
 
 import swim.codec.Encoder;
+import swim.codec.Output;
 import swim.codec.OutputBuffer;
 import swim.codec.Utf8;
+import swim.recon.Recon;
+import swim.structure.Value;
 
 final class EnvelopeEncoder extends Encoder<Envelope, Envelope> {
 
   final Envelope envelope;
   final Encoder<?, ?> input;
+  final EnvelopeBodyBytes bodyBytes;
+  final int index;
 
-  EnvelopeEncoder(Envelope envelope, Encoder<?, ?> input) {
+  EnvelopeEncoder(Envelope envelope, Encoder<?, ?> input, EnvelopeBodyBytes bodyBytes, int index) {
     this.envelope = envelope;
     this.input = input;
+    this.bodyBytes = bodyBytes;
+    this.index = index;
   }
 
   EnvelopeEncoder(Envelope envelope) {
-    this(envelope, null);
+    this(envelope, null, null, 0);
   }
 
   EnvelopeEncoder() {
-    this(null, null);
+    this(null, null, null, 0);
   }
 
   @Override
   public Encoder<Envelope, Envelope> pull(OutputBuffer<?> output) {
-    return EnvelopeEncoder.encode(output, this.envelope, this.input);
+    return EnvelopeEncoder.encode(output, this.envelope, this.input, this.bodyBytes, this.index);
   }
 
   @Override
@@ -46,20 +53,48 @@ final class EnvelopeEncoder extends Encoder<Envelope, Envelope> {
     return new EnvelopeEncoder(envelope);
   }
 
-  static Encoder<Envelope, Envelope> encode(OutputBuffer<?> output, Envelope envelope, Encoder<?, ?> input) {
+  static Encoder<Envelope, Envelope> encode(OutputBuffer<?> output, Envelope envelope, Encoder<?, ?> input,
+                                            EnvelopeBodyBytes bodyBytes, int index) {
     if (input == null) {
-      input = Utf8.writeEncoded(output, envelope.reconWriter());
-    } else {
+      bodyBytes = EnvelopeEncoder.reconBody(envelope);
+      if (bodyBytes != null) {
+        // Write a fresh header, followed by the already encoded body verbatim.
+        input = Utf8.writeEncoded(output, Recon.write(Output.full(), envelope.body(Value.absent()).toValue()));
+        index = bodyBytes.offset;
+      } else {
+        input = Utf8.writeEncoded(output, envelope.reconWriter());
+      }
+    } else if (!input.isDone()) {
       input = input.pull(output);
     }
-    if (input.isDone()) {
+    if (input.isDone() && bodyBytes != null) {
+      index = bodyBytes.writeBody(output, index);
+      if (index == bodyBytes.limit) {
+        return Encoder.done(envelope);
+      }
+    } else if (input.isDone()) {
       return Encoder.done(envelope);
     } else if (input.isError()) {
       return Encoder.error(input.trap());
-    } else if (output.isError()) {
+    }
+    if (output.isError()) {
       return Encoder.error(output.trap());
     }
-    return new EnvelopeEncoder(envelope, input);
+    return new EnvelopeEncoder(envelope, input, bodyBytes, index);
+  }
+
+  /**
+   * Returns the already encoded Recon body of an envelope, or {@code null}
+   * if the envelope body has to be written from its value.
+   */
+  static EnvelopeBodyBytes reconBody(Envelope envelope) {
+    if (envelope instanceof LaneAddressed) {
+      final EnvelopeBody rawBody = ((LaneAddressed) envelope).rawBody;
+      if (rawBody != null) {
+        return rawBody.encoding(false);
+      }
+    }
+    return null;
   }
 
 }
@@ -0,0 +1,153 @@
+// Copyright 2015-2023 Swim.inc
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.warp;
+
+import java.nio.charset.StandardCharsets;
+import swim.codec.Decoder;
+import swim.codec.DecoderException;
+import swim.codec.InputBuffer;
+import swim.recon.Recon;
+import swim.structure.Value;
+
+/**
+ * Header-first Recon envelope decoder. Buffers the UTF-8 payload of a
+ * message, scans past the leading {@code @tag(...)} envelope header, and
+ * parses only the header, leaving the body of lane addressed envelopes to be
+ * parsed on first access. Messages whose header can't be delimited by a
+ * simple scan get parsed eagerly, exactly as {@link EnvelopeDecoder} would.
+ */
+final class EnvelopeHeaderDecoder extends Decoder<Envelope> {
+
+  final byte[] array;
+  final int size;
+
+  EnvelopeHeaderDecoder(byte[] array, int size) {
+    this.array = array;
+    this.size = size;
+  }
+
+  EnvelopeHeaderDecoder() {
+    this(null, 0);
+  }
+
+  @Override
+  public Decoder<Envelope> feed(InputBuffer input) {
+    return EnvelopeHeaderDecoder.decode(input, this.array, this.size);
+  }
+
+  static Decoder<Envelope> decode(InputBuffer input, byte[] array, int size) {
+    int remaining = input.remaining();
+    if (array == null) {
+      array = new byte[Math.max(64, remaining)];
+    }
+    while (input.isCont()) {
+      if (size == array.length) {
+        final byte[] newArray = new byte[Math.max(size << 1, size + remaining)];
+        System.arraycopy(array, 0, newArray, 0, size);
+        array = newArray;
+      }
+      array[size] = (byte) input.head();
+      size += 1;
+      input = input.step();
+      remaining -= 1;
+    }
+    if (input.isDone()) {
+      try {
+        return Decoder.done(EnvelopeHeaderDecoder.readEnvelope(array, size));
+      } catch (RuntimeException cause) {
+        return Decoder.error(cause);
+      }
+    } else if (input.isError()) {
+      return Decoder.error(input.trap());
+    }
+    return new EnvelopeHeaderDecoder(array, size);
+  }
+
+  static Envelope readEnvelope(byte[] array, int size) {
+    final int headerSize = EnvelopeHeaderDecoder.scanHeader(array, size);
+    if (headerSize > 0) {
+      final Value header = Recon.parse(new String(array, 0, headerSize, StandardCharsets.UTF_8));
+      final Envelope envelope = Envelope.fromValue(header);
+      if (envelope instanceof LaneAddressed) {
+        return ((LaneAddressed) envelope).rawBody(new ReceivedEnvelopeBody(array, headerSize, size, false));
+      }
+    }
+    final Value value = Recon.parse(new String(array, 0, size, StandardCharsets.UTF_8));
+    final Envelope envelope = Envelope.fromValue(value);
+    if (envelope == null) {
+      throw new DecoderException(Recon.toString(value));
+    }
+    return envelope;
+  }
+
+  /**
+   * Returns the number of bytes spanned by the leading {@code @tag(...)}
+   * attribute of a Recon message, or {@code -1} if the header can't be
+   * delimited without a full parse.
+   */
+  static int scanHeader(byte[] array, int size) {
+    int index = 0;
+    while (index < size && (array[index] == ' ' || array[index] == '\t'
+        || array[index] == '\r' || array[index] == '\n')) {
+      index += 1;
+    }
+    if (index == size || array[index] != '@') {
+      return -1;
+    }
+    index += 1;
+    final int tagStart = index;
+    while (index < size && EnvelopeHeaderDecoder.isIdentByte(array[index])) {
+      index += 1;
+    }
+    if (index == tagStart || index == size || array[index] != '(') {
+      return -1;
+    }
+    int depth = 0;
+    do {
+      final int b = array[index];
+      if (b == '(' || b == '{') {
+        depth += 1;
+      } else if (b == ')' || b == '}') {
+        depth -= 1;
+        if (depth == 0) {
+          return b == ')' ? index + 1 : -1;
+        }
+      } else if (b == '"' || b == '\'') {
+        index += 1;
+        while (index < size && array[index] != b) {
+          if (array[index] == '\\') {
+            index += 1;
+          }
+          index += 1;
+        }
+        if (index >= size) {
+          return -1;
+        }
+      } else if (b == '[' || b == ']' || b == '#' || b == '`') {
+        // Markup, comments, and other uncommon syntax in a header isn't
+        // worth scanning; fall back to a full parse.
+        return -1;
+      }
+      index += 1;
+    } while (index < size);
+    return -1;
+  }
+
+  static boolean isIdentByte(byte b) {
+    return b >= 'a' && b <= 'z' || b >= 'A' && b <= 'Z'
+        || b >= '0' && b <= '9' || b == '_' || b == '-' || b < 0;
+  }
+
+}
@@ -25,6 +25,10 @@ public final class EventMessage extends LaneAddressed {
     super(nodeUri, laneUri, body);
   }
 
+  EventMessage(Uri nodeUri, Uri laneUri, Value body, EnvelopeBody rawBody) {
+    super(nodeUri, laneUri, body, rawBody);
+  }
+
   public EventMessage(Uri nodeUri, Uri laneUri) {
     this(nodeUri, laneUri, Value.absent());
   }
@@ -49,12 +53,12 @@ public final class EventMessage extends LaneAddressed {
 
   @Override
   public EventMessage nodeUri(Uri nodeUri) {
-    return new EventMessage(nodeUri, this.laneUri, this.body);
+    return new EventMessage(nodeUri, this.laneUri, this.body, this.rawBody);
   }
 
   @Override
   public EventMessage laneUri(Uri laneUri) {
-    return new EventMessage(this.nodeUri, laneUri, this.body);
+    return new EventMessage(this.nodeUri, laneUri, this.body, this.rawBody);
   }
 
   @Override
@@ -62,6 +66,16 @@ public final class EventMessage extends LaneAddressed {
     return new EventMessage(this.nodeUri, this.laneUri, body);
   }
 
+  @Override
+  public EventMessage sharedBody() {
+    return (EventMessage) super.sharedBody();
+  }
+
+  @Override
+  EventMessage rawBody(EnvelopeBody rawBody) {
+    return new EventMessage(this.nodeUri, this.laneUri, null, rawBody);
+  }
+
   @Kind
   public static final Form<EventMessage> FORM = new EventMessageForm();
 
@@ -15,6 +15,7 @@
 package swim.warp;
 
 import swim.codec.Output;
+import swim.recon.Recon;
 import swim.structure.Value;
 import swim.uri.Uri;
 import swim.util.Murmur3;
@@ -23,12 +24,29 @@ public abstract class LaneAddressed extends Envelope {
 
   final Uri nodeUri;
   final Uri laneUri;
-  final Value body;
+  /**
+   * Decoded envelope body, or {@code null} if the body has not yet been
+   * parsed from {@link #rawBody}.
+   */
+  volatile Value body;
+  /**
+   * Encoded form of the envelope body, either retained by a header-first
+   * decoder so that the body can be parsed on first access, and forwarded
+   * without ever being materialized; or shared by envelopes that fan out the
+   * same body, so that the body gets encoded only once. {@code null} if the
+   * body is only held as a value.
+   */
+  final EnvelopeBody rawBody;
 
-  LaneAddressed(Uri nodeUri, Uri laneUri, Value body) {
+  LaneAddressed(Uri nodeUri, Uri laneUri, Value body, EnvelopeBody rawBody) {
     this.nodeUri = nodeUri;
     this.laneUri = laneUri;
-    this.body = body.commit();
+    this.body = body != null ? body.commit() : null;
+    this.rawBody = rawBody;
+  }
+
+  LaneAddressed(Uri nodeUri, Uri laneUri, Value body) {
+    this(nodeUri, laneUri, body, null);
   }
 
   @Override
@@ -43,7 +61,34 @@ public abstract class LaneAddressed extends Envelope {
 
   @Override
   public Value body() {
-    return this.body;
+    Value body = this.body;
+    if (body == null) {
+      // Concurrent first accesses may each parse the body; the results are equal.
+      body = this.rawBody.parseBody().commit();
+      this.body = body;
+    }
+    return body;
+  }
+
+  /**
+   * Returns a copy of this envelope whose body gets encoded at most once per
+   * wire format, with the encodings shared by all envelopes derived from the
+   * copy by changing their node or lane URIs. Fanning out one body to many
+   * links through a shared envelope costs a copy of the encoded body per
+   * link, instead of a serialization of the body per link.
+   */
+  public LaneAddressed sharedBody() {
+    if (this.rawBody instanceof SharedEnvelopeBody) {
+      return this;
+    }
+    return this.rawBody(new SharedEnvelopeBody(this.body()));
+  }
+
+  /**
+   * Returns {@code true} if the body of this envelope has been parsed.
+   */
+  public boolean isBodyDecoded() {
+    return this.body != null;
   }
 
   @Override
@@ -55,6 +100,22 @@ public abstract class LaneAddressed extends Envelope {
   @Override
   public abstract LaneAddressed body(Value body);
 
+  /**
+   * Returns a copy of this envelope whose body gets lazily parsed from
+   * {@code rawBody}.
+   */
+  abstract LaneAddressed rawBody(EnvelopeBody rawBody);
+
+  @Override
+  public String toRecon() {
+    final EnvelopeBodyBytes bodyBytes = EnvelopeEncoder.reconBody(this);
+    if (bodyBytes != null) {
+      // Re-emit the already encoded body verbatim after a freshly written header.
+      return Recon.toString(this.body(Value.absent()).toValue()) + bodyBytes.toString();
+    }
+    return super.toRecon();
+  }
+
   @Override
   public boolean equals(Object other) {
     if (this == other) {
@@ -62,7 +123,7 @@ public abstract class LaneAddressed extends Envelope {
     } else if (other != null && this.getClass() == other.getClass()) {
       final LaneAddressed that = (LaneAddressed) other;
       return this.nodeUri.equals(that.nodeUri) && this.laneUri.equals(that.laneUri)
-          && this.body.equals(that.body);
+          && this.body().equals(that.body());
     }
     return false;
   }
@@ -70,15 +131,16 @@ public abstract class LaneAddressed extends Envelope {
   @Override
   public int hashCode() {
     return Murmur3.mash(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.seed(this.getClass()),
-        this.nodeUri.hashCode()), this.laneUri.hashCode()), this.body.hashCode()));
+        this.nodeUri.hashCode()), this.laneUri.hashCode()), this.body().hashCode()));
   }
 
   @Override
   public <T> Output<T> debug(Output<T> output) {
     output = output.write("new").write(' ').write(this.getClass().getSimpleName()).write('(')
                    .debug(this.nodeUri).write(", ").debug(this.laneUri);
-    if (this.body.isDefined()) {
-      output = output.write(", ").debug(this.body);
+    final Value body = this.body();
+    if (body.isDefined()) {
+      output = output.write(", ").debug(body);
     }
     output = output.write(')');
     return output;
@@ -24,12 +24,16 @@ public abstract class LinkAddressed extends LaneAddressed {
   final float prio;
   final float rate;
 
-  LinkAddressed(Uri nodeUri, Uri laneUri, float prio, float rate, Value body) {
-    super(nodeUri, laneUri, body);
+  LinkAddressed(Uri nodeUri, Uri laneUri, float prio, float rate, Value body, EnvelopeBody rawBody) {
+    super(nodeUri, laneUri, body, rawBody);
     this.prio = prio;
     this.rate = rate;
   }
 
+  LinkAddressed(Uri nodeUri, Uri laneUri, float prio, float rate, Value body) {
+    this(nodeUri, laneUri, prio, rate, body, null);
+  }
+
   public float prio() {
     return this.prio;
   }
@@ -47,6 +51,9 @@ public abstract class LinkAddressed extends LaneAddressed {
   @Override
   public abstract LinkAddressed body(Value body);
 
+  @Override
+  abstract LinkAddressed rawBody(EnvelopeBody rawBody);
+
   @Override
   public boolean equals(Object other) {
     if (this == other) {
@@ -55,7 +62,7 @@ public abstract class LinkAddressed extends LaneAddressed {
       final LinkAddressed that = (LinkAddressed) other;
       return this.nodeUri.equals(that.nodeUri) && this.laneUri.equals(that.laneUri)
           && this.prio == that.prio && this.rate == that.rate
-          && this.body.equals(that.body);
+          && this.body().equals(that.body());
     }
     return false;
   }
@@ -64,7 +71,7 @@ public abstract class LinkAddressed extends LaneAddressed {
   public int hashCode() {
     return Murmur3.mash(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(
         Murmur3.seed(this.getClass()), this.nodeUri.hashCode()), this.laneUri.hashCode()),
-        Murmur3.hash(this.prio)), Murmur3.hash(this.rate)), this.body.hashCode()));
+        Murmur3.hash(this.prio)), Murmur3.hash(this.rate)), this.body().hashCode()));
   }
 
   @Override
@@ -74,8 +81,9 @@ public abstract class LinkAddressed extends LaneAddressed {
     if (this.prio != 0f || this.rate != 0f) {
       output = output.write(", ").debug(this.prio).write(", ").debug(this.rate);
     }
-    if (this.body.isDefined()) {
-      output = output.write(", ").debug(this.body);
+    final Value body = this.body();
+    if (body.isDefined()) {
+      output = output.write(", ").debug(body);
     }
     output = output.write(')');
     return output;
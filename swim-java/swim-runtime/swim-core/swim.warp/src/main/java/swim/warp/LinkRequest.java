@@ -25,6 +25,10 @@ public final class LinkRequest extends LinkAddressed {
     super(nodeUri, laneUri, prio, rate, body);
   }
 
+  LinkRequest(Uri nodeUri, Uri laneUri, float prio, float rate, Value body, EnvelopeBody rawBody) {
+    super(nodeUri, laneUri, prio, rate, body, rawBody);
+  }
+
   public LinkRequest(Uri nodeUri, Uri laneUri, float prio, float rate) {
     this(nodeUri, laneUri, prio, rate, Value.absent());
   }
@@ -65,12 +69,12 @@ public final class LinkRequest extends LinkAddressed {
 
   @Override
   public LinkRequest nodeUri(Uri nodeUri) {
-    return new LinkRequest(nodeUri, this.laneUri, this.prio, this.rate, this.body);
+    return new LinkRequest(nodeUri, this.laneUri, this.prio, this.rate, this.body, this.rawBody);
   }
 
   @Override
   public LinkRequest laneUri(Uri laneUri) {
-    return new LinkRequest(this.nodeUri, laneUri, this.prio, this.rate, this.body);
+    return new LinkRequest(this.nodeUri, laneUri, this.prio, this.rate, this.body, this.rawBody);
   }
 
   @Override
@@ -78,6 +82,11 @@ public final class LinkRequest extends LinkAddressed {
     return new LinkRequest(this.nodeUri, this.laneUri, this.prio, this.rate, body);
   }
 
+  @Override
+  LinkRequest rawBody(EnvelopeBody rawBody) {
+    return new LinkRequest(this.nodeUri, this.laneUri, this.prio, this.rate, null, rawBody);
+  }
+
   @Kind
   public static final Form<LinkRequest> FORM = new LinkRequestForm();
 
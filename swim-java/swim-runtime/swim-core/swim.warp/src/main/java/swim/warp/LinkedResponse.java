@@ -25,6 +25,10 @@ public final class LinkedResponse extends LinkAddressed {
     super(nodeUri, laneUri, prio, rate, body);
   }
 
+  LinkedResponse(Uri nodeUri, Uri laneUri, float prio, float rate, Value body, EnvelopeBody rawBody) {
+    super(nodeUri, laneUri, prio, rate, body, rawBody);
+  }
+
   public LinkedResponse(Uri nodeUri, Uri laneUri, float prio, float rate) {
     this(nodeUri, laneUri, prio, rate, Value.absent());
   }
@@ -65,12 +69,12 @@ public final class LinkedResponse extends LinkAddressed {
 
   @Override
   public LinkedResponse nodeUri(Uri nodeUri) {
-    return new LinkedResponse(nodeUri, this.laneUri, this.prio, this.rate, this.body);
+    return new LinkedResponse(nodeUri, this.laneUri, this.prio, this.rate, this.body, this.rawBody);
   }
 
   @Override
   public LinkedResponse laneUri(Uri laneUri) {
-    return new LinkedResponse(this.nodeUri, laneUri, this.prio, this.rate, this.body);
+    return new LinkedResponse(this.nodeUri, laneUri, this.prio, this.rate, this.body, this.rawBody);
   }
 
   @Override
@@ -78,6 +82,11 @@ public final class LinkedResponse extends LinkAddressed {
     return new LinkedResponse(this.nodeUri, this.laneUri, this.prio, this.rate, body);
   }
 
+  @Override
+  LinkedResponse rawBody(EnvelopeBody rawBody) {
+    return new LinkedResponse(this.nodeUri, this.laneUri, this.prio, this.rate, null, rawBody);
+  }
+
   @Kind
   public static final Form<LinkedResponse> FORM = new LinkedResponseForm();
 
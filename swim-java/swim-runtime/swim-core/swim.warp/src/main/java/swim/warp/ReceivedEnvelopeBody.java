@@ -0,0 +1,63 @@
+// Copyright 2015-2023 Swim.inc
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.warp;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import swim.codec.DecoderException;
+import swim.recon.Recon;
+import swim.structure.Value;
+
+/**
+ * Undecoded body of a received envelope, retained by a header-first decoder
+ * as a slice of the received message. A Recon body slice starts right after
+ * the message header; a binary body is a single binary Recon value.
+ */
+final class ReceivedEnvelopeBody extends EnvelopeBody {
+
+  final EnvelopeBodyBytes bytes;
+  final boolean binary;
+
+  ReceivedEnvelopeBody(byte[] array, int offset, int limit, boolean binary) {
+    this.bytes = new EnvelopeBodyBytes(array, offset, limit);
+    this.binary = binary;
+  }
+
+  @Override
+  Value parseBody() {
+    final EnvelopeBodyBytes bytes = this.bytes;
+    if (this.binary) {
+      final ByteBuffer input = ByteBuffer.wrap(bytes.array, bytes.offset, bytes.limit - bytes.offset);
+      final Value body = EnvelopeBinary.readValue(input);
+      if (input.hasRemaining()) {
+        throw new DecoderException("trailing envelope bytes");
+      }
+      return body;
+    } else {
+      // Parse the body slice after a placeholder header, so that the body
+      // items get grouped exactly as an eager parse would group them.
+      final String recon = new String(bytes.array, bytes.offset, bytes.limit - bytes.offset, StandardCharsets.UTF_8);
+      return Recon.parse(ReceivedEnvelopeBody.HEADER + recon).body();
+    }
+  }
+
+  @Override
+  EnvelopeBodyBytes encoding(boolean binary) {
+    return binary == this.binary ? this.bytes : null;
+  }
+
+  static final String HEADER = "@x()";
+
+}
@@ -0,0 +1,74 @@
+// Copyright 2015-2023 Swim.inc
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.warp;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import swim.recon.Recon;
+import swim.structure.Attr;
+import swim.structure.Record;
+import swim.structure.Value;
+
+/**
+ * Body value that gets encoded at most once per wire format, on first use,
+ * with the encodings shared by every envelope that carries the body.
+ * Encodings are immutable, and get reclaimed along with the last envelope
+ * that references them.
+ */
+final class SharedEnvelopeBody extends EnvelopeBody {
+
+  final Value value;
+  volatile EnvelopeBodyBytes recon;
+  volatile EnvelopeBodyBytes binary;
+
+  SharedEnvelopeBody(Value value) {
+    this.value = value.commit();
+    this.recon = null;
+    this.binary = null;
+  }
+
+  @Override
+  Value parseBody() {
+    return this.value;
+  }
+
+  @Override
+  EnvelopeBodyBytes encoding(boolean binary) {
+    // Concurrent first encodings may each encode the body; the results are equal.
+    if (binary) {
+      EnvelopeBodyBytes bytes = this.binary;
+      if (bytes == null) {
+        final ByteBuffer output = Recon.toBinary(this.value);
+        bytes = new EnvelopeBodyBytes(output.array(), output.arrayOffset(), output.arrayOffset() + output.limit());
+        this.binary = bytes;
+      }
+      return bytes;
+    } else {
+      EnvelopeBodyBytes bytes = this.recon;
+      if (bytes == null) {
+        // Write the body after a placeholder header, so that the encoding
+        // includes any separator the writer puts between header and body.
+        final Value record = Record.of(SharedEnvelopeBody.HEADER).concat(this.value);
+        final byte[] array = Recon.toString(record).getBytes(StandardCharsets.UTF_8);
+        bytes = new EnvelopeBodyBytes(array, 2, array.length);
+        this.recon = bytes;
+      }
+      return bytes;
+    }
+  }
+
+  static final Attr HEADER = Attr.of("x");
+
+}
@@ -25,6 +25,10 @@ public final class SyncRequest extends LinkAddressed {
     super(nodeUri, laneUri, prio, rate, body);
   }
 
+  SyncRequest(Uri nodeUri, Uri laneUri, float prio, float rate, Value body, EnvelopeBody rawBody) {
+    super(nodeUri, laneUri, prio, rate, body, rawBody);
+  }
+
   public SyncRequest(Uri nodeUri, Uri laneUri, float prio, float rate) {
     this(nodeUri, laneUri, prio, rate, Value.absent());
   }
@@ -65,12 +69,12 @@ public final class SyncRequest extends LinkAddressed {
 
   @Override
   public SyncRequest nodeUri(Uri nodeUri) {
-    return new SyncRequest(nodeUri, this.laneUri, this.prio, this.rate, this.body);
+    return new SyncRequest(nodeUri, this.laneUri, this.prio, this.rate, this.body, this.rawBody);
   }
 
   @Override
   public SyncRequest laneUri(Uri laneUri) {
-    return new SyncRequest(this.nodeUri, laneUri, this.prio, this.rate, this.body);
+    return new SyncRequest(this.nodeUri, laneUri, this.prio, this.rate, this.body, this.rawBody);
   }
 
   @Override
@@ -78,6 +82,11 @@ public final class SyncRequest extends LinkAddressed {
     return new SyncRequest(this.nodeUri, this.laneUri, this.prio, this.rate, body);
   }
 
+  @Override
+  SyncRequest rawBody(EnvelopeBody rawBody) {
+    return new SyncRequest(this.nodeUri, this.laneUri, this.prio, this.rate, null, rawBody);
+  }
+
   @Kind
   public static final Form<SyncRequest> FORM = new SyncRequestForm();
 
@@ -25,6 +25,10 @@ public final class SyncedResponse extends LaneAddressed {
     super(nodeUri, laneUri, body);
   }
 
+  SyncedResponse(Uri nodeUri, Uri laneUri, Value body, EnvelopeBody rawBody) {
+    super(nodeUri, laneUri, body, rawBody);
+  }
+
   public SyncedResponse(Uri nodeUri, Uri laneUri) {
     this(nodeUri, laneUri, Value.absent());
   }
@@ -49,12 +53,12 @@ public final class SyncedResponse extends LaneAddressed {
 
   @Override
   public SyncedResponse nodeUri(Uri nodeUri) {
-    return new SyncedResponse(nodeUri, this.laneUri, this.body);
+    return new SyncedResponse(nodeUri, this.laneUri, this.body, this.rawBody);
   }
 
   @Override
   public SyncedResponse laneUri(Uri laneUri) {
-    return new SyncedResponse(this.nodeUri, laneUri, this.body);
+    return new SyncedResponse(this.nodeUri, laneUri, this.body, this.rawBody);
   }
 
   @Override
@@ -62,6 +66,11 @@ public final class SyncedResponse extends LaneAddressed {
     return new SyncedResponse(this.nodeUri, this.laneUri, body);
   }
 
+  @Override
+  SyncedResponse rawBody(EnvelopeBody rawBody) {
+    return new SyncedResponse(this.nodeUri, this.laneUri, null, rawBody);
+  }
+
   @Kind
   public static final Form<SyncedResponse> FORM = new SyncedResponseForm();
 
@@ -25,6 +25,10 @@ public final class UnlinkRequest extends LaneAddressed {
     super(nodeUri, laneUri, body);
   }
 
+  UnlinkRequest(Uri nodeUri, Uri laneUri, Value body, EnvelopeBody rawBody) {
+    super(nodeUri, laneUri, body, rawBody);
+  }
+
   public UnlinkRequest(Uri nodeUri, Uri laneUri) {
     this(nodeUri, laneUri, Value.absent());
   }
@@ -49,12 +53,12 @@ public final class UnlinkRequest extends LaneAddressed {
 
   @Override
   public UnlinkRequest nodeUri(Uri nodeUri) {
-    return new UnlinkRequest(nodeUri, this.laneUri, this.body);
+    return new UnlinkRequest(nodeUri, this.laneUri, this.body, this.rawBody);
   }
 
   @Override
   public UnlinkRequest laneUri(Uri laneUri) {
-    return new UnlinkRequest(this.nodeUri, laneUri, this.body);
+    return new UnlinkRequest(this.nodeUri, laneUri, this.body, this.rawBody);
   }
 
   @Override
@@ -62,6 +66,11 @@ public final class UnlinkRequest extends LaneAddressed {
     return new UnlinkRequest(this.nodeUri, this.laneUri, body);
   }
 
+  @Override
+  UnlinkRequest rawBody(EnvelopeBody rawBody) {
+    return new UnlinkRequest(this.nodeUri, this.laneUri, null, rawBody);
+  }
+
   @Kind
   public static final Form<UnlinkRequest> FORM = new UnlinkRequestForm();
 
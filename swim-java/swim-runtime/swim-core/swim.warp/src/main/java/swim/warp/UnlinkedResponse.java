@@ -25,6 +25,10 @@ public final class UnlinkedResponse extends LaneAddressed {
     super(nodeUri, laneUri, body);
   }
 
+  UnlinkedResponse(Uri nodeUri, Uri laneUri, Value body, EnvelopeBody rawBody) {
+    super(nodeUri, laneUri, body, rawBody);
+  }
+
   public UnlinkedResponse(Uri nodeUri, Uri laneUri) {
     this(nodeUri, laneUri, Value.absent());
   }
@@ -49,12 +53,12 @@ public final class UnlinkedResponse extends LaneAddressed {
 
   @Override
   public UnlinkedResponse nodeUri(Uri nodeUri) {
-    return new UnlinkedResponse(nodeUri, this.laneUri, this.body);
+    return new UnlinkedResponse(nodeUri, this.laneUri, this.body, this.rawBody);
   }
 
   @Override
   public UnlinkedResponse laneUri(Uri laneUri) {
-    return new UnlinkedResponse(this.nodeUri, laneUri, this.body);
+    return new UnlinkedResponse(this.nodeUri, laneUri, this.body, this.rawBody);
   }
 
   @Override
@@ -62,6 +66,11 @@ public final class UnlinkedResponse extends LaneAddressed {
     return new UnlinkedResponse(this.nodeUri, this.laneUri, body);
   }
 
+  @Override
+  UnlinkedResponse rawBody(EnvelopeBody rawBody) {
+    return new UnlinkedResponse(this.nodeUri, this.laneUri, null, rawBody);
+  }
+
   @Kind
   public static final Form<UnlinkedResponse> FORM = new UnlinkedForm();
 
@@ -0,0 +1,162 @@
+// Copyright 2015-2023 Swim.inc
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.warp;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import org.testng.annotations.Test;
+import swim.codec.Binary;
+import swim.codec.Decoder;
+import swim.codec.DecoderException;
+import swim.codec.Encoder;
+import swim.codec.OutputBuffer;
+import swim.recon.Recon;
+import swim.structure.Attr;
+import swim.structure.Bool;
+import swim.structure.Data;
+import swim.structure.Num;
+import swim.structure.Record;
+import swim.structure.Slot;
+import swim.structure.Text;
+import swim.structure.Value;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+import static swim.warp.WarpAssertions.assertTranscodes;
+
+public class EnvelopeBinarySpec {
+
+  @Test
+  public void transcodeLaneAddressedEnvelopes() {
+    assertTranscodes(new EventMessage("node_uri", "lane_uri", Text.from("hello")));
+    assertTranscodes(new CommandMessage("/node?q=1#f", "lane/uri", Value.absent()));
+    assertTranscodes(new SyncedResponse("node_uri", "lane_uri"));
+    assertTranscodes(new UnlinkRequest("node_uri", "lane_uri"));
+    assertTranscodes(new UnlinkedResponse("node_uri", "lane_uri", Record.of(Attr.of("tag"))));
+  }
+
+  @Test
+  public void transcodeLinkAddressedEnvelopes() {
+    assertTranscodes(new LinkRequest("node_uri", "lane_uri", 0.5f, 0.1f));
+    assertTranscodes(new LinkedResponse("node_uri", "lane_uri", 0.0f, 4.0f));
+    assertTranscodes(new SyncRequest("node_uri", "lane_uri", -1.0f, 0.0f, Record.of(Attr.of("test"))));
+  }
+
+  @Test
+  public void transcodeHostAddressedEnvelopes() {
+    assertTranscodes(new AuthRequest(Record.of(Slot.of("key", "secret"))));
+    assertTranscodes(new AuthedResponse());
+    assertTranscodes(new DeauthRequest());
+    assertTranscodes(new DeauthedResponse(Record.of(Attr.of("reason", "expired"))));
+  }
+
+  @Test
+  public void transcodeScalarBodies() {
+    assertTranscodes(new EventMessage("node", "lane", Value.extant()));
+    assertTranscodes(new EventMessage("node", "lane", Bool.from(true)));
+    assertTranscodes(new EventMessage("node", "lane", Bool.from(false)));
+    assertTranscodes(new EventMessage("node", "lane", Num.from(0)));
+    assertTranscodes(new EventMessage("node", "lane", Num.from(-1)));
+    assertTranscodes(new EventMessage("node", "lane", Num.from(Integer.MIN_VALUE)));
+    assertTranscodes(new EventMessage("node", "lane", Num.from(Long.MAX_VALUE)));
+    assertTranscodes(new EventMessage("node", "lane", Num.from(Long.MIN_VALUE)));
+    assertTranscodes(new EventMessage("node", "lane", Num.from(1.5f)));
+    assertTranscodes(new EventMessage("node", "lane", Num.from(-2.25)));
+    assertTranscodes(new EventMessage("node", "lane", Num.from(new BigInteger("123456789012345678901234567890"))));
+    assertTranscodes(new EventMessage("node", "lane", Text.from("é中😀")));
+    assertTranscodes(new EventMessage("node", "lane", Data.fromBase16("00ff7f80")));
+  }
+
+  @Test
+  public void transcodeUnsignedNumBodies() {
+    assertTranscodes(new EventMessage("node", "lane", Num.uint32(0xffffffff)));
+    assertTranscodes(new EventMessage("node", "lane", Num.uint64(-1L)));
+  }
+
+  @Test
+  public void encodeBodiesInBinaryRecon() {
+    final Record body = Record.create(2).attr("update", Record.create(1).slot("key", "k")).slot("n", 42);
+    final byte[] binary = new EventMessage("node", "lane", body).toBinary();
+    final int bodySize = Recon.binarySizeOf(body);
+    assertEquals(Recon.readBinary(ByteBuffer.wrap(binary, binary.length - bodySize, bodySize)), body);
+  }
+
+  @Test
+  public void transcodeNestedRecordBodies() {
+    final Record body = Record.create()
+        .attr("update", Record.create(1).slot("key", "k"))
+        .slot("a", 1)
+        .slot(Num.from(2), Record.of(Value.extant(), Text.from("x"), Record.empty()))
+        .item(Record.of(Attr.of("nested", Record.of(1, 2, 3)), Slot.of("b", false)));
+    assertTranscodes(new EventMessage("node", "lane", body));
+  }
+
+  @Test
+  public void transcodeRecordWithoutItems() {
+    assertTranscodes(new EventMessage("node", "lane", Record.empty()));
+  }
+
+  @Test
+  public void binaryIsSmallerThanRecon() {
+    final EventMessage event = new EventMessage("/unit/1", "status",
+        Record.create(2).attr("update", Record.create(1).slot("key", "temperature")).slot("value", 21.5));
+    assertTrue(event.toBinary().length < event.toRecon().length());
+  }
+
+  @Test
+  public void encodeAcrossSmallOutputBuffers() {
+    final EventMessage event = new EventMessage("node_uri", "lane_uri",
+        Record.of(Slot.of("greeting", "Hello, world!"), Slot.of("n", 42)));
+    final byte[] expected = event.toBinary();
+    final byte[] actual = new byte[expected.length];
+    Encoder<?, Envelope> encoder = event.binaryEncoder();
+    int offset = 0;
+    while (encoder.isCont()) {
+      final int length = Math.min(3, actual.length - offset);
+      final OutputBuffer<?> output = Binary.outputBuffer(actual, offset, length).isPart(true);
+      encoder = encoder.pull(output);
+      offset = output.index();
+    }
+    assertTrue(encoder.isDone());
+    assertEquals(actual, expected);
+  }
+
+  @Test
+  public void decodeAcrossPartialInputs() {
+    final EventMessage event = new EventMessage("node_uri", "lane_uri",
+        Record.of(Slot.of("greeting", "Hello, world!"), Slot.of("n", 42)));
+    final byte[] binary = event.toBinary();
+    Decoder<Envelope> decoder = Envelope.binaryDecoder();
+    for (int offset = 0; offset < binary.length; offset += 3) {
+      final int length = Math.min(3, binary.length - offset);
+      final boolean isPart = offset + length < binary.length;
+      decoder = decoder.feed(Binary.inputBuffer(binary, offset, length).isPart(isPart));
+    }
+    assertEquals(decoder.bind(), event);
+  }
+
+  @Test(expectedExceptions = DecoderException.class)
+  public void rejectTruncatedEnvelopes() {
+    final byte[] binary = new EventMessage("node_uri", "lane_uri", Text.from("hello")).toBinary();
+    final byte[] truncated = new byte[binary.length - 1];
+    System.arraycopy(binary, 0, truncated, 0, truncated.length);
+    Envelope.fromBinary(truncated);
+  }
+
+  @Test(expectedExceptions = DecoderException.class)
+  public void rejectUnknownEnvelopeTypes() {
+    Envelope.fromBinary(new byte[] {0x7f, 0x00});
+  }
+
+}
@@ -0,0 +1,136 @@
+// Copyright 2015-2023 Swim.inc
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.warp;
+
+import java.nio.charset.StandardCharsets;
+import org.testng.annotations.Test;
+import swim.codec.Binary;
+import swim.codec.Decoder;
+import swim.codec.Encoder;
+import swim.codec.OutputBuffer;
+import swim.structure.Attr;
+import swim.structure.Record;
+import swim.structure.Slot;
+import swim.structure.Text;
+import swim.uri.Uri;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+import static swim.warp.WarpAssertions.assertParsesLazily;
+import static swim.warp.WarpAssertions.decodeLazily;
+
+public class LazyEnvelopeSpec {
+
+  @Test
+  public void parseLaneAddressedEnvelopesLazily() {
+    assertParsesLazily("@event(node: node_uri, lane: lane_uri)");
+    assertParsesLazily("@event(node_uri, lane_uri)@test");
+    assertParsesLazily("@command(node:\"/unit/1\",lane:status)@update(key:temp){value:21.5}");
+    assertParsesLazily("@link(node:\"node/uri\",lane:lane_uri,prio:0.5,rate:4)@test");
+    assertParsesLazily("@sync(node:\"node/uri\",lane:lane_uri) 42");
+    assertParsesLazily("@synced(node:a,lane:b){x}");
+    assertParsesLazily("@unlink(node:a,lane:b){x,y}");
+    assertParsesLazily("@unlinked(node:a,lane:b)\"hello\"");
+    assertParsesLazily("  @linked(node:a,lane:b,prio:1.0) @reason(\"(unbalanced\") {k: [markup]}");
+  }
+
+  @Test
+  public void parseHeadersWithNestedStructure() {
+    assertParsesLazily("@event(node:\"a)b\",lane:c,note:\"\\\")\")@test");
+    assertParsesLazily("@event(node:'a)b',lane:c)@test");
+    assertParsesLazily("@event({node:a},lane:b)@test");
+  }
+
+  @Test
+  public void fallBackToEagerParsing() {
+    assertParsesLazily("@auth{key:secret}");
+    assertParsesLazily("@deauthed@reason(expired)");
+    assertParsesLazily("@event(node:[a],lane:b)@test");
+  }
+
+  @Test
+  public void deferBodyParsing() {
+    final LaneAddressed envelope = (LaneAddressed) decodeLazily("@event(node:a,lane:b)@update(key:k){v:1}");
+    assertFalse(envelope.isBodyDecoded());
+    assertEquals(envelope.nodeUri(), Uri.parse("a"));
+    assertEquals(envelope.laneUri(), Uri.parse("b"));
+    assertFalse(envelope.isBodyDecoded());
+    assertEquals(envelope.body(), Record.of(Attr.of("update", Record.of(Slot.of("key", "k"))), Slot.of("v", 1)));
+    assertTrue(envelope.isBodyDecoded());
+  }
+
+  @Test
+  public void reemitUndecodedBodiesVerbatim() {
+    final LaneAddressed envelope = (LaneAddressed) decodeLazily("@event(node:a,lane:b)@update(key:k){ v : 1 }");
+    final LaneAddressed forwarded = envelope.nodeUri(Uri.parse("/c"));
+    assertEquals(forwarded.toRecon(), "@event(node:\"/c\",lane:b)@update(key:k){ v : 1 }");
+    assertFalse(envelope.isBodyDecoded());
+    assertFalse(forwarded.isBodyDecoded());
+    assertEquals(forwarded.body(), envelope.body());
+  }
+
+  @Test
+  public void encodeUndecodedBodiesAcrossSmallOutputBuffers() {
+    final String recon = "@event(node:a,lane:b)@update(key:\"é中😀\"){ v : 1 }";
+    final Envelope envelope = decodeLazily(recon);
+    final byte[] expected = recon.getBytes(StandardCharsets.UTF_8);
+    final byte[] actual = new byte[expected.length];
+    Encoder<?, Envelope> encoder = envelope.reconEncoder();
+    int offset = 0;
+    while (encoder.isCont()) {
+      final int length = Math.min(3, actual.length - offset);
+      final OutputBuffer<?> output = Binary.outputBuffer(actual, offset, length).isPart(true);
+      encoder = encoder.pull(output);
+      offset = output.index();
+    }
+    assertTrue(encoder.isDone());
+    assertEquals(actual, expected);
+  }
+
+  @Test
+  public void decodeLazilyAcrossPartialInputs() {
+    final String recon = "@command(node:\"/unit/1\",lane:status)@update(key:temp){value:21.5}";
+    final byte[] utf8 = recon.getBytes(StandardCharsets.UTF_8);
+    Decoder<Envelope> decoder = Envelope.lazyDecoder();
+    for (int offset = 0; offset < utf8.length; offset += 3) {
+      final int length = Math.min(3, utf8.length - offset);
+      final boolean isPart = offset + length < utf8.length;
+      decoder = decoder.feed(Binary.inputBuffer(utf8, offset, length).isPart(isPart));
+    }
+    assertEquals(decoder.bind(), Envelope.parseRecon(recon));
+  }
+
+  @Test
+  public void decodeBinaryBodiesLazily() {
+    final EventMessage event = new EventMessage("/unit/1", "status",
+        Record.of(Slot.of("greeting", "Hello, world!"), Slot.of("n", 42)));
+    final byte[] binary = event.toBinary();
+    final Decoder<Envelope> decoder = Envelope.lazyBinaryDecoder().feed(Binary.inputBuffer(binary).isPart(false));
+    final LaneAddressed envelope = (LaneAddressed) decoder.bind();
+    assertFalse(envelope.isBodyDecoded());
+    assertEquals(envelope.toBinary(), binary);
+    assertFalse(envelope.isBodyDecoded());
+    assertEquals(envelope, event);
+    assertTrue(envelope.isBodyDecoded());
+  }
+
+  @Test
+  public void transcodeUndecodedBodiesAcrossFormats() {
+    final LaneAddressed envelope = (LaneAddressed) decodeLazily("@event(node:a,lane:b){greeting:\"Hello\"}");
+    assertEquals(Envelope.fromBinary(envelope.toBinary()), new EventMessage("a", "b",
+        Record.of(Slot.of("greeting", Text.from("Hello")))));
+  }
+
+}
@@ -0,0 +1,67 @@
+// Copyright 2015-2023 Swim.inc
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.warp;
+
+import java.math.BigInteger;
+import org.testng.annotations.Test;
+import swim.structure.Attr;
+import swim.structure.Num;
+import swim.structure.Record;
+import swim.structure.Slot;
+import swim.structure.Text;
+import swim.structure.Value;
+import swim.uri.Uri;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
+
+public class SharedBodySpec {
+
+  static void assertEncodesShared(Value body) {
+    final EventMessage event = new EventMessage("/unit/1", "status", body);
+    final EventMessage shared = new EventMessage("/unit/1", "status", body).sharedBody();
+    assertEquals(shared, event);
+    assertEquals(shared.toRecon(), event.toRecon());
+    assertEquals(shared.toBinary(), event.toBinary());
+    assertEquals(Envelope.fromBinary(shared.toBinary()), event);
+  }
+
+  @Test
+  public void encodeSharedBodies() {
+    assertEncodesShared(Value.absent());
+    assertEncodesShared(Value.extant());
+    assertEncodesShared(Num.from(-1));
+    assertEncodesShared(Num.from(new BigInteger("123456789012345678901234567890")));
+    assertEncodesShared(Text.from("é中😀"));
+    assertEncodesShared(Record.of(Attr.of("test")));
+    assertEncodesShared(Record.of(Slot.of("a", 1)));
+    assertEncodesShared(Record.of(1, 2, 3));
+    assertEncodesShared(Record.of(Record.of(1, 2)));
+    assertEncodesShared(Record.create(2).attr("update", Record.create(1).slot("key", "k")).slot("v", 21.5));
+  }
+
+  @Test
+  public void shareBodyEncodingsAmongDerivedEnvelopes() {
+    final Value body = Record.create(2).attr("update", Record.create(1).slot("key", "k")).slot("v", 1);
+    final EventMessage shared = new EventMessage("/unit/1", "status", body).sharedBody();
+    final EventMessage derived = shared.nodeUri(Uri.parse("/unit/2"));
+    assertEquals(derived.toRecon(), "@event(node:\"/unit/2\",lane:status)@update(key:k){v:1}");
+    assertEquals(derived.toBinary(), new EventMessage("/unit/2", "status", body).toBinary());
+    assertSame(derived.body(), shared.body());
+    assertSame(derived.rawBody.encoding(false), shared.rawBody.encoding(false));
+    assertSame(derived.rawBody.encoding(true), shared.rawBody.encoding(true));
+    assertSame(shared.sharedBody(), shared);
+  }
+
+}
@@ -14,6 +14,9 @@
 
 package swim.warp;
 
+import java.nio.charset.StandardCharsets;
+import swim.codec.Binary;
+import swim.codec.Decoder;
 import static org.testng.Assert.assertEquals;
 
 public final class WarpAssertions {
@@ -30,4 +33,18 @@ public final class WarpAssertions {
     assertEquals(envelope.toRecon(), recon);
   }
 
+  public static void assertTranscodes(Envelope envelope) {
+    assertEquals(Envelope.fromBinary(envelope.toBinary()), envelope);
+  }
+
+  public static Envelope decodeLazily(String recon) {
+    final byte[] utf8 = recon.getBytes(StandardCharsets.UTF_8);
+    final Decoder<Envelope> decoder = Envelope.lazyDecoder().feed(Binary.inputBuffer(utf8).isPart(false));
+    return decoder.bind();
+  }
+
+  public static void assertParsesLazily(String recon) {
+    assertEquals(decodeLazily(recon), Envelope.parseRecon(recon));
+  }
+
 }
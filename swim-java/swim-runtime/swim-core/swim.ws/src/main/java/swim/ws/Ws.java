@@ -14,6 +14,7 @@
 
 package swim.ws;
 
+import java.util.zip.Deflater;
 import swim.deflate.Deflate;
 import swim.deflate.Inflate;
 
@@ -74,4 +75,28 @@ public final class Ws {
     return new WsDeflateEncoderUnmasked(new Deflate<Object>(), Deflate.Z_SYNC_FLUSH);
   }
 
+  public static WsZipDecoder zipDecoder(boolean noContextTakeover) {
+    return new WsZipDecoder(noContextTakeover);
+  }
+
+  public static WsZipDecoder zipDecoder() {
+    return new WsZipDecoder(false);
+  }
+
+  public static WsZipEncoder zipEncoderMasked(int level, boolean noContextTakeover) {
+    return new WsZipEncoderMasked(level, noContextTakeover);
+  }
+
+  public static WsZipEncoder zipEncoderMasked() {
+    return new WsZipEncoderMasked(Deflater.DEFAULT_COMPRESSION, false);
+  }
+
+  public static WsZipEncoder zipEncoderUnmasked(int level, boolean noContextTakeover) {
+    return new WsZipEncoderUnmasked(level, noContextTakeover);
+  }
+
+  public static WsZipEncoder zipEncoderUnmasked() {
+    return new WsZipEncoderUnmasked(Deflater.DEFAULT_COMPRESSION, false);
+  }
+
 }
@@ -22,13 +22,16 @@ import swim.http.WebSocketParam;
 final class WsDeflateClientEngine extends WsEngine {
 
   protected final int clientCompressionLevel;
+  protected final boolean serverNoContextTakeover;
   protected final boolean clientNoContextTakeover;
   protected final int serverMaxWindowBits;
   protected final int clientMaxWindowBits;
 
-  WsDeflateClientEngine(int clientCompressionLevel, boolean clientNoContextTakeover,
-                        int serverMaxWindowBits, int clientMaxWindowBits) {
+  WsDeflateClientEngine(int clientCompressionLevel, boolean serverNoContextTakeover,
+                        boolean clientNoContextTakeover, int serverMaxWindowBits,
+                        int clientMaxWindowBits) {
     this.clientCompressionLevel = clientCompressionLevel;
+    this.serverNoContextTakeover = serverNoContextTakeover;
     this.clientNoContextTakeover = clientNoContextTakeover;
     this.serverMaxWindowBits = serverMaxWindowBits;
     this.clientMaxWindowBits = clientMaxWindowBits;
@@ -36,11 +39,18 @@ final class WsDeflateClientEngine extends WsEngine {
 
   @Override
   public WsDecoder decoder() {
+    if (WsEngine.ZIP_DEFLATE) {
+      return Ws.zipDecoder(this.serverNoContextTakeover);
+    }
     return Ws.deflateDecoder(new Inflate<Object>(Inflate.Z_NO_WRAP, this.serverMaxWindowBits));
   }
 
   @Override
   public WsEncoder encoder() {
+    // The JDK's deflater always compresses with a 15 bit window.
+    if (WsEngine.ZIP_DEFLATE && this.clientMaxWindowBits == 15) {
+      return Ws.zipEncoderMasked(this.clientCompressionLevel, this.clientNoContextTakeover);
+    }
     final int flush;
     if (this.clientNoContextTakeover) {
       flush = Deflate.Z_FULL_FLUSH;
@@ -48,7 +58,7 @@ final class WsDeflateClientEngine extends WsEngine {
       flush = Deflate.Z_SYNC_FLUSH;
     }
     return Ws.deflateEncoderMasked(new Deflate<Object>(Deflate.Z_NO_WRAP, this.clientCompressionLevel,
-                                   this.clientMaxWindowBits), flush);
+                                   this.clientMaxWindowBits, WsEngine.DEFLATE_MEM_LEVEL), flush);
   }
 
   @Override
@@ -57,13 +67,16 @@ final class WsDeflateClientEngine extends WsEngine {
   }
 
   static WsDeflateClientEngine create(WebSocketExtension extension, WsEngineSettings settings) {
+    boolean serverNoContextTakeover = false;
     boolean clientNoContextTakeover = false;
     int serverMaxWindowBits = 15;
     int clientMaxWindowBits = 15;
     for (WebSocketParam param : extension.params()) {
       final String key = param.key();
       final String value = param.value();
-      if ("client_no_context_takeover".equals(key)) {
+      if ("server_no_context_takeover".equals(key)) {
+        serverNoContextTakeover = true;
+      } else if ("client_no_context_takeover".equals(key)) {
         clientNoContextTakeover = true;
       } else if ("server_max_window_bits".equals(key)) {
         try {
@@ -81,8 +94,8 @@ final class WsDeflateClientEngine extends WsEngine {
         throw new WsException("invalid permessage-deflate; " + param.toHttp());
       }
     }
-    return new WsDeflateClientEngine(settings.clientCompressionLevel, clientNoContextTakeover,
-                                     serverMaxWindowBits, clientMaxWindowBits);
+    return new WsDeflateClientEngine(settings.clientCompressionLevel, serverNoContextTakeover,
+                                     clientNoContextTakeover, serverMaxWindowBits, clientMaxWindowBits);
   }
 
 }
@@ -23,24 +23,34 @@ final class WsDeflateServerEngine extends WsEngine {
 
   protected final int serverCompressionLevel;
   protected final boolean serverNoContextTakeover;
+  protected final boolean clientNoContextTakeover;
   protected final int serverMaxWindowBits;
   protected final int clientMaxWindowBits;
 
   WsDeflateServerEngine(int serverCompressionLevel, boolean serverNoContextTakeover,
-                        int serverMaxWindowBits, int clientMaxWindowBits) {
+                        boolean clientNoContextTakeover, int serverMaxWindowBits,
+                        int clientMaxWindowBits) {
     this.serverCompressionLevel = serverCompressionLevel;
     this.serverNoContextTakeover = serverNoContextTakeover;
+    this.clientNoContextTakeover = clientNoContextTakeover;
     this.serverMaxWindowBits = serverMaxWindowBits;
     this.clientMaxWindowBits = clientMaxWindowBits;
   }
 
   @Override
   public WsDecoder decoder() {
+    if (WsEngine.ZIP_DEFLATE) {
+      return Ws.zipDecoder(this.clientNoContextTakeover);
+    }
     return Ws.deflateDecoder(new Inflate<Object>(Inflate.Z_NO_WRAP, this.clientMaxWindowBits));
   }
 
   @Override
   public WsEncoder encoder() {
+    // The JDK's deflater always compresses with a 15 bit window.
+    if (WsEngine.ZIP_DEFLATE && this.serverMaxWindowBits == 15) {
+      return Ws.zipEncoderUnmasked(this.serverCompressionLevel, this.serverNoContextTakeover);
+    }
     final int flush;
     if (this.serverNoContextTakeover) {
       flush = Deflate.Z_FULL_FLUSH;
@@ -48,7 +58,7 @@ final class WsDeflateServerEngine extends WsEngine {
       flush = Deflate.Z_SYNC_FLUSH;
     }
     return Ws.deflateEncoderUnmasked(new Deflate<Object>(Deflate.Z_NO_WRAP, this.serverCompressionLevel,
-                                                         this.serverMaxWindowBits), flush);
+                                                         this.serverMaxWindowBits, WsEngine.DEFLATE_MEM_LEVEL), flush);
   }
 
   @Override
@@ -58,6 +68,7 @@ final class WsDeflateServerEngine extends WsEngine {
 
   static WsDeflateServerEngine create(WebSocketExtension extension, WsEngineSettings settings) {
     boolean serverNoContextTakeover = false;
+    boolean clientNoContextTakeover = false;
     int serverMaxWindowBits = 15;
     int clientMaxWindowBits = 15;
     for (WebSocketParam param : extension.params()) {
@@ -65,6 +76,8 @@ final class WsDeflateServerEngine extends WsEngine {
       final String value = param.value();
       if ("server_no_context_takeover".equals(key)) {
         serverNoContextTakeover = true;
+      } else if ("client_no_context_takeover".equals(key)) {
+        clientNoContextTakeover = true;
       } else if ("server_max_window_bits".equals(key)) {
         try {
           serverMaxWindowBits = Integer.parseInt(value);
@@ -82,7 +95,7 @@ final class WsDeflateServerEngine extends WsEngine {
       }
     }
     return new WsDeflateServerEngine(settings.serverCompressionLevel, serverNoContextTakeover,
-                                     serverMaxWindowBits, clientMaxWindowBits);
+                                     clientNoContextTakeover, serverMaxWindowBits, clientMaxWindowBits);
   }
 
 }
@@ -14,6 +14,7 @@
 
 package swim.ws;
 
+import swim.deflate.Deflate;
 import swim.http.WebSocketExtension;
 
 public abstract class WsEngine {
@@ -62,4 +63,28 @@ public abstract class WsEngine {
     return WsDeflateServerEngine.create(extension, settings);
   }
 
+  /**
+   * Whether negotiated permessage-deflate extensions run on the JDK's native
+   * {@code java.util.zip} codecs, rather than on the pure Java
+   * {@code swim.deflate} codecs.
+   */
+  static final boolean ZIP_DEFLATE = Boolean.parseBoolean(System.getProperty("swim.ws.deflate.zip", "true"));
+
+  /**
+   * Memory level, from 1 to 9, of {@code swim.deflate} compressors; lower
+   * levels allocate smaller hash tables per connection, at the expense of
+   * compression ratio.
+   */
+  static final int DEFLATE_MEM_LEVEL;
+
+  static {
+    int deflateMemLevel;
+    try {
+      deflateMemLevel = Integer.parseInt(System.getProperty("swim.ws.deflate.mem.level"));
+    } catch (NumberFormatException error) {
+      deflateMemLevel = Deflate.DEF_MEM_LEVEL;
+    }
+    DEFLATE_MEM_LEVEL = deflateMemLevel;
+  }
+
 }
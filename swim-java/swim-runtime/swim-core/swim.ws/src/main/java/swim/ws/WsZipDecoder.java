@@ -0,0 +1,154 @@
+// Copyright 2015-2023 Swim.inc
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.ws;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.Inflater;
+import swim.codec.Decoder;
+import swim.codec.InputBuffer;
+
+/**
+ * WebSocket decoder that decompresses data frames with the JDK's native
+ * {@link Inflater}. When the peer doesn't take over its compression context
+ * between messages, the decompressor is only held for the duration of a
+ * message, and gets shared with other connections in between.
+ */
+public class WsZipDecoder extends WsDecoder {
+
+  protected final boolean noContextTakeover;
+  protected boolean decompressing;
+  /**
+   * Decompressor of the current message, or of all messages if the peer takes
+   * over its compression context; {@code null} while idle.
+   */
+  Inflater inflater;
+
+  public WsZipDecoder(boolean noContextTakeover) {
+    this.noContextTakeover = noContextTakeover;
+    this.decompressing = false;
+    this.inflater = null;
+  }
+
+  public final boolean noContextTakeover() {
+    return this.noContextTakeover;
+  }
+
+  public final boolean decompressing() {
+    return this.decompressing;
+  }
+
+  @Override
+  public <T> Decoder<WsFrame<T>> decodeContinuationFrame(InputBuffer input, int finRsvOp, WsOpcode frameType, Decoder<T> payloadDecoder) {
+    if (this.decompressing) { // compressed
+      return WsFrameZipInflater.decode(input, this, frameType, payloadDecoder);
+    } else { // uncompressed
+      return WsFrameDecoder.decode(input, this, frameType, payloadDecoder);
+    }
+  }
+
+  @Override
+  public <T> Decoder<WsFrame<T>> decodeTextFrame(InputBuffer input, int finRsvOp, Decoder<T> payloadDecoder) {
+    if ((finRsvOp & 0x40) != 0) { // compressed
+      this.decompressing = (finRsvOp & 0x80) == 0;
+      return WsFrameZipInflater.decode(input, this, WsOpcode.TEXT, payloadDecoder);
+    } else { // uncompressed
+      this.decompressing = false;
+      return WsFrameDecoder.decode(input, this, WsOpcode.TEXT, payloadDecoder);
+    }
+  }
+
+  @Override
+  public <T> Decoder<WsFrame<T>> decodeBinaryFrame(InputBuffer input, int finRsvOp, Decoder<T> payloadDecoder) {
+    if ((finRsvOp & 0x40) != 0) { // compressed
+      this.decompressing = (finRsvOp & 0x80) == 0;
+      return WsFrameZipInflater.decode(input, this, WsOpcode.BINARY, payloadDecoder);
+    } else { // uncompressed
+      this.decompressing = false;
+      return WsFrameDecoder.decode(input, this, WsOpcode.BINARY, payloadDecoder);
+    }
+  }
+
+  Inflater inflater() {
+    Inflater inflater = this.inflater;
+    if (inflater == null) {
+      if (this.noContextTakeover) {
+        inflater = WsZipDecoder.INFLATERS.poll();
+        if (inflater != null) {
+          WsZipDecoder.INFLATER_COUNT.decrementAndGet();
+        }
+      }
+      if (inflater == null) {
+        inflater = new Inflater(true);
+      }
+      this.inflater = inflater;
+    }
+    return inflater;
+  }
+
+  /**
+   * Called after the last frame of a message has been decompressed.
+   */
+  void didInflateMessage() {
+    if (this.noContextTakeover) {
+      final Inflater inflater = this.inflater;
+      this.inflater = null;
+      if (WsZipDecoder.INFLATER_COUNT.incrementAndGet() <= WsZipDecoder.INFLATER_POOL_SIZE) {
+        inflater.reset();
+        WsZipDecoder.INFLATERS.offer(inflater);
+      } else {
+        // The pool is full; release the native memory of the excess decompressor.
+        WsZipDecoder.INFLATER_COUNT.decrementAndGet();
+        inflater.end();
+      }
+    }
+  }
+
+  /**
+   * Called when a message fails to decompress, leaving the decompressor in
+   * an unusable state.
+   */
+  void didFailMessage() {
+    final Inflater inflater = this.inflater;
+    if (inflater != null) {
+      this.inflater = null;
+      inflater.end();
+    }
+  }
+
+  /**
+   * Idle decompressors without context takeover.
+   */
+  static final ConcurrentLinkedQueue<Inflater> INFLATERS = new ConcurrentLinkedQueue<Inflater>();
+  /**
+   * Number of decompressors in the {@link #INFLATERS} pool.
+   */
+  static final AtomicInteger INFLATER_COUNT = new AtomicInteger();
+  /**
+   * Maximum number of idle decompressors kept in the {@link #INFLATERS} pool.
+   */
+  static final int INFLATER_POOL_SIZE;
+
+  static {
+    int inflaterPoolSize;
+    try {
+      inflaterPoolSize = Integer.parseInt(System.getProperty("swim.ws.inflater.pool.size"));
+    } catch (NumberFormatException error) {
+      inflaterPoolSize = 2 * Runtime.getRuntime().availableProcessors();
+    }
+    INFLATER_POOL_SIZE = inflaterPoolSize;
+  }
+
+}
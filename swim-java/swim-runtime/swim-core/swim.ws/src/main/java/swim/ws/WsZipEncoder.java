@@ -0,0 +1,156 @@
+// Copyright 2015-2023 Swim.inc
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.ws;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.zip.Deflater;
+import swim.codec.Binary;
+import swim.codec.Encoder;
+import swim.codec.OutputBuffer;
+
+/**
+ * WebSocket encoder that compresses data frames with the JDK's native
+ * {@link Deflater}. A message gets compressed in full before its first frame
+ * is written, so that a compressor without context takeover is only held for
+ * the duration of a single call, and can be shared with other connections.
+ */
+public abstract class WsZipEncoder extends WsEncoder {
+
+  protected final int level;
+  protected final boolean noContextTakeover;
+  /**
+   * Compressor that retains the sliding window between messages, if context
+   * takeover is permitted; allocated when the first message is compressed.
+   */
+  Deflater deflater;
+
+  public WsZipEncoder(int level, boolean noContextTakeover) {
+    if (level < Deflater.DEFAULT_COMPRESSION || level > Deflater.BEST_COMPRESSION) {
+      throw new IllegalArgumentException("invalid compression level: " + level);
+    }
+    this.level = level;
+    this.noContextTakeover = noContextTakeover;
+    this.deflater = null;
+  }
+
+  public final int level() {
+    return this.level;
+  }
+
+  public final boolean noContextTakeover() {
+    return this.noContextTakeover;
+  }
+
+  @Override
+  public <T> Encoder<?, WsFrame<T>> textFrameEncoder(WsFrame<T> frame) {
+    return new WsFrameZipDeflater<T>(this, frame);
+  }
+
+  @Override
+  public <T> Encoder<?, WsFrame<T>> encodeTextFrame(OutputBuffer<?> output, WsFrame<T> frame) {
+    return WsFrameZipDeflater.encode(output, this, frame);
+  }
+
+  @Override
+  public <T> Encoder<?, WsFrame<T>> binaryFrameEncoder(WsFrame<T> frame) {
+    return new WsFrameZipDeflater<T>(this, frame);
+  }
+
+  @Override
+  public <T> Encoder<?, WsFrame<T>> encodeBinaryFrame(OutputBuffer<?> output, WsFrame<T> frame) {
+    return WsFrameZipDeflater.encode(output, this, frame);
+  }
+
+  /**
+   * Compresses the complete output of {@code payloadEncoder}, and returns an
+   * encoder that writes the compressed bytes, less the trailing empty
+   * deflate block, or the error returned by {@code payloadEncoder}.
+   */
+  Encoder<?, ?> deflate(Encoder<?, ?> payloadEncoder) {
+    final Deflater deflater;
+    if (this.noContextTakeover) {
+      deflater = WsZipEncoder.acquireDeflater(this.level);
+    } else {
+      if (this.deflater == null) {
+        this.deflater = new Deflater(this.level, true);
+      }
+      deflater = this.deflater;
+    }
+    try {
+      final byte[] input = new byte[WsZipEncoder.INPUT_SIZE];
+      byte[] output = new byte[WsZipEncoder.INPUT_SIZE];
+      int outputSize = 0;
+      do {
+        final OutputBuffer<?> inputBuffer = Binary.outputBuffer(input).isPart(true);
+        payloadEncoder = payloadEncoder.pull(inputBuffer);
+        if (payloadEncoder.isError()) {
+          return payloadEncoder;
+        }
+        deflater.setInput(input, 0, inputBuffer.index());
+        final int flush = payloadEncoder.isDone() ? Deflater.SYNC_FLUSH : Deflater.NO_FLUSH;
+        do {
+          if (outputSize == output.length) {
+            final byte[] newOutput = new byte[output.length << 1];
+            System.arraycopy(output, 0, newOutput, 0, outputSize);
+            output = newOutput;
+          }
+          outputSize += deflater.deflate(output, outputSize, output.length - outputSize, flush);
+        } while (outputSize == output.length || !deflater.needsInput());
+      } while (!payloadEncoder.isDone());
+      // Strip the 0x00 0x00 0xff 0xff tail of the sync flush block.
+      return Binary.byteBufferWriter(ByteBuffer.wrap(output, 0, outputSize - 4));
+    } finally {
+      if (this.noContextTakeover) {
+        WsZipEncoder.releaseDeflater(this.level, deflater);
+      }
+    }
+  }
+
+  /**
+   * Number of bytes of uncompressed payload passed to the compressor at once.
+   */
+  static final int INPUT_SIZE = 4096;
+
+  /**
+   * Idle compressors without context takeover, indexed by compression level.
+   */
+  static final ConcurrentLinkedQueue<Deflater>[] DEFLATERS = WsZipEncoder.deflaters();
+
+  @SuppressWarnings("unchecked")
+  private static ConcurrentLinkedQueue<Deflater>[] deflaters() {
+    final ConcurrentLinkedQueue<Deflater>[] deflaters = (ConcurrentLinkedQueue<Deflater>[])
+        new ConcurrentLinkedQueue<?>[Deflater.BEST_COMPRESSION - Deflater.DEFAULT_COMPRESSION + 1];
+    for (int i = 0; i < deflaters.length; i += 1) {
+      deflaters[i] = new ConcurrentLinkedQueue<Deflater>();
+    }
+    return deflaters;
+  }
+
+  static Deflater acquireDeflater(int level) {
+    final Deflater deflater = WsZipEncoder.DEFLATERS[level - Deflater.DEFAULT_COMPRESSION].poll();
+    if (deflater != null) {
+      return deflater;
+    } else {
+      return new Deflater(level, true);
+    }
+  }
+
+  static void releaseDeflater(int level, Deflater deflater) {
+    deflater.reset();
+    WsZipEncoder.DEFLATERS[level - Deflater.DEFAULT_COMPRESSION].offer(deflater);
+  }
+
+}
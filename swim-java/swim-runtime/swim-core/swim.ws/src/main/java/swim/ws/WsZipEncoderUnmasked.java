@@ -0,0 +1,33 @@
+// Copyright 2015-2023 Swim.inc
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.ws;
+
+final class WsZipEncoderUnmasked extends WsZipEncoder {
+
+  WsZipEncoderUnmasked(int level, boolean noContextTakeover) {
+    super(level, noContextTakeover);
+  }
+
+  @Override
+  public boolean isMasked() {
+    return false;
+  }
+
+  @Override
+  public void maskingKey(byte[] maskingKey) {
+    // nop
+  }
+
+}
@@ -0,0 +1,73 @@
+// Copyright 2015-2023 Swim.inc
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.ws;
+
+import org.testng.annotations.Test;
+import swim.structure.Data;
+import static swim.ws.WsFrameDeflaterSpec.assertEncodes;
+
+public class WsFrameZipDeflaterSpec {
+
+  @Test
+  public void deflateUnmaskedTextFrame() {
+    assertEncodes(new TestWsZipEncoder(null), WsTextFrame.create("Hello"), Data.fromBase16("c107f248cdc9c90700"));
+  }
+
+  @Test
+  public void deflateUnmaskedTextFragments() {
+    assertEncodes(new TestWsZipEncoder(null), WsTextFrame.create("ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz"), Data.fromBase16("411E72747276717573F7F0F4F2F6F1F5F30F080C0A0E090D0B8F888C4A4C4A4E8018494D4BCFC8CCCACEC9CDCB2F282C2A2E292D2BAFA8AC02000000"), 32, 32);
+  }
+
+  @Test
+  public void deflateMaskedTextFrame() {
+    final byte[] maskingKey = {(byte) 0x37, (byte) 0xfa, (byte) 0x21, (byte) 0x3d};
+    assertEncodes(new TestWsZipEncoder(maskingKey), WsTextFrame.create("Hello"), Data.fromBase16("c18737fa213dc5b2ecf4fefd21"));
+  }
+
+  @Test
+  public void deflateUnmaskedSharedWindow() {
+    final WsZipEncoder ws = new TestWsZipEncoder(null);
+    assertEncodes(ws, WsTextFrame.create("Hello"), Data.fromBase16("c107f248cdc9c90700"));
+    assertEncodes(ws, WsTextFrame.create("Hello"), Data.fromBase16("c105f200110000"));
+    assertEncodes(ws, WsTextFrame.create("Hello"), Data.fromBase16("c10402130000"));
+    assertEncodes(ws, WsTextFrame.create("Hello"), Data.fromBase16("c10402130000"));
+  }
+
+  @Test
+  public void deflateMaskedSharedWindow() {
+    final byte[] maskingKey = {(byte) 0x37, (byte) 0xfa, (byte) 0x21, (byte) 0x3d};
+    final WsZipEncoder ws = new TestWsZipEncoder(maskingKey);
+    assertEncodes(ws, WsTextFrame.create("Hello"), Data.fromBase16("c18737fa213dc5b2ecf4fefd21"));
+    assertEncodes(ws, WsTextFrame.create("Hello"), Data.fromBase16("c18537fa213dc5fa303d37"));
+    assertEncodes(ws, WsTextFrame.create("Hello"), Data.fromBase16("c18437fa213d35e9213d"));
+    assertEncodes(ws, WsTextFrame.create("Hello"), Data.fromBase16("c18437fa213d35e9213d"));
+  }
+
+  @Test
+  public void deflateWithoutContextTakeover() {
+    final WsZipEncoder ws1 = new TestWsZipEncoder(null, -1, true);
+    final WsZipEncoder ws2 = new TestWsZipEncoder(null, -1, true);
+    assertEncodes(ws1, WsTextFrame.create("Hello"), Data.fromBase16("c107f248cdc9c90700"));
+    assertEncodes(ws2, WsTextFrame.create("Hello"), Data.fromBase16("c107f248cdc9c90700"));
+    assertEncodes(ws1, WsTextFrame.create("Hello"), Data.fromBase16("c107f248cdc9c90700"));
+    assertEncodes(ws2, WsTextFrame.create("Hello"), Data.fromBase16("c107f248cdc9c90700"));
+  }
+
+  @Test
+  public void deflateEmptyTextFrame() {
+    assertEncodes(new TestWsZipEncoder(null), WsTextFrame.create(""), Data.fromBase16("c10100"));
+  }
+
+}
@@ -0,0 +1,208 @@
+// Copyright 2015-2023 Swim.inc
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.ws;
+
+import org.testng.TestException;
+import org.testng.annotations.Test;
+import swim.codec.Binary;
+import swim.codec.Decoder;
+import swim.codec.DecoderException;
+import swim.codec.Encoder;
+import swim.codec.InputBuffer;
+import swim.codec.Utf8;
+import swim.structure.Data;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+public class WsFrameZipInflaterSpec {
+
+  @Test
+  public void decodeUnmaskedTextFrame() {
+    assertDecodes(Data.fromBase16("810548656c6c6f"), WsTextFrame.create("Hello"));
+  }
+
+  @Test
+  public void decodeMaskedTextFrame() {
+    assertDecodes(Data.fromBase16("818537fa213d7f9f4d5158"), WsTextFrame.create("Hello"));
+  }
+
+  @Test
+  public void decodeCloseFrame() {
+    assertDecodes(Data.fromBase16("880203e8"), WsCloseFrame.create(1000));
+  }
+
+  @Test
+  public void inflateUnmaskedTextFrame() {
+    assertDecodes(Data.fromBase16("c107f248cdc9c90700"), WsTextFrame.create("Hello"));
+  }
+
+  @Test
+  public void inflateUnmaskedEmptyTextFrame() {
+    assertDecodes(Data.fromBase16("c10100"), WsTextFrame.create(""));
+  }
+
+  @Test
+  public void inflateUnmaskedTextFragments() {
+    assertDecodes(Data.fromBase16("4103f248cd8004c9c90700"), WsTextFrame.create("Hello"));
+  }
+
+  @Test
+  public void inflateMaskedTextFrame() {
+    assertDecodes(Data.fromBase16("c18737fa213dc5b2ecf4fefd21"), WsTextFrame.create("Hello"));
+  }
+
+  @Test
+  public void inflateUnmaskedSharedWindow() {
+    final WsZipDecoder ws = Ws.zipDecoder();
+    Decoder<WsFrame<String>> frameDecoder = ws.decodeMessage(Data.fromBase16("c107f248cdc9c90700").toInputBuffer().isPart(true), Utf8.stringParser());
+    assertEquals(frameDecoder.bind(), WsTextFrame.create("Hello"));
+    frameDecoder = ws.decodeMessage(Data.fromBase16("c105f200110000").toInputBuffer().isPart(true), Utf8.stringParser());
+    assertEquals(frameDecoder.bind(), WsTextFrame.create("Hello"));
+    frameDecoder = ws.decodeMessage(Data.fromBase16("c10402130000").toInputBuffer().isPart(true), Utf8.stringParser());
+    assertEquals(frameDecoder.bind(), WsTextFrame.create("Hello"));
+  }
+
+  @Test
+  public void inflateWithoutContextTakeover() {
+    final WsZipDecoder ws1 = Ws.zipDecoder(true);
+    final WsZipDecoder ws2 = Ws.zipDecoder(true);
+    for (int i = 0; i < 3; i += 1) {
+      Decoder<WsFrame<String>> frameDecoder = ws1.decodeMessage(Data.fromBase16("c107f248cdc9c90700").toInputBuffer().isPart(true), Utf8.stringParser());
+      assertEquals(frameDecoder.bind(), WsTextFrame.create("Hello"));
+      assertTrue(ws1.inflater == null);
+      frameDecoder = ws2.decodeMessage(Data.fromBase16("c18737fa213dc5b2ecf4fefd21").toInputBuffer().isPart(true), Utf8.stringParser());
+      assertEquals(frameDecoder.bind(), WsTextFrame.create("Hello"));
+      assertTrue(ws2.inflater == null);
+    }
+  }
+
+  @Test
+  public void capIdleInflaterPool() {
+    final int decoderCount = WsZipDecoder.INFLATER_POOL_SIZE + 2;
+    final WsZipDecoder[] decoders = new WsZipDecoder[decoderCount];
+    final WsFragmentFrame<?>[] fragments = new WsFragmentFrame<?>[decoderCount];
+    for (int i = 0; i < decoderCount; i += 1) {
+      decoders[i] = Ws.zipDecoder(true);
+      final Decoder<WsFrame<String>> frameDecoder = decoders[i].decodeMessage(Data.fromBase16("4103f248cd").toInputBuffer().isPart(true), Utf8.stringParser());
+      fragments[i] = (WsFragmentFrame<?>) frameDecoder.bind();
+      assertTrue(decoders[i].inflater != null);
+    }
+    for (int i = 0; i < decoderCount; i += 1) {
+      final Decoder<? extends WsFrame<?>> frameDecoder = decoders[i].continuationDecoder(fragments[i].frameType(), fragments[i].payloadDecoder())
+                                                                    .feed(Data.fromBase16("8004c9c90700").toInputBuffer());
+      assertEquals(frameDecoder.bind(), WsTextFrame.create("Hello"));
+      assertTrue(decoders[i].inflater == null);
+    }
+    assertTrue(WsZipDecoder.INFLATER_COUNT.get() <= WsZipDecoder.INFLATER_POOL_SIZE);
+    assertTrue(WsZipDecoder.INFLATERS.size() <= WsZipDecoder.INFLATER_POOL_SIZE);
+  }
+
+  @Test
+  public void releaseInflaterWhenPayloadFails() {
+    final WsZipDecoder ws = Ws.zipDecoder();
+    final Decoder<String> payloadDecoder = Decoder.error(new DecoderException("unparseable payload"));
+    final Decoder<WsFrame<String>> frameDecoder = ws.decodeMessage(Data.fromBase16("c107f248cdc9c90700").toInputBuffer(), payloadDecoder);
+    assertTrue(frameDecoder.isError());
+    assertTrue(ws.inflater == null);
+  }
+
+  @Test
+  public void inflateLargeMessages() {
+    final StringBuilder builder = new StringBuilder();
+    for (int i = 0; i < 10000; i += 1) {
+      builder.append("@event(node:\"/unit/").append(i % 97).append("\",lane:info)").append(i).append('\n');
+    }
+    final String payload = builder.toString();
+    assertRoundTrips(new TestWsZipEncoder(null), Ws.zipDecoder(), payload);
+    assertRoundTrips(new TestWsZipEncoder(null), Ws.zipDecoder(), payload);
+    assertRoundTrips(new TestWsZipEncoder(null, 9, true), Ws.zipDecoder(true), payload);
+  }
+
+  @Test
+  public void inflateAcrossEngines() {
+    final StringBuilder builder = new StringBuilder();
+    for (int i = 0; i < 100; i += 1) {
+      builder.append("@event(node:\"/unit/").append(i % 7).append("\",lane:info)").append(i).append('\n');
+    }
+    final String payload = builder.toString();
+    final byte[] maskingKey = {(byte) 0x37, (byte) 0xfa, (byte) 0x21, (byte) 0x3d};
+    assertRoundTrips(new TestWsZipEncoder(maskingKey, 1, true), Ws.deflateDecoder(), payload);
+    assertRoundTrips(new TestWsDeflateEncoder(maskingKey), Ws.zipDecoder(), payload);
+  }
+
+  static void assertRoundTrips(WsEncoder encoder, WsDecoder decoder, String payload) {
+    final byte[] buffer = new byte[payload.length() + 64];
+    final Encoder<?, ?> frameEncoder = encoder.frameEncoder(WsTextFrame.create(payload))
+                                              .pull(Binary.outputBuffer(buffer));
+    if (frameEncoder.isError()) {
+      throw new TestException(frameEncoder.trap());
+    }
+    assertTrue(frameEncoder.isDone());
+    final Decoder<WsFrame<String>> frameDecoder = decoder.decodeMessage(Binary.inputBuffer(buffer), Utf8.stringParser());
+    if (frameDecoder.isError()) {
+      throw new TestException(frameDecoder.trap());
+    }
+    assertEquals(frameDecoder.bind(), WsTextFrame.create(payload));
+  }
+
+  static <T> void assertDecodes(boolean noContextTakeover, Decoder<T> payloadDecoder, Data encoded, WsFrame<T> expected) {
+    encoded = encoded.commit();
+    for (int i = 0, n = encoded.size(); i <= n; i += 1) {
+      final WsZipDecoder wsDecoder = Ws.zipDecoder(noContextTakeover);
+      InputBuffer input = encoded.toInputBuffer();
+      Decoder<WsFrame<T>> frameDecoder = wsDecoder.messageDecoder(payloadDecoder);
+      assertTrue(frameDecoder.isCont());
+      assertFalse(frameDecoder.isDone());
+      assertFalse(frameDecoder.isError());
+
+      input = input.index(0).limit(i).isPart(true);
+      frameDecoder = frameDecoder.feed(input);
+      if (frameDecoder.isDone()) {
+        final WsFrame<T> frame = frameDecoder.bind();
+        if (frame instanceof WsFragmentFrame<?>) {
+          final WsFragmentFrame<T> fragment = (WsFragmentFrame<T>) frame;
+          frameDecoder = wsDecoder.continuationDecoder(fragment.frameType(), fragment.payloadDecoder());
+        }
+      }
+
+      input = input.limit(n).isPart(false);
+      frameDecoder = frameDecoder.feed(input);
+      if (frameDecoder.isDone()) {
+        final WsFrame<T> frame = frameDecoder.bind();
+        if (frame instanceof WsFragmentFrame<?>) {
+          final WsFragmentFrame<T> fragment = (WsFragmentFrame<T>) frame;
+          frameDecoder = wsDecoder.continuationDecoder(fragment.frameType(), fragment.payloadDecoder());
+          frameDecoder = frameDecoder.feed(input);
+        }
+      }
+
+      if (frameDecoder.isError()) {
+        throw new TestException(frameDecoder.trap());
+      }
+      assertFalse(frameDecoder.isCont());
+      assertTrue(frameDecoder.isDone());
+      assertFalse(frameDecoder.isError());
+      assertEquals(frameDecoder.bind(), expected);
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  static void assertDecodes(Data encoded, WsFrame<?> expected) {
+    assertDecodes(false, new StringOrDataDecoder(), encoded, (WsFrame<Object>) expected);
+    assertDecodes(true, new StringOrDataDecoder(), encoded, (WsFrame<Object>) expected);
+  }
+
+}
@@ -27,6 +27,7 @@ import swim.concurrent.StageClock;
 import swim.concurrent.StageDef;
 import swim.concurrent.Theater;
 import swim.concurrent.TheaterDef;
+import swim.concurrent.VirtualTheater;
 import swim.io.IpService;
 import swim.io.IpServiceRef;
 import swim.io.IpSettings;
@@ -241,7 +242,12 @@ public class BootKernel extends KernelProxy implements IpStation {
   }
 
   public Theater createTheater(TheaterDef theaterDef) {
-    return new Theater(theaterDef);
+    if (theaterDef.virtual() && VirtualTheater.isSupported()) {
+      return new VirtualTheater(theaterDef);
+    } else {
+      // Fall back to a pooled theater on JVMs without virtual threads.
+      return new Theater(theaterDef);
+    }
   }
 
   @Override
@@ -113,6 +113,7 @@ public class RemoteHost extends AbstractTierBinding implements HostBinding, Warp
   volatile HashTrieMap<Uri, HashTrieMap<Uri, RemoteWarpDownlink>> downlinks;
   volatile HashTrieMap<Uri, HashTrieMap<Uri, HashTrieSet<RemoteWarpUplink>>> uplinks;
   volatile int receiveBacklog;
+  volatile int downBacklog;
   RemoteHostMessageCont messageCont;
   final HashGenCacheMap<Uri, Uri> resolveCache;
 
@@ -155,6 +156,7 @@ public class RemoteHost extends AbstractTierBinding implements HostBinding, Warp
     this.downlinks = HashTrieMap.empty();
     this.uplinks = HashTrieMap.empty();
     this.receiveBacklog = 0;
+    this.downBacklog = 0;
     this.messageCont = null;
     this.resolveCache = new HashGenCacheMap<Uri, Uri>(RemoteHost.URI_RESOLUTION_CACHE_SIZE);
 
@@ -775,6 +777,79 @@ public class RemoteHost extends AbstractTierBinding implements HostBinding, Warp
     //} while (true);
   }
 
+  /**
+   * Returns the number of down messages queued by the uplinks of this
+   * connection, but not yet written to the socket; only tracked when the
+   * connection has a positive high watermark.
+   */
+  public int downBacklog() {
+    return this.downBacklog;
+  }
+
+  /**
+   * Returns {@code true} if the down backlog of this connection has reached
+   * its high watermark, and hasn't yet drained to its low watermark. Reading
+   * from the socket is disabled while the connection is backpressured.
+   */
+  public boolean isBackpressured() {
+    return (RemoteHost.FLAGS.get(this) & RemoteHost.BACKPRESSURED) != 0;
+  }
+
+  /**
+   * Returns the down backlog at which this connection stops reading from its
+   * socket, or {@code 0} if the down backlog of this connection is unbounded.
+   */
+  public int downHighWatermark() {
+    return RemoteHost.DOWN_HIGH_WATERMARK;
+  }
+
+  /**
+   * Returns the down backlog to which a backpressured connection must drain
+   * before it resumes reading from its socket.
+   */
+  public int downLowWatermark() {
+    return RemoteHost.DOWN_LOW_WATERMARK;
+  }
+
+  void backlogDown(int delta) {
+    final int downHighWatermark = this.downHighWatermark();
+    if (downHighWatermark > 0 && delta != 0) {
+      final int downBacklog = RemoteHost.DOWN_BACKLOG.addAndGet(this, delta);
+      if (this.isBackpressured() ? downBacklog <= this.downLowWatermark() : downBacklog >= downHighWatermark) {
+        this.reconcileDownBacklog();
+      }
+    }
+  }
+
+  protected void reconcileDownBacklog() {
+    do {
+      final int oldFlags = RemoteHost.FLAGS.get(this);
+      final int downBacklog = this.downBacklog;
+      final int newFlags;
+      if (downBacklog >= this.downHighWatermark()) {
+        newFlags = oldFlags | RemoteHost.BACKPRESSURED;
+      } else if (downBacklog <= this.downLowWatermark()) {
+        newFlags = oldFlags & ~RemoteHost.BACKPRESSURED;
+      } else {
+        newFlags = oldFlags;
+      }
+      if (oldFlags == newFlags) {
+        break;
+      } else if (RemoteHost.FLAGS.compareAndSet(this, oldFlags, newFlags)) {
+        final WarpSocketContext warpSocketContext = this.warpSocketContext;
+        if (warpSocketContext != null) {
+          // Reapply flow control until it agrees with a concurrently toggled flag.
+          boolean backpressured;
+          do {
+            backpressured = this.isBackpressured();
+            warpSocketContext.flowControl(backpressured ? FlowModifier.DISABLE_READ : FlowModifier.ENABLE_READ);
+          } while (backpressured != this.isBackpressured());
+        }
+        break;
+      }
+    } while (true);
+  }
+
   protected void reconcileReceiveBacklog() {
     do {
       final int receiveBacklog = this.receiveBacklog;
@@ -1478,9 +1553,12 @@ public class RemoteHost extends AbstractTierBinding implements HostBinding, Warp
   static final int REPLICA = 1 << 1;
   static final int MASTER = 1 << 2;
   static final int SLAVE = 1 << 3;
+  static final int BACKPRESSURED = 1 << 4;
 
   static final int MAX_SEND_BACKLOG;
   static final int MAX_RECEIVE_BACKLOG;
+  static final int DOWN_HIGH_WATERMARK;
+  static final int DOWN_LOW_WATERMARK;
   static final int URI_RESOLUTION_CACHE_SIZE;
 
   static final AtomicIntegerFieldUpdater<RemoteHost> FLAGS =
@@ -1491,6 +1569,8 @@ public class RemoteHost extends AbstractTierBinding implements HostBinding, Warp
 
   static final AtomicIntegerFieldUpdater<RemoteHost> RECEIVE_BACKLOG =
       AtomicIntegerFieldUpdater.newUpdater(RemoteHost.class, "receiveBacklog");
+  static final AtomicIntegerFieldUpdater<RemoteHost> DOWN_BACKLOG =
+      AtomicIntegerFieldUpdater.newUpdater(RemoteHost.class, "downBacklog");
 
   @SuppressWarnings("unchecked")
   static final AtomicReferenceFieldUpdater<RemoteHost, HashTrieMap<Uri, HashTrieMap<Uri, RemoteWarpDownlink>>> DOWNLINKS =
@@ -1552,6 +1632,22 @@ public class RemoteHost extends AbstractTierBinding implements HostBinding, Warp
     }
     MAX_RECEIVE_BACKLOG = maxReceiveBacklog;
 
+    int downHighWatermark;
+    try {
+      downHighWatermark = Integer.parseInt(System.getProperty("swim.remote.down.high.watermark"));
+    } catch (NumberFormatException e) {
+      downHighWatermark = 0;
+    }
+    DOWN_HIGH_WATERMARK = downHighWatermark;
+
+    int downLowWatermark;
+    try {
+      downLowWatermark = Integer.parseInt(System.getProperty("swim.remote.down.low.watermark"));
+    } catch (NumberFormatException e) {
+      downLowWatermark = downHighWatermark / 2;
+    }
+    DOWN_LOW_WATERMARK = Math.min(downLowWatermark, downHighWatermark - 1);
+
     int uriResolutionCacheSize;
     try {
       uriResolutionCacheSize = Integer.parseInt(System.getProperty("swim.remote.uri.resolution.cache.size"));
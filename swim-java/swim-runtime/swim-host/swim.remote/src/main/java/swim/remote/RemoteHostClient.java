@@ -80,7 +80,7 @@ public class RemoteHostClient extends RemoteHost {
       final WarpSettings warpSettings = this.warpSettings;
       final WsSettings wsSettings = warpSettings.wsSettings();
       final WsRequest wsRequest = wsSettings.handshakeRequest(requestUri, RemoteHostClient.PROTOCOL_LIST);
-      final WarpWebSocket webSocket = new WarpWebSocket(this, warpSettings);
+      final WarpWebSocket webSocket = new WarpWebSocket(this, warpSettings, this.hostContext.schedule());
       this.client = new RemoteHostClientBinding(this, webSocket, wsRequest, warpSettings);
       this.setWarpSocketContext(webSocket); // eagerly set
     }
@@ -196,7 +196,7 @@ public class RemoteHostClient extends RemoteHost {
 
   static final double MAX_RECONNECT_TIMEOUT = 15000.0;
 
-  static final FingerTrieSeq<String> PROTOCOL_LIST = FingerTrieSeq.of("warp0");
+  static final FingerTrieSeq<String> PROTOCOL_LIST = WarpWebSocket.protocols();
 
 }
 
@@ -275,6 +275,16 @@ class RemoteWarpDownlink implements WarpBinding, PullRequest<Envelope> {
     } while (true);
   }
 
+  @Override
+  public void backlogDown(int delta) {
+    this.host.backlogDown(delta);
+  }
+
+  @Override
+  public boolean isBackpressuredDown() {
+    return this.host.isBackpressured();
+  }
+
   @Override
   public void pull(PullContext<? super Envelope> pullContext) {
     this.pullContext = pullContext;
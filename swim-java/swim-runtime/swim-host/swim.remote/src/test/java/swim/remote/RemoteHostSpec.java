@@ -32,7 +32,9 @@ import swim.warp.Envelope;
 import swim.ws.WsRequest;
 import swim.ws.WsResponse;
 import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertFalse;
 import static org.testng.AssertJUnit.assertNotNull;
+import static org.testng.AssertJUnit.assertTrue;
 
 public class RemoteHostSpec {
 
@@ -343,4 +345,41 @@ public class RemoteHostSpec {
     }
   }
 
+  @Test
+  public void testDownBacklogFlowControl() {
+    final RemoteHost host = new RemoteHost(Uri.parse("warp://127.0.0.1:53556/")) {
+      @Override
+      public int downHighWatermark() {
+        return 4;
+      }
+
+      @Override
+      public int downLowWatermark() {
+        return 2;
+      }
+    };
+    final TestWarpSocketContext warpSocketContext = new TestWarpSocketContext();
+    host.setWarpSocketContext(warpSocketContext);
+
+    for (int i = 0; i < 3; i += 1) {
+      host.backlogDown(1);
+    }
+    assertFalse(host.isBackpressured());
+    assertTrue(warpSocketContext.flowControl().isReadEnabled());
+
+    host.backlogDown(1);
+    assertEquals(4, host.downBacklog());
+    assertTrue(host.isBackpressured());
+    assertFalse(warpSocketContext.flowControl().isReadEnabled());
+
+    host.backlogDown(-1);
+    assertTrue(host.isBackpressured());
+    assertFalse(warpSocketContext.flowControl().isReadEnabled());
+
+    host.backlogDown(-1);
+    assertEquals(2, host.downBacklog());
+    assertFalse(host.isBackpressured());
+    assertTrue(warpSocketContext.flowControl().isReadEnabled());
+  }
+
 }
@@ -0,0 +1,150 @@
+// Copyright 2015-2023 Swim.inc
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.remote;
+
+import java.net.InetSocketAddress;
+import java.security.Principal;
+import java.security.cert.Certificate;
+import java.util.Collection;
+import swim.collections.FingerTrieSeq;
+import swim.concurrent.PullRequest;
+import swim.io.FlowControl;
+import swim.io.FlowModifier;
+import swim.io.IpSocket;
+import swim.io.warp.WarpSettings;
+import swim.io.warp.WarpSocketContext;
+import swim.warp.Envelope;
+import swim.ws.WsControlFrame;
+
+public class TestWarpSocketContext implements WarpSocketContext {
+
+  private FlowControl flowControl;
+
+  public TestWarpSocketContext() {
+    this.flowControl = FlowControl.READ_WRITE;
+  }
+
+  @Override
+  public boolean isConnected() {
+    return true;
+  }
+
+  @Override
+  public boolean isClient() {
+    return false;
+  }
+
+  @Override
+  public boolean isServer() {
+    return true;
+  }
+
+  @Override
+  public boolean isSecure() {
+    return false;
+  }
+
+  @Override
+  public String securityProtocol() {
+    return null;
+  }
+
+  @Override
+  public String cipherSuite() {
+    return null;
+  }
+
+  @Override
+  public InetSocketAddress localAddress() {
+    return null;
+  }
+
+  @Override
+  public Principal localPrincipal() {
+    return null;
+  }
+
+  @Override
+  public Collection<Certificate> localCertificates() {
+    return FingerTrieSeq.empty();
+  }
+
+  @Override
+  public InetSocketAddress remoteAddress() {
+    return null;
+  }
+
+  @Override
+  public Principal remotePrincipal() {
+    return null;
+  }
+
+  @Override
+  public Collection<Certificate> remoteCertificates() {
+    return FingerTrieSeq.empty();
+  }
+
+  @Override
+  public synchronized FlowControl flowControl() {
+    return this.flowControl;
+  }
+
+  @Override
+  public synchronized void flowControl(FlowControl flowControl) {
+    this.flowControl = flowControl;
+  }
+
+  @Override
+  public synchronized FlowControl flowControl(FlowModifier flowModifier) {
+    this.flowControl = this.flowControl.modify(flowModifier);
+    return this.flowControl;
+  }
+
+  @Override
+  public WarpSettings warpSettings() {
+    return WarpSettings.standard();
+  }
+
+  @Override
+  public void feed(PullRequest<Envelope> pullRequest) {
+    // nop
+  }
+
+  @Override
+  public void feed(Envelope envelope, float prio) {
+    // nop
+  }
+
+  @Override
+  public void feed(Envelope envelope) {
+    // nop
+  }
+
+  @Override
+  public void write(WsControlFrame<?, ? extends Envelope> frame) {
+    // nop
+  }
+
+  @Override
+  public void become(IpSocket socket) {
+    // nop
+  }
+
+  @Override
+  public void close() {
+    // nop
+  }
+
+}
@@ -0,0 +1,159 @@
+// Copyright 2015-2023 Swim.inc
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.server;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import org.testng.annotations.Test;
+import swim.actor.ActorSpaceDef;
+import swim.api.SwimLane;
+import swim.api.SwimRoute;
+import swim.api.agent.AbstractAgent;
+import swim.api.agent.AgentRoute;
+import swim.api.downlink.MapDownlink;
+import swim.api.lane.CommandLane;
+import swim.api.lane.MapLane;
+import swim.api.plane.AbstractPlane;
+import swim.kernel.Kernel;
+import swim.structure.Num;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+public class MapLaneFanoutSpec {
+
+  @Test
+  public void testFanOutLatestValuesToAllUplinks() throws InterruptedException {
+    final Kernel kernel = ServerLoader.loadServerStack();
+    final TestFanoutPlane plane = kernel.openSpace(ActorSpaceDef.fromName("test"))
+                                        .openPlane("test", TestFanoutPlane.class);
+    try {
+      kernel.start();
+      final int linkCount = 16;
+      final int putCount = 32 * KEY_COUNT;
+      final MapDownlink<Integer, Integer>[] links = this.openLinks(plane, linkCount, putCount);
+      this.fill(plane, putCount);
+      for (int i = 0; i < linkCount; i += 1) {
+        final MapDownlink<Integer, Integer> link = links[i];
+        for (int key = 0; key < KEY_COUNT; key += 1) {
+          final int lastValue = putCount - KEY_COUNT + key;
+          assertEquals(link.get(key), Integer.valueOf(lastValue));
+        }
+      }
+    } finally {
+      kernel.stop();
+    }
+  }
+
+  @Test(groups = {"benchmark"})
+  public void benchmarkMapLanePutsPerUplinkCount() throws InterruptedException {
+    System.out.println("Warming up ...");
+    this.benchmarkRound(100, 10000);
+    final int[] linkCounts = {1, 10, 100, 1000, 10000};
+    for (int i = 0; i < linkCounts.length; i += 1) {
+      final int linkCount = linkCounts[i];
+      // Scale down the puts for large fan-outs to bound the total deliveries.
+      final int putCount = Math.min(100000, Math.max(1024, 10000000 / linkCount));
+      System.out.println("Benchmarking " + linkCount + " uplinks ...");
+      final long dt = Math.max(1L, this.benchmarkRound(linkCount, putCount) / 1000000L);
+      System.out.println("put " + putCount + " entries to a map lane with " + linkCount + " uplinks in "
+                       + dt + " milliseconds (" + (1000L * putCount) / dt + " puts/second)");
+    }
+  }
+
+  /**
+   * Returns the nanoseconds taken for a map lane with {@code linkCount}
+   * uplinks to apply {@code putCount} puts, cycling over {@link #KEY_COUNT}
+   * keys, and for every uplink to deliver the final value of each key.
+   */
+  long benchmarkRound(int linkCount, int putCount) throws InterruptedException {
+    final Kernel kernel = ServerLoader.loadServerStack();
+    final TestFanoutPlane plane = kernel.openSpace(ActorSpaceDef.fromName("test"))
+                                        .openPlane("test", TestFanoutPlane.class);
+    try {
+      kernel.start();
+      this.openLinks(plane, linkCount, putCount);
+      final long t0 = System.nanoTime();
+      this.fill(plane, putCount);
+      return System.nanoTime() - t0;
+    } finally {
+      kernel.stop();
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  MapDownlink<Integer, Integer>[] openLinks(TestFanoutPlane plane, int linkCount,
+                                            int putCount) throws InterruptedException {
+    final CountDownLatch didSync = new CountDownLatch(linkCount);
+    final MapDownlink<Integer, Integer>[] links = (MapDownlink<Integer, Integer>[]) new MapDownlink<?, ?>[linkCount];
+    lastUpdates = new CountDownLatch(linkCount * KEY_COUNT);
+    for (int i = 0; i < linkCount; i += 1) {
+      final AtomicIntegerArray lastUpdated = new AtomicIntegerArray(KEY_COUNT);
+      links[i] = plane.<Integer, Integer>downlinkMap()
+          .keyClass(Integer.class)
+          .valueClass(Integer.class)
+          .nodeUri("/map/fanout")
+          .laneUri("map")
+          .didUpdate((key, newValue, oldValue) -> {
+            // Each key's final put is among the last KEY_COUNT puts.
+            if (newValue != null && newValue >= putCount - KEY_COUNT
+                && lastUpdated.compareAndSet(key, 0, 1)) {
+              lastUpdates.countDown();
+            }
+          })
+          .didSync(didSync::countDown)
+          .open();
+    }
+    assertTrue(didSync.await(60, TimeUnit.SECONDS));
+    return links;
+  }
+
+  void fill(TestFanoutPlane plane, int putCount) throws InterruptedException {
+    plane.command("/map/fanout", "fill", Num.from(putCount));
+    assertTrue(lastUpdates.await(60, TimeUnit.SECONDS));
+  }
+
+  static final int KEY_COUNT = 32;
+
+  static CountDownLatch lastUpdates;
+
+  static class TestFanoutAgent extends AbstractAgent {
+
+    @SwimLane("map")
+    MapLane<Integer, Integer> map = this.<Integer, Integer>mapLane()
+        .keyClass(Integer.class)
+        .valueClass(Integer.class);
+
+    @SwimLane("fill")
+    CommandLane<Integer> fill = this.<Integer>commandLane()
+        .valueClass(Integer.class)
+        .onCommand(this::fill);
+
+    void fill(Integer putCount) {
+      for (int i = 0; i < putCount; i += 1) {
+        this.map.put(i % KEY_COUNT, i);
+      }
+    }
+
+  }
+
+  static class TestFanoutPlane extends AbstractPlane {
+
+    @SwimRoute("/map/:name")
+    AgentRoute<TestFanoutAgent> fanoutRoute;
+
+  }
+
+}
@@ -16,6 +16,7 @@ package swim.server;
 
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.testng.annotations.Test;
 import swim.actor.ActorSpaceDef;
 import swim.api.SwimLane;
@@ -44,6 +45,7 @@ import swim.recon.Recon;
 import swim.service.web.WebServiceDef;
 import swim.structure.Value;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
 import static org.testng.Assert.fail;
 
 public class ValueLaneSpec {
@@ -250,6 +252,58 @@ public class ValueLaneSpec {
     }
   }
 
+  @Test
+  public void testRateLimitedLinkToValueLane() throws InterruptedException {
+    final Kernel kernel = ServerLoader.loadServerStack();
+    final TestValuePlane plane = kernel.openSpace(ActorSpaceDef.fromName("test"))
+                                       .openPlane("test", TestValuePlane.class);
+
+    final int setCount = 100;
+    final String lastValue = Integer.toString(setCount - 1);
+    final AtomicInteger receiveCount = new AtomicInteger();
+    final CountDownLatch linkDidSync = new CountDownLatch(1);
+    final CountDownLatch linkDidReceive = new CountDownLatch(1);
+    try {
+      kernel.openService(WebServiceDef.standard().port(53556).spaceName("test"));
+      kernel.start();
+      final ValueDownlink<String> rateLimitedLink = plane.downlinkValue()
+          .valueClass(String.class)
+          .hostUri("warp://localhost:53556")
+          .nodeUri("/value/hello")
+          .laneUri("value")
+          .rate(4.0f)
+          .didSync(linkDidSync::countDown)
+          .didReceive(body -> {
+            System.out.println("rate-limited link didReceive body: " + Recon.toString(body));
+            receiveCount.incrementAndGet();
+            if (lastValue.equals(body.stringValue(null))) {
+              linkDidReceive.countDown();
+            }
+          })
+          .open();
+      linkDidSync.await(1, TimeUnit.SECONDS);
+      assertEquals(linkDidSync.getCount(), 0);
+      receiveCount.set(0);
+
+      final ValueDownlink<String> valueLink = plane.downlinkValue()
+          .valueClass(String.class)
+          .hostUri("warp://localhost:53556")
+          .nodeUri("/value/hello")
+          .laneUri("value")
+          .open();
+      for (int i = 0; i < setCount; i += 1) {
+        valueLink.set(Integer.toString(i));
+      }
+      // Intermediate values coalesce into at most one event per 250 milliseconds.
+      linkDidReceive.await(5, TimeUnit.SECONDS);
+      assertEquals(linkDidReceive.getCount(), 0);
+      assertTrue(receiveCount.get() < setCount / 4, "received " + receiveCount.get() + " events");
+      assertEquals(rateLimitedLink.get(), lastValue);
+    } finally {
+      kernel.stop();
+    }
+  }
+
   static class TestValueLaneAgent extends AbstractAgent {
 
     @SwimLane("value")
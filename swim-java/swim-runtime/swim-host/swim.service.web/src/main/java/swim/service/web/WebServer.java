@@ -101,7 +101,7 @@ public class WebServer extends AbstractWarpServer {
     // TODO: Refactor into WarpSpaceRoute.
     final WsRequest wsRequest = WsRequest.create(httpRequest);
     if (wsRequest != null) {
-      final WsResponse wsResponse = wsRequest.accept(this.wsSettings);
+      final WsResponse wsResponse = this.accept(wsRequest);
       if (wsResponse != null) {
         return this.warpWebSocketResponder(wsRequest, wsResponse);
       }
@@ -134,7 +134,7 @@ public class WebServer extends AbstractWarpServer {
 
   protected HttpResponder<?> warpWebSocketResponder(WsRequest wsRequest, WsResponse wsResponse) {
     final RemoteHost host = this.openHost(wsRequest.httpRequest().uri(), wsRequest.cookies());
-    return this.upgrade(host, wsResponse);
+    return this.upgrade(host, wsResponse, host.schedule());
   }
 
   protected RemoteHost openHost(Uri requestUri, HashTrieMap<String, Cookie> cookies) {
@@ -23,6 +23,7 @@ import swim.api.data.ValueData;
 import swim.concurrent.MainStage;
 import swim.concurrent.Stage;
 import swim.db.BTreeMap;
+import swim.db.Database;
 import swim.db.QTreeMap;
 import swim.db.STreeList;
 import swim.db.Store;
@@ -37,6 +38,7 @@ import swim.store.SpatialDataBinding;
 import swim.store.StoreBinding;
 import swim.store.StoreContext;
 import swim.store.ValueDataBinding;
+import swim.structure.Record;
 import swim.structure.Text;
 import swim.structure.Value;
 
@@ -81,6 +83,18 @@ public class DbStore implements StoreBinding, StoreContext {
     this.store.database().closeTrunk(treeName);
   }
 
+  @Override
+  public Value storeStats() {
+    final Database database = this.store.database();
+    if (database != null) {
+      return Record.create(2)
+                   .slot("size", this.store.size())
+                   .slot("pageCache", database.pageCache().toValue());
+    } else {
+      return Value.absent();
+    }
+  }
+
   @Override
   public void close() {
     if (!this.name.isDefined()) {
@@ -30,4 +30,12 @@ public interface StoreBinding extends Store {
 
   void close();
 
+  /**
+   * Returns a snapshot of the runtime statistics of this store, such as its
+   * page cache counters, or {@code Value.absent()} if the store keeps none.
+   */
+  default Value storeStats() {
+    return Value.absent();
+  }
+
 }
@@ -59,6 +59,11 @@ public class StoreProxy implements StoreBinding, StoreContext {
     this.storeBinding.closeData(name);
   }
 
+  @Override
+  public Value storeStats() {
+    return this.storeBinding.storeStats();
+  }
+
   @Override
   public void close() {
     this.storeContext.close();
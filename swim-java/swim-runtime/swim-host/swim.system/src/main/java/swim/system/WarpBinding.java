@@ -36,6 +36,25 @@ public interface WarpBinding extends LinkBinding {
 
   void feedDown();
 
+  /**
+   * Adjusts the number of down messages queued by the link context of this
+   * binding, but not yet pulled, by {@code delta}. Lets the connection
+   * underlying the link account for the total backlog of all its links.
+   */
+  default void backlogDown(int delta) {
+    // nop
+  }
+
+  /**
+   * Returns {@code true} if the connection underlying this link has
+   * exceeded its high watermark of queued down messages, and hasn't yet
+   * drained to its low watermark; link contexts should apply their overflow
+   * policies to new messages while the connection is backpressured.
+   */
+  default boolean isBackpressuredDown() {
+    return false;
+  }
+
   void pushDown(Push<?> push);
 
   void skipDown();
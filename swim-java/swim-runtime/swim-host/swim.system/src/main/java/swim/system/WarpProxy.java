@@ -287,6 +287,16 @@ public abstract class WarpProxy implements WarpBinding, WarpContext {
     this.linkBinding.feedDown();
   }
 
+  @Override
+  public void backlogDown(int delta) {
+    this.linkBinding.backlogDown(delta);
+  }
+
+  @Override
+  public boolean isBackpressuredDown() {
+    return this.linkBinding.isBackpressuredDown();
+  }
+
   @Override
   public void pullDown() {
     this.linkContext.pullDown();
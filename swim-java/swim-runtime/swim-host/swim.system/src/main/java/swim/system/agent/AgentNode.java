@@ -15,7 +15,7 @@
 package swim.system.agent;
 
 import java.util.Iterator;
-import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
 import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 import swim.api.Downlink;
 import swim.api.Lane;
@@ -40,6 +40,7 @@ import swim.api.ws.WsLane;
 import swim.collections.FingerTrieSeq;
 import swim.collections.HashTrieMap;
 import swim.concurrent.Call;
+import swim.concurrent.ConcurrentMpscQueue;
 import swim.concurrent.Cont;
 import swim.concurrent.Schedule;
 import swim.concurrent.Stage;
@@ -86,18 +87,22 @@ import swim.uri.Uri;
 
 public class AgentNode extends AbstractTierBinding implements NodeBinding, CellContext, LaneFactory, Schedule, Stage, Task {
 
-  final ConcurrentLinkedQueue<Runnable> mailbox;
+  final ConcurrentMpscQueue<Runnable> mailbox;
   final long createdTime;
   protected NodeContext nodeContext;
   protected TaskContext taskContext;
   volatile HashTrieMap<Uri, LaneBinding> lanes;
+  volatile long mailboxYieldCount;
+  volatile Thread runningThread;
 
   public AgentNode() {
-    this.mailbox = new ConcurrentLinkedQueue<Runnable>();
+    this.mailbox = new ConcurrentMpscQueue<Runnable>();
     this.createdTime = System.currentTimeMillis();
     this.nodeContext = null;
     this.taskContext = null;
     this.lanes = HashTrieMap.empty();
+    this.mailboxYieldCount = 0L;
+    this.runningThread = null;
   }
 
   @Override
@@ -666,29 +671,96 @@ public class AgentNode extends AbstractTierBinding implements NodeBinding, CellC
     this.taskContext.cue();
   }
 
+  /**
+   * Returns the maximum number of mailbox commands to execute per run of
+   * this node's task before yielding its worker thread to other tasks;
+   * returns {@code 0} if the number of commands per run is unbounded.
+   */
+  protected int mailboxCommandBudget() {
+    return AgentNode.MAILBOX_COMMAND_BUDGET;
+  }
+
+  /**
+   * Returns the maximum number of nanoseconds to spend executing mailbox
+   * commands per run of this node's task before yielding its worker thread
+   * to other tasks; returns {@code 0} if the time per run is unbounded.
+   */
+  protected long mailboxTimeBudget() {
+    return AgentNode.MAILBOX_TIME_BUDGET;
+  }
+
+  /**
+   * Returns the number of times this node yielded its worker thread with
+   * commands still pending in its mailbox, due to exhausting its per-run
+   * command or time budget.
+   */
+  public final long mailboxYieldCount() {
+    return this.mailboxYieldCount;
+  }
+
   @Override
   public boolean taskWillBlock() {
     return false;
   }
 
+  /**
+   * Returns the hash code of this node's URI, so that stages with worker
+   * affinity consistently run this agent on the same worker thread.
+   */
+  @Override
+  public int taskAffinity() {
+    return this.nodeUri().hashCode();
+  }
+
+  /**
+   * Returns {@code true} if the calling thread is currently running this
+   * node's mailbox commands.
+   */
+  public boolean isRunningOnCurrentThread() {
+    return this.runningThread == Thread.currentThread();
+  }
+
   @Override
   public void runTask() {
-    do {
-      final Runnable command = this.mailbox.poll();
-      if (command != null) {
-        try {
-          command.run();
-        } catch (Throwable error) {
-          if (Cont.isNonFatal(error)) {
-            this.didFail(error);
-          } else {
-            throw error;
+    final int commandBudget = this.mailboxCommandBudget();
+    final long timeBudget = this.mailboxTimeBudget();
+    final long startTime = timeBudget > 0L ? System.nanoTime() : 0L;
+    int commandCount = 0;
+    final Thread thread = Thread.currentThread();
+    this.runningThread = thread;
+    try {
+      do {
+        final Runnable command = this.mailbox.poll();
+        if (command != null) {
+          try {
+            command.run();
+          } catch (Throwable error) {
+            if (Cont.isNonFatal(error)) {
+              this.didFail(error);
+            } else {
+              throw error;
+            }
           }
+          commandCount += 1;
+          if (commandBudget > 0 && commandCount >= commandBudget
+              || timeBudget > 0L && System.nanoTime() - startTime >= timeBudget) {
+            if (!this.mailbox.isEmpty()) {
+              // Budget exhausted with commands still pending; re-cue the node
+              // to yield the worker thread to other agents.
+              AgentNode.MAILBOX_YIELD_COUNT.incrementAndGet(this);
+              this.taskContext.cue();
+            }
+            break;
+          }
+        } else {
+          break;
         }
-      } else {
-        break;
+      } while (true);
+    } finally {
+      if (this.runningThread == thread) {
+        this.runningThread = null;
       }
-    } while (true);
+    }
   }
 
   @Override
@@ -705,8 +777,32 @@ public class AgentNode extends AbstractTierBinding implements NodeBinding, CellC
   static final AtomicReferenceFieldUpdater<AgentNode, HashTrieMap<Uri, LaneBinding>> LANES =
       AtomicReferenceFieldUpdater.newUpdater(AgentNode.class, (Class<HashTrieMap<Uri, LaneBinding>>) (Class<?>) HashTrieMap.class, "lanes");
 
+  static final AtomicLongFieldUpdater<AgentNode> MAILBOX_YIELD_COUNT =
+      AtomicLongFieldUpdater.newUpdater(AgentNode.class, "mailboxYieldCount");
+
   static final Uri LANES_URI = Uri.parse("lanes");
 
+  static final int MAILBOX_COMMAND_BUDGET;
+  static final long MAILBOX_TIME_BUDGET;
+
+  static {
+    int mailboxCommandBudget;
+    try {
+      mailboxCommandBudget = Integer.parseInt(System.getProperty("swim.agent.mailbox.command.budget"));
+    } catch (NumberFormatException e) {
+      mailboxCommandBudget = 1024;
+    }
+    MAILBOX_COMMAND_BUDGET = mailboxCommandBudget;
+
+    long mailboxTimeBudget;
+    try {
+      mailboxTimeBudget = Long.parseLong(System.getProperty("swim.agent.mailbox.time.budget"));
+    } catch (NumberFormatException e) {
+      mailboxTimeBudget = 10000000L; // 10 milliseconds
+    }
+    MAILBOX_TIME_BUDGET = mailboxTimeBudget;
+  }
+
   protected static Uri normalizedLaneUri(Uri laneUri) {
     if (laneUri.query().isDefined() || laneUri.fragment().isDefined()) {
       laneUri = Uri.create(laneUri.scheme(), laneUri.authority(), laneUri.path());
@@ -22,6 +22,7 @@ import swim.api.data.MapData;
 import swim.collections.FingerTrieSeq;
 import swim.concurrent.Cont;
 import swim.concurrent.Stage;
+import swim.structure.Attr;
 import swim.structure.Form;
 import swim.structure.Record;
 import swim.structure.Value;
@@ -37,10 +38,17 @@ public class MapLaneModel extends WarpLaneModel<MapLaneView<?, ?>, MapLaneUplink
 
   protected int flags;
   protected MapData<Value, Value> data;
+  /**
+   * Most recently built {@code @update} event body, reused by every uplink
+   * that sends down the same value for the same key, so that a fanned out
+   * update gets encoded only once.
+   */
+  volatile MapLaneDownUpdate downUpdate;
 
   MapLaneModel(int flags) {
     this.flags = flags;
     this.data = null;
+    this.downUpdate = null;
   }
 
   public MapLaneModel() {
@@ -161,6 +169,16 @@ public class MapLaneModel extends WarpLaneModel<MapLaneView<?, ?>, MapLaneUplink
     }
   }
 
+  Value downUpdate(Value key, Value value) {
+    MapLaneDownUpdate downUpdate = this.downUpdate;
+    if (downUpdate == null || downUpdate.value != value || !downUpdate.key.equals(key)) {
+      final Value body = Attr.of("update", Record.create(1).slot("key", key)).concat(value);
+      downUpdate = new MapLaneDownUpdate(key, value, body);
+      this.downUpdate = downUpdate;
+    }
+    return downUpdate.body;
+  }
+
   @SuppressWarnings("unchecked")
   public <K, V> V put(MapLaneView<K, V> view, K keyObject, V newObject) {
     final Form<K> keyForm = view.keyForm;
@@ -765,3 +783,17 @@ final class MapLaneRelayClear extends LaneRelay<MapLaneModel, MapLaneView<?, ?>>
   }
 
 }
+
+final class MapLaneDownUpdate {
+
+  final Value key;
+  final Value value;
+  final Value body;
+
+  MapLaneDownUpdate(Value key, Value value, Value body) {
+    this.key = key;
+    this.value = value;
+    this.body = body.commit();
+  }
+
+}
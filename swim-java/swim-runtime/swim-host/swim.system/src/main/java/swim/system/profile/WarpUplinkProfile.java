@@ -26,10 +26,14 @@ public final class WarpUplinkProfile extends Metric {
   final int commandDelta;
   final int commandRate;
   final long commandCount;
+  final int downBacklog;
+  final int overflowDelta;
+  final long overflowCount;
 
   public WarpUplinkProfile(UplinkAddress cellAddress,
                            int eventDelta, int eventRate, long eventCount,
-                           int commandDelta, int commandRate, long commandCount) {
+                           int commandDelta, int commandRate, long commandCount,
+                           int downBacklog, int overflowDelta, long overflowCount) {
     this.cellAddress = cellAddress;
     this.eventDelta = eventDelta;
     this.eventRate = eventRate;
@@ -37,6 +41,16 @@ public final class WarpUplinkProfile extends Metric {
     this.commandDelta = commandDelta;
     this.commandRate = commandRate;
     this.commandCount = commandCount;
+    this.downBacklog = downBacklog;
+    this.overflowDelta = overflowDelta;
+    this.overflowCount = overflowCount;
+  }
+
+  public WarpUplinkProfile(UplinkAddress cellAddress,
+                           int eventDelta, int eventRate, long eventCount,
+                           int commandDelta, int commandRate, long commandCount) {
+    this(cellAddress, eventDelta, eventRate, eventCount,
+         commandDelta, commandRate, commandCount, 0, 0, 0L);
   }
 
   @Override
@@ -68,4 +82,16 @@ public final class WarpUplinkProfile extends Metric {
     return this.commandCount;
   }
 
+  public int downBacklog() {
+    return this.downBacklog;
+  }
+
+  public int overflowDelta() {
+    return this.overflowDelta;
+  }
+
+  public long overflowCount() {
+    return this.overflowCount;
+  }
+
 }
@@ -0,0 +1,141 @@
+// Copyright 2015-2023 Swim.inc
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.system.reflect;
+
+import swim.concurrent.StageHistogram;
+import swim.concurrent.StageStats;
+import swim.structure.Form;
+import swim.structure.Item;
+import swim.structure.Kind;
+import swim.structure.Record;
+import swim.structure.Value;
+import swim.uri.Uri;
+
+public class StagePulse extends Pulse {
+
+  protected final StageStats stats;
+
+  public StagePulse(StageStats stats) {
+    this.stats = stats;
+  }
+
+  @Override
+  public boolean isDefined() {
+    return this.stats != null;
+  }
+
+  public final StageStats stats() {
+    return this.stats;
+  }
+
+  @Override
+  public Value toValue() {
+    return StagePulse.form().mold(this).toValue();
+  }
+
+  private static Form<StagePulse> form;
+
+  @Kind
+  public static Form<StagePulse> form() {
+    if (StagePulse.form == null) {
+      StagePulse.form = new StagePulseForm();
+    }
+    return StagePulse.form;
+  }
+
+  public static final Uri STAGE_PULSE_URI = Uri.parse("stagePulse");
+
+}
+
+final class StagePulseForm extends Form<StagePulse> {
+
+  @Override
+  public Class<?> type() {
+    return StagePulse.class;
+  }
+
+  @Override
+  public Item mold(StagePulse pulse) {
+    if (pulse != null && pulse.stats != null) {
+      final StageStats stats = pulse.stats;
+      final Record record = Record.create(10);
+      record.slot("parallelism", stats.parallelism());
+      record.slot("poolSize", stats.poolSize());
+      record.slot("activeCount", stats.activeCount());
+      record.slot("blockedCount", stats.blockedCount());
+      record.slot("compensationCount", stats.compensationCount());
+      record.slot("spawnCount", stats.spawnCount());
+      record.slot("stealCount", stats.stealCount());
+      record.slot("queueSize", stats.queueSize());
+      record.slot("waitTime", StagePulseForm.moldHistogram(stats.waitTimes()));
+      record.slot("runTime", StagePulseForm.moldHistogram(stats.runTimes()));
+      return record;
+    } else {
+      return Item.extant();
+    }
+  }
+
+  @Override
+  public StagePulse cast(Item item) {
+    final Value value = item.toValue();
+    if (!value.isDefined()) {
+      return new StagePulse(null);
+    }
+    final int parallelism = value.get("parallelism").intValue(0);
+    final int poolSize = value.get("poolSize").intValue(0);
+    final int activeCount = value.get("activeCount").intValue(0);
+    final int blockedCount = value.get("blockedCount").intValue(0);
+    final long spawnCount = value.get("spawnCount").longValue(0L);
+    final long stealCount = value.get("stealCount").longValue(0L);
+    final long queueSize = value.get("queueSize").longValue(0L);
+    final StageHistogram waitTimes = StagePulseForm.castHistogram(value.get("waitTime"));
+    final StageHistogram runTimes = StagePulseForm.castHistogram(value.get("runTime"));
+    return new StagePulse(new StageStats(parallelism, poolSize, activeCount, blockedCount,
+                                         spawnCount, stealCount, queueSize, waitTimes, runTimes));
+  }
+
+  /**
+   * Molds a histogram of nanosecond durations into a record of summary
+   * statistics, followed by the histogram's raw bucket counts, from which
+   * the histogram can be reconstructed.
+   */
+  static Value moldHistogram(StageHistogram histogram) {
+    final Record record = Record.create(8);
+    record.slot("count", histogram.count());
+    record.slot("mean", histogram.meanNanos());
+    record.slot("p50", histogram.quantileNanos(0.5));
+    record.slot("p90", histogram.quantileNanos(0.9));
+    record.slot("p99", histogram.quantileNanos(0.99));
+    record.slot("max", histogram.maxNanos());
+    record.slot("total", histogram.totalNanos());
+    final long[] counts = histogram.bucketCounts();
+    final Record buckets = Record.create(counts.length);
+    for (int i = 0; i < counts.length; i += 1) {
+      buckets.item(counts[i]);
+    }
+    record.slot("buckets", buckets);
+    return record;
+  }
+
+  static StageHistogram castHistogram(Value value) {
+    final Value buckets = value.get("buckets");
+    final long[] counts = new long[buckets.length()];
+    for (int i = 0; i < counts.length; i += 1) {
+      counts[i] = buckets.getItem(i).longValue(0L);
+    }
+    return new StageHistogram(counts, value.get("total").longValue(0L), value.get("max").longValue(0L));
+  }
+
+}
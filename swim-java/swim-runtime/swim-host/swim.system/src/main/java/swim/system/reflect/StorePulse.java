@@ -0,0 +1,85 @@
+// Copyright 2015-2023 Swim.inc
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.system.reflect;
+
+import swim.structure.Form;
+import swim.structure.Item;
+import swim.structure.Kind;
+import swim.structure.Value;
+import swim.uri.Uri;
+
+public class StorePulse extends Pulse {
+
+  protected final Value stats;
+
+  public StorePulse(Value stats) {
+    this.stats = stats.commit();
+  }
+
+  @Override
+  public boolean isDefined() {
+    return this.stats.isDefined();
+  }
+
+  /**
+   * Returns the runtime statistics reported by the store, such as the size,
+   * page count, hits, misses and evictions of its page cache.
+   */
+  public final Value stats() {
+    return this.stats;
+  }
+
+  @Override
+  public Value toValue() {
+    return StorePulse.form().mold(this).toValue();
+  }
+
+  private static Form<StorePulse> form;
+
+  @Kind
+  public static Form<StorePulse> form() {
+    if (StorePulse.form == null) {
+      StorePulse.form = new StorePulseForm();
+    }
+    return StorePulse.form;
+  }
+
+  public static final Uri STORE_PULSE_URI = Uri.parse("storePulse");
+
+}
+
+final class StorePulseForm extends Form<StorePulse> {
+
+  @Override
+  public Class<?> type() {
+    return StorePulse.class;
+  }
+
+  @Override
+  public Item mold(StorePulse pulse) {
+    if (pulse != null && pulse.isDefined()) {
+      return pulse.stats;
+    } else {
+      return Item.extant();
+    }
+  }
+
+  @Override
+  public StorePulse cast(Item item) {
+    final Value value = item.toValue();
+    return new StorePulse(value.isDefined() ? value : Value.absent());
+  }
+
+}
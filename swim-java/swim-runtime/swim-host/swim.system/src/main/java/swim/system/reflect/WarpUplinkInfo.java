@@ -20,6 +20,7 @@ import swim.structure.Kind;
 import swim.structure.Record;
 import swim.structure.Value;
 import swim.system.WarpContext;
+import swim.system.warp.WarpUplinkModem;
 
 public class WarpUplinkInfo extends UplinkInfo implements WarpInfo {
 
@@ -27,12 +28,26 @@ public class WarpUplinkInfo extends UplinkInfo implements WarpInfo {
   protected final boolean connected;
   protected final boolean remote;
   protected final boolean secure;
-
-  public WarpUplinkInfo(Value linkKey, boolean connected, boolean remote, boolean secure) {
+  protected final int downBacklog;
+  protected final int downHighWatermark;
+  protected final int downLowWatermark;
+  protected final long overflowCount;
+
+  public WarpUplinkInfo(Value linkKey, boolean connected, boolean remote, boolean secure,
+                        int downBacklog, int downHighWatermark, int downLowWatermark,
+                        long overflowCount) {
     this.linkKey = linkKey;
     this.connected = connected;
     this.remote = remote;
     this.secure = secure;
+    this.downBacklog = downBacklog;
+    this.downHighWatermark = downHighWatermark;
+    this.downLowWatermark = downLowWatermark;
+    this.overflowCount = overflowCount;
+  }
+
+  public WarpUplinkInfo(Value linkKey, boolean connected, boolean remote, boolean secure) {
+    this(linkKey, connected, remote, secure, 0, 0, 0, 0L);
   }
 
   public final Value linkKey() {
@@ -51,12 +66,35 @@ public class WarpUplinkInfo extends UplinkInfo implements WarpInfo {
     return this.secure;
   }
 
+  public final int downBacklog() {
+    return this.downBacklog;
+  }
+
+  public final int downHighWatermark() {
+    return this.downHighWatermark;
+  }
+
+  public final int downLowWatermark() {
+    return this.downLowWatermark;
+  }
+
+  public final long overflowCount() {
+    return this.overflowCount;
+  }
+
   @Override
   public Value toValue() {
     return WarpUplinkInfo.warpUplinkForm().mold(this).toValue();
   }
 
   public static WarpUplinkInfo create(WarpContext warpContext) {
+    if (warpContext instanceof WarpUplinkModem) {
+      final WarpUplinkModem uplink = (WarpUplinkModem) warpContext;
+      return new WarpUplinkInfo(uplink.linkKey(), uplink.isConnectedUp(),
+                                uplink.isRemoteUp(), uplink.isSecureUp(),
+                                uplink.downBacklog(), uplink.downHighWatermark(),
+                                uplink.downLowWatermark(), uplink.overflowCount());
+    }
     return new WarpUplinkInfo(warpContext.linkKey(), warpContext.isConnectedUp(),
                               warpContext.isRemoteUp(), warpContext.isSecureUp());
   }
@@ -83,7 +121,7 @@ final class WarpUplinkInfoForm extends Form<WarpUplinkInfo> {
   @Override
   public Item mold(WarpUplinkInfo info) {
     if (info != null) {
-      final Record record = Record.create(4);
+      final Record record = Record.create(8);
       record.slot("linkKey", info.linkKey);
       if (info.connected) {
         record.slot("connected", info.connected);
@@ -94,6 +132,16 @@ final class WarpUplinkInfoForm extends Form<WarpUplinkInfo> {
       if (info.secure) {
         record.slot("secure", info.secure);
       }
+      if (info.downBacklog > 0) {
+        record.slot("downBacklog", info.downBacklog);
+      }
+      if (info.downHighWatermark > 0) {
+        record.slot("downHighWatermark", info.downHighWatermark);
+        record.slot("downLowWatermark", info.downLowWatermark);
+      }
+      if (info.overflowCount > 0L) {
+        record.slot("overflowCount", info.overflowCount);
+      }
       return record;
     } else {
       return Item.extant();
@@ -108,7 +156,12 @@ final class WarpUplinkInfoForm extends Form<WarpUplinkInfo> {
       final boolean connected = value.get("connected").booleanValue(false);
       final boolean remote = value.get("remote").booleanValue(false);
       final boolean secure = value.get("secure").booleanValue(false);
-      return new WarpUplinkInfo(linkKey, connected, remote, secure);
+      final int downBacklog = value.get("downBacklog").intValue(0);
+      final int downHighWatermark = value.get("downHighWatermark").intValue(0);
+      final int downLowWatermark = value.get("downLowWatermark").intValue(0);
+      final long overflowCount = value.get("overflowCount").longValue(0L);
+      return new WarpUplinkInfo(linkKey, connected, remote, secure, downBacklog,
+                                downHighWatermark, downLowWatermark, overflowCount);
     }
     return null;
   }
@@ -30,8 +30,10 @@ import swim.api.policy.Policy;
 import swim.api.warp.WarpUplink;
 import swim.collections.FingerTrieSeq;
 import swim.concurrent.Cont;
+import swim.concurrent.MainStage;
 import swim.concurrent.Schedule;
 import swim.concurrent.Stage;
+import swim.concurrent.StageStats;
 import swim.store.StoreBinding;
 import swim.structure.Value;
 import swim.system.AbstractTierBinding;
@@ -57,6 +59,8 @@ import swim.system.reflect.AgentPulse;
 import swim.system.reflect.HostPulse;
 import swim.system.reflect.LogEntry;
 import swim.system.reflect.NodeInfo;
+import swim.system.reflect.StagePulse;
+import swim.system.reflect.StorePulse;
 import swim.system.reflect.WarpDownlinkPulse;
 import swim.system.reflect.WarpUplinkPulse;
 import swim.uri.Uri;
@@ -112,6 +116,8 @@ public class HostTable extends AbstractTierBinding implements HostBinding {
   AgentNode metaNode;
   DemandMapLane<Uri, NodeInfo> metaNodes;
   DemandLane<HostPulse> metaPulse;
+  DemandLane<StagePulse> metaStagePulse;
+  DemandLane<StorePulse> metaStorePulse;
   SupplyLane<LogEntry> metaTraceLog;
   SupplyLane<LogEntry> metaDebugLog;
   SupplyLane<LogEntry> metaInfoLog;
@@ -164,6 +170,8 @@ public class HostTable extends AbstractTierBinding implements HostBinding {
     this.metaNode = null;
     this.metaNodes = null;
     this.metaPulse = null;
+    this.metaStagePulse = null;
+    this.metaStorePulse = null;
     this.metaTraceLog = null;
     this.metaDebugLog = null;
     this.metaInfoLog = null;
@@ -372,6 +380,16 @@ public class HostTable extends AbstractTierBinding implements HostBinding {
                                   .valueForm(HostPulse.form())
                                   .observe(new HostTablePulseController(this));
     this.metaNode.openLane(HostPulse.PULSE_URI, this.metaPulse);
+
+    this.metaStagePulse = this.metaNode.demandLane()
+                                       .valueForm(StagePulse.form())
+                                       .observe(new HostTableStagePulseController(this));
+    this.metaNode.openLane(StagePulse.STAGE_PULSE_URI, this.metaStagePulse);
+
+    this.metaStorePulse = this.metaNode.demandLane()
+                                       .valueForm(StorePulse.form())
+                                       .observe(new HostTableStorePulseController(this));
+    this.metaNode.openLane(StorePulse.STORE_PULSE_URI, this.metaStorePulse);
   }
 
   protected void openLogLanes(HostBinding host, AgentNode metaHost) {
@@ -909,6 +927,14 @@ public class HostTable extends AbstractTierBinding implements HostBinding {
     if (metaPulse != null) {
       metaPulse.cue();
     }
+    final DemandLane<StagePulse> metaStagePulse = this.metaStagePulse;
+    if (metaStagePulse != null) {
+      metaStagePulse.cue();
+    }
+    final DemandLane<StorePulse> metaStorePulse = this.metaStorePulse;
+    if (metaStorePulse != null) {
+      metaStorePulse.cue();
+    }
 
     return new HostProfile(this.cellAddress(),
                            nodeOpenDelta, nodeOpenCount, nodeCloseDelta, nodeCloseCount,
@@ -1139,6 +1165,50 @@ final class HostTableNodesChildIterator implements Iterator<Uri> {
 
 }
 
+final class HostTableStagePulseController implements OnCue<StagePulse> {
+
+  final HostTable host;
+
+  HostTableStagePulseController(HostTable host) {
+    this.host = host;
+  }
+
+  @Override
+  public StagePulse onCue(WarpUplink uplink) {
+    final Stage stage = this.host.stage();
+    if (stage instanceof MainStage) {
+      final StageStats stats = ((MainStage) stage).stageStats();
+      if (stats != null) {
+        return new StagePulse(stats);
+      }
+    }
+    return null;
+  }
+
+}
+
+final class HostTableStorePulseController implements OnCue<StorePulse> {
+
+  final HostTable host;
+
+  HostTableStorePulseController(HostTable host) {
+    this.host = host;
+  }
+
+  @Override
+  public StorePulse onCue(WarpUplink uplink) {
+    final StoreBinding store = this.host.store();
+    if (store != null) {
+      final Value stats = store.storeStats();
+      if (stats.isDefined()) {
+        return new StorePulse(stats);
+      }
+    }
+    return null;
+  }
+
+}
+
 final class HostTablePulseController implements OnCue<HostPulse> {
 
   final HostTable host;
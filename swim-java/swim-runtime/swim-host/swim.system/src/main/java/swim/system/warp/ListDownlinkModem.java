@@ -14,7 +14,7 @@
 
 package swim.system.warp;
 
-import java.util.concurrent.ConcurrentLinkedQueue;
+import swim.concurrent.ConcurrentMpscQueue;
 import swim.structure.Value;
 import swim.system.Push;
 import swim.uri.Uri;
@@ -22,12 +22,12 @@ import swim.warp.CommandMessage;
 
 public abstract class ListDownlinkModem<View extends WarpDownlinkView> extends WarpDownlinkModel<View> {
 
-  final ConcurrentLinkedQueue<ListLinkDelta> upQueue;
+  final ConcurrentMpscQueue<ListLinkDelta> upQueue;
 
   public ListDownlinkModem(Uri meshUri, Uri hostUri, Uri nodeUri, Uri laneUri,
                            float prio, float rate, Value body) {
     super(meshUri, hostUri, nodeUri, laneUri, prio, rate, body);
-    this.upQueue = new ConcurrentLinkedQueue<ListLinkDelta>();
+    this.upQueue = new ConcurrentMpscQueue<ListLinkDelta>();
   }
 
   @Override
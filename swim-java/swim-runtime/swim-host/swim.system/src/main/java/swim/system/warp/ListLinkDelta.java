@@ -14,7 +14,6 @@
 
 package swim.system.warp;
 
-import swim.structure.Attr;
 import swim.structure.Record;
 import swim.structure.Value;
 
@@ -52,27 +51,6 @@ public abstract class ListLinkDelta {
 
 }
 
-final class ListLinkDeltaUpdate extends ListLinkDelta {
-
-  final int index;
-  final Value key;
-  final Value value;
-
-  ListLinkDeltaUpdate(int index, Value key, Value value) {
-    this.index = index;
-    this.key = key;
-    this.value = value;
-  }
-
-  @Override
-  public Value toValue() {
-    final Record header = Record.create(2).slot("index", this.index)
-                                          .slot("key", this.key);
-    return Attr.of("update", header).concat(this.value);
-  }
-
-}
-
 final class ListLinkDeltaRemove extends ListLinkDelta {
 
   final int index;
@@ -0,0 +1,40 @@
+// Copyright 2015-2023 Swim.inc
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.system.warp;
+
+import swim.structure.Attr;
+import swim.structure.Record;
+import swim.structure.Value;
+
+final class ListLinkDeltaUpdate extends ListLinkDelta {
+
+  final int index;
+  final Value key;
+  final Value value;
+
+  ListLinkDeltaUpdate(int index, Value key, Value value) {
+    this.index = index;
+    this.key = key;
+    this.value = value;
+  }
+
+  @Override
+  public Value toValue() {
+    final Record header = Record.create(2).slot("index", this.index)
+                                          .slot("key", this.key);
+    return Attr.of("update", header).concat(this.value);
+  }
+
+}
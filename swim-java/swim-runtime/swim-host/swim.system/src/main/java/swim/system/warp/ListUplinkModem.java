@@ -14,18 +14,29 @@
 
 package swim.system.warp;
 
-import java.util.concurrent.ConcurrentLinkedQueue;
 import swim.structure.Value;
 import swim.system.UplinkAddress;
 import swim.system.WarpBinding;
 
 public abstract class ListUplinkModem extends WarpUplinkModem {
 
-  final ConcurrentLinkedQueue<ListLinkDelta> downQueue;
+  final WarpDownQueue<ListLinkDelta> downQueue;
+
+  public ListUplinkModem(WarpBinding linkBinding, UplinkAddress uplinkAddress,
+                         int downHighWatermark, int downLowWatermark,
+                         WarpOverflowPolicy overflowPolicy) {
+    super(linkBinding, uplinkAddress, downHighWatermark, downLowWatermark, overflowPolicy);
+    this.downQueue = this.createDownQueue();
+  }
 
   public ListUplinkModem(WarpBinding linkBinding, UplinkAddress uplinkAddress) {
     super(linkBinding, uplinkAddress);
-    this.downQueue = new ConcurrentLinkedQueue<ListLinkDelta>();
+    this.downQueue = this.createDownQueue();
+  }
+
+  @Override
+  public int downBacklog() {
+    return this.downQueue.size();
   }
 
   @Override
@@ -34,7 +45,10 @@ public abstract class ListUplinkModem extends WarpUplinkModem {
   }
 
   public void queueDown(ListLinkDelta delta) {
-    this.downQueue.add(delta);
+    // Only updates conflate, keyed by the list key of the updated item;
+    // positional deltas must all be delivered.
+    final Object key = delta instanceof ListLinkDeltaUpdate ? ((ListLinkDeltaUpdate) delta).key : null;
+    this.queueDown(this.downQueue, delta, key);
   }
 
   public void sendDown(ListLinkDelta delta) {
@@ -59,4 +73,9 @@ public abstract class ListUplinkModem extends WarpUplinkModem {
     return delta != null ? delta.toValue() : null;
   }
 
+  @Override
+  protected void closeDownQueue() {
+    this.downQueue.close();
+  }
+
 }
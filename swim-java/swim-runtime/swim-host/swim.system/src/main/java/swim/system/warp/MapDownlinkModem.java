@@ -15,9 +15,9 @@
 package swim.system.warp;
 
 import java.util.Collection;
-import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 import swim.collections.HashTrieSet;
+import swim.concurrent.ConcurrentMpscQueue;
 import swim.concurrent.Cont;
 import swim.structure.Value;
 import swim.system.Push;
@@ -26,14 +26,14 @@ import swim.warp.CommandMessage;
 
 public abstract class MapDownlinkModem<View extends WarpDownlinkView> extends WarpDownlinkModel<View> {
 
-  final ConcurrentLinkedQueue<Push<CommandMessage>> upQueue;
+  final ConcurrentMpscQueue<Push<CommandMessage>> upQueue;
   volatile HashTrieSet<Value> keyQueue;
   volatile Value lastKey;
 
   public MapDownlinkModem(Uri meshUri, Uri hostUri, Uri nodeUri, Uri laneUri,
                           float prio, float rate, Value body) {
     super(meshUri, hostUri, nodeUri, laneUri, prio, rate, body);
-    this.upQueue = new ConcurrentLinkedQueue<Push<CommandMessage>>();
+    this.upQueue = new ConcurrentMpscQueue<Push<CommandMessage>>();
     this.keyQueue = HashTrieSet.empty();
     this.lastKey = null;
   }
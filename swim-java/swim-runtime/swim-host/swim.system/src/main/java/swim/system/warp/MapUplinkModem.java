@@ -15,26 +15,56 @@
 package swim.system.warp;
 
 import java.util.Iterator;
-import java.util.concurrent.ConcurrentLinkedQueue;
-import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
-import swim.collections.HashTrieSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import swim.concurrent.ConcurrentMpscQueue;
 import swim.structure.Value;
 import swim.system.UplinkAddress;
 import swim.system.WarpBinding;
 
 public abstract class MapUplinkModem extends WarpUplinkModem {
 
-  final ConcurrentLinkedQueue<Value> downQueue;
+  /**
+   * Queue of explicitly sent down messages. Lanes cue entry updates by key,
+   * through {@link #cueDownKey(Value)}, which already coalesces repeated
+   * updates of a key, so the {@code CONFLATE} overflow policy rarely applies
+   * to this queue: only {@code @remove} messages conflate by key, while
+   * {@code @drop}, {@code @take}, and {@code @clear} messages never do.
+   */
+  final WarpDownQueue<Value> downQueue;
   volatile Iterator<Value> syncQueue;
-  volatile HashTrieSet<Value> keyQueue;
-  volatile Value lastKey;
+  /**
+   * Keys that have been cued down, but not yet pulled; guards against
+   * enqueueing a dirty key more than once.
+   */
+  final Set<Value> dirtyKeys;
+  /**
+   * Dirty keys in the order in which they were first cued, so that the
+   * longest waiting key gets pulled down first.
+   */
+  final ConcurrentMpscQueue<Value> keyQueue;
+
+  public MapUplinkModem(WarpBinding linkBinding, UplinkAddress uplinkAddress,
+                        int downHighWatermark, int downLowWatermark,
+                        WarpOverflowPolicy overflowPolicy) {
+    super(linkBinding, uplinkAddress, downHighWatermark, downLowWatermark, overflowPolicy);
+    this.downQueue = this.createDownQueue();
+    this.syncQueue = null;
+    this.dirtyKeys = ConcurrentHashMap.newKeySet();
+    this.keyQueue = new ConcurrentMpscQueue<Value>();
+  }
 
   public MapUplinkModem(WarpBinding linkBinding, UplinkAddress uplinkAddress) {
     super(linkBinding, uplinkAddress);
-    this.downQueue = new ConcurrentLinkedQueue<Value>();
+    this.downQueue = this.createDownQueue();
     this.syncQueue = null;
-    this.keyQueue = HashTrieSet.empty();
-    this.lastKey = null;
+    this.dirtyKeys = ConcurrentHashMap.newKeySet();
+    this.keyQueue = new ConcurrentMpscQueue<Value>();
+  }
+
+  @Override
+  public int downBacklog() {
+    return this.downQueue.size();
   }
 
   @Override
@@ -44,7 +74,7 @@ public abstract class MapUplinkModem extends WarpUplinkModem {
 
   @Override
   protected void queueDown(Value body) {
-    this.downQueue.add(body);
+    this.queueDown(this.downQueue, body, MapUplinkModem.downKey(body));
   }
 
   public void syncDown(Iterator<Value> syncQueue) {
@@ -52,18 +82,12 @@ public abstract class MapUplinkModem extends WarpUplinkModem {
   }
 
   public void cueDownKey(Value key) {
-    do {
-      final HashTrieSet<Value> oldKeyQueue = MapUplinkModem.KEY_QUEUE.get(this);
-      final HashTrieSet<Value> newKeyQueue = oldKeyQueue.added(key);
-      if (oldKeyQueue != newKeyQueue) {
-        if (MapUplinkModem.KEY_QUEUE.compareAndSet(this, oldKeyQueue, newKeyQueue)) {
-          this.cueDown();
-          break;
-        }
-      } else {
-        break;
-      }
-    } while (true);
+    // Re-cueing an already dirty key is a read-only lookup; only the first
+    // cue of a key since it was last pulled enqueues it.
+    if (!this.dirtyKeys.contains(key) && this.dirtyKeys.add(key)) {
+      this.keyQueue.add(key);
+      this.cueDown();
+    }
   }
 
   protected abstract Value nextDownKey(Value key);
@@ -83,37 +107,47 @@ public abstract class MapUplinkModem extends WarpUplinkModem {
     return this.downQueue.poll();
   }
 
+  @Override
+  protected void closeDownQueue() {
+    this.downQueue.close();
+  }
+
   @Override
   protected Value nextDownCue() {
-    do {
-      final HashTrieSet<Value> oldKeyQueue = MapUplinkModem.KEY_QUEUE.get(this);
-      Value key = oldKeyQueue.next(this.lastKey);
-      if (key == null) {
-        key = oldKeyQueue.head();
-      }
-      final HashTrieSet<Value> newKeyQueue = oldKeyQueue.removed(key);
-      if (MapUplinkModem.KEY_QUEUE.compareAndSet(this, oldKeyQueue, newKeyQueue)) {
-        if (key != null) {
-          this.lastKey = key;
-          if (!newKeyQueue.isEmpty()) {
-            do {
-              final int oldStatus = WarpUplinkModem.STATUS.get(this);
-              final int newStatus = oldStatus | WarpUplinkModem.CUED_DOWN;
-              if (WarpUplinkModem.STATUS.compareAndSet(this, oldStatus, newStatus)) {
-                break;
-              }
-            } while (true);
+    final Value key = this.keyQueue.poll();
+    if (key != null) {
+      // Clear the dirty mark before reading the key's current value, so that
+      // a concurrent update re-cues the key instead of being lost.
+      this.dirtyKeys.remove(key);
+      if (!this.keyQueue.isEmpty()) {
+        do {
+          final int oldStatus = WarpUplinkModem.STATUS.get(this);
+          final int newStatus = oldStatus | WarpUplinkModem.CUED_DOWN;
+          if (WarpUplinkModem.STATUS.compareAndSet(this, oldStatus, newStatus)) {
+            break;
           }
-          return this.nextDownKey(key);
-        } else {
-          return null;
-        }
+        } while (true);
       }
-    } while (true);
+      return this.nextDownKey(key);
+    } else {
+      return null;
+    }
   }
 
-  @SuppressWarnings("unchecked")
-  static final AtomicReferenceFieldUpdater<MapUplinkModem, HashTrieSet<Value>> KEY_QUEUE =
-      AtomicReferenceFieldUpdater.newUpdater(MapUplinkModem.class, (Class<HashTrieSet<Value>>) (Class<?>) HashTrieSet.class, "keyQueue");
+  /**
+   * Returns the map key of an {@code @update} or {@code @remove} message,
+   * by which overflowing messages conflate, or {@code null} if the message
+   * doesn't pertain to a single key.
+   */
+  static Value downKey(Value body) {
+    final String tag = body.tag();
+    if ("update".equals(tag) || "remove".equals(tag)) {
+      final Value key = body.header(tag).get("key");
+      if (key.isDefined()) {
+        return key;
+      }
+    }
+    return null;
+  }
 
 }
@@ -14,7 +14,7 @@
 
 package swim.system.warp;
 
-import java.util.concurrent.ConcurrentLinkedQueue;
+import swim.concurrent.ConcurrentMpscQueue;
 import swim.concurrent.Cont;
 import swim.structure.Value;
 import swim.system.Push;
@@ -23,12 +23,12 @@ import swim.warp.CommandMessage;
 
 public abstract class SupplyDownlinkModem<View extends WarpDownlinkView> extends WarpDownlinkModel<View> {
 
-  final ConcurrentLinkedQueue<Push<CommandMessage>> upQueue;
+  final ConcurrentMpscQueue<Push<CommandMessage>> upQueue;
 
   public SupplyDownlinkModem(Uri meshUri, Uri hostUri, Uri nodeUri, Uri laneUri,
                              float prio, float rate, Value body) {
     super(meshUri, hostUri, nodeUri, laneUri, prio, rate, body);
-    this.upQueue = new ConcurrentLinkedQueue<Push<CommandMessage>>();
+    this.upQueue = new ConcurrentMpscQueue<Push<CommandMessage>>();
   }
 
   @Override
@@ -14,18 +14,29 @@
 
 package swim.system.warp;
 
-import java.util.concurrent.ConcurrentLinkedQueue;
 import swim.structure.Value;
 import swim.system.UplinkAddress;
 import swim.system.WarpBinding;
 
 public abstract class SupplyUplinkModem extends WarpUplinkModem {
 
-  final ConcurrentLinkedQueue<Value> downQueue;
+  final WarpDownQueue<Value> downQueue;
+
+  public SupplyUplinkModem(WarpBinding linkBinding, UplinkAddress uplinkAddress,
+                           int downHighWatermark, int downLowWatermark,
+                           WarpOverflowPolicy overflowPolicy) {
+    super(linkBinding, uplinkAddress, downHighWatermark, downLowWatermark, overflowPolicy);
+    this.downQueue = this.createDownQueue();
+  }
 
   public SupplyUplinkModem(WarpBinding linkBinding, UplinkAddress uplinkAddress) {
     super(linkBinding, uplinkAddress);
-    this.downQueue = new ConcurrentLinkedQueue<Value>();
+    this.downQueue = this.createDownQueue();
+  }
+
+  @Override
+  public int downBacklog() {
+    return this.downQueue.size();
   }
 
   @Override
@@ -35,7 +46,8 @@ public abstract class SupplyUplinkModem extends WarpUplinkModem {
 
   @Override
   public void queueDown(Value body) {
-    this.downQueue.add(body);
+    // Supplied values all conflate to the most recent value.
+    this.queueDown(this.downQueue, body, SupplyUplinkModem.CONFLATE_KEY);
   }
 
   @Override
@@ -43,4 +55,11 @@ public abstract class SupplyUplinkModem extends WarpUplinkModem {
     return this.downQueue.poll();
   }
 
+  @Override
+  protected void closeDownQueue() {
+    this.downQueue.close();
+  }
+
+  static final Object CONFLATE_KEY = new Object();
+
 }
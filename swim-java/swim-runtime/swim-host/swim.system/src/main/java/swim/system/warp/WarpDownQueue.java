@@ -0,0 +1,272 @@
+// Copyright 2015-2023 Swim.inc
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.system.warp;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import swim.concurrent.ConcurrentMpscQueue;
+import swim.system.WarpBinding;
+
+/**
+ * Down queue of a {@link WarpUplinkModem}, bounded by a {@link
+ * WarpOverflowPolicy}. Tracks the number of queued messages, and reports
+ * changes in its size to the {@code linkBinding} of its uplink, so that the
+ * connection underlying the link can account for its total backlog.
+ * Producers may {@link #add(Object, Object, int) add} messages from any
+ * thread, but only the uplink may {@link #poll() poll} messages.
+ */
+final class WarpDownQueue<T> {
+
+  final WarpBinding linkBinding;
+  final WarpOverflowPolicy overflowPolicy;
+  final int lowWatermark;
+  final ConcurrentMpscQueue<T> queue;
+  LinkedHashMap<Object, T> conflateQueue;
+  volatile int size;
+  volatile int conflateSize;
+  volatile int waiterCount;
+
+  WarpDownQueue(WarpBinding linkBinding, WarpOverflowPolicy overflowPolicy, int lowWatermark) {
+    this.linkBinding = linkBinding;
+    this.overflowPolicy = overflowPolicy;
+    this.lowWatermark = lowWatermark;
+    this.queue = new ConcurrentMpscQueue<T>();
+    this.conflateQueue = null;
+    this.size = 0;
+    this.conflateSize = 0;
+    this.waiterCount = 0;
+  }
+
+  boolean isEmpty() {
+    return this.queue.isEmpty() && this.conflateSize == 0;
+  }
+
+  int size() {
+    return Math.max(0, this.size);
+  }
+
+  boolean isClosed() {
+    return this.size < 0;
+  }
+
+  /**
+   * Enqueues {@code item}, applying the overflow policy of this queue if it
+   * holds more than {@code limit} messages, where a non-positive
+   * {@code limit} leaves the queue unbounded. Returns the number of queued
+   * messages discarded to make room for {@code item}, or {@code -1} if the
+   * queue has been closed.
+   */
+  int add(T item, Object key, int limit) {
+    if (!this.reserve()) {
+      return -1;
+    }
+    final WarpOverflowPolicy overflowPolicy = this.overflowPolicy;
+    if (overflowPolicy == WarpOverflowPolicy.CONFLATE
+        && (this.conflateSize != 0 || key != null && limit > 0 && this.size > limit)) {
+      // Once conflating, keep conflating until the consumer catches up,
+      // so that unkeyed messages stay ordered after conflated messages.
+      return this.conflate(item, key);
+    }
+    this.queue.add(item);
+    if ((overflowPolicy == WarpOverflowPolicy.DROP_OLDEST || overflowPolicy == WarpOverflowPolicy.BLOCK)
+        && limit > 0 && this.size > limit) {
+      // Producers that can't block, or that time out while blocked, discard
+      // the oldest messages so that the queue stays bounded.
+      return this.dropOldest(limit);
+    }
+    return 0;
+  }
+
+  T poll() {
+    T item;
+    final WarpOverflowPolicy overflowPolicy = this.overflowPolicy;
+    if (overflowPolicy == WarpOverflowPolicy.DROP_OLDEST || overflowPolicy == WarpOverflowPolicy.BLOCK) {
+      // Producers may concurrently drop the head of the queue.
+      synchronized (this) {
+        item = this.queue.poll();
+      }
+    } else {
+      item = this.queue.poll();
+    }
+    if (item == null && this.conflateSize != 0) {
+      synchronized (this) {
+        final LinkedHashMap<Object, T> conflateQueue = this.conflateQueue;
+        if (conflateQueue != null) {
+          final Iterator<T> items = conflateQueue.values().iterator();
+          if (items.hasNext()) {
+            item = items.next();
+            items.remove();
+            WarpDownQueue.CONFLATE_SIZE.decrementAndGet(this);
+          }
+        }
+      }
+    }
+    if (item != null) {
+      this.release(1);
+    }
+    return item;
+  }
+
+  /**
+   * Blocks the calling thread for at most {@code timeout} milliseconds while
+   * this queue holds {@code limit} or more messages, until it drains to its
+   * low watermark, or closes.
+   */
+  void await(int limit, long timeout) {
+    if (limit > 0 && timeout > 0L && this.size >= limit) {
+      WarpDownQueue.WAITER_COUNT.incrementAndGet(this);
+      try {
+        ForkJoinPool.managedBlock(new WarpDownQueueBlocker(this, System.nanoTime() + timeout * 1000000L));
+      } catch (InterruptedException cause) {
+        Thread.currentThread().interrupt();
+      } finally {
+        WarpDownQueue.WAITER_COUNT.decrementAndGet(this);
+      }
+    }
+  }
+
+  /**
+   * Closes this queue, discarding the backlog of queued messages, and
+   * releasing all blocked producers.
+   */
+  void close() {
+    final int oldSize = WarpDownQueue.SIZE.getAndSet(this, Integer.MIN_VALUE);
+    if (oldSize > 0) {
+      this.linkBinding.backlogDown(-oldSize);
+    }
+    synchronized (this) {
+      this.conflateQueue = null;
+      this.conflateSize = 0;
+      this.notifyAll();
+    }
+  }
+
+  boolean reserve() {
+    do {
+      final int oldSize = WarpDownQueue.SIZE.get(this);
+      if (oldSize < 0) {
+        return false;
+      } else if (WarpDownQueue.SIZE.compareAndSet(this, oldSize, oldSize + 1)) {
+        this.linkBinding.backlogDown(1);
+        return true;
+      }
+    } while (true);
+  }
+
+  void release(int count) {
+    do {
+      final int oldSize = WarpDownQueue.SIZE.get(this);
+      if (oldSize < 0) {
+        return;
+      }
+      final int newSize = Math.max(0, oldSize - count);
+      if (WarpDownQueue.SIZE.compareAndSet(this, oldSize, newSize)) {
+        this.linkBinding.backlogDown(newSize - oldSize);
+        if (this.waiterCount != 0 && newSize <= this.lowWatermark) {
+          synchronized (this) {
+            this.notifyAll();
+          }
+        }
+        return;
+      }
+    } while (true);
+  }
+
+  int dropOldest(int limit) {
+    int dropCount = 0;
+    synchronized (this) {
+      final int excess = this.size - limit;
+      while (dropCount < excess && this.queue.poll() != null) {
+        dropCount += 1;
+      }
+    }
+    if (dropCount != 0) {
+      this.release(dropCount);
+    }
+    return dropCount;
+  }
+
+  int conflate(T item, Object key) {
+    final T oldItem;
+    synchronized (this) {
+      LinkedHashMap<Object, T> conflateQueue = this.conflateQueue;
+      if (conflateQueue == null) {
+        conflateQueue = new LinkedHashMap<Object, T>();
+        this.conflateQueue = conflateQueue;
+      }
+      if (key == null) {
+        // Unkeyed messages never conflate.
+        key = new Object();
+      }
+      // Move conflated keys to the back of the queue to preserve the order
+      // of updates relative to intervening unkeyed messages.
+      oldItem = conflateQueue.remove(key);
+      conflateQueue.put(key, item);
+      if (oldItem == null) {
+        WarpDownQueue.CONFLATE_SIZE.incrementAndGet(this);
+      }
+    }
+    if (oldItem != null) {
+      this.release(1);
+      return 1;
+    }
+    return 0;
+  }
+
+  @SuppressWarnings("unchecked")
+  static final AtomicIntegerFieldUpdater<WarpDownQueue<?>> SIZE =
+      AtomicIntegerFieldUpdater.newUpdater((Class<WarpDownQueue<?>>) (Class<?>) WarpDownQueue.class, "size");
+  @SuppressWarnings("unchecked")
+  static final AtomicIntegerFieldUpdater<WarpDownQueue<?>> CONFLATE_SIZE =
+      AtomicIntegerFieldUpdater.newUpdater((Class<WarpDownQueue<?>>) (Class<?>) WarpDownQueue.class, "conflateSize");
+  @SuppressWarnings("unchecked")
+  static final AtomicIntegerFieldUpdater<WarpDownQueue<?>> WAITER_COUNT =
+      AtomicIntegerFieldUpdater.newUpdater((Class<WarpDownQueue<?>>) (Class<?>) WarpDownQueue.class, "waiterCount");
+
+}
+
+final class WarpDownQueueBlocker implements ForkJoinPool.ManagedBlocker {
+
+  final WarpDownQueue<?> queue;
+  final long deadline;
+
+  WarpDownQueueBlocker(WarpDownQueue<?> queue, long deadline) {
+    this.queue = queue;
+    this.deadline = deadline;
+  }
+
+  @Override
+  public boolean isReleasable() {
+    return this.queue.size <= this.queue.lowWatermark || this.deadline - System.nanoTime() <= 0L;
+  }
+
+  @Override
+  public boolean block() throws InterruptedException {
+    final WarpDownQueue<?> queue = this.queue;
+    synchronized (queue) {
+      while (queue.size > queue.lowWatermark) {
+        final long waitMillis = (this.deadline - System.nanoTime()) / 1000000L;
+        if (waitMillis <= 0L) {
+          break;
+        }
+        queue.wait(waitMillis);
+      }
+    }
+    return true;
+  }
+
+}
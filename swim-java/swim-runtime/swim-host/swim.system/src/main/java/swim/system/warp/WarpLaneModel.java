@@ -31,7 +31,9 @@ import swim.system.WarpBinding;
 import swim.system.profile.WarpDownlinkProfile;
 import swim.system.profile.WarpLaneProfile;
 import swim.system.profile.WarpUplinkProfile;
+import swim.uri.Uri;
 import swim.warp.CommandMessage;
+import swim.warp.EventMessage;
 
 public abstract class WarpLaneModel<View extends WarpLaneView, U extends WarpUplinkModem> extends LaneModel<View, U> {
 
@@ -61,6 +63,11 @@ public abstract class WarpLaneModel<View extends WarpLaneView, U extends WarpUpl
   volatile int uplinkCommandRate;
   volatile long uplinkCommandCount;
   volatile long lastReportTime;
+  /**
+   * Most recently fanned out event message, whose body encoding gets shared
+   * by every uplink that sends down the same body.
+   */
+  volatile EventMessage downEvent;
 
   public WarpLaneModel() {
     this.execDelta = 0L;
@@ -89,6 +96,7 @@ public abstract class WarpLaneModel<View extends WarpLaneView, U extends WarpUpl
     this.uplinkCommandRate = 0;
     this.uplinkCommandCount = 0L;
     this.lastReportTime = 0L;
+    this.downEvent = null;
   }
 
   @Override
@@ -122,6 +130,28 @@ public abstract class WarpLaneModel<View extends WarpLaneView, U extends WarpUpl
     }
   }
 
+  /**
+   * Returns an event message that sends {@code body} down the link addressed
+   * by {@code nodeUri} and {@code laneUri}. Uplinks that send down the same
+   * body instance, as they do when fanning out a lane event, get messages
+   * that share a single encoding of the body.
+   */
+  public EventMessage downEvent(Uri nodeUri, Uri laneUri, Value body) {
+    EventMessage message = this.downEvent;
+    if (message == null || message.body() != body) {
+      message = new EventMessage(nodeUri, laneUri, body).sharedBody();
+      this.downEvent = message;
+      return message;
+    }
+    if (!nodeUri.equals(message.nodeUri())) {
+      message = message.nodeUri(nodeUri);
+    }
+    if (!laneUri.equals(message.laneUri())) {
+      message = message.laneUri(laneUri);
+    }
+    return message;
+  }
+
   @SuppressWarnings("unchecked")
   public void sendDown(Value body) {
     FingerTrieSeq<U> uplinks;
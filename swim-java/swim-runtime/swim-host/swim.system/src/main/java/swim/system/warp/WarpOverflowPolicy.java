@@ -0,0 +1,61 @@
+// Copyright 2015-2023 Swim.inc
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.system.warp;
+
+/**
+ * Action taken by a {@link WarpUplinkModem} when its down queue reaches its
+ * high watermark, or when the connection underlying its link is
+ * backpressured.
+ */
+public enum WarpOverflowPolicy {
+
+  /**
+   * Block the producer until the down queue drains to its low watermark.
+   * Producers that can't block, such as producers running on the agent that
+   * pulls down the queue, or that time out while blocked, discard the oldest
+   * queued messages instead, so that the down queue stays bounded.
+   */
+  BLOCK,
+
+  /**
+   * Discard the oldest queued messages to make room for new messages.
+   */
+  DROP_OLDEST,
+
+  /**
+   * Replace queued messages with newer messages for the same key; messages
+   * without a key are queued as usual.
+   */
+  CONFLATE;
+
+  /**
+   * Returns the overflow policy with the given case insensitive {@code name},
+   * with dashes and underscores treated interchangeably, or {@code null} if
+   * no such policy exists.
+   */
+  public static WarpOverflowPolicy parse(String name) {
+    if (name != null) {
+      final String key = name.trim().replace('-', '_');
+      final WarpOverflowPolicy[] policies = WarpOverflowPolicy.values();
+      for (int i = 0; i < policies.length; i += 1) {
+        if (policies[i].name().equalsIgnoreCase(key)) {
+          return policies[i];
+        }
+      }
+    }
+    return null;
+  }
+
+}
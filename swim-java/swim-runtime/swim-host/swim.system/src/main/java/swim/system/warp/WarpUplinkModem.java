@@ -29,8 +29,12 @@ import swim.api.warp.function.OnSyncedResponse;
 import swim.api.warp.function.OnUnlinkRequest;
 import swim.api.warp.function.OnUnlinkedResponse;
 import swim.concurrent.Cont;
+import swim.concurrent.Stage;
+import swim.concurrent.TimerFunction;
+import swim.concurrent.TimerRef;
 import swim.structure.Value;
 import swim.system.AbstractUplinkContext;
+import swim.system.LaneBinding;
 import swim.system.LinkBinding;
 import swim.system.Metric;
 import swim.system.NodeBinding;
@@ -38,6 +42,7 @@ import swim.system.Push;
 import swim.system.UplinkAddress;
 import swim.system.WarpBinding;
 import swim.system.WarpContext;
+import swim.system.agent.AgentNode;
 import swim.system.profile.WarpUplinkProfile;
 import swim.uri.Uri;
 import swim.warp.CommandMessage;
@@ -54,26 +59,50 @@ public abstract class WarpUplinkModem extends AbstractUplinkContext implements W
 
   protected final WarpBinding linkBinding;
   protected final UplinkAddress uplinkAddress;
+  protected final int downHighWatermark;
+  protected final int downLowWatermark;
+  protected final WarpOverflowPolicy overflowPolicy;
   protected volatile int status;
+  volatile long nextDownTime;
+  volatile TimerRef rateTimer;
 
   volatile int eventDelta;
   volatile long eventCount;
   volatile int commandDelta;
   volatile long commandCount;
+  volatile int overflowDelta;
+  volatile long overflowCount;
   volatile long lastReportTime;
 
-  protected WarpUplinkModem(WarpBinding linkBinding, UplinkAddress uplinkAddress) {
+  protected WarpUplinkModem(WarpBinding linkBinding, UplinkAddress uplinkAddress,
+                            int downHighWatermark, int downLowWatermark,
+                            WarpOverflowPolicy overflowPolicy) {
+    if (overflowPolicy == null) {
+      throw new NullPointerException("overflowPolicy");
+    }
     this.linkBinding = linkBinding;
     this.uplinkAddress = uplinkAddress;
+    this.downHighWatermark = Math.max(0, downHighWatermark);
+    this.downLowWatermark = Math.max(0, Math.min(downLowWatermark, downHighWatermark - 1));
+    this.overflowPolicy = overflowPolicy;
     this.status = 0;
+    this.nextDownTime = 0L;
+    this.rateTimer = null;
 
     this.eventDelta = 0;
     this.eventCount = 0L;
     this.commandDelta = 0;
     this.commandCount = 0L;
+    this.overflowDelta = 0;
+    this.overflowCount = 0L;
     this.lastReportTime = 0L;
   }
 
+  protected WarpUplinkModem(WarpBinding linkBinding, UplinkAddress uplinkAddress) {
+    this(linkBinding, uplinkAddress, WarpUplinkModem.DOWN_HIGH_WATERMARK,
+         WarpUplinkModem.DOWN_LOW_WATERMARK, WarpUplinkModem.OVERFLOW_POLICY);
+  }
+
   @Override
   public final WarpBinding linkWrapper() {
     return this.linkBinding.linkWrapper();
@@ -554,6 +583,98 @@ public abstract class WarpUplinkModem extends AbstractUplinkContext implements W
     }
   }
 
+  /**
+   * Returns the number of messages the down queue of this uplink may hold
+   * before it overflows, or {@code 0} if the down queue is unbounded.
+   */
+  public final int downHighWatermark() {
+    return this.downHighWatermark;
+  }
+
+  /**
+   * Returns the number of messages to which an overflowed down queue must
+   * drain before blocked producers resume.
+   */
+  public final int downLowWatermark() {
+    return this.downLowWatermark;
+  }
+
+  public final WarpOverflowPolicy overflowPolicy() {
+    return this.overflowPolicy;
+  }
+
+  /**
+   * Returns the number of messages awaiting a pull in the down queue of this
+   * uplink.
+   */
+  public int downBacklog() {
+    return 0;
+  }
+
+  /**
+   * Returns the total number of messages dropped or conflated, and of
+   * producers blocked, because the down queue of this uplink overflowed.
+   */
+  public long overflowCount() {
+    return this.overflowCount + (long) this.overflowDelta;
+  }
+
+  /**
+   * Returns the maximum number of messages the down queue may hold before
+   * applying the overflow policy of this uplink. While the connection
+   * underlying the link is backpressured, the down queue overflows as soon
+   * as it exceeds its low watermark.
+   */
+  protected int downQueueLimit() {
+    final int downHighWatermark = this.downHighWatermark;
+    if (downHighWatermark > 0 && this.linkBinding.isBackpressuredDown()) {
+      return this.downLowWatermark + 1;
+    }
+    return downHighWatermark;
+  }
+
+  <T> WarpDownQueue<T> createDownQueue() {
+    final WarpOverflowPolicy overflowPolicy = this.downHighWatermark > 0 ? this.overflowPolicy : null;
+    return new WarpDownQueue<T>(this.linkBinding, overflowPolicy, this.downLowWatermark);
+  }
+
+  <T> void queueDown(WarpDownQueue<T> downQueue, T item, Object key) {
+    final int limit = this.downQueueLimit();
+    int overflowCount = 0;
+    if (this.overflowPolicy == WarpOverflowPolicy.BLOCK && limit > 0
+        && downQueue.size() >= limit && this.canBlockDown()) {
+      downQueue.await(limit, WarpUplinkModem.MAX_BLOCK_TIME);
+      overflowCount = 1;
+    }
+    final int discardCount = downQueue.add(item, key, limit);
+    if (discardCount > 0) {
+      overflowCount += discardCount;
+    }
+    if (overflowCount != 0) {
+      this.didOverflowDown(overflowCount);
+    }
+  }
+
+  /**
+   * Returns {@code true} if the calling thread may block on the down queue
+   * of this uplink. Uplinks pull down messages on the stage of their lane,
+   * so a producer running on that stage would wait on itself; such
+   * producers discard the oldest queued messages instead.
+   */
+  protected boolean canBlockDown() {
+    final Stage stage = this.stage();
+    return !(stage instanceof AgentNode) || !((AgentNode) stage).isRunningOnCurrentThread();
+  }
+
+  protected void didOverflowDown(int overflowCount) {
+    WarpUplinkModem.OVERFLOW_DELTA.addAndGet(this, overflowCount);
+    this.didUpdateMetrics();
+  }
+
+  protected void closeDownQueue() {
+    // hook
+  }
+
   protected boolean downQueueIsEmpty() {
     return true;
   }
@@ -569,7 +690,7 @@ public abstract class WarpUplinkModem extends AbstractUplinkContext implements W
   protected EventMessage nextDownQueueEvent() {
     final Value body = this.nextDownQueue();
     if (body != null) {
-      return new EventMessage(this.nodeUri(), this.laneUri(), body);
+      return this.createEventMessage(body);
     } else {
       return null;
     }
@@ -579,10 +700,19 @@ public abstract class WarpUplinkModem extends AbstractUplinkContext implements W
     return null;
   }
 
+  protected EventMessage createEventMessage(Value body) {
+    final LaneBinding laneBinding = this.laneBinding();
+    if (laneBinding instanceof WarpLaneModel<?, ?>) {
+      // Share one encoding of the body among all uplinks of the lane.
+      return ((WarpLaneModel<?, ?>) laneBinding).downEvent(this.nodeUri(), this.laneUri(), body);
+    }
+    return new EventMessage(this.nodeUri(), this.laneUri(), body);
+  }
+
   protected EventMessage nextDownCueEvent() {
     final Value body = this.nextDownCue();
     if (body != null) {
-      return new EventMessage(this.nodeUri(), this.laneUri(), body);
+      return this.createEventMessage(body);
     } else {
       return null;
     }
@@ -682,6 +812,8 @@ public abstract class WarpUplinkModem extends AbstractUplinkContext implements W
           }
           break;
         }
+      } else if ((oldStatus & WarpUplinkModem.SYNCING) == 0 && this.throttleDown()) {
+        break;
       } else {
         EventMessage message = this.nextDownQueueEvent();
         if (message == null && (oldStatus & WarpUplinkModem.CUED_DOWN) != 0) {
@@ -697,6 +829,7 @@ public abstract class WarpUplinkModem extends AbstractUplinkContext implements W
         if (message != null) {
           this.pullDownEvent(message);
           this.pushDown(message);
+          this.startDownInterval();
           do {
             oldStatus = WarpUplinkModem.STATUS.get(this);
             if ((oldStatus & (WarpUplinkModem.SYNCING | WarpUplinkModem.CUED_DOWN)) == 0 && this.downQueueIsEmpty()) {
@@ -753,6 +886,57 @@ public abstract class WarpUplinkModem extends AbstractUplinkContext implements W
     } while (true);
   }
 
+  /**
+   * Returns the minimum number of milliseconds between events sent down
+   * this uplink, as requested by the {@code rate}, in events per second, of
+   * the link; or {@code 0} if the link isn't rate limited.
+   */
+  protected long downInterval() {
+    final float rate = this.rate();
+    if (rate > 0.0f) {
+      return (long) Math.ceil(1000.0 / (double) rate);
+    } else {
+      return 0L;
+    }
+  }
+
+  /**
+   * Returns {@code true} if the rate limit of this uplink defers the next
+   * event, in which case the pull is skipped while remaining in the
+   * feeding state, and a timer resumes feeding once the current interval
+   * elapses. Lanes that cue down their state, rather than queue messages,
+   * coalesce all updates made in the meantime into the deferred event.
+   */
+  protected boolean throttleDown() {
+    if (this.downInterval() > 0L) {
+      final long delay = this.nextDownTime - System.currentTimeMillis();
+      if (delay > 0L) {
+        this.linkBinding.skipDown();
+        final TimerRef rateTimer = this.rateTimer;
+        if (rateTimer == null || !rateTimer.isScheduled()) {
+          this.rateTimer = this.laneBinding().schedule().setTimer(delay, new WarpUplinkModemRateTimer(this));
+        }
+        return true;
+      }
+    }
+    return false;
+  }
+
+  protected void startDownInterval() {
+    final long downInterval = this.downInterval();
+    if (downInterval > 0L) {
+      this.nextDownTime = System.currentTimeMillis() + downInterval;
+    }
+  }
+
+  protected void cancelRateTimer() {
+    final TimerRef rateTimer = this.rateTimer;
+    if (rateTimer != null) {
+      rateTimer.cancel();
+      this.rateTimer = null;
+    }
+  }
+
   protected void pullDownEvent(EventMessage message) {
     this.onEvent(message);
     this.dispatchOnEvent(message);
@@ -1074,6 +1258,8 @@ public abstract class WarpUplinkModem extends AbstractUplinkContext implements W
 
   @Override
   protected void didClose() {
+    this.cancelRateTimer();
+    this.closeDownQueue();
     super.didClose();
     this.dispatchDidClose();
     this.flushMetrics();
@@ -1135,10 +1321,13 @@ public abstract class WarpUplinkModem extends AbstractUplinkContext implements W
     final int commandDelta = WarpUplinkModem.COMMAND_DELTA.getAndSet(this, 0);
     final int commandRate = (int) Math.ceil((1000.0 * (double) commandDelta) / (double) dt);
     final long commandCount = WarpUplinkModem.COMMAND_TOTAL.addAndGet(this, (long) commandDelta);
+    final int overflowDelta = WarpUplinkModem.OVERFLOW_DELTA.getAndSet(this, 0);
+    final long overflowCount = WarpUplinkModem.OVERFLOW_COUNT.addAndGet(this, (long) overflowDelta);
 
     return new WarpUplinkProfile(this.uplinkAddress,
                                  eventDelta, eventRate, eventCount,
-                                 commandDelta, commandRate, commandCount);
+                                 commandDelta, commandRate, commandCount,
+                                 this.downBacklog(), overflowDelta, overflowCount);
   }
 
   static final int LINKED = 1 << 0;
@@ -1161,9 +1350,50 @@ public abstract class WarpUplinkModem extends AbstractUplinkContext implements W
       AtomicIntegerFieldUpdater.newUpdater(WarpUplinkModem.class, "commandDelta");
   static final AtomicLongFieldUpdater<WarpUplinkModem> COMMAND_TOTAL =
       AtomicLongFieldUpdater.newUpdater(WarpUplinkModem.class, "commandCount");
+  static final AtomicIntegerFieldUpdater<WarpUplinkModem> OVERFLOW_DELTA =
+      AtomicIntegerFieldUpdater.newUpdater(WarpUplinkModem.class, "overflowDelta");
+  static final AtomicLongFieldUpdater<WarpUplinkModem> OVERFLOW_COUNT =
+      AtomicLongFieldUpdater.newUpdater(WarpUplinkModem.class, "overflowCount");
   static final AtomicLongFieldUpdater<WarpUplinkModem> LAST_REPORT_TIME =
       AtomicLongFieldUpdater.newUpdater(WarpUplinkModem.class, "lastReportTime");
 
+  static final int DOWN_HIGH_WATERMARK;
+  static final int DOWN_LOW_WATERMARK;
+  static final WarpOverflowPolicy OVERFLOW_POLICY;
+  static final long MAX_BLOCK_TIME;
+
+  static {
+    int downHighWatermark;
+    try {
+      downHighWatermark = Integer.parseInt(System.getProperty("swim.warp.uplink.high.watermark"));
+    } catch (NumberFormatException e) {
+      downHighWatermark = 0;
+    }
+    DOWN_HIGH_WATERMARK = downHighWatermark;
+
+    int downLowWatermark;
+    try {
+      downLowWatermark = Integer.parseInt(System.getProperty("swim.warp.uplink.low.watermark"));
+    } catch (NumberFormatException e) {
+      downLowWatermark = downHighWatermark / 2;
+    }
+    DOWN_LOW_WATERMARK = downLowWatermark;
+
+    WarpOverflowPolicy overflowPolicy = WarpOverflowPolicy.parse(System.getProperty("swim.warp.uplink.overflow"));
+    if (overflowPolicy == null) {
+      overflowPolicy = WarpOverflowPolicy.DROP_OLDEST;
+    }
+    OVERFLOW_POLICY = overflowPolicy;
+
+    long maxBlockTime;
+    try {
+      maxBlockTime = Long.parseLong(System.getProperty("swim.warp.uplink.max.block.time"));
+    } catch (NumberFormatException e) {
+      maxBlockTime = 1000L;
+    }
+    MAX_BLOCK_TIME = maxBlockTime;
+  }
+
 }
 
 final class WarpUplinkModemPullDown implements Runnable {
@@ -1181,6 +1411,21 @@ final class WarpUplinkModemPullDown implements Runnable {
 
 }
 
+final class WarpUplinkModemRateTimer implements TimerFunction {
+
+  final WarpUplinkModem uplink;
+
+  WarpUplinkModemRateTimer(WarpUplinkModem uplink) {
+    this.uplink = uplink;
+  }
+
+  @Override
+  public void runTimer() {
+    this.uplink.linkBinding.feedDown();
+  }
+
+}
+
 final class WarpUplinkModemOnCommand implements Runnable {
 
   final WarpUplinkModem uplink;
@@ -0,0 +1,129 @@
+// Copyright 2015-2023 Swim.inc
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.system.agent;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.testng.TestException;
+import org.testng.annotations.Test;
+import swim.concurrent.Theater;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+public class AgentNodeSpec {
+
+  @Test
+  public void yieldWhenCommandBudgetIsExhausted() {
+    final TestAgentNode node = new TestAgentNode(8, 0L);
+    node.runCommands(101);
+    // 101 commands at 8 commands per run leave commands pending after 12 runs.
+    assertEquals(node.mailboxYieldCount(), 12L);
+    assertTrue(node.maxRunCommandCount <= 8);
+  }
+
+  @Test
+  public void yieldWhenTimeBudgetIsExhausted() {
+    final TestAgentNode node = new TestAgentNode(0, 1L);
+    node.runCommands(20);
+    // Every command exhausts a 1 nanosecond budget.
+    assertEquals(node.mailboxYieldCount(), 20L);
+    assertEquals(node.maxRunCommandCount, 1);
+  }
+
+  static final class TestAgentNode extends AgentNode {
+
+    final int commandBudget;
+    final long timeBudget;
+    final List<Integer> commandOrder;
+    int runCommandCount;
+    int maxRunCommandCount;
+
+    TestAgentNode(int commandBudget, long timeBudget) {
+      this.commandBudget = commandBudget;
+      this.timeBudget = timeBudget;
+      this.commandOrder = new ArrayList<Integer>();
+      this.runCommandCount = 0;
+      this.maxRunCommandCount = 0;
+    }
+
+    @Override
+    protected int mailboxCommandBudget() {
+      return this.commandBudget;
+    }
+
+    @Override
+    protected long mailboxTimeBudget() {
+      return this.timeBudget;
+    }
+
+    @Override
+    public int taskAffinity() {
+      return 0; // Test nodes have no node URI to hash.
+    }
+
+    @Override
+    public void runTask() {
+      this.runCommandCount = 0;
+      super.runTask();
+      this.maxRunCommandCount = Math.max(this.maxRunCommandCount, this.runCommandCount);
+    }
+
+    /**
+     * Enqueues {@code commandCount} commands from a command running on this
+     * node, so that the mailbox holds all of them before the node's next run,
+     * and asserts that every command runs exactly once, in order.
+     */
+    void runCommands(int commandCount) {
+      final Theater stage = new Theater();
+      final CountDownLatch commandLatch = new CountDownLatch(commandCount);
+      try {
+        stage.start();
+        stage.task(this);
+        this.execute(new Runnable() {
+          @Override
+          public void run() {
+            TestAgentNode.this.runCommandCount += 1;
+            for (int i = 0; i < commandCount; i += 1) {
+              final int commandIndex = i;
+              TestAgentNode.this.execute(new Runnable() {
+                @Override
+                public void run() {
+                  TestAgentNode.this.runCommandCount += 1;
+                  TestAgentNode.this.commandOrder.add(commandIndex);
+                  commandLatch.countDown();
+                }
+              });
+            }
+          }
+        });
+        if (!commandLatch.await(5, TimeUnit.SECONDS)) {
+          throw new TestException("only ran " + this.commandOrder.size() + " of " + commandCount + " commands");
+        }
+      } catch (InterruptedException cause) {
+        throw new TestException(cause);
+      } finally {
+        stage.stop();
+      }
+      assertEquals(this.commandOrder.size(), commandCount);
+      for (int i = 0; i < commandCount; i += 1) {
+        assertEquals(this.commandOrder.get(i).intValue(), i);
+      }
+    }
+
+  }
+
+}
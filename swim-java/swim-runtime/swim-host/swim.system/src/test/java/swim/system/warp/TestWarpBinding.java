@@ -0,0 +1,43 @@
+// Copyright 2015-2023 Swim.inc
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.system.warp;
+
+import swim.system.WarpProxy;
+
+/**
+ * Link binding that tracks the down backlog reported by an uplink.
+ */
+public class TestWarpBinding extends WarpProxy {
+
+  volatile int downBacklog;
+  volatile boolean backpressuredDown;
+
+  public TestWarpBinding() {
+    super(null);
+    this.downBacklog = 0;
+    this.backpressuredDown = false;
+  }
+
+  @Override
+  public synchronized void backlogDown(int delta) {
+    this.downBacklog += delta;
+  }
+
+  @Override
+  public boolean isBackpressuredDown() {
+    return this.backpressuredDown;
+  }
+
+}
@@ -0,0 +1,236 @@
+// Copyright 2015-2023 Swim.inc
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.system.warp;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.testng.annotations.Test;
+import swim.concurrent.Stage;
+import swim.structure.Num;
+import swim.structure.Value;
+import swim.system.LaneBinding;
+import swim.system.UplinkAddress;
+import swim.system.WarpBinding;
+import swim.uri.Uri;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+public class WarpDownQueueSpec {
+
+  @Test
+  public void dropOldestMessagesPastTheLimit() {
+    final TestWarpBinding binding = new TestWarpBinding();
+    final WarpDownQueue<Integer> queue = new WarpDownQueue<Integer>(binding, WarpOverflowPolicy.DROP_OLDEST, 2);
+    for (int i = 0; i < 4; i += 1) {
+      assertEquals(queue.add(i, null, 4), 0);
+    }
+    assertEquals(queue.add(4, null, 4), 1);
+    assertEquals(queue.add(5, null, 4), 1);
+    assertEquals(queue.size(), 4);
+    assertEquals(binding.downBacklog, 4);
+    for (int i = 2; i < 6; i += 1) {
+      assertEquals(queue.poll(), Integer.valueOf(i));
+    }
+    assertNull(queue.poll());
+    assertEquals(binding.downBacklog, 0);
+  }
+
+  @Test
+  public void conflateKeyedMessagesPastTheLimit() {
+    final TestWarpBinding binding = new TestWarpBinding();
+    final WarpDownQueue<String> queue = new WarpDownQueue<String>(binding, WarpOverflowPolicy.CONFLATE, 1);
+    assertEquals(queue.add("a1", "a", 2), 0);
+    assertEquals(queue.add("b1", "b", 2), 0);
+    assertEquals(queue.add("a2", "a", 2), 0);
+    assertEquals(queue.add("a3", "a", 2), 1);
+    assertEquals(queue.add("x", null, 2), 0);
+    assertEquals(queue.add("b2", "b", 2), 0);
+    assertEquals(queue.add("a4", "a", 2), 1);
+    assertEquals(queue.size(), 5);
+    assertEquals(binding.downBacklog, 5);
+    assertEquals(queue.poll(), "a1");
+    assertEquals(queue.poll(), "b1");
+    assertEquals(queue.poll(), "x");
+    assertEquals(queue.poll(), "b2");
+    assertEquals(queue.poll(), "a4");
+    assertNull(queue.poll());
+    assertTrue(queue.isEmpty());
+    assertEquals(binding.downBacklog, 0);
+  }
+
+  @Test
+  public void blockProducersUntilTheQueueDrainsToItsLowWatermark() throws InterruptedException {
+    final TestWarpBinding binding = new TestWarpBinding();
+    final WarpDownQueue<Integer> queue = new WarpDownQueue<Integer>(binding, WarpOverflowPolicy.BLOCK, 1);
+    for (int i = 0; i < 4; i += 1) {
+      queue.add(i, null, 4);
+    }
+    final CountDownLatch resumed = new CountDownLatch(1);
+    final Thread producer = new Thread(new Runnable() {
+      @Override
+      public void run() {
+        queue.await(4, 10000L);
+        resumed.countDown();
+      }
+    });
+    producer.start();
+    assertFalse(resumed.await(100L, TimeUnit.MILLISECONDS));
+    queue.poll();
+    queue.poll();
+    assertFalse(resumed.await(100L, TimeUnit.MILLISECONDS));
+    queue.poll();
+    assertTrue(resumed.await(5000L, TimeUnit.MILLISECONDS));
+    producer.join();
+    assertEquals(queue.size(), 1);
+  }
+
+  @Test
+  public void boundBlockingQueuesWhenProducersCannotBlock() {
+    final TestWarpBinding binding = new TestWarpBinding();
+    final WarpDownQueue<Integer> queue = new WarpDownQueue<Integer>(binding, WarpOverflowPolicy.BLOCK, 2);
+    for (int i = 0; i < 4; i += 1) {
+      assertEquals(queue.add(i, null, 4), 0);
+    }
+    assertEquals(queue.add(4, null, 4), 1);
+    assertEquals(queue.add(5, null, 4), 1);
+    assertEquals(queue.size(), 4);
+    for (int i = 2; i < 6; i += 1) {
+      assertEquals(queue.poll(), Integer.valueOf(i));
+    }
+    assertEquals(binding.downBacklog, 0);
+  }
+
+  @Test
+  public void releaseBlockedProducersOnClose() throws InterruptedException {
+    final TestWarpBinding binding = new TestWarpBinding();
+    final WarpDownQueue<Integer> queue = new WarpDownQueue<Integer>(binding, WarpOverflowPolicy.BLOCK, 1);
+    for (int i = 0; i < 4; i += 1) {
+      queue.add(i, null, 4);
+    }
+    final CountDownLatch resumed = new CountDownLatch(1);
+    final Thread producer = new Thread(new Runnable() {
+      @Override
+      public void run() {
+        queue.await(4, 10000L);
+        resumed.countDown();
+      }
+    });
+    producer.start();
+    assertFalse(resumed.await(100L, TimeUnit.MILLISECONDS));
+    queue.close();
+    assertTrue(resumed.await(5000L, TimeUnit.MILLISECONDS));
+    producer.join();
+    assertTrue(queue.isClosed());
+    assertEquals(queue.add(4, null, 4), -1);
+    assertEquals(binding.downBacklog, 0);
+  }
+
+  @Test
+  public void boundBlockingUplinksOnTheirOwnStage() {
+    final TestWarpBinding binding = new TestWarpBinding();
+    final TestSupplyUplinkModem uplink = new TestSupplyUplinkModem(binding, WarpOverflowPolicy.BLOCK);
+    for (int i = 0; i < 10; i += 1) {
+      uplink.queueDown(Num.from(i));
+    }
+    assertEquals(uplink.downBacklog(), 4);
+    assertEquals(uplink.overflowCount(), 6L);
+    for (int i = 6; i < 10; i += 1) {
+      assertEquals(uplink.nextDownQueue(), Num.from(i));
+    }
+    assertNull(uplink.nextDownQueue());
+    assertEquals(binding.downBacklog, 0);
+  }
+
+  @Test
+  public void conflateSupplyUplinksToTheLatestValue() {
+    final TestWarpBinding binding = new TestWarpBinding();
+    final TestSupplyUplinkModem uplink = new TestSupplyUplinkModem(binding, WarpOverflowPolicy.CONFLATE);
+    for (int i = 0; i < 10; i += 1) {
+      uplink.queueDown(Num.from(i));
+    }
+    assertEquals(uplink.downBacklog(), 5);
+    assertEquals(uplink.overflowCount(), 5L);
+    for (int i = 0; i < 4; i += 1) {
+      assertEquals(uplink.nextDownQueue(), Num.from(i));
+    }
+    assertEquals(uplink.nextDownQueue(), Num.from(9));
+    assertNull(uplink.nextDownQueue());
+  }
+
+  @Test
+  public void overflowAtTheLowWatermarkWhileBackpressured() {
+    final TestWarpBinding binding = new TestWarpBinding();
+    final TestSupplyUplinkModem uplink = new TestSupplyUplinkModem(binding, WarpOverflowPolicy.DROP_OLDEST);
+    binding.backpressuredDown = true;
+    for (int i = 0; i < 10; i += 1) {
+      uplink.queueDown(Num.from(i));
+    }
+    assertEquals(uplink.downBacklog(), 3);
+    binding.backpressuredDown = false;
+    for (int i = 10; i < 20; i += 1) {
+      uplink.queueDown(Num.from(i));
+    }
+    assertEquals(uplink.downBacklog(), 4);
+  }
+
+  @Test
+  public void closeDownQueuesWhenUplinksClose() {
+    final TestWarpBinding binding = new TestWarpBinding();
+    final TestSupplyUplinkModem uplink = new TestSupplyUplinkModem(binding, WarpOverflowPolicy.DROP_OLDEST);
+    for (int i = 0; i < 3; i += 1) {
+      uplink.queueDown(Num.from(i));
+    }
+    assertEquals(binding.downBacklog, 3);
+    uplink.closeDownQueue();
+    assertEquals(binding.downBacklog, 0);
+    uplink.queueDown(Num.from(3));
+    assertEquals(uplink.downBacklog(), 0);
+    assertEquals(binding.downBacklog, 0);
+  }
+
+  static final class TestSupplyUplinkModem extends SupplyUplinkModem {
+
+    TestSupplyUplinkModem(WarpBinding linkBinding, WarpOverflowPolicy overflowPolicy) {
+      super(linkBinding, new UplinkAddress(null, Uri.empty(), Value.absent(), Uri.empty(),
+                                           Uri.empty(), Uri.empty(), Value.absent()),
+            4, 2, overflowPolicy);
+    }
+
+    @Override
+    public LaneBinding laneBinding() {
+      return null;
+    }
+
+    @Override
+    public Stage stage() {
+      return null;
+    }
+
+    @Override
+    protected boolean canBlockDown() {
+      // Producers run on the uplink's own stage.
+      return false;
+    }
+
+    @Override
+    protected void didUpdateMetrics() {
+      // nop
+    }
+
+  }
+
+}